@@ -88,6 +88,7 @@ public class GeneratedRestProcessor extends AbstractProcessor {
 					.withPrefix(generatedConfig.getOrDefault("classNamePrefix", "Generated"))
 					.withPattern(generatedConfig.getOrDefault("classNamePattern", "{PREFIX}{NAME}"))
 					.withDataWrapper(ClassName.bestGuess(generatedConfig.getOrDefault("dataWrapper", Object.class.getCanonicalName())))
+					.withExecutionMode(generatedConfig.getOrDefault("executionMode", "SYNC"))
 					.withDtoClasses(this.findDtoClasses(roundEnvironment, generatedConfig.getOrDefault("dtoNamespace", "")))
 					.build();
 			controllers.put(config.getClassName().simpleName(), config);
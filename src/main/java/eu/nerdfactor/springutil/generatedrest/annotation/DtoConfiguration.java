@@ -11,7 +11,19 @@ public @interface DtoConfiguration {
 
 	Class<?> value();
 
+	/**
+	 * Class of the DTO in list and search responses.
+	 */
 	Class<?> list() default Object.class;
 
 	Class<?> request() default Object.class;
+
+	/**
+	 * Construct the list DTO directly from a query that selects only the fields
+	 * it needs, instead of loading and mapping whole entities. Only used if the
+	 * DTO has a public constructor whose parameters match basic fields of the
+	 * entity by name and type. The DataAccessor and DataMapper are not used for
+	 * list and search responses, so they shouldn't contain additional logic.
+	 */
+	boolean projection() default false;
 }
@@ -1,5 +1,6 @@
 package eu.nerdfactor.springutil.generatedrest.annotation;
 
+import eu.nerdfactor.springutil.generatedrest.config.ExecutionMode;
 import eu.nerdfactor.springutil.generatedrest.export.JavaClassExporter;
 
 import java.lang.annotation.ElementType;
@@ -59,5 +60,18 @@ public @interface GeneratedRestConfiguration {
 
 	Class<?> exporter() default JavaClassExporter.class;
 
+	/**
+	 * The way generated endpoints are executed.
+	 * <li>SYNC: Endpoints are executed on the request thread.</li>
+	 * <li>ASYNC: Endpoints return a CompletableFuture and are executed on a virtual
+	 * thread per request (platform threads before Java 21), so blocking queries don't
+	 * hold the request threads of the servlet container. Transactional endpoints are
+	 * still executed on the request thread.</li>
+	 * <li>REACTIVE: Endpoints are generated for WebFlux and a ReactiveDataAccessor. Single
+	 * entities are returned as Mono, lists, searches and relations are streamed as Flux.
+	 * Caches, conditional requests, batches and changes of relations are not generated.</li>
+	 */
+	ExecutionMode executionMode() default ExecutionMode.SYNC;
+
 	boolean log() default false;
 }
@@ -1,5 +1,7 @@
 package eu.nerdfactor.springutil.generatedrest.annotation;
 
+import eu.nerdfactor.springutil.generatedrest.config.PaginationType;
+
 import java.lang.annotation.*;
 
 /**
@@ -61,6 +63,136 @@ public @interface GeneratedRestController {
 	 */
 	boolean withRelations() default true;
 
+	/**
+	 * By default, the list endpoint collects all entities into a list before
+	 * writing the response. If enabled, the entities will be pulled through a
+	 * Stream from the DataAccessor in a read-only transaction and written into
+	 * the JSON array one by one, so the memory stays flat regardless of the
+	 * amount of entities. The rows are fetched in chunks of the JDBC fetch
+	 * size of the persistence unit, like hibernate.jdbc.fetch_size. A
+	 * DataWrapper will not be used for streamed responses.
+	 */
+	boolean streaming() default false;
+
+	/**
+	 * The type of pagination for the search endpoint.
+	 * <li>OFFSET: Pages are requested by page number and size.</li>
+	 * <li>SLICE: Pages are requested by page number and size, but only contain
+	 * the information if there is a next page. No count query will be executed.</li>
+	 * <li>CURSOR: Windows are requested by an opaque cursor from the previous response.
+	 * The query seeks on the sort keys and the id, so every window costs about the same
+	 * as the first one.</li>
+	 */
+	PaginationType pagination() default PaginationType.OFFSET;
+
+	/**
+	 * By default, entities and DTOs will be mapped by the DataMapper of the
+	 * application. If enabled, a mapper class next to the controller will be
+	 * generated, that copies the properties between the entity, its DTOs and
+	 * the DTOs of its relations one by one without reflection. Mappings the
+	 * generated mapper doesn't know are handled by a GeneratedEntityMapper.
+	 */
+	boolean generateMapper() default false;
+
+	/**
+	 * By default, the endpoints for relations with multiple entities return
+	 * the whole collection of the entity. If enabled, they return a page of the
+	 * related entities instead, that is read by a query on the relation. The
+	 * collection of the entity will not be initialized.
+	 */
+	boolean pagedRelations() default false;
+
+	/**
+	 * By default, no batch endpoints will be generated. If enabled, entities
+	 * can be created, updated and deleted in bulk with POST, PATCH and DELETE
+	 * requests on {request}/batch, that report the result for every item.
+	 */
+	boolean batch() default false;
+
+	/**
+	 * The amount of entities that the batch endpoints write at once, before
+	 * the changes are flushed and the persistence context is cleared. Should
+	 * match hibernate.jdbc.batch_size in order to let the JDBC driver batch
+	 * the statements.
+	 */
+	int batchSize() default 50;
+
+	/**
+	 * The attribute of the entity that tells its version, like a timestamp of
+	 * the last modification. By default, the field annotated with Version will
+	 * be used. The version of an entity will be sent as ETag, so clients can
+	 * request it conditionally.
+	 */
+	String version() default "";
+
+	/**
+	 * The maximum amount of entities that will be cached by id. By default,
+	 * no entities will be cached. If set, the DataAccessor will be wrapped
+	 * into a CachingDataAccessor, that answers reads by id from the cache and
+	 * invalidates entities that are updated or deleted through it.
+	 */
+	int entityCache() default 0;
+
+	/**
+	 * The amount of seconds until a cached entity expires.
+	 */
+	long entityCacheTtl() default 300;
+
+	/**
+	 * The maximum amount of responses of "all" and "searchAll" that will be
+	 * cached. By default, no responses will be cached. If set, the responses
+	 * are cached by filter and page and the cache is cleared whenever an
+	 * entity of the same type is changed through a generated controller that
+	 * publishes its changes.
+	 */
+	int responseCache() default 0;
+
+	/**
+	 * The amount of seconds until a cached response expires.
+	 */
+	long responseCacheTtl() default 60;
+
+	/**
+	 * Publish a DataChangedEvent after every change through the generated
+	 * methods. Controllers with a response cache always publish their changes,
+	 * other controllers of the same entity need to publish them in order to
+	 * clear the cached responses.
+	 */
+	boolean publishChanges() default false;
+
+	/**
+	 * Write the provided fields of "update" requests directly with a single
+	 * update statement, without reading and merging the entity first. The
+	 * updated entity will only be read and returned if the request prefers
+	 * "return=representation", otherwise "No Content" is returned.
+	 */
+	boolean directUpdate() default false;
+
+	/**
+	 * Generate a "mergePatch" endpoint that accepts JSON Merge Patch documents
+	 * (application/merge-patch+json). The document is read as a stream of
+	 * tokens by a generated patcher, that only writes the properties present
+	 * in the document into the entity. Properties set to null are cleared.
+	 */
+	boolean mergePatch() default false;
+
+	/**
+	 * Let clients request only some fields of "get", "all" and "searchAll"
+	 * with a "fields" parameter, like "?fields=id,name". Only the requested
+	 * columns will be selected and returned. Basic attributes of the entity
+	 * that are part of the response can be requested.
+	 */
+	boolean sparseFields() default false;
+
+	/**
+	 * Delete entities with a delete statement, without loading them first,
+	 * and generate a "deleteByFilter" endpoint that deletes the entities matching
+	 * a "filter" parameter with a single statement. Only used if the entity
+	 * doesn't need to be loaded for its removal, like for cascading relations,
+	 * element collections or lifecycle callbacks.
+	 */
+	boolean directDelete() default false;
+
 	@Retention(RetentionPolicy.SOURCE)
 	@Target({ElementType.TYPE})
 	@interface List {
@@ -2,16 +2,22 @@ package eu.nerdfactor.springutil.generatedrest.code;
 
 import com.squareup.javapoet.*;
 import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.CacheInvalidationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ChangeEventInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
 import eu.nerdfactor.springutil.generatedrest.config.AccessorType;
 import eu.nerdfactor.springutil.generatedrest.config.RelationConfiguration;
 import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import javax.lang.model.element.Modifier;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 public class AddToRelationsMethodBuilder extends MethodBuilder {
@@ -32,7 +38,7 @@ public class AddToRelationsMethodBuilder extends MethodBuilder {
 		}
 		GeneratedRestUtil.log("addAddToRelationsMethod", 1);
 		TypeName responseType = this.relationConfiguration.isWithDtos() && this.relationConfiguration.getDtoClass() != null && !this.relationConfiguration.getDtoClass().equals(TypeName.OBJECT) ? this.relationConfiguration.getDtoClass() : this.relationConfiguration.getEntityClass();
-		ParameterizedTypeName responseList = ParameterizedTypeName.get(ClassName.get(List.class), responseType);
+		ParameterizedTypeName responseList = ParameterizedTypeName.get(ClassName.get(this.configuration.isPagedRelations() ? Page.class : List.class), responseType);
 		MethodSpec.Builder method = MethodSpec
 				.methodBuilder(this.relationConfiguration.getMethodName(AccessorType.ADD))
 				.addAnnotation(AnnotationSpec.builder(RequestMapping.class).addMember("value", "$S", this.configuration.getRequest() + "/{id}/" + this.relationConfiguration.getName()).addMember("method", "{ $T.POST, $T.PUT, $T.PATCH }", RequestMethod.class, RequestMethod.class, RequestMethod.class).build())
@@ -65,7 +71,7 @@ public class AddToRelationsMethodBuilder extends MethodBuilder {
 		if (this.configuration.hasExistingRequest(RequestMethod.POST, this.configuration.getRequest() + "/{id}/" + this.relationConfiguration.getName() + "/{relationId}") ||
 				this.configuration.hasExistingRequest(RequestMethod.PUT, this.configuration.getRequest() + "/{id}/" + this.relationConfiguration.getName() + "/{relationId}") ||
 				this.configuration.hasExistingRequest(RequestMethod.PATCH, this.configuration.getRequest() + "/{id}/" + this.relationConfiguration.getName() + "/{relationId}")) {
-			return builder;
+			return this.buildBatch(builder, responseType, responseList);
 		}
 		MethodSpec.Builder methodById = MethodSpec
 				.methodBuilder(this.relationConfiguration.getMethodName(AccessorType.ADD) + "ById")
@@ -89,17 +95,99 @@ public class AddToRelationsMethodBuilder extends MethodBuilder {
 				.withRelation(this.relationConfiguration.getEntityClass())
 				.withSecurityConfig(this.configuration.getSecurity())
 				.inject(methodById);
-		methodById.addStatement("$T entity = this.dataAccessor.readData(id)", this.configuration.getEntity());
+		methodById.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id)", this.configuration.getEntity());
 		methodById.beginControlFlow("if(entity == null)");
 		methodById.addStatement("throw new $T()", EntityNotFoundException.class);
 		methodById.endControlFlow();
 		methodById.addStatement("$T rel = this.entityManager.getReference($T.class, relationId)", this.relationConfiguration.getEntityClass(), this.relationConfiguration.getEntityClass());
 		methodById.addStatement("entity." + this.relationConfiguration.getAdder() + "(rel)");
+		new CacheInvalidationInjector()
+				.withType(this.configuration.getEntity())
+				.withIdentifyingType(this.configuration.getId())
+				.withCaching(this.configuration.isUsingEntityCache())
+				.inject(methodById);
+		new ChangeEventInjector()
+				.withType(this.configuration.getEntity())
+				.withPublishing(this.configuration.isPublishingChanges())
+				.inject(methodById);
 		if (this.configuration.getDataWrapperClass() != null && !this.configuration.getDataWrapperClass().equals(TypeName.OBJECT)) {
 			methodById.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ParameterizedTypeName.get(ClassName.bestGuess(this.configuration.getDataWrapperClass().toString()), responseType)));
 		}
-		methodById.addStatement("return this." + this.relationConfiguration.getMethodName(AccessorType.GET) + "(id)");
+		if (this.configuration.isPagedRelations()) {
+			// Respond with the first page of the relation.
+			methodById.addStatement("return this." + this.relationConfiguration.getMethodName(AccessorType.GET) + "(id, $T.of(0, 20))", PageRequest.class);
+		} else {
+			methodById.addStatement("return this." + this.relationConfiguration.getMethodName(AccessorType.GET) + "(id)");
+		}
 		builder.addMethod(methodById.build());
+		return this.buildBatch(builder, responseType, responseList);
+	}
+
+	/**
+	 * Add a method that adds all related entities specified by a list of ids
+	 * in one transaction. The entities are referenced without loading them
+	 * and the changes are flushed once after all were added.
+	 *
+	 * @param builder      The existing {@link TypeSpec.Builder}.
+	 * @param responseType The type of the related responses.
+	 * @param responseList The type of the response.
+	 * @return The {@link TypeSpec.Builder} with the new method.
+	 */
+	protected TypeSpec.Builder buildBatch(TypeSpec.Builder builder, TypeName responseType, TypeName responseList) {
+		if (this.configuration.hasExistingRequest(RequestMethod.POST, this.configuration.getRequest() + "/{id}/" + this.relationConfiguration.getName() + "/batch") ||
+				this.configuration.hasExistingRequest(RequestMethod.PUT, this.configuration.getRequest() + "/{id}/" + this.relationConfiguration.getName() + "/batch") ||
+				this.configuration.hasExistingRequest(RequestMethod.PATCH, this.configuration.getRequest() + "/{id}/" + this.relationConfiguration.getName() + "/batch")) {
+			return builder;
+		}
+		GeneratedRestUtil.log("addAllToRelationsMethod", 1);
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("addAll" + this.relationConfiguration.getMethodName(AccessorType.GET).substring(3))
+				.addAnnotation(AnnotationSpec.builder(RequestMapping.class).addMember("value", "$S", this.configuration.getRequest() + "/{id}/" + this.relationConfiguration.getName() + "/batch").addMember("method", "{ $T.POST, $T.PUT, $T.PATCH }", RequestMethod.class, RequestMethod.class, RequestMethod.class).build())
+				.addAnnotation(ResponseBody.class)
+				.addAnnotation(Transactional.class)
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), responseList))
+				.addParameter(ParameterSpec.builder(this.configuration.getId(), "id")
+						.addModifiers(Modifier.FINAL)
+						.addAnnotation(PathVariable.class)
+						.build()
+				)
+				.addParameter(ParameterSpec.builder(ParameterizedTypeName.get(ClassName.get(List.class), this.relationConfiguration.getIdClass()), "relationIds")
+						.addAnnotation(RequestBody.class)
+						.build()
+				);
+		method = new AuthenticationInjector()
+				.withMethod("UPDATE")
+				.withType(this.configuration.getEntity())
+				.withRelation(this.relationConfiguration.getEntityClass())
+				.withSecurityConfig(this.configuration.getSecurity())
+				.inject(method);
+		method.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id)", this.configuration.getEntity());
+		method.beginControlFlow("if(entity == null)");
+		method.addStatement("throw new $T()", EntityNotFoundException.class);
+		method.endControlFlow();
+		method.beginControlFlow("for($T relationId : new $T<>(relationIds))", this.relationConfiguration.getIdClass(), LinkedHashSet.class);
+		method.addStatement("entity." + this.relationConfiguration.getAdder() + "(this.entityManager.getReference($T.class, relationId))", this.relationConfiguration.getEntityClass());
+		method.endControlFlow();
+		method.addStatement("this.entityManager.flush()");
+		new CacheInvalidationInjector()
+				.withType(this.configuration.getEntity())
+				.withIdentifyingType(this.configuration.getId())
+				.withCaching(this.configuration.isUsingEntityCache())
+				.inject(method);
+		new ChangeEventInjector()
+				.withType(this.configuration.getEntity())
+				.withPublishing(this.configuration.isPublishingChanges())
+				.inject(method);
+		if (this.configuration.getDataWrapperClass() != null && !this.configuration.getDataWrapperClass().equals(TypeName.OBJECT)) {
+			method.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ParameterizedTypeName.get(ClassName.bestGuess(this.configuration.getDataWrapperClass().toString()), responseType)));
+		}
+		if (this.configuration.isPagedRelations()) {
+			method.addStatement("return this." + this.relationConfiguration.getMethodName(AccessorType.GET) + "(id, $T.of(0, 20))", PageRequest.class);
+		} else {
+			method.addStatement("return this." + this.relationConfiguration.getMethodName(AccessorType.GET) + "(id)");
+		}
+		builder.addMethod(method.build());
 		return builder;
 	}
 }
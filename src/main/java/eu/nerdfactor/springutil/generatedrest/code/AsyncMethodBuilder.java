@@ -0,0 +1,127 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
+import eu.nerdfactor.springutil.generatedrest.code.builder.NotModifiedInjector;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+public class AsyncMethodBuilder extends MethodBuilder {
+
+	protected static final Set<ClassName> MAPPINGS = Set.of(
+			ClassName.get(RequestMapping.class),
+			ClassName.get(GetMapping.class),
+			ClassName.get(PostMapping.class),
+			ClassName.get(PutMapping.class),
+			ClassName.get(PatchMapping.class),
+			ClassName.get(DeleteMapping.class)
+	);
+
+	/**
+	 * Split every generated endpoint into an asynchronous endpoint and a
+	 * protected method with the original body. The endpoint executes the
+	 * method in a transaction on the executor of the controller and returns
+	 * a CompletableFuture, so the request thread is released while the
+	 * method waits for the database. Generated methods that call each other
+	 * keep calling the synchronous methods. Streamed responses are already
+	 * written asynchronously and stay unchanged, as well as HEAD requests,
+	 * that only check the version or existence of an entity.
+	 *
+	 * @param builder The existing {@link TypeSpec.Builder}.
+	 * @return The {@link TypeSpec.Builder} with the changed methods.
+	 */
+	@Override
+	public TypeSpec.Builder build(TypeSpec.Builder builder) {
+		if (!this.configuration.isAsync()) {
+			return builder;
+		}
+		GeneratedRestUtil.log("addAsyncMethods", 1);
+		List<MethodSpec> methods = new ArrayList<>();
+		for (MethodSpec method : builder.methodSpecs) {
+			if (!this.isEndpoint(method)) {
+				methods.add(method);
+				continue;
+			}
+			methods.add(this.createAsyncEndpoint(method));
+			methods.add(this.createSyncMethod(method));
+		}
+		builder.methodSpecs.clear();
+		builder.methodSpecs.addAll(methods);
+		return builder;
+	}
+
+	/**
+	 * Check if the method is a generated endpoint that will be executed
+	 * asynchronously.
+	 *
+	 * @param method The generated method.
+	 * @return True if the method has a request mapping and no streamed response.
+	 */
+	protected boolean isEndpoint(MethodSpec method) {
+		if (method.isConstructor() || method.returnType.toString().contains(StreamingResponseBody.class.getSimpleName())) {
+			return false;
+		}
+		boolean head = method.annotations.stream()
+				.flatMap(annotation -> annotation.members.getOrDefault("method", List.of()).stream())
+				.anyMatch(value -> value.toString().contains(RequestMethod.HEAD.name()));
+		return !head && method.annotations.stream().anyMatch(annotation -> MAPPINGS.contains(annotation.type));
+	}
+
+	/**
+	 * Create the public endpoint with the annotations and parameters of the
+	 * method, that executes the synchronous method in a transaction on the
+	 * executor and returns a CompletableFuture of the response. Conditional
+	 * requests of versioned entities are checked on the request thread, so
+	 * the response is only changed there if the entity was not modified.
+	 *
+	 * @param method The generated method.
+	 * @return The asynchronous endpoint.
+	 */
+	protected MethodSpec createAsyncEndpoint(MethodSpec method) {
+		String arguments = method.parameters.stream().map(parameter -> parameter.name).collect(Collectors.joining(", "));
+		MethodSpec.Builder endpoint = MethodSpec.methodBuilder(method.name + "Async")
+				.addAnnotations(method.annotations.stream().filter(annotation -> !annotation.type.equals(ClassName.get(Transactional.class))).toList())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(CompletableFuture.class), method.returnType.box()))
+				.addParameters(method.parameters);
+		if (this.configuration.isVersioned() && method.parameters.stream().anyMatch(parameter -> parameter.type.equals(ClassName.get(WebRequest.class)))) {
+			new NotModifiedInjector()
+					.withType(this.configuration.getEntity())
+					.withVersion(this.configuration.getVersion())
+					.withOnlyConditional(true)
+					.inject(endpoint);
+		}
+		return endpoint
+				.addStatement("return $T.supplyAsync(() -> this.transactionTemplate.execute(status -> this." + method.name + "(" + arguments + ")), this.executor)", CompletableFuture.class)
+				.build();
+	}
+
+	/**
+	 * Create the protected method with the original body, that will be
+	 * called by the endpoint.
+	 *
+	 * @param method The generated method.
+	 * @return The synchronous method.
+	 */
+	protected MethodSpec createSyncMethod(MethodSpec method) {
+		MethodSpec.Builder sync = MethodSpec.methodBuilder(method.name)
+				.addModifiers(Modifier.PROTECTED)
+				.returns(method.returnType)
+				.addCode(method.code);
+		method.parameters.forEach(parameter -> sync.addParameter(ParameterSpec.builder(parameter.type, parameter.name)
+				.addModifiers(parameter.modifiers)
+				.build()
+		));
+		return sync.build();
+	}
+}
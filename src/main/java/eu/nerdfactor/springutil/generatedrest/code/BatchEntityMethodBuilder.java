@@ -0,0 +1,299 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.Buildable;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ChangeEventInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.Configurable;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ReturnStatementInjector;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.SecurityConfiguration;
+import eu.nerdfactor.springutil.generatedrest.data.DataBatchResult;
+import eu.nerdfactor.springutil.generatedrest.data.GeneratedQueries;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import jakarta.validation.Valid;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.With;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@With
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+public class BatchEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Configurable<ControllerConfiguration> {
+
+	protected boolean hasExistingCreateRequest;
+	protected boolean hasExistingUpdateRequest;
+	protected boolean hasExistingDeleteRequest;
+	protected String requestUrl;
+	protected TypeName requestType;
+	protected TypeName responseType;
+	protected TypeName entityType;
+	protected TypeName identifyingType;
+	protected String identifyingAccessor;
+	protected boolean isUsingDto;
+	protected int batchSize;
+	protected SecurityConfiguration securityConfiguration;
+	protected TypeName dataWrapperClass;
+	protected boolean isPublishingChanges;
+	protected boolean isUsingBatch;
+	protected boolean isUsingDirectDelete;
+
+	public static BatchEntityMethodBuilder create() {
+		return new BatchEntityMethodBuilder();
+	}
+
+	@Override
+	public BatchEntityMethodBuilder withConfiguration(ControllerConfiguration configuration) {
+		return new BatchEntityMethodBuilder(
+				configuration.hasExistingRequest(RequestMethod.POST, configuration.getRequest() + "/batch"),
+				configuration.hasExistingRequest(RequestMethod.PATCH, configuration.getRequest() + "/batch"),
+				configuration.hasExistingRequest(RequestMethod.DELETE, configuration.getRequest() + "/batch"),
+				configuration.getRequest() + "/batch",
+				configuration.getRequestType(),
+				configuration.getSingleResponseType(),
+				configuration.getEntity(),
+				configuration.getId(),
+				configuration.getIdAccessor(),
+				configuration.isUsingDto(),
+				configuration.getBatchSize(),
+				configuration.getSecurity(),
+				configuration.getDataWrapperClass(),
+				configuration.isPublishingChanges(),
+				configuration.isBatch(),
+				configuration.isUsingDirectDelete()
+		);
+	}
+
+	@Override
+	public TypeSpec.Builder build(TypeSpec.Builder builder) {
+		if (!this.isUsingBatch) {
+			return builder;
+		}
+		if (!this.hasExistingCreateRequest) {
+			GeneratedRestUtil.log("addCreateAllEntitiesMethod", 1);
+			ParameterizedTypeName resultType = ParameterizedTypeName.get(ClassName.get(DataBatchResult.class), this.responseType);
+			MethodSpec.Builder method = this.createMethodDeclaration("createAll", PostMapping.class, this.requestUrl, "dtos", ParameterizedTypeName.get(ClassName.get(List.class), this.requestType), resultType);
+			new AuthenticationInjector().withMethod("CREATE")
+					.withType(this.entityType)
+					.withSecurityConfig(this.securityConfiguration)
+					.inject(method);
+			this.addCreateMethodBody(method, this.entityType, this.requestType, this.responseType, resultType, this.isUsingDto);
+			new ChangeEventInjector()
+					.withType(this.entityType)
+					.withPublishing(this.isPublishingChanges)
+					.inject(method);
+			new ReturnStatementInjector()
+					.withWrapper(this.dataWrapperClass)
+					.withResponse(resultType)
+					.withResponseVariable("responseList")
+					.inject(method);
+			builder.addMethod(method.build());
+		}
+		if (!this.hasExistingUpdateRequest) {
+			GeneratedRestUtil.log("addUpdateAllEntitiesMethod", 1);
+			ParameterizedTypeName resultType = ParameterizedTypeName.get(ClassName.get(DataBatchResult.class), this.responseType);
+			MethodSpec.Builder method = this.createMethodDeclaration("updateAll", PatchMapping.class, this.requestUrl, "dtos", ParameterizedTypeName.get(ClassName.get(List.class), this.requestType), resultType);
+			new AuthenticationInjector().withMethod("UPDATE")
+					.withType(this.entityType)
+					.withSecurityConfig(this.securityConfiguration)
+					.inject(method);
+			this.addUpdateMethodBody(method, this.entityType, this.responseType, resultType, this.isUsingDto);
+			new ChangeEventInjector()
+					.withType(this.entityType)
+					.withPublishing(this.isPublishingChanges)
+					.inject(method);
+			new ReturnStatementInjector()
+					.withWrapper(this.dataWrapperClass)
+					.withResponse(resultType)
+					.withResponseVariable("responseList")
+					.inject(method);
+			builder.addMethod(method.build());
+		}
+		if (!this.hasExistingDeleteRequest) {
+			GeneratedRestUtil.log("addDeleteAllEntitiesMethod", 1);
+			ParameterizedTypeName resultType = ParameterizedTypeName.get(ClassName.get(DataBatchResult.class), this.identifyingType.box());
+			MethodSpec.Builder method = this.createMethodDeclaration("deleteAll", DeleteMapping.class, this.requestUrl, "ids", ParameterizedTypeName.get(ClassName.get(List.class), this.identifyingType.box()), resultType);
+			new AuthenticationInjector().withMethod("DELETE")
+					.withType(this.entityType)
+					.withSecurityConfig(this.securityConfiguration)
+					.inject(method);
+			this.addDeleteMethodBody(method, this.entityType, this.identifyingType.box(), resultType);
+			new ChangeEventInjector()
+					.withType(this.entityType)
+					.withPublishing(this.isPublishingChanges)
+					.inject(method);
+			new ReturnStatementInjector()
+					.withWrapper(this.dataWrapperClass)
+					.withResponse(resultType)
+					.withResponseVariable("responseList")
+					.inject(method);
+			builder.addMethod(method.build());
+		}
+		return builder;
+	}
+
+	/**
+	 * Create a transactional method with the requestUrl that takes a list of
+	 * objects from the RequestBody and will return a ResponseEntity with a
+	 * list of results for every item.
+	 *
+	 * @param name          The name of the method.
+	 * @param mapping       The mapping annotation of the method.
+	 * @param requestUrl    The requested Url.
+	 * @param parameterName The name of the list inside the RequestBody.
+	 * @param requestType   The type of the list inside the RequestBody.
+	 * @param resultType    The type of the result for every item.
+	 * @return The {@link MethodSpec.Builder} of the new method declaration.
+	 */
+	protected MethodSpec.Builder createMethodDeclaration(String name, Class<?> mapping, String requestUrl, String parameterName, TypeName requestType, TypeName resultType) {
+		return MethodSpec.methodBuilder(name)
+				.addAnnotation(AnnotationSpec.builder(ClassName.get(mapping)).addMember("value", "$S", requestUrl).build())
+				.addAnnotation(Transactional.class)
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ParameterizedTypeName.get(ClassName.get(List.class), resultType)))
+				.addParameter(ParameterSpec.builder(requestType, parameterName).addAnnotation(RequestBody.class).addAnnotation(Valid.class).build());
+	}
+
+	/**
+	 * Add a method body that creates the Entities from the objects in the
+	 * RequestBody in chunks of the batch size. The persistence context is
+	 * flushed and cleared after every chunk.
+	 *
+	 * @param method       The existing {@link MethodSpec.Builder}.
+	 * @param entityType   The type of the Entity.
+	 * @param requestType  The type of objects inside the RequestBody.
+	 * @param responseType The type of object of the response.
+	 * @param resultType   The type of the result for every item.
+	 * @param isUsingDto   If the method is using DTOs.
+	 */
+	protected void addCreateMethodBody(MethodSpec.Builder method, TypeName entityType, TypeName requestType, TypeName responseType, TypeName resultType, boolean isUsingDto) {
+		method.addStatement("$T<$T> responseList = new $T<>(dtos.size())", List.class, resultType, ArrayList.class);
+		method.beginControlFlow("for(int i = 0; i < dtos.size(); i += $L)", this.batchSize);
+		method.addStatement("$T<$T> created = new $T<>()", List.class, entityType, ArrayList.class);
+		method.beginControlFlow("for($T dto : dtos.subList(i, Math.min(i + $L, dtos.size())))", requestType, this.batchSize);
+		if (isUsingDto) {
+			method.addStatement("created.add(this.dataMapper.map(dto, $T.class))", entityType);
+		} else {
+			method.addStatement("created.add(dto)");
+		}
+		method.endControlFlow();
+		method.addStatement("created = this.dataAccessor.createAllData(created)");
+		method.beginControlFlow("for($T entity : created)", entityType);
+		if (isUsingDto) {
+			method.addStatement("responseList.add($T.of(responseList.size(), $T.CREATED, this.dataMapper.map(entity, $T.class)))", DataBatchResult.class, HttpStatus.class, responseType);
+		} else {
+			method.addStatement("responseList.add($T.of(responseList.size(), $T.CREATED, entity))", DataBatchResult.class, HttpStatus.class);
+		}
+		method.endControlFlow();
+		this.addFlushStatements(method);
+		method.endControlFlow();
+	}
+
+	/**
+	 * Add a method body that updates the Entities, identified by the objects
+	 * in the RequestBody, in chunks of the batch size. Objects without an
+	 * existing Entity are reported as not found. The persistence context is
+	 * flushed and cleared after every chunk.
+	 *
+	 * @param method       The existing {@link MethodSpec.Builder}.
+	 * @param entityType   The type of the Entity.
+	 * @param responseType The type of object of the response.
+	 * @param resultType   The type of the result for every item.
+	 * @param isUsingDto   If the method is using DTOs.
+	 */
+	protected void addUpdateMethodBody(MethodSpec.Builder method, TypeName entityType, TypeName responseType, TypeName resultType, boolean isUsingDto) {
+		method.addStatement("$T<$T> responseList = new $T<>(dtos.size())", List.class, resultType, ArrayList.class);
+		method.beginControlFlow("for(int i = 0; i < dtos.size(); i += $L)", this.batchSize);
+		method.addStatement("$T<$T> changed = new $T<>()", List.class, entityType, ArrayList.class);
+		method.addStatement("$T<$T> indices = new $T<>()", List.class, Integer.class, ArrayList.class);
+		method.beginControlFlow("for(int j = i; j < Math.min(i + $L, dtos.size()); j++)", this.batchSize);
+		if (isUsingDto) {
+			method.addStatement("$T change = this.dataMapper.map(dtos.get(j), $T.class)", entityType, entityType);
+		} else {
+			method.addStatement("$T change = dtos.get(j)", entityType);
+		}
+		method.addStatement("$T entity = change == null || $T.isNull(change.$L()) ? null : this.dataAccessor.readDataForUpdate(change.$L())", entityType, Objects.class, this.identifyingAccessor, this.identifyingAccessor);
+		method.beginControlFlow("if(entity == null)");
+		method.addStatement("responseList.add($T.failed(j, $T.NOT_FOUND, $S))", DataBatchResult.class, HttpStatus.class, "Entity not found.");
+		method.addStatement("continue");
+		method.endControlFlow();
+		method.addStatement("changed.add(this.dataMerger.merge(entity, change))");
+		method.addStatement("indices.add(j)");
+		method.endControlFlow();
+		method.addStatement("changed = this.dataAccessor.updateAllData(changed)");
+		method.beginControlFlow("for(int j = 0; j < changed.size(); j++)");
+		if (isUsingDto) {
+			method.addStatement("responseList.add($T.of(indices.get(j), $T.OK, this.dataMapper.map(changed.get(j), $T.class)))", DataBatchResult.class, HttpStatus.class, responseType);
+		} else {
+			method.addStatement("responseList.add($T.of(indices.get(j), $T.OK, changed.get(j)))", DataBatchResult.class, HttpStatus.class);
+		}
+		method.endControlFlow();
+		this.addFlushStatements(method);
+		method.endControlFlow();
+		method.addStatement("responseList.sort($T.comparingInt($T::index))", Comparator.class, DataBatchResult.class);
+	}
+
+	/**
+	 * Add a method body that deletes the Entities with the ids from the
+	 * RequestBody in chunks of the batch size. The ids of a chunk are
+	 * checked with a single query and the existing Entities are deleted
+	 * together. Entities without anything that needs to be removed along
+	 * with them are deleted without loading them, if direct deletes are
+	 * enabled. Ids without an existing Entity are reported as not found.
+	 * The persistence context is flushed and cleared after every chunk.
+	 *
+	 * @param method          The existing {@link MethodSpec.Builder}.
+	 * @param entityType      The type of the Entity.
+	 * @param identifyingType The type of object identifying the Entity.
+	 * @param resultType      The type of the result for every item.
+	 */
+	protected void addDeleteMethodBody(MethodSpec.Builder method, TypeName entityType, TypeName identifyingType, TypeName resultType) {
+		method.addStatement("$T<$T> responseList = new $T<>(ids.size())", List.class, resultType, ArrayList.class);
+		method.beginControlFlow("for(int i = 0; i < ids.size(); i += $L)", this.batchSize);
+		method.addStatement("$T<$T> chunk = ids.subList(i, Math.min(i + $L, ids.size()))", List.class, identifyingType, this.batchSize);
+		method.addStatement("$T<$T> found = $T.existingIds(this.entityManager, $T.class, chunk)", Set.class, Object.class, GeneratedQueries.class, entityType);
+		method.addStatement("$T<$T> existing = new $T<>()", List.class, identifyingType, ArrayList.class);
+		method.beginControlFlow("for(int j = 0; j < chunk.size(); j++)");
+		method.beginControlFlow("if(!found.contains(chunk.get(j)))");
+		method.addStatement("responseList.add($T.failed(i + j, $T.NOT_FOUND, $S))", DataBatchResult.class, HttpStatus.class, "Entity not found.");
+		method.nextControlFlow("else");
+		method.addStatement("existing.add(chunk.get(j))");
+		method.addStatement("responseList.add($T.of(i + j, $T.NO_CONTENT, null))", DataBatchResult.class, HttpStatus.class);
+		method.endControlFlow();
+		method.endControlFlow();
+		if (this.isUsingDirectDelete) {
+			method.addStatement("this.dataAccessor.deleteAllDataByIdWithoutLoading(existing)");
+		} else {
+			method.addStatement("this.dataAccessor.deleteAllDataById(existing)");
+		}
+		this.addFlushStatements(method);
+		method.endControlFlow();
+	}
+
+	/**
+	 * Add statements that flush the changes of a chunk and clear the
+	 * persistence context, so it doesn't grow with the size of the batch.
+	 *
+	 * @param method The existing {@link MethodSpec.Builder}.
+	 */
+	protected void addFlushStatements(MethodSpec.Builder method) {
+		method.addStatement("this.entityManager.flush()");
+		method.addStatement("this.entityManager.clear()");
+	}
+}
@@ -0,0 +1,56 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
+import eu.nerdfactor.springutil.generatedrest.data.DataResponseCache;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.lang.model.element.Modifier;
+
+public class CountMethodBuilder extends MethodBuilder {
+
+	/**
+	 * Add a Get method called "count" that counts the entities matching the
+	 * filter, like "searchAll" would find them. Only the count query of the
+	 * DataAccessor is executed, no entities are loaded or mapped. The amount
+	 * is returned as a bare number without the data wrapper.
+	 *
+	 * @param builder The existing {@link TypeSpec.Builder}.
+	 * @return The {@link TypeSpec.Builder} with the new method.
+	 */
+	@Override
+	public TypeSpec.Builder build(TypeSpec.Builder builder) {
+		if (this.configuration.hasExistingRequest(RequestMethod.GET, this.configuration.getRequest() + "/count")) {
+			return builder;
+		}
+		GeneratedRestUtil.log("addCountEntitiesMethod", 1);
+		TypeName entityType = this.configuration.getEntity();
+		TypeName responseType = TypeName.LONG.box();
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("count")
+				.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", this.configuration.getRequest() + "/count").build())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), responseType))
+				.addParameter(ParameterSpec.builder(String.class, "filter")
+						.addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "false").build())
+						.build()
+				);
+		method = new AuthenticationInjector()
+				.withMethod("READ")
+				.withType(entityType)
+				.withSecurityConfig(this.configuration.getSecurity())
+				.inject(method);
+		this.beginCachedResponse(method, responseType, CodeBlock.of("$T.key($S, filter)", DataResponseCache.class, "count"));
+		this.addSpecificationStatement(method);
+		method.addStatement("$T response = this.dataAccessor.countData(spec)", responseType);
+		String responseVariable = this.endCachedResponse(method, "response");
+		method.addStatement("return $T.ok($L)", ResponseEntity.class, responseVariable);
+		builder.addMethod(method.build());
+		return builder;
+	}
+}
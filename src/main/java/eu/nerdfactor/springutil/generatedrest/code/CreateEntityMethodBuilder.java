@@ -3,6 +3,7 @@ package eu.nerdfactor.springutil.generatedrest.code;
 import com.squareup.javapoet.*;
 import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.Buildable;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ChangeEventInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.Configurable;
 import eu.nerdfactor.springutil.generatedrest.code.builder.ReturnStatementInjector;
 import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
@@ -33,6 +34,7 @@ public class CreateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 	protected boolean isUsingDto;
 	protected SecurityConfiguration securityConfiguration;
 	protected TypeName dataWrapperClass;
+	protected boolean isPublishingChanges;
 
 	public static CreateEntityMethodBuilder create() {
 		return new CreateEntityMethodBuilder();
@@ -48,7 +50,8 @@ public class CreateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 				configuration.getEntity(),
 				configuration.isUsingDto(),
 				configuration.getSecurity(),
-				configuration.getDataWrapperClass()
+				configuration.getDataWrapperClass(),
+				configuration.isPublishingChanges()
 		);
 	}
 
@@ -73,6 +76,13 @@ public class CreateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 		// Add the method body.
 		this.addMethodBody(method, this.entityType, this.requestType, this.responseType, this.isUsingDto);
 
+		// Inject a statement that publishes the change, if the controller
+		// publishes changes.
+		new ChangeEventInjector()
+				.withType(this.entityType)
+				.withPublishing(this.isPublishingChanges)
+				.inject(method);
+
 		// Inject a return statement that will return the response object in a ResponseEntity
 		// that may be wrapped inside the DataWrapper.
 		new ReturnStatementInjector()
@@ -20,9 +20,13 @@ public class CrudMethodBuilder extends MultiStepBuilder<TypeSpec.Builder> implem
 	public TypeSpec.Builder build(TypeSpec.Builder builder) {
 		this.and(CreateEntityMethodBuilder.create().withConfiguration(this.configuration));
 		this.and(ReadEntityMethodBuilder.create().withConfiguration(this.configuration));
+		this.and(ExistsEntityMethodBuilder.create().withConfiguration(this.configuration));
 		this.and(UpdateEntityMethodBuilder.create().withConfiguration(this.configuration));
+		this.and(MergePatchEntityMethodBuilder.create().withConfiguration(this.configuration));
 		this.and(SetEntityMethodBuilder.create().withConfiguration(this.configuration));
 		this.and(DeleteEntityMethodBuilder.create().withConfiguration(this.configuration));
+		this.and(new DeleteByFilterMethodBuilder().withConfiguration(this.configuration));
+		this.and(BatchEntityMethodBuilder.create().withConfiguration(this.configuration));
 		this.steps.forEach(buildStep -> buildStep.build(builder));
 		return builder;
 	}
@@ -0,0 +1,79 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ChangeEventInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ReturnStatementInjector;
+import eu.nerdfactor.springutil.generatedrest.data.CachingDataAccessor;
+import eu.nerdfactor.springutil.generatedrest.data.GeneratedQueries;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.lang.model.element.Modifier;
+
+public class DeleteByFilterMethodBuilder extends MethodBuilder {
+
+	/**
+	 * Add a Delete method called "deleteByFilter" that is mapped to requests
+	 * with a "filter" parameter. The filter is built into a specification by
+	 * the DataSpecificationBuilder, like for "searchAll", and all matching
+	 * entities are deleted with a single delete statement. The amount of
+	 * deleted entities is returned. Filters the DataSpecificationBuilder
+	 * can't use for a delete statement are answered with "Bad Request", like
+	 * filters without conditions, so not every entity is deleted by accident,
+	 * or conditions on related entities, which a delete statement can't join.
+	 *
+	 * @param builder The existing {@link TypeSpec.Builder}.
+	 * @return The {@link TypeSpec.Builder} with the new method.
+	 */
+	@Override
+	public TypeSpec.Builder build(TypeSpec.Builder builder) {
+		if (!this.configuration.isUsingDirectDelete() || this.configuration.hasExistingRequest(RequestMethod.DELETE, this.configuration.getRequest())) {
+			return builder;
+		}
+		GeneratedRestUtil.log("addDeleteByFilterMethod", 1);
+		TypeName entityType = this.configuration.getEntity();
+		TypeName responseType = TypeName.INT.box();
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("deleteByFilter")
+				.addAnnotation(AnnotationSpec.builder(DeleteMapping.class)
+						.addMember("value", "$S", this.configuration.getRequest())
+						.addMember("params", "$S", "filter")
+						.build())
+				.addAnnotation(Transactional.class)
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), responseType))
+				.addParameter(ParameterSpec.builder(String.class, "filter")
+						.addAnnotation(RequestParam.class)
+						.build()
+				);
+		method = new AuthenticationInjector()
+				.withMethod("DELETE")
+				.withType(entityType)
+				.withSecurityConfig(this.configuration.getSecurity())
+				.inject(method);
+		method.beginControlFlow("if(!this.specificationBuilder.isDeletable(filter))");
+		method.addStatement("return $T.badRequest().build()", ResponseEntity.class);
+		method.endControlFlow();
+		this.addSpecificationStatement(method);
+		method.addStatement("$T response = $T.deleteAll(this.entityManager, $T.class, spec)", responseType, GeneratedQueries.class, entityType);
+		if (this.configuration.isUsingEntityCache()) {
+			method.addStatement("(($T<$T, $T>) this.dataAccessor).invalidateAll()", CachingDataAccessor.class, entityType, this.configuration.getId());
+		}
+		new ChangeEventInjector()
+				.withType(entityType)
+				.withPublishing(this.configuration.isPublishingChanges())
+				.inject(method);
+		method = new ReturnStatementInjector()
+				.withWrapper(this.configuration.getDataWrapperClass())
+				.withResponse(responseType)
+				.inject(method);
+		builder.addMethod(method.build());
+		return builder;
+	}
+}
@@ -3,10 +3,13 @@ package eu.nerdfactor.springutil.generatedrest.code;
 import com.squareup.javapoet.*;
 import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.Buildable;
+import eu.nerdfactor.springutil.generatedrest.code.builder.CacheInvalidationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ChangeEventInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.Configurable;
 import eu.nerdfactor.springutil.generatedrest.code.builder.NoContentStatementInjector;
 import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
 import eu.nerdfactor.springutil.generatedrest.config.SecurityConfiguration;
+import eu.nerdfactor.springutil.generatedrest.data.GeneratedQueries;
 import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -14,6 +17,7 @@ import lombok.NoArgsConstructor;
 import lombok.With;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -31,6 +35,9 @@ public class DeleteEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 	protected TypeName identifyingType;
 	protected SecurityConfiguration securityConfiguration;
 	protected TypeName dataWrapperClass;
+	protected boolean isPublishingChanges;
+	protected boolean isUsingDirectDelete;
+	protected boolean isUsingEntityCache;
 
 	public static DeleteEntityMethodBuilder create() {
 		return new DeleteEntityMethodBuilder();
@@ -44,7 +51,10 @@ public class DeleteEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 				configuration.getEntity(),
 				configuration.getId(),
 				configuration.getSecurity(),
-				configuration.getDataWrapperClass()
+				configuration.getDataWrapperClass(),
+				configuration.isPublishingChanges(),
+				configuration.isUsingDirectDelete(),
+				configuration.isUsingEntityCache()
 		);
 	}
 
@@ -63,7 +73,17 @@ public class DeleteEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 				.withSecurityConfig(this.securityConfiguration)
 				.inject(method);
 
-		this.addMethodBody(method);
+		if (this.isUsingDirectDelete) {
+			method.addAnnotation(Transactional.class);
+			this.addDirectDeleteBody(method);
+		} else {
+			this.addMethodBody(method);
+		}
+
+		new ChangeEventInjector()
+				.withType(this.entityType)
+				.withPublishing(this.isPublishingChanges)
+				.inject(method);
 
 		new NoContentStatementInjector()
 				.withWrapper(this.dataWrapperClass)
@@ -93,4 +113,20 @@ public class DeleteEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 	protected void addMethodBody(MethodSpec.Builder method) {
 		method.addStatement("this.dataAccessor.deleteDataById(id)");
 	}
+
+	/**
+	 * Add a method body that deletes the Entity with a single delete
+	 * statement, without loading it first. Like deleting through the
+	 * DataAccessor, deleting an Entity that doesn't exist is no error.
+	 *
+	 * @param method The existing {@link MethodSpec.Builder}.
+	 */
+	protected void addDirectDeleteBody(MethodSpec.Builder method) {
+		method.addStatement("$T.delete(this.entityManager, $T.class, id)", GeneratedQueries.class, this.entityType);
+		new CacheInvalidationInjector()
+				.withType(this.entityType)
+				.withIdentifyingType(this.identifyingType)
+				.withCaching(this.isUsingEntityCache)
+				.inject(method);
+	}
 }
@@ -2,6 +2,8 @@ package eu.nerdfactor.springutil.generatedrest.code;
 
 import com.squareup.javapoet.*;
 import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.CacheInvalidationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ChangeEventInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
 import eu.nerdfactor.springutil.generatedrest.code.builder.NoContentStatementInjector;
 import eu.nerdfactor.springutil.generatedrest.config.AccessorType;
@@ -10,12 +12,14 @@ import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMethod;
 
 import javax.lang.model.element.Modifier;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 public class DeleteFromRelationsMethodBuilder extends MethodBuilder {
@@ -63,7 +67,7 @@ public class DeleteFromRelationsMethodBuilder extends MethodBuilder {
 		builder.addMethod(method.build());
 
 		if (this.configuration.hasExistingRequest(RequestMethod.DELETE, this.configuration.getRequest() + "/{id}/" + this.relationConfiguration.getName() + "/{relationId}")) {
-			return builder;
+			return this.buildBatch(builder, responseType, responseList);
 		}
 		MethodSpec.Builder methodById = MethodSpec
 				.methodBuilder(this.relationConfiguration.getMethodName(AccessorType.REMOVE) + "ById")
@@ -86,17 +90,87 @@ public class DeleteFromRelationsMethodBuilder extends MethodBuilder {
 				.withRelation(this.relationConfiguration.getEntityClass())
 				.withSecurityConfig(this.configuration.getSecurity())
 				.inject(methodById);
-		methodById.addStatement("$T entity = this.dataAccessor.readData(id)", this.configuration.getEntity());
+		methodById.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id)", this.configuration.getEntity());
 		methodById.beginControlFlow("if(entity == null)");
 		methodById.addStatement("throw new $T()", EntityNotFoundException.class);
 		methodById.endControlFlow();
 		methodById.addStatement("$T rel = this.entityManager.getReference($T.class, relationId)", this.relationConfiguration.getEntityClass(), this.relationConfiguration.getEntityClass());
 		methodById.addStatement("entity." + this.relationConfiguration.getRemover() + "(rel)");
+		new CacheInvalidationInjector()
+				.withType(this.configuration.getEntity())
+				.withIdentifyingType(this.configuration.getId())
+				.withCaching(this.configuration.isUsingEntityCache())
+				.inject(methodById);
+		new ChangeEventInjector()
+				.withType(this.configuration.getEntity())
+				.withPublishing(this.configuration.isPublishingChanges())
+				.inject(methodById);
 		methodById = new NoContentStatementInjector()
 				.withWrapper(this.configuration.getDataWrapperClass())
 				.withResponse(responseType)
 				.inject(methodById);
 		builder.addMethod(methodById.build());
+		return this.buildBatch(builder, responseType, responseList);
+	}
+
+	/**
+	 * Add a method that removes all related entities specified by a list of
+	 * ids in one transaction. The entities are referenced without loading
+	 * them and the changes are flushed once after all were removed.
+	 *
+	 * @param builder      The existing {@link TypeSpec.Builder}.
+	 * @param responseType The type of the related responses.
+	 * @param responseList The type of the response.
+	 * @return The {@link TypeSpec.Builder} with the new method.
+	 */
+	protected TypeSpec.Builder buildBatch(TypeSpec.Builder builder, TypeName responseType, TypeName responseList) {
+		if (this.configuration.hasExistingRequest(RequestMethod.DELETE, this.configuration.getRequest() + "/{id}/" + this.relationConfiguration.getName() + "/batch")) {
+			return builder;
+		}
+		GeneratedRestUtil.log("addRemoveAllFromRelationsMethod", 1);
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("removeAll" + this.relationConfiguration.getMethodName(AccessorType.GET).substring(3))
+				.addAnnotation(AnnotationSpec.builder(DeleteMapping.class).addMember("value", "$S", this.configuration.getRequest() + "/{id}/" + this.relationConfiguration.getName() + "/batch").build())
+				.addAnnotation(Transactional.class)
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), responseList))
+				.addParameter(ParameterSpec.builder(this.configuration.getId(), "id")
+						.addModifiers(Modifier.FINAL)
+						.addAnnotation(PathVariable.class)
+						.build()
+				)
+				.addParameter(ParameterSpec.builder(ParameterizedTypeName.get(ClassName.get(List.class), this.relationConfiguration.getIdClass()), "relationIds")
+						.addAnnotation(RequestBody.class)
+						.build()
+				);
+		method = new AuthenticationInjector()
+				.withMethod("UPDATE")
+				.withType(this.configuration.getEntity())
+				.withRelation(this.relationConfiguration.getEntityClass())
+				.withSecurityConfig(this.configuration.getSecurity())
+				.inject(method);
+		method.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id)", this.configuration.getEntity());
+		method.beginControlFlow("if(entity == null)");
+		method.addStatement("throw new $T()", EntityNotFoundException.class);
+		method.endControlFlow();
+		method.beginControlFlow("for($T relationId : new $T<>(relationIds))", this.relationConfiguration.getIdClass(), LinkedHashSet.class);
+		method.addStatement("entity." + this.relationConfiguration.getRemover() + "(this.entityManager.getReference($T.class, relationId))", this.relationConfiguration.getEntityClass());
+		method.endControlFlow();
+		method.addStatement("this.entityManager.flush()");
+		new CacheInvalidationInjector()
+				.withType(this.configuration.getEntity())
+				.withIdentifyingType(this.configuration.getId())
+				.withCaching(this.configuration.isUsingEntityCache())
+				.inject(method);
+		new ChangeEventInjector()
+				.withType(this.configuration.getEntity())
+				.withPublishing(this.configuration.isPublishingChanges())
+				.inject(method);
+		method = new NoContentStatementInjector()
+				.withWrapper(this.configuration.getDataWrapperClass())
+				.withResponse(responseType)
+				.inject(method);
+		builder.addMethod(method.build());
 		return builder;
 	}
 }
@@ -2,6 +2,8 @@ package eu.nerdfactor.springutil.generatedrest.code;
 
 import com.squareup.javapoet.*;
 import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.CacheInvalidationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ChangeEventInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
 import eu.nerdfactor.springutil.generatedrest.code.builder.NoContentStatementInjector;
 import eu.nerdfactor.springutil.generatedrest.config.AccessorType;
@@ -49,11 +51,20 @@ public class DeleteSingleRelationMethodBuilder extends MethodBuilder {
 				.withRelation(this.relationConfiguration.getEntityClass())
 				.withSecurityConfig(this.configuration.getSecurity())
 				.inject(method);
-		method.addStatement("$T entity = this.dataAccessor.readData(id)", this.configuration.getEntity());
+		method.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id)", this.configuration.getEntity());
 		method.beginControlFlow("if(entity == null)");
 		method.addStatement("throw new $T()", EntityNotFoundException.class);
 		method.endControlFlow();
 		method.addStatement("entity." + this.relationConfiguration.getSetter() + "(null)");
+		new CacheInvalidationInjector()
+				.withType(this.configuration.getEntity())
+				.withIdentifyingType(this.configuration.getId())
+				.withCaching(this.configuration.isUsingEntityCache())
+				.inject(method);
+		new ChangeEventInjector()
+				.withType(this.configuration.getEntity())
+				.withPublishing(this.configuration.isPublishingChanges())
+				.inject(method);
 		method = new NoContentStatementInjector()
 				.withWrapper(this.configuration.getDataWrapperClass())
 				.withResponse(responseType)
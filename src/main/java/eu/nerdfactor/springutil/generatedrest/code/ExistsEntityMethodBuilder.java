@@ -0,0 +1,117 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.Buildable;
+import eu.nerdfactor.springutil.generatedrest.code.builder.Configurable;
+import eu.nerdfactor.springutil.generatedrest.code.builder.NotModifiedInjector;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.SecurityConfiguration;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.With;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import javax.lang.model.element.Modifier;
+
+@With
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+public class ExistsEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Configurable<ControllerConfiguration> {
+
+	protected boolean hasExistingRequest;
+	protected String requestUrl;
+	protected TypeName entityType;
+	protected TypeName identifyingType;
+	protected SecurityConfiguration securityConfiguration;
+	protected String versionAttribute;
+
+	public static ExistsEntityMethodBuilder create() {
+		return new ExistsEntityMethodBuilder();
+	}
+
+	@Override
+	public ExistsEntityMethodBuilder withConfiguration(@NotNull ControllerConfiguration configuration) {
+		// Without a Head method, Head requests are answered by the Get method.
+		// So an existing Get method decides about them as well.
+		return new ExistsEntityMethodBuilder(
+				configuration.hasExistingRequest(RequestMethod.HEAD, configuration.getRequest() + "/{id}")
+						|| configuration.hasExistingRequest(RequestMethod.GET, configuration.getRequest() + "/{id}"),
+				configuration.getRequest() + "/{id}",
+				configuration.getEntity(),
+				configuration.getId(),
+				configuration.getSecurity(),
+				configuration.isVersioned() ? configuration.getVersion() : null
+		);
+	}
+
+	@Override
+	public TypeSpec.Builder build(TypeSpec.Builder builder) {
+		if (this.hasExistingRequest) {
+			return builder;
+		}
+		GeneratedRestUtil.log("addExistsEntityMethod", 1);
+
+		MethodSpec.Builder method = this.createMethodDeclaration(this.requestUrl, this.identifyingType);
+
+		new AuthenticationInjector()
+				.withMethod("READ")
+				.withType(this.entityType)
+				.withSecurityConfig(this.securityConfiguration)
+				.inject(method);
+
+		if (this.versionAttribute != null) {
+			new NotModifiedInjector()
+					.withType(this.entityType)
+					.withVersion(this.versionAttribute)
+					.inject(method);
+		} else {
+			this.addMethodBody(method);
+		}
+		method.addStatement("return $T.ok().build()", ResponseEntity.class);
+
+		builder.addMethod(method.build());
+		return builder;
+	}
+
+	/**
+	 * Create a Head method called "exists" with the requestUrl that takes
+	 * an identifyingType (called "id") from the PathVariable and will return
+	 * a ResponseEntity without body.
+	 *
+	 * @param requestUrl      The requested Url.
+	 * @param identifyingType The type of object identifying the Entity.
+	 * @return The {@link MethodSpec.Builder} of the new method declaration.
+	 */
+	protected MethodSpec.Builder createMethodDeclaration(String requestUrl, TypeName identifyingType) {
+		return MethodSpec.methodBuilder("exists")
+				.addAnnotation(AnnotationSpec.builder(RequestMapping.class)
+						.addMember("value", "$S", requestUrl)
+						.addMember("method", "$T.HEAD", RequestMethod.class)
+						.build())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), TypeName.VOID.box()))
+				.addParameter(ParameterSpec.builder(identifyingType, "id").addModifiers(Modifier.FINAL).addAnnotation(PathVariable.class).build());
+	}
+
+	/**
+	 * Add a method body that checks with the help of the DataAccessor if an
+	 * Entity with the provided id exists, without loading it. Will throw a
+	 * new EntityNotFoundException if no Entity could be found.
+	 *
+	 * @param method The existing {@link MethodSpec.Builder}.
+	 */
+	protected void addMethodBody(MethodSpec.Builder method) {
+		method.beginControlFlow("if(!this.dataAccessor.existsData(id))");
+		method.addStatement("throw new $T()", EntityNotFoundException.class);
+		method.endControlFlow();
+	}
+
+}
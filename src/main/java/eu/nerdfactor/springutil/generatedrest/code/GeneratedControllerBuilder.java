@@ -22,10 +22,21 @@ public class GeneratedControllerBuilder extends MultiStepBuilder<TypeSpec.Builde
 	public TypeSpec build() {
 		TypeSpec.Builder builder = TypeSpec.classBuilder(configuration.getClassName()).addAnnotation(RestController.class).addModifiers(Modifier.PUBLIC);
 		this.and(new GeneratedPropertiesBuilder().withConfiguration(this.configuration));
-		this.and(new CrudMethodBuilder().withConfiguration(this.configuration));
-		this.and(new ListMethodBuilder().withConfiguration(this.configuration));
-		this.and(new SearchMethodBuilder().withConfiguration(this.configuration));
-		this.and(new RelationshipMethodBuilder().withConfiguration(this.configuration));
+		if (this.configuration.isReactive()) {
+			this.and(new ReactiveCrudMethodBuilder().withConfiguration(this.configuration));
+			this.and(new ReactiveListMethodBuilder().withConfiguration(this.configuration));
+			this.and(new ReactiveRelationMethodBuilder().withConfiguration(this.configuration));
+		} else {
+			this.and(new CrudMethodBuilder().withConfiguration(this.configuration));
+			this.and(new ListMethodBuilder().withConfiguration(this.configuration));
+			this.and(new SearchMethodBuilder().withConfiguration(this.configuration));
+			this.and(new CountMethodBuilder().withConfiguration(this.configuration));
+			this.and(new SparseFieldsMethodBuilder().withConfiguration(this.configuration));
+			this.and(new RelationshipMethodBuilder().withConfiguration(this.configuration));
+			this.and(new VersionConflictMethodBuilder().withConfiguration(this.configuration));
+			this.and(new ResponseCacheMethodBuilder().withConfiguration(this.configuration));
+			this.and(new AsyncMethodBuilder().withConfiguration(this.configuration));
+		}
 		this.steps.forEach(buildStep -> buildStep.build(builder));
 		return builder.build();
 	}
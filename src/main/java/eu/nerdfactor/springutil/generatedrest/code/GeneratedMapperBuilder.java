@@ -0,0 +1,101 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.springutil.generatedrest.code.builder.Configurable;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.MappingConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.PropertyConfiguration;
+import eu.nerdfactor.springutil.generatedrest.data.DataMapper;
+import eu.nerdfactor.springutil.generatedrest.data.GeneratedEntityMapper;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import org.jetbrains.annotations.NotNull;
+
+import javax.lang.model.element.Modifier;
+
+/**
+ * Builds a mapper class with a static method for every mapping of the
+ * controller. The methods copy the properties one by one, so no reflection
+ * is used. Mappings that are not known to the mapper will be handled by a
+ * {@link GeneratedEntityMapper}.
+ *
+ * @author Daniel Klug
+ */
+public class GeneratedMapperBuilder implements Configurable<ControllerConfiguration> {
+
+	ControllerConfiguration configuration;
+
+	@Override
+	public GeneratedMapperBuilder withConfiguration(@NotNull ControllerConfiguration configuration) {
+		this.configuration = configuration;
+		return this;
+	}
+
+	public TypeSpec build() {
+		GeneratedRestUtil.log("addGeneratedMapper", 1);
+		TypeVariableName typeVariable = TypeVariableName.get("T");
+		TypeSpec.Builder builder = TypeSpec
+				.classBuilder(this.configuration.getMapperClassName())
+				.addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+				.addSuperinterface(DataMapper.class)
+				.addField(FieldSpec.builder(DataMapper.class, "fallback", Modifier.PRIVATE, Modifier.FINAL)
+						.initializer("new $T()", GeneratedEntityMapper.class)
+						.build());
+		MethodSpec.Builder map = MethodSpec
+				.methodBuilder("map")
+				.addAnnotation(Override.class)
+				.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
+				.addModifiers(Modifier.PUBLIC)
+				.addTypeVariable(typeVariable)
+				.returns(typeVariable)
+				.addParameter(Object.class, "obj")
+				.addParameter(ParameterizedTypeName.get(ClassName.get(Class.class), typeVariable), "cls");
+		map.beginControlFlow("if(obj == null)");
+		map.addStatement("return null");
+		map.endControlFlow();
+		for (MappingConfiguration mapping : this.configuration.getMappings()) {
+			map.beginControlFlow("if(cls == $T.class && obj instanceof $T source)", mapping.getTarget(), mapping.getSource());
+			map.addStatement("return (T) " + mapping.getMethodName() + "(source)");
+			map.endControlFlow();
+			builder.addMethod(this.buildMapping(mapping));
+		}
+		map.addStatement("return this.fallback.map(obj, cls)");
+		builder.addMethod(map.build());
+		return builder.build();
+	}
+
+	/**
+	 * Build a static method that maps the source into the target.
+	 *
+	 * @param mapping The configuration of the mapping.
+	 * @return The method.
+	 */
+	protected MethodSpec buildMapping(MappingConfiguration mapping) {
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder(mapping.getMethodName())
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.returns(mapping.getTarget())
+				.addParameter(mapping.getSource(), "source");
+		if (mapping.getConverter() != null) {
+			method.addStatement("return source." + mapping.getConverter() + "()");
+			return method.build();
+		}
+		method.addStatement("$T target = new $T()", mapping.getTarget(), mapping.getTarget());
+		for (PropertyConfiguration property : mapping.getProperties()) {
+			String value = property.getGetter() != null ? "source." + property.getGetter() + "()" : "source." + property.getName();
+			if (property.isUnboxed()) {
+				// Null can't be unboxed, so the primitive keeps its default value.
+				method.beginControlFlow("if(" + value + " != null)");
+			}
+			if (property.getSetter() != null) {
+				method.addStatement("target." + property.getSetter() + "(" + value + ")");
+			} else {
+				method.addStatement("target." + property.getName() + " = " + value);
+			}
+			if (property.isUnboxed()) {
+				method.endControlFlow();
+			}
+		}
+		method.addStatement("return target");
+		return method.build();
+	}
+}
@@ -0,0 +1,119 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.squareup.javapoet.*;
+import eu.nerdfactor.springutil.generatedrest.code.builder.Configurable;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.MappingConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.PropertyConfiguration;
+import eu.nerdfactor.springutil.generatedrest.data.DataDocument;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import org.jetbrains.annotations.NotNull;
+
+import javax.lang.model.element.Modifier;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Builds a patcher class with a static method that applies a JSON Merge
+ * Patch document to an entity. The document is read as a stream of tokens
+ * and only the properties that are present in it are written, so neither
+ * the whole document nor the whole entity has to be processed. The names
+ * in the document are the JSON names of the request, like Jackson reads
+ * them, and unknown names are skipped.
+ *
+ * @author Daniel Klug
+ */
+public class GeneratedPatcherBuilder implements Configurable<ControllerConfiguration> {
+
+	ControllerConfiguration configuration;
+
+	@Override
+	public GeneratedPatcherBuilder withConfiguration(@NotNull ControllerConfiguration configuration) {
+		this.configuration = configuration;
+		return this;
+	}
+
+	public TypeSpec build() {
+		GeneratedRestUtil.log("addGeneratedPatcher", 1);
+		MappingConfiguration patch = this.configuration.getMergePatch();
+		MethodSpec.Builder apply = MethodSpec
+				.methodBuilder("apply")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.returns(patch.getTarget())
+				.addParameter(ObjectMapper.class, "objectMapper")
+				.addParameter(JsonParser.class, "parser")
+				.addParameter(patch.getTarget(), "target")
+				.addException(IOException.class);
+		// The document uses the JSON names of the request, which may be renamed.
+		apply.addStatement("$T<$T, $T> names = $T.names(objectMapper, objectMapper.constructType($T.class))", Map.class, String.class, String.class, DataDocument.class, patch.getSource());
+		apply.beginControlFlow("if(parser.nextToken() != $T.START_OBJECT)", JsonToken.class);
+		apply.addStatement("throw new $T(parser, $S)", JsonParseException.class, "A merge patch has to be a JSON object.");
+		apply.endControlFlow();
+		apply.beginControlFlow("while(parser.nextToken() == $T.FIELD_NAME)", JsonToken.class);
+		apply.addStatement("$T name = names.get(parser.currentName())", String.class);
+		apply.addStatement("boolean isNull = parser.nextToken() == $T.VALUE_NULL", JsonToken.class);
+		apply.beginControlFlow("if(name == null)");
+		apply.addStatement("parser.skipChildren()");
+		apply.addStatement("continue");
+		apply.endControlFlow();
+		apply.beginControlFlow("switch(name)");
+		for (PropertyConfiguration property : patch.getProperties()) {
+			CodeBlock value = CodeBlock.of("isNull ? $L : parser.readValueAs($L)", this.emptyValue(property.getType()), this.valueType(property.getType()));
+			if (property.getSetter() != null) {
+				apply.addStatement("case $S -> target.$L($L)", property.getName(), property.getSetter(), value);
+			} else {
+				apply.addStatement("case $S -> target.$L = $L", property.getName(), property.getName(), value);
+			}
+		}
+		// Properties that can't be patched are skipped like unknown properties.
+		apply.addStatement("default -> parser.skipChildren()");
+		apply.endControlFlow();
+		apply.endControlFlow();
+		apply.addStatement("return target");
+		return TypeSpec
+				.classBuilder(this.configuration.getPatcherClassName())
+				.addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+				.addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+				.addMethod(apply.build())
+				.build();
+	}
+
+	/**
+	 * Get the value a property is set to, if the document sets it to null.
+	 * Primitive properties can't be null and are set to their default value.
+	 *
+	 * @param type The type of the property.
+	 * @return The code of the value.
+	 */
+	protected CodeBlock emptyValue(TypeName type) {
+		if (!type.isPrimitive()) {
+			return CodeBlock.of("null");
+		}
+		if (type.equals(TypeName.BOOLEAN)) {
+			return CodeBlock.of("false");
+		}
+		if (type.equals(TypeName.INT)) {
+			return CodeBlock.of("0");
+		}
+		return CodeBlock.of("($T) 0", type);
+	}
+
+	/**
+	 * Get the argument of readValueAs for the type of the property. Generic
+	 * types are read with a TypeReference, in order to keep their arguments.
+	 *
+	 * @param type The type of the property.
+	 * @return The code of the argument.
+	 */
+	protected CodeBlock valueType(TypeName type) {
+		if (type instanceof ParameterizedTypeName) {
+			return CodeBlock.of("new $T<$T>() {}", TypeReference.class, type);
+		}
+		return CodeBlock.of("$T.class", type);
+	}
+}
@@ -1,16 +1,30 @@
 package eu.nerdfactor.springutil.generatedrest.code;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import eu.nerdfactor.springutil.generatedrest.code.builder.*;
 import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.data.CachingDataAccessor;
+import eu.nerdfactor.springutil.generatedrest.data.DataResponseCache;
 import eu.nerdfactor.springutil.generatedrest.data.DataSpecificationBuilder;
+import eu.nerdfactor.springutil.generatedrest.data.GeneratedExecutors;
 import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.util.Pair;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 public class GeneratedPropertiesBuilder extends MultiStepBuilder<TypeSpec.Builder> implements Buildable<TypeSpec.Builder>, Configurable<ControllerConfiguration> {
 
@@ -24,16 +38,76 @@ public class GeneratedPropertiesBuilder extends MultiStepBuilder<TypeSpec.Builde
 
 	public TypeSpec.Builder build(TypeSpec.Builder builder) {
 		ConstructorBuilder constructor = new ConstructorBuilder();
-		List.of(
+		List<Pair<String, TypeName>> properties = new ArrayList<>(List.of(
 				Pair.of("dataAccessor", (TypeName) configuration.getDataAccessorClass()),
-				Pair.of("dataMapper", configuration.getDataMapperClass()),
 				Pair.of("dataMerger", configuration.getDataMergerClass()),
-				Pair.of("specificationBuilder", (TypeName) ClassName.get(DataSpecificationBuilder.class)),
-				Pair.of("entityManager", (TypeName) ClassName.get(EntityManager.class))
-		).forEach(pair -> {
+				Pair.of("specificationBuilder", (TypeName) ClassName.get(DataSpecificationBuilder.class))
+		));
+		if (!configuration.isReactive()) {
+			// Reactive controllers only access data through the ReactiveDataAccessor.
+			properties.add(Pair.of("entityManager", ClassName.get(EntityManager.class)));
+		}
+		if (configuration.isUsingGeneratedMapper()) {
+			// The generated mapper belongs to the controller and is not injected.
+			this.and(new PropertyBuilder()
+					.withName("dataMapper")
+					.withType(configuration.getMapperClassName())
+					.withInitializer(CodeBlock.of("new $T()", configuration.getMapperClassName())));
+		} else {
+			properties.add(1, Pair.of("dataMapper", configuration.getDataMapperClass()));
+		}
+		if ((configuration.isStreaming() && !configuration.isReactive()) || configuration.isUsingMergePatch()) {
+			// Streamed responses and merge patches are written and read with the ObjectMapper of the application.
+			properties.add(Pair.of("objectMapper", ClassName.get(ObjectMapper.class)));
+		}
+		if (configuration.isUsingMergePatch()) {
+			// Patched entities are validated if the application has a Validator.
+			properties.add(Pair.of("validator", ParameterizedTypeName.get(ObjectProvider.class, Validator.class)));
+		}
+		if (configuration.isPublishingChanges()) {
+			// Changes are published to the response caches of all controllers.
+			properties.add(Pair.of("eventPublisher", ClassName.get(ApplicationEventPublisher.class)));
+		}
+		if (configuration.isUsingResponseCache()) {
+			this.and(new PropertyBuilder()
+					.withName("responseCache")
+					.withType(DataResponseCache.class)
+					.withInitializer(CodeBlock.of("new $T($L, $T.ofSeconds($L))", DataResponseCache.class, configuration.getResponseCacheSize(), Duration.class, configuration.getResponseCacheTtl())));
+		}
+		if (configuration.isAsync()) {
+			// Endpoints are executed in transactions on the shared executor, with the context of the request.
+			this.and(new PropertyBuilder()
+					.withName("executor")
+					.withType(Executor.class)
+					.withInitializer(CodeBlock.of("$T.propagating($T.virtualThreads())", GeneratedExecutors.class, GeneratedExecutors.class)));
+		}
+		boolean streaming = configuration.isStreaming() && !configuration.isReactive();
+		if (configuration.isAsync() || streaming) {
+			properties.add(Pair.of("transactionManager", ClassName.get(PlatformTransactionManager.class)));
+		}
+		if (configuration.isAsync()) {
+			this.and(new PropertyBuilder()
+					.withName("transactionTemplate")
+					.withType(TransactionTemplate.class));
+			constructor.withStatement(CodeBlock.of("this.transactionTemplate = new $T(this.transactionManager)", TransactionTemplate.class));
+		}
+		if (streaming) {
+			// Streamed responses are written on another thread and need their own transaction.
+			// Read-only transactions let the persistence provider skip the snapshots of the entities.
+			this.and(new PropertyBuilder()
+					.withName("readOnlyTransactionTemplate")
+					.withType(TransactionTemplate.class));
+			constructor.withStatement(CodeBlock.of("this.readOnlyTransactionTemplate = new $T(this.transactionManager)", TransactionTemplate.class));
+			constructor.withStatement(CodeBlock.of("this.readOnlyTransactionTemplate.setReadOnly(true)"));
+		}
+		properties.forEach(pair -> {
 			this.and(new PropertyBuilder().withProperty(pair));
 			constructor.withProperty(pair);
 		});
+		if (configuration.isUsingEntityCache()) {
+			// Reads by id will be answered from a cache of the controller.
+			constructor.withStatement(CodeBlock.of("this.dataAccessor = new $T<>(this.dataAccessor, $T::$L, $L, $T.ofSeconds($L))", CachingDataAccessor.class, configuration.getEntity(), configuration.getIdAccessor(), configuration.getEntityCacheSize(), Duration.class, configuration.getEntityCacheTtl()));
+		}
 		this.and(constructor);
 		this.steps.forEach(buildStep -> buildStep.build(builder));
 		return builder;
@@ -6,8 +6,13 @@ import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
 import eu.nerdfactor.springutil.generatedrest.code.builder.ReturnStatementInjector;
 import eu.nerdfactor.springutil.generatedrest.config.AccessorType;
 import eu.nerdfactor.springutil.generatedrest.config.RelationConfiguration;
+import eu.nerdfactor.springutil.generatedrest.data.DataPage;
+import eu.nerdfactor.springutil.generatedrest.data.GeneratedQueries;
 import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -31,6 +36,9 @@ public class GetMultipleRelationsMethodBuilder extends MethodBuilder {
 		if (this.configuration.hasExistingRequest(RequestMethod.GET, this.configuration.getRequest() + "/{id}/" + this.relationConfiguration.getName())) {
 			return builder;
 		}
+		if (this.configuration.isPagedRelations()) {
+			return this.buildPaged(builder);
+		}
 		GeneratedRestUtil.log("addGetMultipleRelationsMethod", 1);
 		TypeName responseType = this.relationConfiguration.isWithDtos() && this.relationConfiguration.getDtoClass() != null && !this.relationConfiguration.getDtoClass().equals(TypeName.OBJECT) ? this.relationConfiguration.getDtoClass() : this.relationConfiguration.getEntityClass();
 		ParameterizedTypeName responseList = ParameterizedTypeName.get(ClassName.get(List.class), responseType);
@@ -50,19 +58,24 @@ public class GetMultipleRelationsMethodBuilder extends MethodBuilder {
 				.withRelation(this.relationConfiguration.getEntityClass())
 				.withSecurityConfig(this.configuration.getSecurity())
 				.inject(method);
-		method.addStatement("$T entity = this.dataAccessor.readData(id)", this.configuration.getEntity());
+		// Load the entity together with the relation, if the DataAccessor supports it.
+		method.addStatement("$T entity = this.dataAccessor.readDataWithRelations(id, $S)", this.configuration.getEntity(), this.relationConfiguration.getName());
 		method.beginControlFlow("if(entity == null)");
 		method.addStatement("throw new $T()", EntityNotFoundException.class);
 		method.endControlFlow();
-		method.addStatement("$T<$T> responseList = new $T<>()", List.class, responseType, ArrayList.class);
-		method.beginControlFlow("for($T rel : entity." + this.relationConfiguration.getGetter() + "())", this.relationConfiguration.getEntityClass());
-		if (this.relationConfiguration.isWithDtos()) {
-			method.addStatement("$T response = this.dataMapper.map(rel, $T.class)", responseType, responseType);
+		if (this.relationConfiguration.isWithDtos() && this.configuration.isUsingCollectionMapper()) {
+			method.addStatement("$T<$T> responseList = this.dataMapper.mapAll(entity." + this.relationConfiguration.getGetter() + "(), $T.class)", List.class, responseType, responseType);
 		} else {
-			method.addStatement("$T response = rel", responseType);
+			method.addStatement("$T<$T> responseList = new $T<>()", List.class, responseType, ArrayList.class);
+			method.beginControlFlow("for($T rel : entity." + this.relationConfiguration.getGetter() + "())", this.relationConfiguration.getEntityClass());
+			if (this.relationConfiguration.isWithDtos()) {
+				method.addStatement("$T response = this.dataMapper.map(rel, $T.class)", responseType, responseType);
+			} else {
+				method.addStatement("$T response = rel", responseType);
+			}
+			method.addStatement("responseList.add(response)");
+			method.endControlFlow();
 		}
-		method.addStatement("responseList.add(response)");
-		method.endControlFlow();
 		method = new ReturnStatementInjector()
 				.withWrapper(this.configuration.getDataWrapperClass())
 				.withResponse(responseType)
@@ -71,4 +84,64 @@ public class GetMultipleRelationsMethodBuilder extends MethodBuilder {
 		builder.addMethod(method.build());
 		return builder;
 	}
+
+	/**
+	 * Add a Get method that reads a page of the related entities with a query
+	 * on the relation, instead of initializing the whole collection of the
+	 * entity.
+	 *
+	 * @param builder The existing {@link TypeSpec.Builder}.
+	 * @return The {@link TypeSpec.Builder} with the new method.
+	 */
+	protected TypeSpec.Builder buildPaged(TypeSpec.Builder builder) {
+		GeneratedRestUtil.log("addGetPagedRelationsMethod", 1);
+		TypeName responseType = this.relationConfiguration.getResponse();
+		TypeName relationType = this.relationConfiguration.getEntityClass();
+		ParameterizedTypeName responsePage = ParameterizedTypeName.get(ClassName.get(Page.class), responseType);
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder(this.relationConfiguration.getMethodName(AccessorType.GET))
+				.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", this.configuration.getRequest() + "/{id}/" + this.relationConfiguration.getName()).build())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), responsePage))
+				.addParameter(ParameterSpec.builder(this.configuration.getId(), "id")
+						.addModifiers(Modifier.FINAL)
+						.addAnnotation(PathVariable.class)
+						.build()
+				)
+				.addParameter(ParameterSpec.builder(Pageable.class, "pageable")
+						.addAnnotation(AnnotationSpec.builder(PageableDefault.class).addMember("size", "20").build())
+						.build()
+				);
+		method = new AuthenticationInjector()
+				.withMethod("READ")
+				.withType(this.configuration.getEntity())
+				.withRelation(relationType)
+				.withSecurityConfig(this.configuration.getSecurity())
+				.inject(method);
+		method.addStatement("$T page = $T.relationPage(this.entityManager, $T.class, id, $S, $T.class, pageable)", ParameterizedTypeName.get(ClassName.get(Page.class), relationType), GeneratedQueries.class, this.configuration.getEntity(), this.relationConfiguration.getName(), relationType);
+		method.beginControlFlow("if(page == null)");
+		method.addStatement("throw new $T()", EntityNotFoundException.class);
+		method.endControlFlow();
+		if (this.relationConfiguration.isWithDtos() && this.configuration.isUsingCollectionMapper()) {
+			method.addStatement("$T<$T> responseList = this.dataMapper.mapAll(page.getContent(), $T.class)", List.class, responseType, responseType);
+		} else {
+			method.addStatement("$T<$T> responseList = new $T<>()", List.class, responseType, ArrayList.class);
+			method.beginControlFlow("for($T rel : page.getContent())", relationType);
+			if (this.relationConfiguration.isWithDtos()) {
+				method.addStatement("$T response = this.dataMapper.map(rel, $T.class)", responseType, responseType);
+			} else {
+				method.addStatement("$T response = rel", responseType);
+			}
+			method.addStatement("responseList.add(response)");
+			method.endControlFlow();
+		}
+		method.addStatement("$T responsePage = new $T<>(responseList, page.getPageable(), page.getTotalElements())", responsePage, DataPage.class);
+		method = new ReturnStatementInjector()
+				.withWrapper(this.configuration.getDataWrapperClass())
+				.withResponse(responseType)
+				.withResponseVariable("responsePage")
+				.inject(method);
+		builder.addMethod(method.build());
+		return builder;
+	}
 }
@@ -47,7 +47,8 @@ public class GetSingleRelationMethodBuilder extends MethodBuilder {
 				.withRelation(this.relationConfiguration.getEntityClass())
 				.withSecurityConfig(this.configuration.getSecurity())
 				.inject(method);
-		method.addStatement("$T entity = this.dataAccessor.readData(id)", this.configuration.getEntity());
+		// Load the entity together with the relation, if the DataAccessor supports it.
+		method.addStatement("$T entity = this.dataAccessor.readDataWithRelations(id, $S)", this.configuration.getEntity(), this.relationConfiguration.getName());
 		method.beginControlFlow("if(entity == null)");
 		method.addStatement("throw new $T()", EntityNotFoundException.class);
 		method.endControlFlow();
@@ -1,17 +1,26 @@
 package eu.nerdfactor.springutil.generatedrest.code;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.squareup.javapoet.*;
 import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
 import eu.nerdfactor.springutil.generatedrest.code.builder.ReturnStatementInjector;
+import eu.nerdfactor.springutil.generatedrest.data.GeneratedQueries;
 import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.lang.model.element.Modifier;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class ListMethodBuilder extends MethodBuilder {
 
@@ -19,8 +28,11 @@ public class ListMethodBuilder extends MethodBuilder {
 		if (this.configuration.hasExistingRequest(RequestMethod.GET, this.configuration.getRequest())) {
 			return builder;
 		}
+		if (this.configuration.isStreaming()) {
+			return this.buildStreaming(builder);
+		}
 		GeneratedRestUtil.log("addGetAllEntitiesMethod", 1);
-		TypeName responseType = this.configuration.getResponseType();
+		TypeName responseType = this.configuration.getListResponseType();
 		ParameterizedTypeName responseList = ParameterizedTypeName.get(ClassName.get(List.class), responseType);
 		MethodSpec.Builder method = MethodSpec
 				.methodBuilder("all")
@@ -32,20 +44,79 @@ public class ListMethodBuilder extends MethodBuilder {
 				.withType(this.configuration.getEntity())
 				.withSecurityConfig(this.configuration.getSecurity())
 				.inject(method);
-		method.addStatement("$T<$T> responseList = new $T<>()", List.class, responseType, ArrayList.class);
-		method.beginControlFlow("for($T entity : this.dataAccessor.listData())", this.configuration.getEntity());
-		if (this.configuration.isUsingDto()) {
-			method.addStatement("$T response = this.dataMapper.map(entity, $T.class)", responseType, responseType);
+		this.beginCachedResponse(method, responseList, CodeBlock.of("$S", "all"));
+		if (this.configuration.isUsingProjection()) {
+			method.addStatement("$T<$T> responseList = $T.project(this.entityManager, $T.class, $T.class, null, $T.unsorted(), $L)", List.class, responseType, GeneratedQueries.class, this.configuration.getEntity(), responseType, Sort.class, this.projectionAttributes());
+		} else if (this.configuration.isUsingDto() && this.configuration.isUsingCollectionMapper()) {
+			method.addStatement("$T<$T> entities = new $T<>()", List.class, this.configuration.getEntity(), ArrayList.class);
+			method.addStatement("this.dataAccessor.listData().forEach(entities::add)");
+			method.addStatement("$T<$T> responseList = this.dataMapper.mapAll(entities, $T.class)", List.class, responseType, responseType);
 		} else {
-			method.addStatement("$T response = entity", responseType);
+			method.addStatement("$T<$T> responseList = new $T<>()", List.class, responseType, ArrayList.class);
+			method.beginControlFlow("for($T entity : this.dataAccessor.listData())", this.configuration.getEntity());
+			if (this.configuration.isUsingDto()) {
+				method.addStatement("$T response = this.dataMapper.map(entity, $T.class)", responseType, responseType);
+			} else {
+				method.addStatement("$T response = entity", responseType);
+			}
+			method.addStatement("responseList.add(response)");
+			method.endControlFlow();
 		}
-		method.addStatement("responseList.add(response)");
-		method.endControlFlow();
+		String responseVariable = this.endCachedResponse(method, "responseList");
 		method = new ReturnStatementInjector()
 				.withWrapper(this.configuration.getDataWrapperClass())
 				.withResponse(responseType)
-				.withResponseVariable("responseList")
+				.withResponseVariable(responseVariable)
+				.inject(method);
+		builder.addMethod(method.build());
+		return builder;
+	}
+
+	/**
+	 * Add a Get method called "all" that pulls the entities through a Stream
+	 * from the DataAccessor and writes them one by one into a JSON array of
+	 * a StreamingResponseBody. The body is written on another thread, so the
+	 * Stream is consumed in its own read-only transaction, which binds the
+	 * persistence context that every written entity will be detached from in
+	 * order to keep the memory flat.
+	 *
+	 * @param builder The existing {@link TypeSpec.Builder}.
+	 * @return The {@link TypeSpec.Builder} with the new method.
+	 */
+	protected TypeSpec.Builder buildStreaming(TypeSpec.Builder builder) {
+		GeneratedRestUtil.log("addStreamAllEntitiesMethod", 1);
+		TypeName responseType = this.configuration.getListResponseType();
+		TypeName entityType = this.configuration.getEntity();
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("all")
+				.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", this.configuration.getRequest()).build())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ResponseEntity.class, StreamingResponseBody.class));
+		method = new AuthenticationInjector()
+				.withMethod("READ")
+				.withType(entityType)
+				.withSecurityConfig(this.configuration.getSecurity())
 				.inject(method);
+		method.addCode("$T responseBody = outputStream -> this.readOnlyTransactionTemplate.executeWithoutResult(status -> {\n$>", StreamingResponseBody.class);
+		method.beginControlFlow("try ($T generator = this.objectMapper.getFactory().createGenerator(outputStream); $T<$T> entities = this.dataAccessor.streamData())", JsonGenerator.class, Stream.class, entityType);
+		method.addStatement("generator.writeStartArray()");
+		method.addStatement("$T<$T> iterator = entities.iterator()", Iterator.class, entityType);
+		method.beginControlFlow("while(iterator.hasNext())");
+		method.addStatement("$T entity = iterator.next()", entityType);
+		if (this.configuration.isUsingDto()) {
+			method.addStatement("$T response = this.dataMapper.map(entity, $T.class)", responseType, responseType);
+		} else {
+			method.addStatement("$T response = entity", responseType);
+		}
+		method.addStatement("generator.writeObject(response)");
+		method.addStatement("this.entityManager.detach(entity)");
+		method.endControlFlow();
+		method.addStatement("generator.writeEndArray()");
+		method.nextControlFlow("catch ($T e)", IOException.class);
+		method.addStatement("throw new $T(e)", UncheckedIOException.class);
+		method.endControlFlow();
+		method.addCode("$<});\n");
+		method.addStatement("return $T.ok().contentType($T.APPLICATION_JSON).body(responseBody)", ResponseEntity.class, MediaType.class);
 		builder.addMethod(method.build());
 		return builder;
 	}
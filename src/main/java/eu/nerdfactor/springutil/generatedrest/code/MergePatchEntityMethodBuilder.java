@@ -0,0 +1,173 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.squareup.javapoet.*;
+import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.Buildable;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ChangeEventInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.Configurable;
+import eu.nerdfactor.springutil.generatedrest.code.builder.PreconditionInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ReturnStatementInjector;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.SecurityConfiguration;
+import eu.nerdfactor.springutil.generatedrest.data.DataDocument;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.With;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import javax.lang.model.element.Modifier;
+import java.io.IOException;
+import java.io.InputStream;
+
+@With
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+public class MergePatchEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Configurable<ControllerConfiguration> {
+
+	public static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+	protected boolean hasExistingRequest;
+	protected boolean isUsingMergePatch;
+	protected String requestUrl;
+	protected TypeName responseType;
+	protected TypeName entityType;
+	protected TypeName identifyingType;
+	protected TypeName patcherType;
+	protected boolean isUsingDto;
+	protected SecurityConfiguration securityConfiguration;
+	protected TypeName dataWrapperClass;
+	protected String versionAttribute;
+	protected boolean isPublishingChanges;
+	protected TypeName requestType;
+
+	public static MergePatchEntityMethodBuilder create() {
+		return new MergePatchEntityMethodBuilder();
+	}
+
+	@Override
+	public MergePatchEntityMethodBuilder withConfiguration(ControllerConfiguration configuration) {
+		return new MergePatchEntityMethodBuilder(
+				configuration.hasExistingRequest(RequestMethod.PATCH, configuration.getRequest() + "/{id}"),
+				configuration.isUsingMergePatch(),
+				configuration.getRequest() + "/{id}",
+				configuration.getSingleResponseType(),
+				configuration.getEntity(),
+				configuration.getId(),
+				configuration.getPatcherClassName(),
+				configuration.isUsingDto(),
+				configuration.getSecurity(),
+				configuration.getDataWrapperClass(),
+				configuration.isVersioned() ? configuration.getVersion() : null,
+				configuration.isPublishingChanges(),
+				configuration.getRequestType()
+		);
+	}
+
+	@Override
+	public TypeSpec.Builder build(TypeSpec.Builder builder) {
+		if (this.hasExistingRequest || !this.isUsingMergePatch) {
+			return builder;
+		}
+		GeneratedRestUtil.log("addMergePatchEntityMethod", 1);
+
+		MethodSpec.Builder method = this.createMethodDeclaration(this.requestUrl, this.identifyingType, this.responseType);
+
+		new AuthenticationInjector()
+				.withMethod("UPDATE")
+				.withType(this.entityType)
+				.withSecurityConfig(this.securityConfiguration)
+				.inject(method);
+
+		this.addMethodBody(method, this.entityType, this.responseType, this.isUsingDto);
+
+		new ChangeEventInjector()
+				.withType(this.entityType)
+				.withPublishing(this.isPublishingChanges)
+				.inject(method);
+
+		method = new ReturnStatementInjector()
+				.withWrapper(this.dataWrapperClass)
+				.withResponse(this.responseType)
+				.withVersion(this.versionAttribute, "updated")
+				.inject(method);
+
+		builder.addMethod(method.build());
+		return builder;
+	}
+
+	/**
+	 * Create a Patch method called "mergePatch" with the requestUrl that only
+	 * consumes JSON Merge Patch documents. The document is not deserialized,
+	 * but read from the InputStream of the request (called "body"). It will
+	 * return an ResponseEntity with an object of responseType.
+	 *
+	 * @param requestUrl      The requested Url.
+	 * @param identifyingType The type of object identifying the Entity.
+	 * @param responseType    The type of object of the response.
+	 * @return The {@link MethodSpec.Builder} of the new method declaration.
+	 */
+	protected MethodSpec.Builder createMethodDeclaration(String requestUrl, TypeName identifyingType, TypeName responseType) {
+		return MethodSpec.methodBuilder("mergePatch")
+				.addAnnotation(AnnotationSpec.builder(PatchMapping.class)
+						.addMember("value", "$S", requestUrl)
+						.addMember("consumes", "$S", MERGE_PATCH_JSON)
+						.build())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), responseType))
+				.addParameter(ParameterSpec.builder(identifyingType, "id")
+						.addModifiers(Modifier.FINAL)
+						.addAnnotation(PathVariable.class)
+						.build()
+				)
+				.addParameter(InputStream.class, "body");
+	}
+
+	/**
+	 * Add a method body that finds an Entity with the help of the
+	 * DataAccessor and the provided id and applies the document to it with
+	 * the help of the generated patcher, before the changes are saved with
+	 * the help of the DataAccessor. The patched Entity, or the request object
+	 * it is mapped into, is validated before it is saved. Will throw a new
+	 * EntityNotFoundException if no Entity could be found and return "Bad
+	 * Request" if the document can't be read or the result is not valid.
+	 *
+	 * @param method       The existing {@link MethodSpec.Builder}.
+	 * @param entityType   The type of the Entity.
+	 * @param responseType The type of object of the response.
+	 * @param isUsingDto   If the method is using DTOs.
+	 */
+	protected void addMethodBody(MethodSpec.Builder method, TypeName entityType, TypeName responseType, boolean isUsingDto) {
+		method.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id)", entityType);
+		method.beginControlFlow("if(entity == null)");
+		method.addStatement("throw new $T()", EntityNotFoundException.class);
+		method.endControlFlow();
+		new PreconditionInjector()
+				.withVersion(this.versionAttribute)
+				.inject(method);
+		method.beginControlFlow("try ($T parser = this.objectMapper.createParser(body))", JsonParser.class);
+		method.addStatement("$T.apply(this.objectMapper, parser, entity)", this.patcherType);
+		method.nextControlFlow("catch ($T e)", IOException.class);
+		method.addStatement("return $T.badRequest().build()", ResponseEntity.class);
+		method.endControlFlow();
+		if (isUsingDto) {
+			// The constraints of the request apply to the patched result as well.
+			method.addStatement("$T.validate(this.validator.getIfAvailable(), this.dataMapper.map(entity, $T.class))", DataDocument.class, this.requestType);
+		} else {
+			method.addStatement("$T.validate(this.validator.getIfAvailable(), entity)", DataDocument.class);
+		}
+		method.addStatement("$T updated = this.dataAccessor.updateData(entity)", entityType);
+		if (isUsingDto) {
+			method.addStatement("$T response = this.dataMapper.map(updated, $T.class)", responseType, responseType);
+		} else {
+			method.addStatement("$T response = updated", responseType);
+		}
+	}
+
+}
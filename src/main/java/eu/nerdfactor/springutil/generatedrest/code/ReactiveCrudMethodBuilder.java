@@ -0,0 +1,140 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import javax.lang.model.element.Modifier;
+import java.lang.annotation.Annotation;
+
+public class ReactiveCrudMethodBuilder extends MethodBuilder {
+
+	/**
+	 * Add the create, read, update, set and delete methods for a reactive
+	 * DataAccessor. Every method returns a Mono of the ResponseEntity, that
+	 * emits an error with "Not Found" if the entity doesn't exist.
+	 *
+	 * @param builder The existing {@link TypeSpec.Builder}.
+	 * @return The {@link TypeSpec.Builder} with the new methods.
+	 */
+	@Override
+	public TypeSpec.Builder build(TypeSpec.Builder builder) {
+		TypeName entityType = this.configuration.getEntity();
+		TypeName requestType = this.configuration.getRequestType();
+		TypeName responseType = this.configuration.getSingleResponseType();
+		TypeName monoResponse = ParameterizedTypeName.get(ClassName.get(Mono.class), ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), responseType));
+		String request = this.configuration.getRequest();
+		String requestWithId = request + "/{id}";
+
+		if (!this.configuration.hasExistingRequest(RequestMethod.POST, request)) {
+			GeneratedRestUtil.log("addReactiveCreateEntityMethod", 1);
+			MethodSpec.Builder method = this.createMethodDeclaration("create", PostMapping.class, request, monoResponse, "CREATE");
+			method.addParameter(ParameterSpec.builder(requestType, "dto").addAnnotation(RequestBody.class).addAnnotation(Valid.class).build());
+			method.addStatement("return this.dataAccessor.createData($L)\n.map(created -> $T.ok($L))", this.mapRequest(), ResponseEntity.class, this.mapResponse("created", responseType));
+			builder.addMethod(method.build());
+		}
+		if (!this.configuration.hasExistingRequest(RequestMethod.GET, requestWithId)) {
+			GeneratedRestUtil.log("addReactiveGetEntityMethod", 1);
+			MethodSpec.Builder method = this.createMethodDeclaration("get", GetMapping.class, requestWithId, monoResponse, "READ");
+			method.addParameter(this.idParameter());
+			method.addStatement("return this.dataAccessor.readData(id)\n.switchIfEmpty($L)\n.map(entity -> $T.ok($L))", this.notFound(), ResponseEntity.class, this.mapResponse("entity", responseType));
+			builder.addMethod(method.build());
+		}
+		if (!this.configuration.hasExistingRequest(RequestMethod.PATCH, requestWithId)) {
+			GeneratedRestUtil.log("addReactiveUpdateEntityMethod", 1);
+			MethodSpec.Builder method = this.createMethodDeclaration("update", PatchMapping.class, requestWithId, monoResponse, "UPDATE");
+			method.addParameter(this.idParameter());
+			method.addParameter(ParameterSpec.builder(requestType, "dto").addAnnotation(RequestBody.class).addAnnotation(Valid.class).build());
+			method.addStatement("$T changed = $L", entityType, this.mapRequest());
+			method.addStatement("return this.dataAccessor.readData(id)\n.switchIfEmpty($L)\n.flatMap(entity -> this.dataAccessor.updateData(this.dataMerger.merge(entity, changed)))\n.map(updated -> $T.ok($L))", this.notFound(), ResponseEntity.class, this.mapResponse("updated", responseType));
+			builder.addMethod(method.build());
+		}
+		if (!this.configuration.hasExistingRequest(RequestMethod.PUT, requestWithId)) {
+			GeneratedRestUtil.log("addReactiveSetEntityMethod", 1);
+			MethodSpec.Builder method = this.createMethodDeclaration("set", PutMapping.class, requestWithId, monoResponse, "UPDATE");
+			method.addParameter(this.idParameter());
+			method.addParameter(ParameterSpec.builder(requestType, "dto").addAnnotation(RequestBody.class).addAnnotation(Valid.class).build());
+			method.addStatement("$T changed = $L", entityType, this.mapRequest());
+			method.addStatement("return this.dataAccessor.readData(id)\n.switchIfEmpty($L)\n.flatMap(entity -> this.dataAccessor.updateData(changed))\n.map(updated -> $T.ok($L))", this.notFound(), ResponseEntity.class, this.mapResponse("updated", responseType));
+			builder.addMethod(method.build());
+		}
+		if (!this.configuration.hasExistingRequest(RequestMethod.DELETE, requestWithId)) {
+			GeneratedRestUtil.log("addReactiveDeleteEntityMethod", 1);
+			TypeName monoVoid = ParameterizedTypeName.get(ClassName.get(Mono.class), ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), TypeName.VOID.box()));
+			MethodSpec.Builder method = this.createMethodDeclaration("delete", DeleteMapping.class, requestWithId, monoVoid, "DELETE");
+			method.addParameter(this.idParameter());
+			method.addStatement("return this.dataAccessor.deleteDataById(id)\n.thenReturn($T.noContent().<$T>build())", ResponseEntity.class, Void.class);
+			builder.addMethod(method.build());
+		}
+		return builder;
+	}
+
+	/**
+	 * Create a public method with a request mapping and a security annotation
+	 * for the entity.
+	 *
+	 * @param name       The name of the method.
+	 * @param mapping    The class of the mapping annotation.
+	 * @param requestUrl The requested Url.
+	 * @param returnType The type of the response.
+	 * @param role       The required role for the entity.
+	 * @return The {@link MethodSpec.Builder} of the new method declaration.
+	 */
+	protected MethodSpec.Builder createMethodDeclaration(String name, Class<? extends Annotation> mapping, String requestUrl, TypeName returnType, String role) {
+		MethodSpec.Builder method = MethodSpec.methodBuilder(name)
+				.addAnnotation(AnnotationSpec.builder(mapping).addMember("value", "$S", requestUrl).build())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(returnType);
+		return new AuthenticationInjector()
+				.withMethod(role)
+				.withType(this.configuration.getEntity())
+				.withSecurityConfig(this.configuration.getSecurity())
+				.inject(method);
+	}
+
+	protected ParameterSpec idParameter() {
+		return ParameterSpec.builder(this.configuration.getId(), "id")
+				.addModifiers(Modifier.FINAL)
+				.addAnnotation(PathVariable.class)
+				.build();
+	}
+
+	/**
+	 * Create the code that maps the object in the RequestBody into the
+	 * entity, if the controller is using DTOs.
+	 *
+	 * @return The code of the entity.
+	 */
+	protected CodeBlock mapRequest() {
+		if (this.configuration.isUsingDto()) {
+			return CodeBlock.of("this.dataMapper.map(dto, $T.class)", this.configuration.getEntity());
+		}
+		return CodeBlock.of("dto");
+	}
+
+	/**
+	 * Create the code that maps an entity into the response, if the
+	 * controller is using DTOs.
+	 *
+	 * @param variable     The name of the variable with the entity.
+	 * @param responseType The type of the response.
+	 * @return The code of the response.
+	 */
+	protected CodeBlock mapResponse(String variable, TypeName responseType) {
+		if (this.configuration.isUsingDto()) {
+			return CodeBlock.of("this.dataMapper.map(" + variable + ", $T.class)", responseType);
+		}
+		return CodeBlock.of(variable);
+	}
+
+	protected CodeBlock notFound() {
+		return CodeBlock.of("$T.error(() -> new $T($T.NOT_FOUND))", Mono.class, ResponseStatusException.class, HttpStatus.class);
+	}
+}
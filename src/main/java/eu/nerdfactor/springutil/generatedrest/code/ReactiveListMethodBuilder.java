@@ -0,0 +1,74 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Flux;
+
+import javax.lang.model.element.Modifier;
+
+public class ReactiveListMethodBuilder extends MethodBuilder {
+
+	/**
+	 * Add the "all" and "searchAll" methods for a reactive DataAccessor.
+	 * Both return a Flux, so the entities are mapped and written one by one
+	 * as the client consumes them. The search response only contains the
+	 * entities of the page, without the total amount.
+	 *
+	 * @param builder The existing {@link TypeSpec.Builder}.
+	 * @return The {@link TypeSpec.Builder} with the new methods.
+	 */
+	@Override
+	public TypeSpec.Builder build(TypeSpec.Builder builder) {
+		TypeName entityType = this.configuration.getEntity();
+		TypeName responseType = this.configuration.getListResponseType();
+		TypeName fluxResponse = ParameterizedTypeName.get(ClassName.get(Flux.class), responseType);
+		CodeBlock mapping = this.configuration.isUsingDto() ? CodeBlock.of("\n.map(entity -> this.dataMapper.map(entity, $T.class))", responseType) : CodeBlock.of("");
+		if (!this.configuration.hasExistingRequest(RequestMethod.GET, this.configuration.getRequest())) {
+			GeneratedRestUtil.log("addReactiveGetAllEntitiesMethod", 1);
+			MethodSpec.Builder method = MethodSpec
+					.methodBuilder("all")
+					.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", this.configuration.getRequest()).build())
+					.addModifiers(Modifier.PUBLIC)
+					.returns(fluxResponse);
+			method = new AuthenticationInjector()
+					.withMethod("READ")
+					.withType(entityType)
+					.withSecurityConfig(this.configuration.getSecurity())
+					.inject(method);
+			method.addStatement("return this.dataAccessor.listData()$L", mapping);
+			builder.addMethod(method.build());
+		}
+		if (!this.configuration.hasExistingRequest(RequestMethod.GET, this.configuration.getRequest() + "/search")) {
+			GeneratedRestUtil.log("addReactiveSearchAllEntitiesMethod", 1);
+			MethodSpec.Builder method = MethodSpec
+					.methodBuilder("searchAll")
+					.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", this.configuration.getRequest() + "/search").build())
+					.addModifiers(Modifier.PUBLIC)
+					.returns(fluxResponse)
+					.addParameter(ParameterSpec.builder(String.class, "filter")
+							.addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "false").build())
+							.build()
+					)
+					.addParameter(ParameterSpec.builder(Pageable.class, "pageable")
+							.addAnnotation(AnnotationSpec.builder(PageableDefault.class).addMember("size", "20").build())
+							.build()
+					);
+			method = new AuthenticationInjector()
+					.withMethod("READ")
+					.withType(entityType)
+					.withSecurityConfig(this.configuration.getSecurity())
+					.inject(method);
+			this.addSpecificationStatement(method);
+			method.addStatement("return this.dataAccessor.searchData(spec, pageable)$L", mapping);
+			builder.addMethod(method.build());
+		}
+		return builder;
+	}
+}
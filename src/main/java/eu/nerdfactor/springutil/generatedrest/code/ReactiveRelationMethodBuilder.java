@@ -0,0 +1,77 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
+import eu.nerdfactor.springutil.generatedrest.config.AccessorType;
+import eu.nerdfactor.springutil.generatedrest.config.RelationConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.RelationType;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.lang.model.element.Modifier;
+import java.util.Optional;
+
+public class ReactiveRelationMethodBuilder extends MethodBuilder {
+
+	/**
+	 * Add a Get method for every relation of the entity, that reads the
+	 * entity through the reactive DataAccessor. Relations with multiple
+	 * entities are returned as a Flux, single relations as a Mono of the
+	 * ResponseEntity. Changing relations is not supported, because reactive
+	 * repositories don't manage relations.
+	 *
+	 * @param builder The existing {@link TypeSpec.Builder}.
+	 * @return The {@link TypeSpec.Builder} with the new methods.
+	 */
+	@Override
+	public TypeSpec.Builder build(TypeSpec.Builder builder) {
+		if (!this.configuration.isUsingRelations() || this.configuration.getRelations() == null) {
+			return builder;
+		}
+		for (RelationConfiguration relation : this.configuration.getRelations().values()) {
+			String request = this.configuration.getRequest() + "/{id}/" + relation.getName();
+			if (this.configuration.hasExistingRequest(RequestMethod.GET, request) || relation.getType() == RelationType.REFLECT) {
+				continue;
+			}
+			GeneratedRestUtil.log("addReactiveGetRelationMethod", 1);
+			TypeName responseType = relation.getResponse();
+			boolean multiple = relation.getType() == RelationType.MULTIPLE;
+			MethodSpec.Builder method = MethodSpec
+					.methodBuilder(relation.getMethodName(AccessorType.GET))
+					.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", request).build())
+					.addModifiers(Modifier.PUBLIC)
+					.returns(multiple
+							? ParameterizedTypeName.get(ClassName.get(Flux.class), responseType)
+							: ParameterizedTypeName.get(ClassName.get(Mono.class), ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), responseType)))
+					.addParameter(ParameterSpec.builder(this.configuration.getId(), "id")
+							.addModifiers(Modifier.FINAL)
+							.addAnnotation(PathVariable.class)
+							.build()
+					);
+			method = new AuthenticationInjector()
+					.withMethod("READ")
+					.withType(this.configuration.getEntity())
+					.withRelation(relation.getEntityClass())
+					.withSecurityConfig(this.configuration.getSecurity())
+					.inject(method);
+			CodeBlock mapped = relation.isWithDtos() ? CodeBlock.of("this.dataMapper.map(rel, $T.class)", responseType) : CodeBlock.of("rel");
+			CodeBlock notFound = CodeBlock.of("$T.error(() -> new $T($T.NOT_FOUND))", Mono.class, ResponseStatusException.class, HttpStatus.class);
+			if (multiple) {
+				method.addStatement("return this.dataAccessor.readData(id)\n.switchIfEmpty($L)\n.flatMapIterable(entity -> entity." + relation.getGetter() + "())\n.map(rel -> $L)", notFound, mapped);
+			} else {
+				// An entity without the related entity is answered with "Not Found".
+				method.addStatement("return this.dataAccessor.readData(id)\n.switchIfEmpty($L)\n.map(entity -> $T.of($T.ofNullable(entity." + relation.getGetter() + "()).map(rel -> $L)))", notFound, ResponseEntity.class, Optional.class, mapped);
+			}
+			builder.addMethod(method.build());
+		}
+		return builder;
+	}
+}
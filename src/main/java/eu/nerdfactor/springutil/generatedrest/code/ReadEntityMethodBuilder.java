@@ -4,9 +4,11 @@ import com.squareup.javapoet.*;
 import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.Buildable;
 import eu.nerdfactor.springutil.generatedrest.code.builder.Configurable;
+import eu.nerdfactor.springutil.generatedrest.code.builder.NotModifiedInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.ReturnStatementInjector;
 import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
 import eu.nerdfactor.springutil.generatedrest.config.SecurityConfiguration;
+import eu.nerdfactor.springutil.generatedrest.data.DataVersion;
 import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.AccessLevel;
@@ -14,10 +16,12 @@ import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.With;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.lang.model.element.Modifier;
 
@@ -34,6 +38,8 @@ public class ReadEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Con
 	protected boolean isUsingDto;
 	protected SecurityConfiguration securityConfiguration;
 	protected TypeName dataWrapperClass;
+	protected String versionAttribute;
+	protected boolean isAsync;
 
 	public static ReadEntityMethodBuilder create() {
 		return new ReadEntityMethodBuilder();
@@ -49,7 +55,9 @@ public class ReadEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Con
 				configuration.getId(),
 				configuration.isUsingDto(),
 				configuration.getSecurity(),
-				configuration.getDataWrapperClass()
+				configuration.getDataWrapperClass(),
+				configuration.isVersioned() ? configuration.getVersion() : null,
+				configuration.isAsync()
 		);
 	}
 
@@ -69,7 +77,23 @@ public class ReadEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Con
 				.withSecurityConfig(this.securityConfiguration)
 				.inject(method);
 
+		// If the Entity has a version, conditional requests will be answered
+		// with "Not Modified" before loading the Entity if the version matches.
+		// Asynchronous endpoints check it on the request thread instead.
+		if (this.isAsync && this.versionAttribute != null) {
+			method.addParameter(WebRequest.class, "request");
+		} else {
+			new NotModifiedInjector()
+					.withType(this.entityType)
+					.withVersion(this.versionAttribute)
+					.withOnlyConditional(true)
+					.inject(method);
+		}
+
 		this.addMethodBody(method, this.entityType, this.responseType, this.isUsingDto);
+		if (this.versionAttribute != null) {
+			this.addVersionStatements(method);
+		}
 
 		new ReturnStatementInjector()
 				.withWrapper(this.dataWrapperClass)
@@ -121,5 +145,25 @@ public class ReadEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Con
 		}
 	}
 
+	/**
+	 * Add statements that take the version from the loaded Entity, if it
+	 * wasn't read for a conditional request, and set the ETag and
+	 * Last-Modified headers of the response with it. Asynchronous endpoints
+	 * already set them on the request thread for conditional requests.
+	 *
+	 * @param method The existing {@link MethodSpec.Builder}.
+	 */
+	protected void addVersionStatements(MethodSpec.Builder method) {
+		if (this.isAsync) {
+			method.beginControlFlow("if(request.getHeader($T.IF_NONE_MATCH) == null && request.getHeader($T.IF_MODIFIED_SINCE) == null)", HttpHeaders.class, HttpHeaders.class);
+			method.addStatement("$T version = $T.of(entity, $S)", DataVersion.class, DataVersion.class, this.versionAttribute);
+		} else {
+			method.beginControlFlow("if(version == null)");
+			method.addStatement("version = $T.of(entity, $S)", DataVersion.class, this.versionAttribute);
+		}
+		method.addStatement("request.checkNotModified(version.eTag(), version.lastModified())");
+		method.endControlFlow();
+	}
+
 
 }
@@ -0,0 +1,39 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
+import eu.nerdfactor.springutil.generatedrest.data.DataChangedEvent;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.lang.model.element.Modifier;
+
+public class ResponseCacheMethodBuilder extends MethodBuilder {
+
+	/**
+	 * Add an event listener that clears the cached responses when entities
+	 * of the same type were changed. Changes inside a transaction clear the
+	 * cache after the commit, so the responses that are loaded until then
+	 * don't stay in the cache.
+	 *
+	 * @param builder The existing {@link TypeSpec.Builder}.
+	 * @return The {@link TypeSpec.Builder} with the new method.
+	 */
+	@Override
+	public TypeSpec.Builder build(TypeSpec.Builder builder) {
+		if (!this.configuration.isUsingResponseCache()) {
+			return builder;
+		}
+		GeneratedRestUtil.log("addDataChangedListenerMethod", 1);
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("onDataChanged")
+				.addAnnotation(AnnotationSpec.builder(TransactionalEventListener.class).addMember("fallbackExecution", "true").build())
+				.addModifiers(Modifier.PUBLIC)
+				.addParameter(DataChangedEvent.class, "event");
+		method.addStatement("this.responseCache.invalidate(event, $T.class)", this.configuration.getEntity());
+		builder.addMethod(method.build());
+		return builder;
+	}
+}
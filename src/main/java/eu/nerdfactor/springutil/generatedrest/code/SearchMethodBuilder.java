@@ -4,11 +4,17 @@ import com.squareup.javapoet.*;
 import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
 import eu.nerdfactor.springutil.generatedrest.code.builder.ReturnStatementInjector;
+import eu.nerdfactor.springutil.generatedrest.config.PaginationType;
+import eu.nerdfactor.springutil.generatedrest.data.DataCursor;
 import eu.nerdfactor.springutil.generatedrest.data.DataPage;
+import eu.nerdfactor.springutil.generatedrest.data.DataResponseCache;
+import eu.nerdfactor.springutil.generatedrest.data.DataWindow;
+import eu.nerdfactor.springutil.generatedrest.data.GeneratedQueries;
 import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,9 +32,13 @@ public class SearchMethodBuilder extends MethodBuilder {
 		if (this.configuration.hasExistingRequest(RequestMethod.GET, this.configuration.getRequest() + "/search")) {
 			return builder;
 		}
+		if (this.configuration.getPagination() == PaginationType.CURSOR) {
+			return this.buildCursor(builder);
+		}
 		GeneratedRestUtil.log("addSearchAllEntitiesMethod", 1);
-		TypeName responseType = this.configuration.getResponseType();
-		ParameterizedTypeName responsePage = ParameterizedTypeName.get(ClassName.get(Page.class), responseType);
+		boolean sliced = this.configuration.getPagination() == PaginationType.SLICE;
+		TypeName responseType = this.configuration.getListResponseType();
+		ParameterizedTypeName responsePage = ParameterizedTypeName.get(ClassName.get(sliced ? DataWindow.class : Page.class), responseType);
 		MethodSpec.Builder method = MethodSpec
 				.methodBuilder("searchAll")
 				.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", this.configuration.getRequest() + "/search").build())
@@ -50,24 +60,109 @@ public class SearchMethodBuilder extends MethodBuilder {
 				.withType(this.configuration.getEntity())
 				.withSecurityConfig(this.configuration.getSecurity())
 				.inject(method);
-		method.addStatement("$T<$T> spec = this.specificationBuilder.build(filter, $T.class)", Specification.class, this.configuration.getEntity(), this.configuration.getEntity());
-		method.addStatement("$T<$T> responseList = new $T<>()", List.class, responseType, ArrayList.class);
-		method.addStatement("$T page = this.dataAccessor.searchData(spec, pageable)", ParameterizedTypeName.get(ClassName.get(Page.class), this.configuration.getEntity()));
-		method.beginControlFlow("for($T entity : page.getContent())", this.configuration.getEntity());
-		if (this.configuration.isUsingDto()) {
-			method.addStatement("$T response = this.dataMapper.map(entity, $T.class)", responseType, responseType);
+		this.beginCachedResponse(method, responsePage, CodeBlock.of("$T.key($S, filter, pageable)", DataResponseCache.class, "search"));
+		this.addSpecificationStatement(method);
+		if (this.configuration.isUsingProjection()) {
+			if (sliced) {
+				method.addStatement("$T responsePage = $T.projectSlice(this.entityManager, $T.class, $T.class, spec, pageable, $L)", responsePage, GeneratedQueries.class, this.configuration.getEntity(), responseType, this.projectionAttributes());
+			} else {
+				method.addStatement("$T responsePage = $T.projectPage(this.entityManager, $T.class, $T.class, spec, pageable, $L)", responsePage, GeneratedQueries.class, this.configuration.getEntity(), responseType, this.projectionAttributes());
+			}
 		} else {
-			method.addStatement("$T response = entity", responseType);
+			if (sliced) {
+				method.addStatement("$T page = this.dataAccessor.sliceData(spec, pageable)", ParameterizedTypeName.get(ClassName.get(Slice.class), this.configuration.getEntity()));
+			} else {
+				method.addStatement("$T page = this.dataAccessor.searchData(spec, pageable)", ParameterizedTypeName.get(ClassName.get(Page.class), this.configuration.getEntity()));
+			}
+			this.addMappedContent(method, responseType, "page");
+			if (sliced) {
+				method.addStatement("$T responsePage = new $T<>(responseList, page.getPageable(), page.hasNext(), null)", responsePage, DataWindow.class);
+			} else {
+				method.addStatement("$T<$T> responsePage = new $T<>(responseList, page.getPageable(), page.getTotalElements())", Page.class, responseType, DataPage.class);
+			}
 		}
-		method.addStatement("responseList.add(response)");
-		method.endControlFlow();
-		method.addStatement("$T<$T> responsePage = new $T<>(responseList, page.getPageable(), page.getTotalElements())", Page.class, responseType, DataPage.class);
+		String responseVariable = this.endCachedResponse(method, "responsePage");
+		method = new ReturnStatementInjector()
+				.withWrapper(this.configuration.getDataWrapperClass())
+				.withResponse(responseType)
+				.withResponseVariable(responseVariable)
+				.inject(method);
+		builder.addMethod(method.build());
+		return builder;
+	}
+
+	/**
+	 * Add a Get method called "searchAll" that scrolls through the entities
+	 * with a keyset cursor instead of a page number. The returned window
+	 * contains the cursor for the following window.
+	 *
+	 * @param builder The existing {@link TypeSpec.Builder}.
+	 * @return The {@link TypeSpec.Builder} with the new method.
+	 */
+	protected TypeSpec.Builder buildCursor(TypeSpec.Builder builder) {
+		GeneratedRestUtil.log("addScrollAllEntitiesMethod", 1);
+		TypeName responseType = this.configuration.getListResponseType();
+		TypeName entityType = this.configuration.getEntity();
+		ParameterizedTypeName responseWindow = ParameterizedTypeName.get(ClassName.get(DataWindow.class), responseType);
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("searchAll")
+				.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", this.configuration.getRequest() + "/search").build())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), responseWindow))
+				.addParameter(ParameterSpec.builder(String.class, "filter")
+						.addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "false").build())
+						.build()
+				)
+				.addParameter(ParameterSpec.builder(String.class, "cursor")
+						.addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "false").build())
+						.build()
+				)
+				.addParameter(ParameterSpec.builder(Pageable.class, "pageable")
+						.addAnnotation(AnnotationSpec.builder(PageableDefault.class).addMember("size", "20").build())
+						.build()
+				);
+		method = new AuthenticationInjector()
+				.withMethod("READ")
+				.withType(entityType)
+				.withSecurityConfig(this.configuration.getSecurity())
+				.inject(method);
+		this.beginCachedResponse(method, responseWindow, CodeBlock.of("$T.key($S, filter, cursor, pageable)", DataResponseCache.class, "scroll"));
+		this.addSpecificationStatement(method);
+		method.addStatement("$T window = this.dataAccessor.scrollData(spec, $T.decode(cursor, $T.class, pageable.getSort()), pageable)", ParameterizedTypeName.get(ClassName.get(Window.class), entityType), DataCursor.class, entityType);
+		this.addMappedContent(method, responseType, "window");
+		method.addStatement("String next = window.hasNext() && !window.isEmpty() ? $T.encode(window.positionAt(window.size() - 1)) : null", DataCursor.class);
+		method.addStatement("$T responseWindow = new $T<>(responseList, pageable, window.hasNext(), next)", responseWindow, DataWindow.class);
+		String responseVariable = this.endCachedResponse(method, "responseWindow");
 		method = new ReturnStatementInjector()
 				.withWrapper(this.configuration.getDataWrapperClass())
 				.withResponse(responseType)
-				.withResponseVariable("responsePage")
+				.withResponseVariable(responseVariable)
 				.inject(method);
 		builder.addMethod(method.build());
 		return builder;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Add statements that map the content of a page, slice or window into
+	 * a list of responses called "responseList".
+	 *
+	 * @param method       The {@link MethodSpec.Builder} of the method.
+	 * @param responseType The type of the responses.
+	 * @param variable     The name of the variable with the content.
+	 */
+	protected void addMappedContent(MethodSpec.Builder method, TypeName responseType, String variable) {
+		if (this.configuration.isUsingDto() && this.configuration.isUsingCollectionMapper()) {
+			method.addStatement("$T<$T> responseList = this.dataMapper.mapAll(" + variable + ".getContent(), $T.class)", List.class, responseType, responseType);
+			return;
+		}
+		method.addStatement("$T<$T> responseList = new $T<>()", List.class, responseType, ArrayList.class);
+		method.beginControlFlow("for($T entity : " + variable + ".getContent())", this.configuration.getEntity());
+		if (this.configuration.isUsingDto()) {
+			method.addStatement("$T response = this.dataMapper.map(entity, $T.class)", responseType, responseType);
+		} else {
+			method.addStatement("$T response = entity", responseType);
+		}
+		method.addStatement("responseList.add(response)");
+		method.endControlFlow();
+	}
+}
@@ -3,7 +3,9 @@ package eu.nerdfactor.springutil.generatedrest.code;
 import com.squareup.javapoet.*;
 import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.Buildable;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ChangeEventInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.Configurable;
+import eu.nerdfactor.springutil.generatedrest.code.builder.PreconditionInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.ReturnStatementInjector;
 import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
 import eu.nerdfactor.springutil.generatedrest.config.SecurityConfiguration;
@@ -36,6 +38,8 @@ public class SetEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Conf
 	protected boolean isUsingDto;
 	protected SecurityConfiguration securityConfiguration;
 	protected TypeName dataWrapperClass;
+	protected String versionAttribute;
+	protected boolean isPublishingChanges;
 
 	public static SetEntityMethodBuilder create() {
 		return new SetEntityMethodBuilder();
@@ -52,7 +56,9 @@ public class SetEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Conf
 				configuration.getId(),
 				configuration.isUsingDto(),
 				configuration.getSecurity(),
-				configuration.getDataWrapperClass()
+				configuration.getDataWrapperClass(),
+				configuration.isVersioned() ? configuration.getVersion() : null,
+				configuration.isPublishingChanges()
 		);
 	}
 
@@ -73,9 +79,16 @@ public class SetEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Conf
 
 		this.addMethodBody(method, this.entityType, this.responseType, this.isUsingDto);
 
+		new ChangeEventInjector()
+				.withType(this.entityType)
+				.withPublishing(this.isPublishingChanges)
+				.inject(method);
+
 		method = new ReturnStatementInjector()
 				.withWrapper(this.dataWrapperClass)
+				.withResponse(this.responseType)
 				.withResponseVariable("response")
+				.withVersion(this.versionAttribute, "changed")
 				.inject(method);
 		builder.addMethod(method.build());
 		return builder;
@@ -121,10 +134,13 @@ public class SetEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Conf
 	 * @param isUsingDto   If the method is using DTOs.
 	 */
 	protected void addMethodBody(MethodSpec.Builder method, TypeName entityType, TypeName responseType, boolean isUsingDto) {
-		method.addStatement("$T entity = this.dataAccessor.readData(id)", entityType);
+		method.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id)", entityType);
 		method.beginControlFlow("if(entity == null)");
 		method.addStatement("throw new $T()", EntityNotFoundException.class);
 		method.endControlFlow();
+		new PreconditionInjector()
+				.withVersion(this.versionAttribute)
+				.inject(method);
 		if (isUsingDto) {
 			method.addStatement("$T changed = this.dataMapper.map(dto, $T.class)", entityType, entityType);
 		} else {
@@ -137,4 +153,5 @@ public class SetEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Conf
 			method.addStatement("$T response = changed", responseType);
 		}
 	}
+
 }
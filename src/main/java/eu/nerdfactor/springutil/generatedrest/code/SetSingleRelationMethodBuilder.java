@@ -2,6 +2,8 @@ package eu.nerdfactor.springutil.generatedrest.code;
 
 import com.squareup.javapoet.*;
 import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.CacheInvalidationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ChangeEventInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
 import eu.nerdfactor.springutil.generatedrest.config.AccessorType;
 import eu.nerdfactor.springutil.generatedrest.config.RelationConfiguration;
@@ -53,7 +55,7 @@ public class SetSingleRelationMethodBuilder extends MethodBuilder {
 				.withRelation(this.relationConfiguration.getEntityClass())
 				.withSecurityConfig(this.configuration.getSecurity())
 				.inject(method);
-		method.addStatement("$T entity = this.dataAccessor.readData(id)", this.configuration.getEntity());
+		method.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id)", this.configuration.getEntity());
 		method.beginControlFlow("if(entity == null)");
 		method.addStatement("throw new $T()", EntityNotFoundException.class);
 		method.endControlFlow();
@@ -63,6 +65,15 @@ public class SetSingleRelationMethodBuilder extends MethodBuilder {
 			method.addStatement("$T rel = dto", this.relationConfiguration.getEntityClass());
 		}
 		method.addStatement("entity." + this.relationConfiguration.getSetter() + "(rel)");
+		new CacheInvalidationInjector()
+				.withType(this.configuration.getEntity())
+				.withIdentifyingType(this.configuration.getId())
+				.withCaching(this.configuration.isUsingEntityCache())
+				.inject(method);
+		new ChangeEventInjector()
+				.withType(this.configuration.getEntity())
+				.withPublishing(this.configuration.isPublishingChanges())
+				.inject(method);
 		if (this.configuration.getDataWrapperClass() != null && !this.configuration.getDataWrapperClass().equals(TypeName.OBJECT)) {
 			method.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ParameterizedTypeName.get(ClassName.bestGuess(this.configuration.getDataWrapperClass().toString()), responseType)));
 		}
@@ -0,0 +1,161 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ReturnStatementInjector;
+import eu.nerdfactor.springutil.generatedrest.config.PaginationType;
+import eu.nerdfactor.springutil.generatedrest.data.DataWindow;
+import eu.nerdfactor.springutil.generatedrest.data.GeneratedQueries;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.lang.model.element.Modifier;
+import java.util.List;
+import java.util.Map;
+
+public class SparseFieldsMethodBuilder extends MethodBuilder {
+
+	/**
+	 * Add variants of "get", "all" and "searchAll" that are mapped to
+	 * requests with a "fields" parameter. They select only the requested
+	 * attributes with a tuple query and return them by name, without
+	 * loading or mapping entities. Requests for unknown fields are answered
+	 * with "Bad Request".
+	 *
+	 * @param builder The existing {@link TypeSpec.Builder}.
+	 * @return The {@link TypeSpec.Builder} with the new methods.
+	 */
+	@Override
+	public TypeSpec.Builder build(TypeSpec.Builder builder) {
+		if (!this.configuration.isUsingSparseFields()) {
+			return builder;
+		}
+		if (!this.configuration.hasExistingRequest(RequestMethod.GET, this.configuration.getRequest() + "/{id}")) {
+			this.buildGet(builder);
+		}
+		if (!this.configuration.hasExistingRequest(RequestMethod.GET, this.configuration.getRequest())) {
+			this.buildAll(builder);
+		}
+		// Cursors point at entities, so scrolling can't be done with selected fields.
+		if (!this.configuration.hasExistingRequest(RequestMethod.GET, this.configuration.getRequest() + "/search") && this.configuration.getPagination() != PaginationType.CURSOR) {
+			this.buildSearchAll(builder);
+		}
+		return builder;
+	}
+
+	protected void buildGet(TypeSpec.Builder builder) {
+		GeneratedRestUtil.log("addGetEntityFieldsMethod", 1);
+		MethodSpec.Builder method = this.createMethodDeclaration("getFields", this.configuration.getRequest() + "/{id}", this.fieldsType())
+				.addParameter(ParameterSpec.builder(this.configuration.getId(), "id")
+						.addModifiers(Modifier.FINAL)
+						.addAnnotation(PathVariable.class)
+						.build()
+				);
+		this.addFieldsParameter(method);
+		method.addStatement("$T response = $T.selectOne(this.entityManager, $T.class, id, selected)", this.fieldsType(), GeneratedQueries.class, this.configuration.getEntity());
+		method.beginControlFlow("if(response == null)");
+		method.addStatement("throw new $T()", EntityNotFoundException.class);
+		method.endControlFlow();
+		method = new ReturnStatementInjector()
+				.withWrapper(this.configuration.getDataWrapperClass())
+				.withResponse(this.fieldsType())
+				.inject(method);
+		builder.addMethod(method.build());
+	}
+
+	protected void buildAll(TypeSpec.Builder builder) {
+		GeneratedRestUtil.log("addGetAllEntitiesFieldsMethod", 1);
+		ParameterizedTypeName responseList = ParameterizedTypeName.get(ClassName.get(List.class), this.fieldsType());
+		MethodSpec.Builder method = this.createMethodDeclaration("allFields", this.configuration.getRequest(), responseList);
+		this.addFieldsParameter(method);
+		method.addStatement("$T responseList = $T.select(this.entityManager, $T.class, null, $T.unsorted(), selected)", responseList, GeneratedQueries.class, this.configuration.getEntity(), Sort.class);
+		method = new ReturnStatementInjector()
+				.withWrapper(this.configuration.getDataWrapperClass())
+				.withResponse(this.fieldsType())
+				.withResponseVariable("responseList")
+				.inject(method);
+		builder.addMethod(method.build());
+	}
+
+	protected void buildSearchAll(TypeSpec.Builder builder) {
+		GeneratedRestUtil.log("addSearchAllEntitiesFieldsMethod", 1);
+		boolean sliced = this.configuration.getPagination() == PaginationType.SLICE;
+		ParameterizedTypeName responsePage = ParameterizedTypeName.get(ClassName.get(sliced ? DataWindow.class : Page.class), this.fieldsType());
+		MethodSpec.Builder method = this.createMethodDeclaration("searchAllFields", this.configuration.getRequest() + "/search", responsePage)
+				.addParameter(ParameterSpec.builder(String.class, "filter")
+						.addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "false").build())
+						.build()
+				);
+		this.addFieldsParameter(method);
+		method.addParameter(ParameterSpec.builder(Pageable.class, "pageable")
+				.addAnnotation(AnnotationSpec.builder(PageableDefault.class).addMember("size", "20").build())
+				.build()
+		);
+		this.addSpecificationStatement(method);
+		method.addStatement("$T responsePage = $T.$L(this.entityManager, $T.class, spec, pageable, selected)", responsePage, GeneratedQueries.class, sliced ? "selectSlice" : "selectPage", this.configuration.getEntity());
+		method = new ReturnStatementInjector()
+				.withWrapper(this.configuration.getDataWrapperClass())
+				.withResponse(this.fieldsType())
+				.withResponseVariable("responsePage")
+				.inject(method);
+		builder.addMethod(method.build());
+	}
+
+	/**
+	 * Create a Get method with the requestUrl that is only mapped to requests
+	 * with a "fields" parameter and is secured like the other read methods.
+	 *
+	 * @param name         The name of the method.
+	 * @param requestUrl   The requested Url.
+	 * @param responseType The type of object of the response.
+	 * @return The {@link MethodSpec.Builder} of the new method declaration.
+	 */
+	protected MethodSpec.Builder createMethodDeclaration(String name, String requestUrl, TypeName responseType) {
+		MethodSpec.Builder method = MethodSpec.methodBuilder(name)
+				.addAnnotation(AnnotationSpec.builder(GetMapping.class)
+						.addMember("value", "$S", requestUrl)
+						.addMember("params", "$S", "fields")
+						.build())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), responseType));
+		return new AuthenticationInjector()
+				.withMethod("READ")
+				.withType(this.configuration.getEntity())
+				.withSecurityConfig(this.configuration.getSecurity())
+				.inject(method);
+	}
+
+	/**
+	 * Add the "fields" parameter and statements that check the requested
+	 * fields against the selectable attributes into a list called "selected".
+	 *
+	 * @param method The existing {@link MethodSpec.Builder}.
+	 */
+	protected void addFieldsParameter(MethodSpec.Builder method) {
+		method.addParameter(ParameterSpec.builder(String.class, "fields")
+				.addAnnotation(RequestParam.class)
+				.build()
+		);
+		CodeBlock selectable = this.configuration.getSparseFields().stream()
+				.map(field -> CodeBlock.of("$S", field))
+				.collect(CodeBlock.joining(", "));
+		method.addStatement("$T<$T> selected = $T.selectable(fields, $L)", List.class, String.class, GeneratedQueries.class, selectable);
+		method.beginControlFlow("if(selected == null)");
+		method.addStatement("return $T.badRequest().build()", ResponseEntity.class);
+		method.endControlFlow();
+	}
+
+	private TypeName fieldsType() {
+		return ParameterizedTypeName.get(Map.class, String.class, Object.class);
+	}
+}
@@ -3,10 +3,17 @@ package eu.nerdfactor.springutil.generatedrest.code;
 import com.squareup.javapoet.*;
 import eu.nerdfactor.springutil.generatedrest.code.builder.AuthenticationInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.Buildable;
+import eu.nerdfactor.springutil.generatedrest.code.builder.CacheInvalidationInjector;
+import eu.nerdfactor.springutil.generatedrest.code.builder.ChangeEventInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.Configurable;
+import eu.nerdfactor.springutil.generatedrest.code.builder.PreconditionInjector;
 import eu.nerdfactor.springutil.generatedrest.code.builder.ReturnStatementInjector;
 import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
 import eu.nerdfactor.springutil.generatedrest.config.SecurityConfiguration;
+import eu.nerdfactor.springutil.generatedrest.data.DataDocument;
+import eu.nerdfactor.springutil.generatedrest.data.DataVersion;
+import eu.nerdfactor.springutil.generatedrest.data.GeneratedQueries;
+import eu.nerdfactor.springutil.generatedrest.data.PartialDocument;
 import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
@@ -14,10 +21,14 @@ import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.With;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMethod;
 
 import javax.lang.model.element.Modifier;
@@ -36,6 +47,11 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 	protected boolean isUsingDto;
 	protected SecurityConfiguration securityConfiguration;
 	protected TypeName dataWrapperClass;
+	protected String versionAttribute;
+	protected boolean isPublishingChanges;
+	protected boolean isUsingDirectUpdate;
+	protected boolean isUsingEntityCache;
+	protected boolean isUsingPartialUpdate;
 
 	public static UpdateEntityMethodBuilder create() {
 		return new UpdateEntityMethodBuilder();
@@ -52,7 +68,12 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 				configuration.getId(),
 				configuration.isUsingDto(),
 				configuration.getSecurity(),
-				configuration.getDataWrapperClass()
+				configuration.getDataWrapperClass(),
+				configuration.isVersioned() ? configuration.getVersion() : null,
+				configuration.isPublishingChanges(),
+				configuration.isUsingDirectUpdate(),
+				configuration.isUsingEntityCache(),
+				configuration.isPartialUpdate()
 		);
 	}
 
@@ -71,11 +92,26 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 				.withSecurityConfig(this.securityConfiguration)
 				.inject(method);
 
-		this.addMethodBody(method, this.entityType, this.responseType, this.isUsingDto);
+		if (this.isUsingDirectUpdate) {
+			method.addAnnotation(Transactional.class);
+			this.addDirectUpdateBody(method, this.entityType);
+		} else {
+			this.addMethodBody(method, this.entityType, this.responseType, this.isUsingDto);
+		}
+
+		new ChangeEventInjector()
+				.withType(this.entityType)
+				.withPublishing(this.isPublishingChanges)
+				.inject(method);
+
+		if (this.isUsingDirectUpdate) {
+			this.addRepresentationBody(method, this.entityType, this.responseType, this.isUsingDto);
+		}
 
 		method = new ReturnStatementInjector()
 				.withWrapper(this.dataWrapperClass)
 				.withResponse(this.responseType)
+				.withVersion(this.versionAttribute, "updated")
 				.inject(method);
 
 		builder.addMethod(method.build());
@@ -85,7 +121,8 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 	/**
 	 * Create a Path method called "update" with the requestUrl that takes a Valid
 	 * object of requestType from the RequestBody (called "dto") and will return an
-	 * ResponseEntity with an object of responseType.
+	 * ResponseEntity with an object of responseType. For partial updates, the
+	 * names of the properties present in the RequestBody are recorded.
 	 *
 	 * @param requestUrl      The requested Url.
 	 * @param identifyingType The type of object identifying the Entity.
@@ -102,11 +139,17 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 						.addAnnotation(PathVariable.class)
 						.build()
 				)
-				.addParameter(ParameterSpec.builder(requestType, "dto")
-						.addAnnotation(RequestBody.class)
-						.addAnnotation(Valid.class)
-						.build()
-				);
+				.addParameter(this.createRequestParameter(requestType));
+	}
+
+	private ParameterSpec createRequestParameter(TypeName requestType) {
+		ParameterSpec.Builder parameter = ParameterSpec.builder(requestType, "dto")
+				.addAnnotation(RequestBody.class)
+				.addAnnotation(Valid.class);
+		if (this.isUsingPartialUpdate) {
+			parameter.addAnnotation(PartialDocument.class);
+		}
+		return parameter.build();
 	}
 
 	/**
@@ -123,17 +166,120 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 	 * @param isUsingDto   If the method is using DTOs.
 	 */
 	protected void addMethodBody(MethodSpec.Builder method, TypeName entityType, TypeName responseType, boolean isUsingDto) {
-		method.addStatement("$T entity = this.dataAccessor.readData(id)", entityType);
+		method.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id)", entityType);
 		method.beginControlFlow("if(entity == null)");
 		method.addStatement("throw new $T()", EntityNotFoundException.class);
 		method.endControlFlow();
+		new PreconditionInjector()
+				.withVersion(this.versionAttribute)
+				.inject(method);
+		this.addChangedStatement(method, entityType);
+		if (this.isUsingPartialUpdate) {
+			method.addStatement("$T updated = this.dataMerger.merge(entity, changed, $T.properties(dto))", entityType, DataDocument.class);
+		} else {
+			method.addStatement("$T updated = this.dataMerger.merge(entity, changed)", entityType);
+		}
+		method.addStatement("updated = this.dataAccessor.updateData(updated)");
 		if (isUsingDto) {
+			method.addStatement("$T response = this.dataMapper.map(updated, $T.class)", responseType, responseType);
+		} else {
+			method.addStatement("$T response = updated", responseType);
+		}
+	}
+
+	/**
+	 * Add a statement that maps the object of the RequestBody into an Entity
+	 * (called "changed").
+	 *
+	 * @param method     The existing {@link MethodSpec.Builder}.
+	 * @param entityType The type of the Entity.
+	 */
+	protected void addChangedStatement(MethodSpec.Builder method, TypeName entityType) {
+		if (this.isUsingDto) {
 			method.addStatement("$T changed = this.dataMapper.map(dto, $T.class)", entityType, entityType);
 		} else {
 			method.addStatement("$T changed = dto", entityType);
 		}
-		method.addStatement("$T updated = this.dataMerger.merge(entity, changed)", entityType);
-		method.addStatement("updated = this.dataAccessor.updateData(updated)");
+	}
+
+	/**
+	 * Add a method body that writes the fields that are present in the
+	 * RequestBody, or all set fields if the present ones are unknown, with a
+	 * single update statement, without reading the Entity
+	 * first. If the Entity is versioned and the If-Match header is set, only
+	 * the version is read in order to check it and the update will only be
+	 * written if the version didn't change in the meantime. Will throw a new
+	 * EntityNotFoundException if no Entity was updated.
+	 *
+	 * @param method     The existing {@link MethodSpec.Builder}.
+	 * @param entityType The type of the Entity.
+	 */
+	protected void addDirectUpdateBody(MethodSpec.Builder method, TypeName entityType) {
+		if (this.versionAttribute != null) {
+			method.addParameter(ParameterSpec.builder(String.class, "ifMatch")
+					.addAnnotation(AnnotationSpec.builder(RequestHeader.class)
+							.addMember("value", "$S", HttpHeaders.IF_MATCH)
+							.addMember("required", "false")
+							.build())
+					.build());
+			method.addStatement("$T expectedVersion = null", Object.class);
+			method.beginControlFlow("if(ifMatch != null)");
+			method.addStatement("$T current = $T.version(this.entityManager, $T.class, id, $S)", DataVersion.class, GeneratedQueries.class, entityType, this.versionAttribute);
+			method.beginControlFlow("if(current == null)");
+			method.addStatement("throw new $T()", EntityNotFoundException.class);
+			method.endControlFlow();
+			method.beginControlFlow("if(!current.matches(ifMatch))");
+			method.addStatement("return $T.status($T.PRECONDITION_FAILED).build()", ResponseEntity.class, HttpStatus.class);
+			method.endControlFlow();
+			method.addStatement("expectedVersion = current.value()");
+			method.endControlFlow();
+		}
+		this.addChangedStatement(method, entityType);
+		CodeBlock properties = this.isUsingPartialUpdate ? CodeBlock.of("$T.properties(dto)", DataDocument.class) : CodeBlock.of("null");
+		if (this.versionAttribute != null) {
+			method.addStatement("int updatedRows = $T.update(this.entityManager, $T.class, id, changed, $L, $S, expectedVersion)", GeneratedQueries.class, entityType, properties, this.versionAttribute);
+			method.beginControlFlow("if(updatedRows == 0 && expectedVersion != null)");
+			method.addStatement("return $T.status($T.PRECONDITION_FAILED).build()", ResponseEntity.class, HttpStatus.class);
+			method.endControlFlow();
+		} else {
+			method.addStatement("int updatedRows = $T.update(this.entityManager, $T.class, id, changed, $L, null, null)", GeneratedQueries.class, entityType, properties);
+		}
+		method.beginControlFlow("if(updatedRows == 0)");
+		method.addStatement("throw new $T()", EntityNotFoundException.class);
+		method.endControlFlow();
+		new CacheInvalidationInjector()
+				.withType(entityType)
+				.withIdentifyingType(this.identifyingType)
+				.withCaching(this.isUsingEntityCache)
+				.inject(method);
+	}
+
+	/**
+	 * Add a Prefer header parameter and statements that return "No Content",
+	 * unless the request prefers "return=representation". Only then the
+	 * updated Entity is read and mapped into the response. A versioned
+	 * Entity only has its new version read for the ETag of "No Content".
+	 *
+	 * @param method       The existing {@link MethodSpec.Builder}.
+	 * @param entityType   The type of the Entity.
+	 * @param responseType The type of object of the response.
+	 * @param isUsingDto   If the method is using DTOs.
+	 */
+	protected void addRepresentationBody(MethodSpec.Builder method, TypeName entityType, TypeName responseType, boolean isUsingDto) {
+		method.addParameter(ParameterSpec.builder(String.class, "prefer")
+				.addAnnotation(AnnotationSpec.builder(RequestHeader.class)
+						.addMember("value", "$S", "Prefer")
+						.addMember("required", "false")
+						.build())
+				.build());
+		method.beginControlFlow("if(prefer == null || !prefer.contains($S))", "return=representation");
+		if (this.versionAttribute != null) {
+			method.addStatement("return $T.noContent().eTag($T.version(this.entityManager, $T.class, id, $S).eTag()).build()", ResponseEntity.class, GeneratedQueries.class, entityType, this.versionAttribute);
+		} else {
+			method.addStatement("return $T.noContent().build()", ResponseEntity.class);
+		}
+		method.endControlFlow();
+		method.addStatement("$T updated = this.entityManager.find($T.class, id)", entityType, entityType);
 		if (isUsingDto) {
 			method.addStatement("$T response = this.dataMapper.map(updated, $T.class)", responseType, responseType);
 		} else {
@@ -0,0 +1,43 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.springutil.generatedrest.code.builder.MethodBuilder;
+import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.lang.model.element.Modifier;
+
+public class VersionConflictMethodBuilder extends MethodBuilder {
+
+	/**
+	 * Add an exception handler for versioned entities, that answers requests
+	 * with "Precondition Failed" if the entity was changed concurrently after
+	 * the If-Match header was checked. Requests without If-Match header will
+	 * be answered with "Conflict".
+	 *
+	 * @param builder The existing {@link TypeSpec.Builder}.
+	 * @return The {@link TypeSpec.Builder} with the new method.
+	 */
+	@Override
+	public TypeSpec.Builder build(TypeSpec.Builder builder) {
+		if (!this.configuration.isVersioned()) {
+			return builder;
+		}
+		GeneratedRestUtil.log("addVersionConflictMethod", 1);
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("handleVersionConflict")
+				.addAnnotation(AnnotationSpec.builder(ExceptionHandler.class).addMember("value", "{ $T.class, $T.class }", OptimisticLockingFailureException.class, OptimisticLockException.class).build())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), TypeName.VOID.box()))
+				.addParameter(WebRequest.class, "request");
+		method.addStatement("return $T.status(request.getHeader($T.IF_MATCH) != null ? $T.PRECONDITION_FAILED : $T.CONFLICT).build()", ResponseEntity.class, HttpHeaders.class, HttpStatus.class, HttpStatus.class);
+		builder.addMethod(method.build());
+		return builder;
+	}
+}
@@ -0,0 +1,52 @@
+package eu.nerdfactor.springutil.generatedrest.code.builder;
+
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import eu.nerdfactor.springutil.generatedrest.data.CachingDataAccessor;
+
+public class CacheInvalidationInjector implements Injectable<MethodSpec.Builder> {
+
+	protected TypeName type;
+
+	protected TypeName identifyingType;
+
+	protected boolean caching;
+
+	protected String variable = "id";
+
+	public CacheInvalidationInjector withType(TypeName type) {
+		this.type = type;
+		return this;
+	}
+
+	public CacheInvalidationInjector withIdentifyingType(TypeName identifyingType) {
+		this.identifyingType = identifyingType;
+		return this;
+	}
+
+	public CacheInvalidationInjector withCaching(boolean caching) {
+		this.caching = caching;
+		return this;
+	}
+
+	public CacheInvalidationInjector withVariable(String variable) {
+		this.variable = variable;
+		return this;
+	}
+
+	/**
+	 * Add a statement that removes the Entity with the id from the cache of
+	 * the CachingDataAccessor, after it was changed without going through
+	 * the DataAccessor.
+	 *
+	 * @param builder The existing {@link MethodSpec.Builder}.
+	 * @return The {@link MethodSpec.Builder} with the new statement.
+	 */
+	public MethodSpec.Builder inject(MethodSpec.Builder builder) {
+		if (!this.caching || this.type == null || this.identifyingType == null) {
+			return builder;
+		}
+		builder.addStatement("(($T<$T, $T>) this.dataAccessor).invalidateById($L)", CachingDataAccessor.class, this.type, this.identifyingType, this.variable);
+		return builder;
+	}
+}
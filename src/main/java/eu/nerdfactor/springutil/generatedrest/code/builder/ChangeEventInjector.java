@@ -0,0 +1,37 @@
+package eu.nerdfactor.springutil.generatedrest.code.builder;
+
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import eu.nerdfactor.springutil.generatedrest.data.DataChangedEvent;
+
+public class ChangeEventInjector implements Injectable<MethodSpec.Builder> {
+
+	protected TypeName type;
+
+	protected boolean publishing;
+
+	public ChangeEventInjector withType(TypeName type) {
+		this.type = type;
+		return this;
+	}
+
+	public ChangeEventInjector withPublishing(boolean publishing) {
+		this.publishing = publishing;
+		return this;
+	}
+
+	/**
+	 * Add a statement that publishes a DataChangedEvent for the type with the
+	 * ApplicationEventPublisher of the controller.
+	 *
+	 * @param builder The existing {@link MethodSpec.Builder}.
+	 * @return The {@link MethodSpec.Builder} with the new statement.
+	 */
+	public MethodSpec.Builder inject(MethodSpec.Builder builder) {
+		if (!this.publishing || this.type == null) {
+			return builder;
+		}
+		builder.addStatement("this.eventPublisher.publishEvent(new $T($T.class))", DataChangedEvent.class, this.type);
+		return builder;
+	}
+}
@@ -1,5 +1,6 @@
 package eu.nerdfactor.springutil.generatedrest.code.builder;
 
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
@@ -14,6 +15,8 @@ public class ConstructorBuilder implements Buildable<TypeSpec.Builder> {
 
 	List<Pair<String, TypeName>> properties = new ArrayList<>();
 
+	List<CodeBlock> statements = new ArrayList<>();
+
 	public ConstructorBuilder withProperty(String name, TypeName type) {
 		this.properties.add(Pair.of(name, type));
 		return this;
@@ -28,6 +31,17 @@ public class ConstructorBuilder implements Buildable<TypeSpec.Builder> {
 		return this.withProperty(propertyBuilder.getName(), propertyBuilder.getType());
 	}
 
+	/**
+	 * Add a statement that will be executed after all properties were set.
+	 *
+	 * @param statement The statement.
+	 * @return The ConstructorBuilder.
+	 */
+	public ConstructorBuilder withStatement(CodeBlock statement) {
+		this.statements.add(statement);
+		return this;
+	}
+
 	public TypeSpec.Builder build(TypeSpec.Builder builder) {
 		final MethodSpec.Builder method = MethodSpec
 				.constructorBuilder()
@@ -37,6 +51,7 @@ public class ConstructorBuilder implements Buildable<TypeSpec.Builder> {
 			method.addParameter(prop.getSecond(), prop.getFirst());
 			method.addStatement("this." + prop.getFirst() + " = " + prop.getFirst());
 		});
+		this.statements.forEach(method::addStatement);
 		builder.addMethod(method.build());
 		return builder;
 	}
@@ -3,6 +3,9 @@ package eu.nerdfactor.springutil.generatedrest.code.builder;
 import com.squareup.javapoet.*;
 import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
 
 public class MethodBuilder implements Buildable<TypeSpec.Builder>, Configurable<ControllerConfiguration> {
 
@@ -18,4 +21,68 @@ public class MethodBuilder implements Buildable<TypeSpec.Builder>, Configurable<
 		this.configuration = configuration;
 		return this;
 	}
+
+	/**
+	 * Create the list of attribute names that are selected by projection queries.
+	 *
+	 * @return A CodeBlock with the attribute names as string literals.
+	 */
+	protected CodeBlock projectionAttributes() {
+		return this.configuration.getProjection().stream()
+				.map(attribute -> CodeBlock.of("$S", attribute))
+				.collect(CodeBlock.joining(", "));
+	}
+
+	/**
+	 * Add a statement that builds the Specification called "spec" from the
+	 * "filter" parameter. If the filterable properties are restricted, the
+	 * filter can only use those.
+	 *
+	 * @param method The {@link MethodSpec.Builder} of the method.
+	 */
+	protected void addSpecificationStatement(MethodSpec.Builder method) {
+		TypeName entityType = this.configuration.getEntity();
+		TypeName specType = ParameterizedTypeName.get(ClassName.get(Specification.class), entityType);
+		if (this.configuration.getFilterable() == null) {
+			method.addStatement("$T spec = this.specificationBuilder.build(filter, $T.class)", specType, entityType);
+			return;
+		}
+		CodeBlock filterable = this.configuration.getFilterable().stream()
+				.map(property -> CodeBlock.of("$S", property))
+				.collect(CodeBlock.joining(", "));
+		method.addStatement("$T spec = this.specificationBuilder.build(filter, $T.class, $T.of($L))", specType, entityType, Set.class, filterable);
+	}
+
+	/**
+	 * Begin a lambda that loads the response, if the controller caches
+	 * responses. The statements until {@link #endCachedResponse} are only
+	 * executed if there is no cached response for the key.
+	 *
+	 * @param method       The {@link MethodSpec.Builder} of the method.
+	 * @param responseType The type of the response.
+	 * @param key          The code that builds the key of the response.
+	 */
+	protected void beginCachedResponse(MethodSpec.Builder method, TypeName responseType, CodeBlock key) {
+		if (!this.configuration.isUsingResponseCache()) {
+			return;
+		}
+		method.addCode("$T cachedResponse = this.responseCache.get($L, () -> {\n$>", responseType, key);
+	}
+
+	/**
+	 * End the lambda that loads the response, if the controller caches
+	 * responses.
+	 *
+	 * @param method   The {@link MethodSpec.Builder} of the method.
+	 * @param variable The name of the variable with the loaded response.
+	 * @return The name of the variable that contains the response.
+	 */
+	protected String endCachedResponse(MethodSpec.Builder method, String variable) {
+		if (!this.configuration.isUsingResponseCache()) {
+			return variable;
+		}
+		method.addStatement("return " + variable);
+		method.addCode("$<});\n");
+		return "cachedResponse";
+	}
 }
@@ -0,0 +1,72 @@
+package eu.nerdfactor.springutil.generatedrest.code.builder;
+
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import eu.nerdfactor.springutil.generatedrest.data.DataVersion;
+import eu.nerdfactor.springutil.generatedrest.data.GeneratedQueries;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+public class NotModifiedInjector implements Injectable<MethodSpec.Builder> {
+
+	protected TypeName type;
+
+	protected String versionAttribute;
+
+	protected boolean onlyConditional;
+
+	public NotModifiedInjector withType(TypeName type) {
+		this.type = type;
+		return this;
+	}
+
+	public NotModifiedInjector withVersion(String versionAttribute) {
+		this.versionAttribute = versionAttribute;
+		return this;
+	}
+
+	public NotModifiedInjector withOnlyConditional(boolean onlyConditional) {
+		this.onlyConditional = onlyConditional;
+		return this;
+	}
+
+	/**
+	 * Add a WebRequest parameter and statements that only read the version
+	 * of the Entity in order to check the ETag and Last-Modified headers of
+	 * the request. If the version matches, the method will return early with
+	 * "Not Modified". Otherwise, the headers will be set on the response.
+	 * Will throw a new EntityNotFoundException if no Entity could be found.
+	 * If only conditional requests are checked, the version will only be read
+	 * if the request has an If-None-Match or If-Modified-Since header and
+	 * stays null otherwise, so the method can take it from the Entity.
+	 *
+	 * @param builder The existing {@link MethodSpec.Builder}.
+	 * @return The {@link MethodSpec.Builder} with the new statements.
+	 */
+	public MethodSpec.Builder inject(MethodSpec.Builder builder) {
+		if (this.versionAttribute == null || this.type == null) {
+			return builder;
+		}
+		if (builder.parameters.stream().noneMatch(parameter -> parameter.name.equals("request"))) {
+			builder.addParameter(WebRequest.class, "request");
+		}
+		if (this.onlyConditional) {
+			builder.addStatement("$T version = null", DataVersion.class);
+			builder.beginControlFlow("if(request.getHeader($T.IF_NONE_MATCH) != null || request.getHeader($T.IF_MODIFIED_SINCE) != null)", HttpHeaders.class, HttpHeaders.class);
+			builder.addStatement("version = $T.version(this.entityManager, $T.class, id, $S)", GeneratedQueries.class, this.type, this.versionAttribute);
+		} else {
+			builder.addStatement("$T version = $T.version(this.entityManager, $T.class, id, $S)", DataVersion.class, GeneratedQueries.class, this.type, this.versionAttribute);
+		}
+		builder.beginControlFlow("if(version == null)");
+		builder.addStatement("throw new $T()", EntityNotFoundException.class);
+		builder.endControlFlow();
+		builder.beginControlFlow("if(request.checkNotModified(version.eTag(), version.lastModified()))");
+		builder.addStatement("return null");
+		builder.endControlFlow();
+		if (this.onlyConditional) {
+			builder.endControlFlow();
+		}
+		return builder;
+	}
+}
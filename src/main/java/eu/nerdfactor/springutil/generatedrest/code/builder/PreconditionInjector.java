@@ -0,0 +1,52 @@
+package eu.nerdfactor.springutil.generatedrest.code.builder;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import eu.nerdfactor.springutil.generatedrest.data.DataVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+public class PreconditionInjector implements Injectable<MethodSpec.Builder> {
+
+	protected String versionAttribute;
+
+	protected String entityVariableName = "entity";
+
+	public PreconditionInjector withVersion(String versionAttribute) {
+		this.versionAttribute = versionAttribute;
+		return this;
+	}
+
+	public PreconditionInjector withEntityVariable(String variable) {
+		this.entityVariableName = variable;
+		return this;
+	}
+
+	/**
+	 * Add an If-Match header parameter and statements that compare it with
+	 * the version of the loaded Entity. If the version doesn't match, the
+	 * method will return early with "Precondition Failed", before anything
+	 * is changed.
+	 *
+	 * @param builder The existing {@link MethodSpec.Builder}.
+	 * @return The {@link MethodSpec.Builder} with the new statements.
+	 */
+	public MethodSpec.Builder inject(MethodSpec.Builder builder) {
+		if (this.versionAttribute == null) {
+			return builder;
+		}
+		builder.addParameter(ParameterSpec.builder(String.class, "ifMatch")
+				.addAnnotation(AnnotationSpec.builder(RequestHeader.class)
+						.addMember("value", "$S", HttpHeaders.IF_MATCH)
+						.addMember("required", "false")
+						.build())
+				.build());
+		builder.beginControlFlow("if(ifMatch != null && !$T.of(" + this.entityVariableName + ", $S).matches(ifMatch))", DataVersion.class, this.versionAttribute);
+		builder.addStatement("return $T.status($T.PRECONDITION_FAILED).build()", ResponseEntity.class, HttpStatus.class);
+		builder.endControlFlow();
+		return builder;
+	}
+}
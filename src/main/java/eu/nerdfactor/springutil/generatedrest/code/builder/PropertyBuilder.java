@@ -12,6 +12,7 @@ public class PropertyBuilder implements Buildable<TypeSpec.Builder> {
 	protected TypeName type;
 	protected boolean hasGetter;
 	protected boolean hasSetter;
+	protected CodeBlock initializer;
 
 	public PropertyBuilder withName(String name) {
 		this.name = name;
@@ -34,6 +35,11 @@ public class PropertyBuilder implements Buildable<TypeSpec.Builder> {
 		return this;
 	}
 
+	public PropertyBuilder withInitializer(CodeBlock initializer) {
+		this.initializer = initializer;
+		return this;
+	}
+
 	public PropertyBuilder withGetter() {
 		this.hasGetter = true;
 		return this;
@@ -56,9 +62,11 @@ public class PropertyBuilder implements Buildable<TypeSpec.Builder> {
 		if (this.name == null || this.name.isBlank() || this.type == null) {
 			return builder;
 		}
-		builder.addField(FieldSpec
-				.builder(this.type, this.name, Modifier.PROTECTED)
-				.build());
+		FieldSpec.Builder field = FieldSpec.builder(this.type, this.name, Modifier.PROTECTED);
+		if (this.initializer != null) {
+			field.addModifiers(Modifier.FINAL).initializer(this.initializer);
+		}
+		builder.addField(field.build());
 
 		String ucName = this.name.substring(0, 1).toUpperCase() + this.name.substring(1);
 
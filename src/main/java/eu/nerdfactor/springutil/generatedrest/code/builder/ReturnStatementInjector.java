@@ -4,6 +4,7 @@ import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
+import eu.nerdfactor.springutil.generatedrest.data.DataVersion;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -15,6 +16,10 @@ public class ReturnStatementInjector implements Injectable<MethodSpec.Builder> {
 
 	protected String responseVariableName = "response";
 
+	protected String versionAttribute;
+
+	protected String versionVariableName;
+
 	public ReturnStatementInjector withWrapper(TypeName wrapper) {
 		this.wrapperType = wrapper;
 		return this;
@@ -30,12 +35,30 @@ public class ReturnStatementInjector implements Injectable<MethodSpec.Builder> {
 		return this;
 	}
 
+	/**
+	 * Send the ETag of the version of an Entity with the response, so the
+	 * client can use it for the next conditional request.
+	 *
+	 * @param versionAttribute The name of the version attribute or null, if the Entity has no version.
+	 * @param variable         The variable of the Entity in the method.
+	 * @return The injector.
+	 */
+	public ReturnStatementInjector withVersion(String versionAttribute, String variable) {
+		this.versionAttribute = versionAttribute;
+		this.versionVariableName = variable;
+		return this;
+	}
+
 	public MethodSpec.Builder inject(MethodSpec.Builder builder) {
 		if (wrapperType != null && !wrapperType.equals(TypeName.OBJECT)) {
 			builder.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ParameterizedTypeName.get(ClassName.bestGuess(wrapperType.toString()), responseType)));
 			builder.addStatement("$T<$T> wrapper = new $T<>()", wrapperType, responseType, wrapperType);
 			this.addWrapperContent(builder);
-			builder.addStatement("return new $T<>(wrapper, $T.OK)", ResponseEntity.class, HttpStatus.class);
+			if (this.versionAttribute != null) {
+				builder.addStatement("return $T.ok().eTag($T.of(" + this.versionVariableName + ", $S).eTag()).body(wrapper)", ResponseEntity.class, DataVersion.class, this.versionAttribute);
+			} else {
+				builder.addStatement("return new $T<>(wrapper, $T.OK)", ResponseEntity.class, HttpStatus.class);
+			}
 		} else {
 			this.addBasicReturn(builder);
 		}
@@ -47,6 +70,10 @@ public class ReturnStatementInjector implements Injectable<MethodSpec.Builder> {
 	}
 
 	protected void addBasicReturn(MethodSpec.Builder builder) {
+		if (this.versionAttribute != null) {
+			builder.addStatement("return $T.ok().eTag($T.of(" + this.versionVariableName + ", $S).eTag()).body(" + responseVariableName + ")", ResponseEntity.class, DataVersion.class, this.versionAttribute);
+			return;
+		}
 		builder.addStatement("return new $T<>(" + responseVariableName + ", $T.OK)", ResponseEntity.class, HttpStatus.class);
 	}
 }
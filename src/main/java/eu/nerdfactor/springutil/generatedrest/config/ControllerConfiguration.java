@@ -4,12 +4,15 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
+import eu.nerdfactor.springutil.generatedrest.data.DataAccessor;
+import eu.nerdfactor.springutil.generatedrest.data.DataMapper;
 import lombok.Getter;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.web.bind.annotation.RequestMethod;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -82,6 +85,146 @@ public class ControllerConfiguration {
 
 	private TypeName dataWrapperClass;
 
+	/**
+	 * Stream entities of the list endpoint into the response instead of
+	 * collecting them into a list.
+	 */
+	@Setter
+	private boolean streaming = false;
+
+	/**
+	 * The type of pagination used by the search endpoint.
+	 */
+	@Setter
+	private PaginationType pagination = PaginationType.OFFSET;
+
+	/**
+	 * Return pages of related entities from the endpoints of relations
+	 * with multiple entities.
+	 */
+	@Setter
+	private boolean pagedRelations = false;
+
+	/**
+	 * Attribute of the entity that tells its version, like a field annotated
+	 * with Version or a timestamp of the last modification. Null if the
+	 * entity has no version.
+	 */
+	@Setter
+	private String version;
+
+	/**
+	 * If batch endpoints for creating, updating and deleting multiple
+	 * entities are generated.
+	 */
+	@Setter
+	private boolean batch = false;
+
+	/**
+	 * The amount of entities that batch endpoints write before flushing
+	 * and clearing the persistence context.
+	 */
+	@Setter
+	private int batchSize = 50;
+
+	/**
+	 * The maximum amount of entities that will be cached by id.
+	 * Zero if entities are not cached.
+	 */
+	@Setter
+	private int entityCacheSize = 0;
+
+	/**
+	 * The amount of seconds until a cached entity expires.
+	 */
+	@Setter
+	private long entityCacheTtl = 300;
+
+	/**
+	 * The maximum amount of list and search responses that will be cached.
+	 * Zero if responses are not cached.
+	 */
+	@Setter
+	private int responseCacheSize = 0;
+
+	/**
+	 * The amount of seconds until a cached response expires.
+	 */
+	@Setter
+	private long responseCacheTtl = 60;
+
+	/**
+	 * If changes through the generated methods are published as events.
+	 */
+	@Setter
+	private boolean publishChanges = false;
+
+	/**
+	 * If "update" requests write the provided fields with an update statement
+	 * instead of reading and merging the entity.
+	 */
+	@Setter
+	private boolean directUpdate = false;
+
+	/**
+	 * If the properties of the request have the same names as the properties
+	 * of the entity, so "update" requests can write exactly the properties
+	 * that were sent. Otherwise, all set values are written.
+	 */
+	@Setter
+	private boolean partialUpdate = false;
+
+	/**
+	 * Properties that can be patched into the entity by JSON Merge Patch
+	 * documents. Null if no merge patches are accepted.
+	 */
+	@Setter
+	private MappingConfiguration mergePatch;
+
+	/**
+	 * Attributes of the entity that clients can select with the "fields"
+	 * parameter. Empty if clients can't select fields.
+	 */
+	@Setter
+	private List<String> sparseFields = new ArrayList<>();
+
+	/**
+	 * Properties of the entity that clients can use in the "filter"
+	 * parameter. Null if any property can be filtered.
+	 */
+	@Setter
+	private @Nullable List<String> filterable;
+
+	/**
+	 * If entities are deleted with delete statements instead of loading and
+	 * removing them. Only set if the entity has nothing that needs to be
+	 * removed along with it.
+	 */
+	@Setter
+	private boolean directDelete = false;
+
+	/**
+	 * The way generated endpoints are executed.
+	 */
+	@Setter
+	private ExecutionMode executionMode = ExecutionMode.SYNC;
+
+	/**
+	 * Attributes of the entity that will be selected in order to construct the
+	 * list DTO directly from a query, in the order of the DTO constructor.
+	 * Empty if list responses are mapped from loaded entities.
+	 */
+	@Setter
+	private List<String> projection = new ArrayList<>();
+
+	/**
+	 * Mappings between the entity and DTOs that will be generated into
+	 * a mapper for the controller. Empty if the DataMapper of the
+	 * application is used.
+	 */
+	@Setter
+	private List<MappingConfiguration> mappings = new ArrayList<>();
+
 	/**
 	 * Map of relations that will be added to the controller.
 	 */
@@ -186,6 +329,158 @@ public class ControllerConfiguration {
 		return this.relations != null && !this.relations.isEmpty();
 	}
 
+	/**
+	 * Check if list responses are constructed by projection queries.
+	 *
+	 * @return True if the controller uses projections.
+	 */
+	@JsonIgnore
+	public boolean isUsingProjection() {
+		return this.isUsingDto() && this.projection != null && !this.projection.isEmpty();
+	}
+
+	/**
+	 * Check if the data mapper implements {@link DataMapper} and can
+	 * map collections of objects at once.
+	 *
+	 * @return True if the data mapper can map collections.
+	 */
+	@JsonIgnore
+	public boolean isUsingCollectionMapper() {
+		return this.isUsingGeneratedMapper() || ClassName.get(DataMapper.class).equals(this.dataMapperClass);
+	}
+
+	/**
+	 * Check if the controller uses a generated mapper.
+	 *
+	 * @return True if the controller uses a generated mapper.
+	 */
+	@JsonIgnore
+	public boolean isUsingGeneratedMapper() {
+		return this.mappings != null && !this.mappings.isEmpty();
+	}
+
+	/**
+	 * Get the class name of the generated mapper.
+	 *
+	 * @return The class name of the mapper next to the controller.
+	 */
+	@JsonIgnore
+	public ClassName getMapperClassName() {
+		return ClassName.get(this.className.packageName(), this.className.simpleName() + "Mapper");
+	}
+
+	/**
+	 * Check if entities are read through a cache.
+	 *
+	 * @return True if the controller caches entities.
+	 */
+	@JsonIgnore
+	public boolean isUsingEntityCache() {
+		return this.entityCacheSize > 0 && this.dataAccessorClass != null && this.dataAccessorClass.rawType.equals(ClassName.get(DataAccessor.class));
+	}
+
+	/**
+	 * Check if list and search responses are cached.
+	 *
+	 * @return True if the controller caches responses.
+	 */
+	@JsonIgnore
+	public boolean isUsingResponseCache() {
+		return this.responseCacheSize > 0 && !this.isReactive();
+	}
+
+	/**
+	 * Check if changes through the generated methods are published, either
+	 * because it was configured or because the own response cache needs them.
+	 *
+	 * @return True if the controller publishes changes.
+	 */
+	@JsonIgnore
+	public boolean isPublishingChanges() {
+		return (this.publishChanges && !this.isReactive()) || this.isUsingResponseCache();
+	}
+
+	/**
+	 * Check if "update" requests write the provided fields directly.
+	 *
+	 * @return True if the controller updates entities without reading them.
+	 */
+	@JsonIgnore
+	public boolean isUsingDirectUpdate() {
+		return this.directUpdate && !this.isReactive();
+	}
+
+	/**
+	 * Check if JSON Merge Patch documents are accepted.
+	 *
+	 * @return True if the controller generates a patcher.
+	 */
+	@JsonIgnore
+	public boolean isUsingMergePatch() {
+		return this.mergePatch != null && !this.isReactive();
+	}
+
+	/**
+	 * Get the class name of the generated patcher.
+	 *
+	 * @return The class name of the patcher next to the controller.
+	 */
+	@JsonIgnore
+	public ClassName getPatcherClassName() {
+		return ClassName.get(this.className.packageName(), this.className.simpleName() + "Patcher");
+	}
+
+	/**
+	 * Check if clients can select the returned fields.
+	 *
+	 * @return True if the controller has endpoints for sparse fields.
+	 */
+	@JsonIgnore
+	public boolean isUsingSparseFields() {
+		return this.sparseFields != null && !this.sparseFields.isEmpty() && !this.isReactive();
+	}
+
+	/**
+	 * Check if entities are deleted with delete statements.
+	 *
+	 * @return True if the controller deletes entities without loading them.
+	 */
+	@JsonIgnore
+	public boolean isUsingDirectDelete() {
+		return this.directDelete && !this.isReactive();
+	}
+
+	/**
+	 * Check if endpoints are executed asynchronously.
+	 *
+	 * @return True if endpoints return a CompletableFuture.
+	 */
+	@JsonIgnore
+	public boolean isAsync() {
+		return this.executionMode == ExecutionMode.ASYNC;
+	}
+
+	/**
+	 * Check if endpoints are generated for a reactive DataAccessor.
+	 *
+	 * @return True if endpoints return a Mono or Flux.
+	 */
+	@JsonIgnore
+	public boolean isReactive() {
+		return this.executionMode == ExecutionMode.REACTIVE;
+	}
+
+	/**
+	 * Check if the entity has an attribute that tells its version.
+	 *
+	 * @return True if the entity is versioned.
+	 */
+	@JsonIgnore
+	public boolean isVersioned() {
+		return this.version != null && !this.version.isBlank();
+	}
+
 	/**
 	 * Check if the controller uses DTOs.
 	 *
@@ -7,20 +7,35 @@ import eu.nerdfactor.springutil.generatedrest.annotation.IdAccessor;
 import eu.nerdfactor.springutil.generatedrest.data.DataAccessor;
 import eu.nerdfactor.springutil.generatedrest.data.DataMapper;
 import eu.nerdfactor.springutil.generatedrest.data.DataMerger;
+import eu.nerdfactor.springutil.generatedrest.data.ReactiveDataAccessor;
 import eu.nerdfactor.springutil.generatedrest.util.AnnotationValueExtractor;
 import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.processing.RoundEnvironment;
-import javax.lang.model.element.AnnotationMirror;
-import javax.lang.model.element.Element;
-import javax.lang.model.element.ExecutableElement;
-import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import java.util.*;
+import java.util.stream.Collectors;
 
+import static javax.lang.model.util.ElementFilter.constructorsIn;
+import static javax.lang.model.util.ElementFilter.fieldsIn;
 import static javax.lang.model.util.ElementFilter.methodsIn;
 
 /**
@@ -40,6 +55,8 @@ public class ControllerConfigurationBuilder {
 
 	private TypeName dataWrapper;
 
+	private ExecutionMode executionMode = ExecutionMode.SYNC;
+
 	private Map<String, List<TypeName>> dtoClasses;
 
 	private Map<String, String> annotatedValues;
@@ -78,6 +95,15 @@ public class ControllerConfigurationBuilder {
 		return this;
 	}
 
+	public ControllerConfigurationBuilder withExecutionMode(@NotNull String executionMode) {
+		try {
+			this.executionMode = ExecutionMode.valueOf(executionMode.substring(executionMode.lastIndexOf('.') + 1).trim());
+		} catch (IllegalArgumentException e) {
+			this.executionMode = ExecutionMode.SYNC;
+		}
+		return this;
+	}
+
 	public ControllerConfigurationBuilder withDtoClasses(@NotNull Map<String, List<TypeName>> dtoClasses) {
 		this.dtoClasses = dtoClasses;
 		return this;
@@ -121,7 +147,7 @@ public class ControllerConfigurationBuilder {
 			}
 		}
 
-		ParameterizedTypeName dataAccessorClass = ParameterizedTypeName.get(ClassName.get(DataAccessor.class), entityClass, idClass);
+		ParameterizedTypeName dataAccessorClass = ParameterizedTypeName.get(ClassName.get(this.executionMode == ExecutionMode.REACTIVE ? ReactiveDataAccessor.class : DataAccessor.class), entityClass, idClass);
 		ClassName dataMergerClass = ClassName.get(DataMerger.class);
 		ClassName dataMapperClass = ClassName.get(DataMapper.class);
 
@@ -184,7 +210,44 @@ public class ControllerConfigurationBuilder {
 			relations = RelationConfiguration.builder().withElement(entityElement).withUtils(this.elementUtils).withClasses(this.dtoClasses).withDtos(withDto).build();
 		}
 
-		return new ControllerConfiguration(GeneratedRestUtil.toClassName(generatedClassName), requestMapping, entityClass, idClass, idAccessor, withDto ? dtoClasses[0] : null, withDto ? dtoClasses[1] : null, withDto ? dtoClasses[2] : null, dataAccessorClass, dataMapperClass, dataMergerClass, relations, existingRequests, this.dataWrapper);
+		ControllerConfiguration configuration = new ControllerConfiguration(GeneratedRestUtil.toClassName(generatedClassName), requestMapping, entityClass, idClass, idAccessor, withDto ? dtoClasses[2] : null, withDto ? dtoClasses[0] : null, withDto ? dtoClasses[1] : null, dataAccessorClass, dataMapperClass, dataMergerClass, relations, existingRequests, this.dataWrapper);
+		configuration.setStreaming(this.annotatedValues.getOrDefault("streaming", "false").equals("true"));
+		if (withDto && this.annotatedValues.getOrDefault("dtoConfig/projection", "false").equals("true")) {
+			configuration.setProjection(this.findProjection(entityElement, dtoClasses[1]));
+		}
+		if (this.annotatedValues.getOrDefault("generateMapper", "false").equals("true")) {
+			configuration.setMappings(this.findMappings(configuration));
+		}
+		configuration.setPagination(this.findEnumInAnnotatedValues("pagination", PaginationType.OFFSET));
+		configuration.setPagedRelations(this.annotatedValues.getOrDefault("pagedRelations", "false").equals("true"));
+		configuration.setVersion(this.findVersion(entityElement));
+		if (this.annotatedValues.getOrDefault("mergePatch", "false").equals("true")) {
+			configuration.setMergePatch(this.findMergePatch(configuration));
+		}
+		if (this.annotatedValues.getOrDefault("sparseFields", "false").equals("true")) {
+			configuration.setSparseFields(this.findVisibleAttributes(entityElement, configuration));
+		}
+		if (entityElement != null) {
+			configuration.setFilterable(this.findVisibleAttributes(entityElement, configuration));
+		}
+		if (this.annotatedValues.getOrDefault("directDelete", "false").equals("true")) {
+			boolean deletable = this.isDeletableWithoutLoading(entityElement);
+			if (!deletable) {
+				GeneratedRestUtil.log("Entities of " + entityClass + " can't be deleted without loading them.", 1);
+			}
+			configuration.setDirectDelete(deletable);
+		}
+		configuration.setEntityCacheSize(Math.max(0, Integer.parseInt(this.annotatedValues.getOrDefault("entityCache", "0"))));
+		configuration.setEntityCacheTtl(Long.parseLong(this.annotatedValues.getOrDefault("entityCacheTtl", "300")));
+		configuration.setResponseCacheSize(Math.max(0, Integer.parseInt(this.annotatedValues.getOrDefault("responseCache", "0"))));
+		configuration.setResponseCacheTtl(Long.parseLong(this.annotatedValues.getOrDefault("responseCacheTtl", "60")));
+		configuration.setPublishChanges(this.annotatedValues.getOrDefault("publishChanges", "false").equals("true"));
+		configuration.setDirectUpdate(this.annotatedValues.getOrDefault("directUpdate", "false").equals("true"));
+		configuration.setPartialUpdate(this.isPartiallyUpdatable(configuration));
+		configuration.setBatch(this.annotatedValues.getOrDefault("batch", "false").equals("true"));
+		configuration.setBatchSize(Math.max(1, Integer.parseInt(this.annotatedValues.getOrDefault("batchSize", "50"))));
+		configuration.setExecutionMode(this.executionMode);
+		return configuration;
 	}
 
 	private ClassName[] findDtoClasses(ClassName entityClass) {
@@ -203,6 +266,292 @@ public class ControllerConfigurationBuilder {
 		return List.of(dtoClass, dtoListClass, dtoRequestClass).toArray(new ClassName[]{});
 	}
 
+	/**
+	 * Find the entity attributes that can be selected in order to construct the
+	 * DTO directly from a query. A public constructor of the DTO qualifies if the
+	 * names and types of all its parameters match basic fields of the entity.
+	 * The constructor with the most parameters will be used.
+	 *
+	 * @param entityElement The element of the entity.
+	 * @param dtoClass      The class of the DTO.
+	 * @return The names of the attributes in the order of the constructor or an empty list.
+	 */
+	private @NotNull List<String> findProjection(@Nullable TypeElement entityElement, @NotNull ClassName dtoClass) {
+		TypeElement dtoElement = this.elementUtils.getTypeElement(dtoClass.canonicalName());
+		if (entityElement == null || dtoElement == null) {
+			return new ArrayList<>();
+		}
+		Map<String, TypeName> attributes = this.findBasicAttributes(entityElement);
+		List<String> projection = new ArrayList<>();
+		for (ExecutableElement constructor : constructorsIn(dtoElement.getEnclosedElements())) {
+			if (!constructor.getModifiers().contains(Modifier.PUBLIC) || constructor.getParameters().size() <= projection.size()) {
+				continue;
+			}
+			List<String> names = new ArrayList<>();
+			for (VariableElement parameter : constructor.getParameters()) {
+				String name = parameter.getSimpleName().toString();
+				TypeName type = attributes.get(name);
+				if (type == null || !type.box().equals(TypeName.get(parameter.asType()).box())) {
+					names = null;
+					break;
+				}
+				names.add(name);
+			}
+			if (names != null) {
+				projection = names;
+			}
+		}
+		return projection;
+	}
+
+	/**
+	 * Find the attribute of the entity that tells its version. The configured
+	 * version attribute will be used if set. Otherwise, the field annotated
+	 * with {@link Version} in the entity or its superclasses.
+	 *
+	 * @param entityElement The element of the entity.
+	 * @return The name of the version attribute or null.
+	 */
+	private @Nullable String findVersion(@Nullable TypeElement entityElement) {
+		String configured = this.annotatedValues.getOrDefault("version", "");
+		if (!configured.isBlank()) {
+			return configured;
+		}
+		TypeElement element = entityElement;
+		while (element != null) {
+			for (VariableElement field : fieldsIn(element.getEnclosedElements())) {
+				boolean version = field.getAnnotationMirrors().stream()
+						.anyMatch(anno -> anno.getAnnotationType().toString().equals(Version.class.getName()));
+				if (version) {
+					return field.getSimpleName().toString();
+				}
+			}
+			TypeMirror superclass = element.getSuperclass();
+			element = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+		}
+		return null;
+	}
+
+	/**
+	 * Check if entities can be deleted with a delete statement instead of
+	 * loading and removing them. That is not the case if the persistence
+	 * provider would do more than deleting the row, like cascading the
+	 * removal, deleting rows of join tables or element collections, calling
+	 * lifecycle callbacks or running a custom delete statement.
+	 *
+	 * @param entityElement The element of the entity.
+	 * @return True if a delete statement removes the same data.
+	 */
+	private boolean isDeletableWithoutLoading(@Nullable TypeElement entityElement) {
+		if (entityElement == null) {
+			return false;
+		}
+		TypeElement element = entityElement;
+		while (element != null) {
+			if (element.getAnnotationMirrors().stream().anyMatch(anno -> anno.getAnnotationType().toString().equals("org.hibernate.annotations.SQLDelete"))) {
+				return false;
+			}
+			for (ExecutableElement method : methodsIn(element.getEnclosedElements())) {
+				boolean callback = method.getAnnotationMirrors().stream()
+						.map(anno -> anno.getAnnotationType().toString())
+						.anyMatch(name -> name.equals(PreRemove.class.getName()) || name.equals(PostRemove.class.getName()));
+				if (callback) {
+					return false;
+				}
+			}
+			for (VariableElement field : fieldsIn(element.getEnclosedElements())) {
+				for (AnnotationMirror anno : field.getAnnotationMirrors()) {
+					String name = anno.getAnnotationType().toString();
+					if (name.equals(ElementCollection.class.getName())) {
+						return false;
+					}
+					if (!List.of(OneToMany.class.getName(), ManyToMany.class.getName(), ManyToOne.class.getName(), OneToOne.class.getName()).contains(name)) {
+						continue;
+					}
+					Map<String, String> values = new HashMap<>();
+					anno.getElementValues().forEach((key, value) -> values.put(key.getSimpleName().toString(), value.toString()));
+					String cascade = values.getOrDefault("cascade", "");
+					if (cascade.contains("ALL") || cascade.contains("REMOVE") || values.getOrDefault("orphanRemoval", "false").equals("true")) {
+						return false;
+					}
+					// The owning side of a many-to-many relation deletes the rows of the join table.
+					if (name.equals(ManyToMany.class.getName()) && !values.containsKey("mappedBy")) {
+						return false;
+					}
+				}
+			}
+			TypeMirror superclass = element.getSuperclass();
+			element = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+		}
+		return true;
+	}
+
+	/**
+	 * Find the mappings between the entity and its DTOs and between the
+	 * entities and DTOs of the relations.
+	 *
+	 * @param configuration The configuration of the controller.
+	 * @return A list of mappings that can be generated.
+	 */
+	private @NotNull List<MappingConfiguration> findMappings(@NotNull ControllerConfiguration configuration) {
+		List<TypeName[]> pairs = new ArrayList<>();
+		if (configuration.isUsingDto()) {
+			pairs.add(new TypeName[]{configuration.getEntity(), configuration.getSingleDto()});
+			pairs.add(new TypeName[]{configuration.getEntity(), configuration.getListDto()});
+			pairs.add(new TypeName[]{configuration.getRequestType(), configuration.getEntity()});
+			pairs.add(new TypeName[]{configuration.getRequestDto(), configuration.getEntity()});
+		}
+		configuration.getRelations().values().forEach(relation -> {
+			if (relation.isWithDtos()) {
+				pairs.add(new TypeName[]{relation.getEntityClass(), relation.getDtoClass()});
+				pairs.add(new TypeName[]{relation.getDtoClass(), relation.getEntityClass()});
+			}
+		});
+		PropertyConfigurationBuilder builder = PropertyConfiguration.builder().withUtils(this.elementUtils);
+		Map<String, MappingConfiguration> mappings = new LinkedHashMap<>();
+		for (TypeName[] pair : pairs) {
+			if (pair[0] == null || pair[1] == null || pair[0].equals(TypeName.OBJECT) || pair[1].equals(TypeName.OBJECT)) {
+				continue;
+			}
+			ClassName source = ClassName.bestGuess(pair[0].toString());
+			ClassName target = ClassName.bestGuess(pair[1].toString());
+			String key = source.canonicalName() + ">" + target.canonicalName();
+			if (!mappings.containsKey(key)) {
+				MappingConfiguration mapping = builder.build(source, target);
+				if (mapping != null) {
+					mappings.put(key, mapping);
+				}
+			}
+		}
+		return new ArrayList<>(mappings.values());
+	}
+
+	/**
+	 * Find the fields of the entity that can be selected or filtered by
+	 * clients. Only basic attributes that are also properties of the response
+	 * are visible, so no attribute is exposed that the response hides.
+	 *
+	 * @param entityElement The element of the entity.
+	 * @param configuration The configuration of the controller.
+	 * @return The names of the visible attributes or an empty list.
+	 */
+	private @NotNull List<String> findVisibleAttributes(@Nullable TypeElement entityElement, @NotNull ControllerConfiguration configuration) {
+		if (entityElement == null) {
+			return new ArrayList<>();
+		}
+		Set<String> attributes = this.findBasicAttributes(entityElement).keySet();
+		ClassName response = ClassName.bestGuess(configuration.getSingleResponseType().toString());
+		ClassName entity = ClassName.bestGuess(configuration.getEntity().toString());
+		MappingConfiguration mapping = PropertyConfiguration.builder().withUtils(this.elementUtils).buildMatching(entity, response);
+		if (mapping == null) {
+			return new ArrayList<>();
+		}
+		return mapping.getProperties().stream()
+				.map(PropertyConfiguration::getName)
+				.filter(attributes::contains)
+				.collect(Collectors.toCollection(ArrayList::new));
+	}
+
+	/**
+	 * Find the basic attributes of the entity, that are neither relations,
+	 * element collections nor transient. Attributes of mapped superclasses
+	 * and entities the entity inherits from are included.
+	 *
+	 * @param entityElement The element of the entity.
+	 * @return The types of the attributes by name.
+	 */
+	private @NotNull Map<String, TypeName> findBasicAttributes(@NotNull TypeElement entityElement) {
+		List<String> excluded = List.of(OneToMany.class.getName(), ManyToMany.class.getName(), ManyToOne.class.getName(), OneToOne.class.getName(), ElementCollection.class.getName(), Transient.class.getName());
+		// Collect the persistent superclasses first, so their attributes come first.
+		Deque<TypeElement> hierarchy = new ArrayDeque<>();
+		TypeElement element = entityElement;
+		while (element != null) {
+			hierarchy.push(element);
+			TypeMirror superclass = element.getSuperclass();
+			element = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+			if (element != null && element.getAnnotationMirrors().stream()
+					.map(anno -> anno.getAnnotationType().toString())
+					.noneMatch(name -> name.equals(MappedSuperclass.class.getName()) || name.equals(Entity.class.getName()))) {
+				// Fields of other superclasses are not persisted.
+				element = null;
+			}
+		}
+		Map<String, TypeName> attributes = new LinkedHashMap<>();
+		for (TypeElement type : hierarchy) {
+			for (VariableElement field : fieldsIn(type.getEnclosedElements())) {
+				if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)) {
+					continue;
+				}
+				boolean basic = field.getAnnotationMirrors().stream()
+						.map(anno -> anno.getAnnotationType().toString())
+						.noneMatch(excluded::contains);
+				if (basic) {
+					attributes.put(field.getSimpleName().toString(), TypeName.get(field.asType()));
+				}
+			}
+		}
+		return attributes;
+	}
+
+	/**
+	 * Check if the properties of the request line up with the properties of
+	 * the entity, so the names of the properties sent in an update can be
+	 * used as the names of the entity properties that are written. That is
+	 * the case if every property of the request can be written into an
+	 * entity property with the same name and type.
+	 *
+	 * @param configuration The configuration of the controller.
+	 * @return True if the sent properties can be written into the entity by name.
+	 */
+	private boolean isPartiallyUpdatable(@NotNull ControllerConfiguration configuration) {
+		ClassName request = ClassName.bestGuess(configuration.getRequestType().toString());
+		ClassName entity = ClassName.bestGuess(configuration.getEntity().toString());
+		PropertyConfigurationBuilder builder = PropertyConfiguration.builder().withUtils(this.elementUtils);
+		MappingConfiguration own = builder.buildMatching(request, request);
+		MappingConfiguration matching = builder.buildMatching(request, entity);
+		if (own == null || matching == null) {
+			return false;
+		}
+		Set<String> matched = matching.getProperties().stream().map(PropertyConfiguration::getName).collect(Collectors.toSet());
+		return own.getProperties().stream().map(PropertyConfiguration::getName).allMatch(matched::contains);
+	}
+
+	/**
+	 * Find the properties of the request that can be patched into the entity.
+	 * The id and the version of the entity are never patched.
+	 *
+	 * @param configuration The configuration of the controller.
+	 * @return The mapping from the request into the entity or null.
+	 */
+	private @Nullable MappingConfiguration findMergePatch(@NotNull ControllerConfiguration configuration) {
+		ClassName document = ClassName.bestGuess(configuration.getRequestType().toString());
+		ClassName target = ClassName.bestGuess(configuration.getEntity().toString());
+		MappingConfiguration mapping = PropertyConfiguration.builder().withUtils(this.elementUtils).buildMatching(document, target);
+		if (mapping != null) {
+			String idAccessor = configuration.getIdAccessor();
+			String id = idAccessor.startsWith("get") && idAccessor.length() > 3 ? Character.toLowerCase(idAccessor.charAt(3)) + idAccessor.substring(4) : idAccessor;
+			mapping.getProperties().removeIf(property -> property.getName().equals(id) || property.getName().equals(configuration.getVersion()));
+		}
+		return mapping;
+	}
+
+	/**
+	 * Find the constant of an enum in the annotated values.
+	 *
+	 * @param name         The name of the annotated value.
+	 * @param defaultValue The constant that will be used if the value is missing or unknown.
+	 * @param <T>          Type of the enum.
+	 * @return The found enum constant or the default value.
+	 */
+	private <T extends Enum<T>> @NotNull T findEnumInAnnotatedValues(@NotNull String name, @NotNull T defaultValue) {
+		String value = this.annotatedValues.getOrDefault(name, defaultValue.name());
+		try {
+			return Enum.valueOf(defaultValue.getDeclaringClass(), value.substring(value.lastIndexOf('.') + 1).trim());
+		} catch (IllegalArgumentException e) {
+			return defaultValue;
+		}
+	}
+
 	private @NotNull ClassName findConfiguredDtoClassInAnnotatedValues(@NotNull String primaryChoice, @Nullable String secondaryChoice, @Nullable String tertiaryChoice) {
 		String className = Object.class.getCanonicalName();
 		if (!this.annotatedValues.getOrDefault(primaryChoice, className).equals(className)) {
@@ -0,0 +1,13 @@
+package eu.nerdfactor.springutil.generatedrest.config;
+
+/**
+ * The way generated endpoints are executed.
+ *
+ * @author Daniel Klug
+ */
+public enum ExecutionMode {
+
+	SYNC,       // Executed on the request thread of the servlet container.
+	ASYNC,      // Executed on a virtual thread per request, answered with a CompletableFuture.
+	REACTIVE    // Executed as a Mono or Flux of a ReactiveDataAccessor.
+}
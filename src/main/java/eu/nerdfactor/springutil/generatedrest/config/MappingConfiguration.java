@@ -0,0 +1,52 @@
+package eu.nerdfactor.springutil.generatedrest.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.squareup.javapoet.ClassName;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of a mapping between two classes, that will be
+ * generated into a mapper.
+ *
+ * @author Daniel Klug
+ */
+@Getter
+@Setter
+public class MappingConfiguration {
+
+	/**
+	 * Class of the mapped object.
+	 */
+	private ClassName source;
+
+	/**
+	 * Class of the created object.
+	 */
+	private ClassName target;
+
+	/**
+	 * Name of a method of the source that converts it into the target,
+	 * like convertToDto of a PersistentEntity. Null if the properties
+	 * are copied.
+	 */
+	private String converter;
+
+	/**
+	 * Properties that are copied from the source into the target.
+	 */
+	private List<PropertyConfiguration> properties = new ArrayList<>();
+
+	/**
+	 * Get the name of the generated method for this mapping.
+	 *
+	 * @return The name of the method.
+	 */
+	@JsonIgnore
+	public String getMethodName() {
+		return "map" + this.source.simpleName() + "To" + this.target.simpleName();
+	}
+}
@@ -0,0 +1,13 @@
+package eu.nerdfactor.springutil.generatedrest.config;
+
+/**
+ * The type of pagination used by search endpoints.
+ *
+ * @author Daniel Klug
+ */
+public enum PaginationType {
+
+	OFFSET,     // Pages addressed by page number and size.
+	SLICE,      // Pages addressed by page number and size, without a total count.
+	CURSOR      // Windows continued by an opaque cursor of the last key.
+}
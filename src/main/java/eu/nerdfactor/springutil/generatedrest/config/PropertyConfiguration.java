@@ -0,0 +1,51 @@
+package eu.nerdfactor.springutil.generatedrest.config;
+
+import com.squareup.javapoet.TypeName;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Configuration of a property that is copied by a generated mapper.
+ *
+ * @author Daniel Klug
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyConfiguration {
+
+	/**
+	 * Name of the property.
+	 */
+	private String name;
+
+	/**
+	 * Type of the property.
+	 */
+	private TypeName type;
+
+	/**
+	 * Name of the getter of the property, or null if the property is
+	 * read from a public field.
+	 */
+	private String getter;
+
+	/**
+	 * Name of the setter of the property, or null if the property is
+	 * written into a public field.
+	 */
+	private String setter;
+
+	/**
+	 * If the property is read as a boxed type and written as a primitive
+	 * type, so null values can't be written.
+	 */
+	private boolean unboxed;
+
+	public static PropertyConfigurationBuilder builder() {
+		return new PropertyConfigurationBuilder();
+	}
+}
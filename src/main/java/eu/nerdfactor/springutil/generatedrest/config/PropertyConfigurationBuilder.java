@@ -0,0 +1,194 @@
+package eu.nerdfactor.springutil.generatedrest.config;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+import eu.nerdfactor.springutil.generatedrest.data.DataTransferObject;
+import eu.nerdfactor.springutil.generatedrest.data.PersistentEntity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static javax.lang.model.util.ElementFilter.*;
+
+/**
+ * Builder that creates the configuration of a mapping between two
+ * classes by matching their properties by name and type.
+ *
+ * @author Daniel Klug
+ */
+public class PropertyConfigurationBuilder {
+
+	private Elements elementUtils;
+
+	public PropertyConfigurationBuilder withUtils(Elements elementUtils) {
+		this.elementUtils = elementUtils;
+		return this;
+	}
+
+	/**
+	 * Create the mapping between two classes. The mapping will use a
+	 * converter method of PersistentEntity or DataTransferObject if the
+	 * source converts into the target. Otherwise, all properties that can
+	 * be read from the source and written into the target will be copied.
+	 *
+	 * @param source The class of the mapped object.
+	 * @param target The class of the created object.
+	 * @return The mapping or null if the target can't be created.
+	 */
+	public @Nullable MappingConfiguration build(@NotNull ClassName source, @NotNull ClassName target) {
+		TypeElement sourceElement = this.elementUtils.getTypeElement(source.canonicalName());
+		TypeElement targetElement = this.elementUtils.getTypeElement(target.canonicalName());
+		if (sourceElement == null || targetElement == null || source.equals(target)) {
+			return null;
+		}
+		MappingConfiguration mapping = new MappingConfiguration();
+		mapping.setSource(source);
+		mapping.setTarget(target);
+		String converter = this.findConverter(sourceElement, target);
+		if (converter != null) {
+			mapping.setConverter(converter);
+			return mapping;
+		}
+		if (!this.isConstructable(targetElement)) {
+			return null;
+		}
+		this.matchProperties(mapping, sourceElement, targetElement);
+		return mapping;
+	}
+
+	/**
+	 * Create the mapping of all properties that can be read from the source
+	 * and written into the target, without using a converter. Used to find
+	 * the properties of a patch document that can be applied to an entity.
+	 * The classes may be the same.
+	 *
+	 * @param source The class of the read object.
+	 * @param target The class of the written object.
+	 * @return The mapping or null if one of the classes is unknown.
+	 */
+	public @Nullable MappingConfiguration buildMatching(@NotNull ClassName source, @NotNull ClassName target) {
+		TypeElement sourceElement = this.elementUtils.getTypeElement(source.canonicalName());
+		TypeElement targetElement = this.elementUtils.getTypeElement(target.canonicalName());
+		if (sourceElement == null || targetElement == null) {
+			return null;
+		}
+		MappingConfiguration mapping = new MappingConfiguration();
+		mapping.setSource(source);
+		mapping.setTarget(target);
+		this.matchProperties(mapping, sourceElement, targetElement);
+		return mapping;
+	}
+
+	/**
+	 * Add all properties to the mapping that can be read from the source
+	 * and written into the target with the same type. A boxed and a
+	 * primitive type are the same, but the property is marked as unboxed.
+	 */
+	private void matchProperties(@NotNull MappingConfiguration mapping, @NotNull TypeElement sourceElement, @NotNull TypeElement targetElement) {
+		Map<String, PropertyConfiguration> readable = this.findProperties(sourceElement, true);
+		Map<String, PropertyConfiguration> writable = this.findProperties(targetElement, false);
+		readable.forEach((name, read) -> {
+			PropertyConfiguration write = writable.get(name);
+			if (write != null && read.getType().box().equals(write.getType().box())) {
+				boolean unboxed = !read.getType().isPrimitive() && write.getType().isPrimitive();
+				mapping.getProperties().add(new PropertyConfiguration(name, write.getType(), read.getGetter(), write.getSetter(), unboxed));
+			}
+		});
+	}
+
+	/**
+	 * Find the converter method if the source implements PersistentEntity
+	 * or DataTransferObject for the target.
+	 */
+	private @Nullable String findConverter(@NotNull TypeElement sourceElement, @NotNull ClassName target) {
+		for (TypeElement type = sourceElement; type != null; type = this.superclassOf(type)) {
+			for (TypeMirror implemented : type.getInterfaces()) {
+				if (!(implemented instanceof DeclaredType declared) || declared.getTypeArguments().size() != 1) {
+					continue;
+				}
+				String name = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+				boolean converts = TypeName.get(declared.getTypeArguments().get(0)).equals(target);
+				if (converts && name.equals(PersistentEntity.class.getCanonicalName())) {
+					return "convertToDto";
+				}
+				if (converts && name.equals(DataTransferObject.class.getCanonicalName())) {
+					return "convertToEntity";
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Check if the class can be created with a public constructor
+	 * without parameters.
+	 */
+	private boolean isConstructable(@NotNull TypeElement element) {
+		if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+			return false;
+		}
+		List<ExecutableElement> constructors = constructorsIn(element.getEnclosedElements());
+		return constructors.isEmpty() || constructors.stream().anyMatch(constructor -> constructor.getModifiers().contains(Modifier.PUBLIC) && constructor.getParameters().isEmpty());
+	}
+
+	/**
+	 * Find the properties of a class, including those of its superclasses,
+	 * that can be read or written by public getters, setters or fields.
+	 */
+	private @NotNull Map<String, PropertyConfiguration> findProperties(@NotNull TypeElement element, boolean read) {
+		Map<String, PropertyConfiguration> properties = new LinkedHashMap<>();
+		for (TypeElement type = element; type != null; type = this.superclassOf(type)) {
+			// Accessors of a class take precedence over its fields and over its superclasses.
+			Map<String, PropertyConfiguration> declared = new LinkedHashMap<>();
+			for (VariableElement field : fieldsIn(type.getEnclosedElements())) {
+				boolean accessible = field.getModifiers().contains(Modifier.PUBLIC) && !field.getModifiers().contains(Modifier.STATIC) && (read || !field.getModifiers().contains(Modifier.FINAL));
+				if (accessible) {
+					declared.put(field.getSimpleName().toString(), new PropertyConfiguration(field.getSimpleName().toString(), TypeName.get(field.asType()), null, null, false));
+				}
+			}
+			for (ExecutableElement method : methodsIn(type.getEnclosedElements())) {
+				if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)) {
+					continue;
+				}
+				String methodName = method.getSimpleName().toString();
+				String name = this.propertyName(methodName, read ? List.of("get", "is") : List.of("set"));
+				if (name == null || name.equals("class")) {
+					continue;
+				}
+				if (read && method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID) {
+					declared.put(name, new PropertyConfiguration(name, TypeName.get(method.getReturnType()), methodName, null, false));
+				} else if (!read && method.getParameters().size() == 1) {
+					declared.put(name, new PropertyConfiguration(name, TypeName.get(method.getParameters().get(0).asType()), null, methodName, false));
+				}
+			}
+			declared.forEach(properties::putIfAbsent);
+		}
+		return properties;
+	}
+
+	private @Nullable String propertyName(@NotNull String methodName, @NotNull List<String> prefixes) {
+		for (String prefix : prefixes) {
+			if (methodName.length() > prefix.length() && methodName.startsWith(prefix) && Character.isUpperCase(methodName.charAt(prefix.length()))) {
+				return Character.toLowerCase(methodName.charAt(prefix.length())) + methodName.substring(prefix.length() + 1);
+			}
+		}
+		return null;
+	}
+
+	private @Nullable TypeElement superclassOf(@NotNull TypeElement element) {
+		TypeMirror superclass = element.getSuperclass();
+		if (superclass.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		TypeElement superElement = (TypeElement) ((DeclaredType) superclass).asElement();
+		return superElement.getQualifiedName().contentEquals(Object.class.getCanonicalName()) ? null : superElement;
+	}
+}
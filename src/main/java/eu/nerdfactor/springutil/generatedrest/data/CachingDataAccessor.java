@@ -0,0 +1,245 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import jakarta.persistence.Persistence;
+import jakarta.persistence.PersistenceUtil;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * DataAccessor that caches the entities read by id from another DataAccessor.
+ * Cached entities are invalidated whenever they are updated or deleted through
+ * this DataAccessor. Changes that don't go through it will be visible after the
+ * entries expire.
+ * <br>
+ * Cached entities are shared between requests and are detached from the
+ * persistence context they were loaded in, so lazy relations that were not
+ * initialized can't be loaded from them. Entities that are read in order to
+ * change them with {@link #readDataForUpdate(Object)} are never taken from
+ * or put into the cache, so the shared instances are never changed.
+ * <br>
+ * Changed entities are invalidated right away and, if a transaction is
+ * active, again after it was committed. Otherwise, a request that reads
+ * the entity before the commit would cache the old state again.
+ *
+ * @param <E>  Type of the entity.
+ * @param <ID> Type of the entity's id.
+ * @author Daniel Klug
+ */
+public class CachingDataAccessor<E, ID> implements DataAccessor<E, ID> {
+
+	protected final DataAccessor<E, ID> dataAccessor;
+
+	protected final Function<E, ID> idAccessor;
+
+	protected final DataCache<ID, E> cache;
+
+	/**
+	 * Create a new caching DataAccessor.
+	 *
+	 * @param dataAccessor The DataAccessor that reads and writes the entities.
+	 * @param idAccessor   The function that gets the id of an entity.
+	 * @param maximumSize  The maximum amount of cached entities.
+	 * @param ttl          The time until a cached entity expires.
+	 */
+	public CachingDataAccessor(@NotNull DataAccessor<E, ID> dataAccessor, @NotNull Function<E, ID> idAccessor, int maximumSize, @NotNull Duration ttl) {
+		this.dataAccessor = dataAccessor;
+		this.idAccessor = idAccessor;
+		this.cache = new DataCache<>(maximumSize, ttl);
+	}
+
+	/**
+	 * Get the statistics of the cache.
+	 *
+	 * @return The counted hits, misses and evictions.
+	 */
+	public DataCache.Stats getStats() {
+		return this.cache.stats();
+	}
+
+	/**
+	 * Remove the entity with the id from the cache, after it was changed
+	 * without going through this DataAccessor.
+	 *
+	 * @param id The id of the entity.
+	 */
+	public void invalidateById(@NotNull ID id) {
+		this.evict(id);
+	}
+
+	/**
+	 * Remove all entities from the cache.
+	 */
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					CachingDataAccessor.this.cache.invalidateAll();
+				}
+			});
+		}
+	}
+
+	@Override
+	public Iterable<E> listData() {
+		return this.dataAccessor.listData();
+	}
+
+	@Override
+	public Stream<E> streamData() {
+		return this.dataAccessor.streamData();
+	}
+
+	@Override
+	public Page<E> searchData(Specification<E> spec, Pageable page) {
+		return this.dataAccessor.searchData(spec, page);
+	}
+
+	@Override
+	public long countData(Specification<E> spec) {
+		return this.dataAccessor.countData(spec);
+	}
+
+	@Override
+	public Slice<E> sliceData(Specification<E> spec, Pageable page) {
+		return this.dataAccessor.sliceData(spec, page);
+	}
+
+	@Override
+	public Window<E> scrollData(Specification<E> spec, ScrollPosition position, Pageable page) {
+		return this.dataAccessor.scrollData(spec, position, page);
+	}
+
+	@Override
+	public E createData(@NotNull E entity) {
+		return this.dataAccessor.createData(entity);
+	}
+
+	@Override
+	public E readData(ID id) {
+		if (id == null) {
+			return this.dataAccessor.readData(null);
+		}
+		return this.cache.get(id, this.dataAccessor::readData);
+	}
+
+	/**
+	 * Read the entity with the relations from the cache, if they were
+	 * already initialized in the cached entity. Otherwise, the entity will
+	 * be read with the relations and replace the cached entity.
+	 *
+	 * @param id        The id of the entity.
+	 * @param relations The names of the relations that will be accessed.
+	 * @return The entity or null if it doesn't exist.
+	 */
+	@Override
+	public E readDataWithRelations(ID id, String... relations) {
+		if (id == null) {
+			return this.dataAccessor.readDataWithRelations(null, relations);
+		}
+		E cached = this.cache.getIfPresent(id);
+		PersistenceUtil persistenceUtil = Persistence.getPersistenceUtil();
+		if (cached != null && Arrays.stream(relations).allMatch(relation -> persistenceUtil.isLoaded(cached, relation))) {
+			return cached;
+		}
+		E entity = this.dataAccessor.readDataWithRelations(id, relations);
+		if (entity != null) {
+			this.cache.put(id, entity);
+		}
+		return entity;
+	}
+
+	@Override
+	public E readDataForUpdate(ID id) {
+		if (id != null) {
+			this.cache.invalidate(id);
+		}
+		return this.dataAccessor.readDataForUpdate(id);
+	}
+
+	@Override
+	public boolean existsData(ID id) {
+		if (id != null && this.cache.getIfPresent(id) != null) {
+			return true;
+		}
+		return this.dataAccessor.existsData(id);
+	}
+
+	@Override
+	public E updateData(@NotNull E entity) {
+		this.invalidate(entity);
+		E updated = this.dataAccessor.updateData(entity);
+		this.invalidate(updated);
+		return updated;
+	}
+
+	@Override
+	public void deleteData(@NotNull E entity) {
+		this.invalidate(entity);
+		this.dataAccessor.deleteData(entity);
+	}
+
+	@Override
+	public void deleteDataById(@NotNull ID id) {
+		this.evict(id);
+		this.dataAccessor.deleteDataById(id);
+	}
+
+	@Override
+	public List<E> createAllData(@NotNull List<E> entities) {
+		return this.dataAccessor.createAllData(entities);
+	}
+
+	@Override
+	public List<E> updateAllData(@NotNull List<E> entities) {
+		entities.forEach(this::invalidate);
+		List<E> updated = this.dataAccessor.updateAllData(entities);
+		updated.forEach(this::invalidate);
+		return updated;
+	}
+
+	@Override
+	public void deleteAllDataById(@NotNull List<ID> ids) {
+		ids.forEach(this::evict);
+		this.dataAccessor.deleteAllDataById(ids);
+	}
+
+	@Override
+	public void deleteAllDataByIdWithoutLoading(@NotNull List<ID> ids) {
+		ids.forEach(this::evict);
+		this.dataAccessor.deleteAllDataByIdWithoutLoading(ids);
+	}
+
+	private void invalidate(E entity) {
+		ID id = entity != null ? this.idAccessor.apply(entity) : null;
+		if (id != null) {
+			this.evict(id);
+		}
+	}
+
+	private void evict(ID id) {
+		this.cache.invalidate(id);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					CachingDataAccessor.this.cache.invalidate(id);
+				}
+			});
+		}
+	}
+}
@@ -3,11 +3,20 @@ package eu.nerdfactor.springutil.generatedrest.data;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.FluentQuery;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
@@ -25,11 +34,33 @@ public interface DataAccessService<E, ID> extends DataAccessor<E, ID> {
 		return this.getRepository().findAll();
 	}
 
+	/**
+	 * Streams all data. If the repository implements {@link JpaSpecificationExecutor}
+	 * the entities will be scrolled from the database and have to be consumed
+	 * while the persistence context is still open. Consuming them in a
+	 * read-only transaction lets the persistence provider skip the snapshots
+	 * for dirty checking. The amount of rows fetched at once is the JDBC fetch
+	 * size of the persistence unit. Otherwise, the Stream will be backed by
+	 * the result of findAll().
+	 *
+	 * @return A Stream of all data.
+	 */
+	@SuppressWarnings("unchecked")
+	default Stream<E> streamData() {
+		CrudRepository<E, ID> repository = this.getRepository();
+		if (repository instanceof JpaSpecificationExecutor) {
+			JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+			return executor.findBy(Specification.where(null), FluentQuery.FetchableFluentQuery::stream);
+		}
+		return StreamSupport.stream(repository.findAll().spliterator(), false);
+	}
+
 	/**
 	 * Searches for data, filtered by the {@link Specification} and restricted
 	 * to a {@link Page}. Filtering and paging is only applied if the repository
-	 * implements the corresponding interfaces. Otherwise, a page with all data
-	 * will be returned.
+	 * implements the corresponding interfaces. Otherwise, the data will be
+	 * searched in memory, where only specifications that can be evaluated
+	 * will be used for filtering.
 	 *
 	 * @param spec The {@link Specification} for filtering.
 	 * @param page The {@link Pageable} for paging.
@@ -46,9 +77,74 @@ public interface DataAccessService<E, ID> extends DataAccessor<E, ID> {
 			PagingAndSortingRepository<E, ID> pagingAndSorting = (PagingAndSortingRepository<E, ID>) repository;
 			return pagingAndSorting.findAll(page);
 		}
-		return new DataPage<>(StreamSupport
-				.stream(this.getRepository().findAll().spliterator(), false)
-				.toList());
+		return InMemoryDataSearch.search(repository.findAll(), spec, page);
+	}
+
+	/**
+	 * Counts the data that matches the {@link Specification}. If the repository
+	 * implements {@link JpaSpecificationExecutor} only a count query will be
+	 * executed. Otherwise, the data will be counted like it is searched by
+	 * searchData.
+	 *
+	 * @param spec The {@link Specification} for filtering.
+	 * @return The amount of matching data.
+	 */
+	@SuppressWarnings("unchecked")
+	default long countData(Specification<E> spec) {
+		CrudRepository<E, ID> repository = this.getRepository();
+		if (repository instanceof JpaSpecificationExecutor) {
+			JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+			return executor.count(spec);
+		}
+		if (repository instanceof PagingAndSortingRepository) {
+			return repository.count();
+		}
+		return InMemoryDataSearch.search(repository.findAll(), spec, Pageable.ofSize(1)).getTotalElements();
+	}
+
+	/**
+	 * Searches for data, filtered by the {@link Specification} and restricted
+	 * to a {@link Slice}. If the repository implements {@link JpaSpecificationExecutor}
+	 * one more entity than the page size will be fetched in order to know if there is
+	 * a next slice, and no count query will be executed. Otherwise, the page of
+	 * searchData will be used.
+	 *
+	 * @param spec The {@link Specification} for filtering.
+	 * @param page The {@link Pageable} for paging.
+	 * @return A filtered slice of data.
+	 */
+	@SuppressWarnings("unchecked")
+	default Slice<E> sliceData(Specification<E> spec, Pageable page) {
+		CrudRepository<E, ID> repository = this.getRepository();
+		if (repository instanceof JpaSpecificationExecutor && page.isPaged()) {
+			JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+			ScrollPosition position = page.getOffset() > 0 ? ScrollPosition.offset(page.getOffset()) : ScrollPosition.offset();
+			Window<E> window = executor.findBy(spec, query -> query.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position));
+			return new SliceImpl<>(window.getContent(), page, window.hasNext());
+		}
+		return this.searchData(spec, page);
+	}
+
+	/**
+	 * Scrolls through data, filtered by the {@link Specification} and continued
+	 * after the {@link ScrollPosition}. For keyset positions the query seeks on
+	 * the sort keys and the id instead of skipping an offset. If the repository
+	 * doesn't implement {@link JpaSpecificationExecutor}, the window will be
+	 * read at an offset by the default of the {@link DataAccessor}.
+	 *
+	 * @param spec     The {@link Specification} for filtering.
+	 * @param position The {@link ScrollPosition} to continue from.
+	 * @param page     The {@link Pageable} for size and sort of the window.
+	 * @return A filtered window of data.
+	 */
+	@SuppressWarnings("unchecked")
+	default Window<E> scrollData(Specification<E> spec, ScrollPosition position, Pageable page) {
+		CrudRepository<E, ID> repository = this.getRepository();
+		if (repository instanceof JpaSpecificationExecutor) {
+			JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+			return executor.findBy(spec, query -> query.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position));
+		}
+		return DataAccessor.super.scrollData(spec, position, page);
 	}
 
 	default E createData(@NotNull E entity) {
@@ -59,6 +155,38 @@ public interface DataAccessService<E, ID> extends DataAccessor<E, ID> {
 		return this.getRepository().findById(id).orElse(null);
 	}
 
+	/**
+	 * Reads the data together with the relations. If the repository
+	 * implements {@link JpaSpecificationExecutor} the relations will be
+	 * fetched in the same query as the entity. Otherwise, the entity will be
+	 * read by readData and the relations are loaded when they are accessed.
+	 *
+	 * @param id        The id of the entity.
+	 * @param relations The names of the relations that will be accessed.
+	 * @return The entity or null if it doesn't exist.
+	 */
+	@SuppressWarnings("unchecked")
+	default E readDataWithRelations(ID id, String... relations) {
+		CrudRepository<E, ID> repository = this.getRepository();
+		if (id != null && repository instanceof JpaSpecificationExecutor) {
+			JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+			List<E> entities = executor.findAll(GeneratedQueries.fetchById(id, relations));
+			return entities.isEmpty() ? null : entities.get(0);
+		}
+		return this.readData(id);
+	}
+
+	/**
+	 * Checks if the data exists with the existsById query of the repository,
+	 * without loading the entity.
+	 *
+	 * @param id The id of the entity.
+	 * @return True if the entity exists.
+	 */
+	default boolean existsData(ID id) {
+		return id != null && this.getRepository().existsById(id);
+	}
+
 	default E updateData(@NotNull E entity) {
 		return this.getRepository().save(entity);
 	}
@@ -70,4 +198,59 @@ public interface DataAccessService<E, ID> extends DataAccessor<E, ID> {
 	default void deleteDataById(@NotNull ID id) {
 		this.getRepository().deleteById(id);
 	}
+
+	default List<E> createAllData(@NotNull List<E> entities) {
+		return this.updateAllData(entities);
+	}
+
+	/**
+	 * Saves the entities as one batch. If the repository implements
+	 * {@link JpaRepository} it will be flushed afterwards, so the statements
+	 * can be batched by the JDBC driver. Generated batch endpoints call this
+	 * once for every chunk of the batchSize of the controller.
+	 *
+	 * @param entities The entities to save.
+	 * @return The saved entities in the same order.
+	 */
+	default List<E> updateAllData(@NotNull List<E> entities) {
+		CrudRepository<E, ID> repository = this.getRepository();
+		List<E> updated = new ArrayList<>(entities.size());
+		repository.saveAll(entities).forEach(updated::add);
+		if (repository instanceof JpaRepository<E, ID> jpaRepository) {
+			jpaRepository.flush();
+		}
+		return updated;
+	}
+
+	/**
+	 * Deletes the entities with deleteAllById of the repository, that loads
+	 * and removes every entity on its own, so relations are cascaded and
+	 * entity callbacks are called.
+	 *
+	 * @param ids The ids of the entities to delete.
+	 */
+	default void deleteAllDataById(@NotNull List<ID> ids) {
+		if (ids.isEmpty()) {
+			return;
+		}
+		this.getRepository().deleteAllById(ids);
+	}
+
+	/**
+	 * Deletes the entities as one batch. If the repository implements
+	 * {@link JpaRepository} they will be deleted with a single delete
+	 * statement, without loading them. Like every bulk statement, it
+	 * doesn't cascade to relations or call entity callbacks. Otherwise,
+	 * they are deleted like by deleteAllDataById.
+	 *
+	 * @param ids The ids of the entities to delete.
+	 */
+	default void deleteAllDataByIdWithoutLoading(@NotNull List<ID> ids) {
+		CrudRepository<E, ID> repository = this.getRepository();
+		if (!ids.isEmpty() && repository instanceof JpaRepository<E, ID> jpaRepository) {
+			jpaRepository.deleteAllByIdInBatch(ids);
+			return;
+		}
+		this.deleteAllDataById(ids);
+	}
 }
@@ -1,10 +1,20 @@
 package eu.nerdfactor.springutil.generatedrest.data;
 
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.OffsetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Generic way to access entity data.
  *
@@ -21,6 +31,17 @@ public interface DataAccessor<E, ID> {
 	 */
 	Iterable<E> listData();
 
+	/**
+	 * Stream all entities. In contrast to {@link #listData()} the entities
+	 * can be pulled one after another, so they don't have to be kept in
+	 * memory all at once. The Stream has to be closed after it was consumed.
+	 *
+	 * @return A Stream of entities.
+	 */
+	default Stream<E> streamData() {
+		return StreamSupport.stream(this.listData().spliterator(), false);
+	}
+
 	/**
 	 * Search all entities. Filter the result with a specification and
 	 * contain them inside a page.
@@ -31,6 +52,62 @@ public interface DataAccessor<E, ID> {
 	 */
 	Page<E> searchData(Specification<E> spec, Pageable page);
 
+	/**
+	 * Count all entities that match the specification. By default, the
+	 * total of a page with a single entity from searchData will be used.
+	 *
+	 * @param spec The {@link Specification} for filtering.
+	 * @return The amount of matching entities.
+	 */
+	default long countData(Specification<E> spec) {
+		return this.searchData(spec, Pageable.ofSize(1)).getTotalElements();
+	}
+
+	/**
+	 * Search all entities. Filter the result with a specification and
+	 * contain them inside a slice. In contrast to {@link #searchData(Specification, Pageable)}
+	 * the total amount of entities is not required. By default, the page of
+	 * searchData will be used.
+	 *
+	 * @param spec The {@link Specification} for filtering.
+	 * @param page The {@link Pageable} for paging.
+	 * @return A Slice of entities.
+	 */
+	default Slice<E> sliceData(Specification<E> spec, Pageable page) {
+		return this.searchData(spec, page);
+	}
+
+	/**
+	 * Scroll through all entities. Filter the result with a specification and
+	 * return the window after the provided position. Only the size and sort of
+	 * the pageable are used, the page number is ignored. By default, the
+	 * window will be read as a slice from sliceData at the offset of the
+	 * position, so keyset positions can't be continued.
+	 *
+	 * @param spec     The {@link Specification} for filtering.
+	 * @param position The {@link ScrollPosition} to continue from.
+	 * @param page     The {@link Pageable} for size and sort of the window.
+	 * @return A Window of entities.
+	 * @throws MalformedCursorException If the position can't be continued.
+	 */
+	default Window<E> scrollData(Specification<E> spec, ScrollPosition position, Pageable page) {
+		if (!(position instanceof OffsetScrollPosition) && !position.isInitial()) {
+			throw new MalformedCursorException("Keyset positions can't be continued by " + this.getClass().getSimpleName() + ".");
+		}
+		long offset = position instanceof OffsetScrollPosition offsetPosition ? offsetPosition.getOffset() : 0;
+		if (page.isUnpaged()) {
+			Slice<E> slice = this.sliceData(spec, Pageable.unpaged(page.getSort()));
+			List<E> content = slice.getContent().subList((int) Math.min(offset, slice.getNumberOfElements()), slice.getNumberOfElements());
+			return Window.from(content, OffsetScrollPosition.positionFunction(offset), false);
+		}
+		if (offset % page.getPageSize() != 0) {
+			// Offsets of the default windows are multiples of the page size.
+			throw new MalformedCursorException("The position doesn't match the size of the window.");
+		}
+		Slice<E> slice = this.sliceData(spec, PageRequest.of(Math.toIntExact(offset / page.getPageSize()), page.getPageSize(), page.getSort()));
+		return Window.from(slice.getContent(), OffsetScrollPosition.positionFunction(offset), slice.hasNext());
+	}
+
 	/**
 	 * Create a new entity with the provided data.
 	 *
@@ -47,6 +124,45 @@ public interface DataAccessor<E, ID> {
 	 */
 	E readData(ID id);
 
+	/**
+	 * Read the entity specified by the id together with the specified
+	 * relations, that will be accessed afterwards. By default, the entity
+	 * will be read like {@link #readData(Object)} and the relations are
+	 * loaded as usual when they are accessed.
+	 *
+	 * @param id        The id of the entity.
+	 * @param relations The names of the relations that will be accessed.
+	 * @return The entity or null if it doesn't exist.
+	 */
+	default E readDataWithRelations(ID id, String... relations) {
+		return this.readData(id);
+	}
+
+	/**
+	 * Read the entity specified by the id in order to change it. By default,
+	 * the entity will be read like {@link #readData(Object)}. DataAccessors
+	 * that share the entities they read between requests have to return an
+	 * instance that is not shared, so the changes are not visible to others
+	 * before they are saved.
+	 *
+	 * @param id The id of the entity.
+	 * @return The entity or null if it doesn't exist.
+	 */
+	default E readDataForUpdate(ID id) {
+		return this.readData(id);
+	}
+
+	/**
+	 * Check if the entity specified by the id exists. By default, the
+	 * entity will be read in order to check it.
+	 *
+	 * @param id The id of the entity.
+	 * @return True if the entity exists.
+	 */
+	default boolean existsData(ID id) {
+		return this.readData(id) != null;
+	}
+
 	/**
 	 * Update the provided entity.
 	 *
@@ -68,4 +184,52 @@ public interface DataAccessor<E, ID> {
 	 * @param id
 	 */
 	void deleteDataById(@NotNull ID id);
+
+	/**
+	 * Create new entities with the provided data. By default, every entity
+	 * will be created on its own.
+	 *
+	 * @param entities The entities to create.
+	 * @return The created entities in the same order.
+	 */
+	default List<E> createAllData(@NotNull List<E> entities) {
+		List<E> created = new ArrayList<>(entities.size());
+		entities.forEach(entity -> created.add(this.createData(entity)));
+		return created;
+	}
+
+	/**
+	 * Update the provided entities. By default, every entity will be
+	 * updated on its own.
+	 *
+	 * @param entities The entities to update.
+	 * @return The updated entities in the same order.
+	 */
+	default List<E> updateAllData(@NotNull List<E> entities) {
+		List<E> updated = new ArrayList<>(entities.size());
+		entities.forEach(entity -> updated.add(this.updateData(entity)));
+		return updated;
+	}
+
+	/**
+	 * Delete the entities with the specified ids. By default, every entity
+	 * will be deleted on its own.
+	 *
+	 * @param ids The ids of the entities to delete.
+	 */
+	default void deleteAllDataById(@NotNull List<ID> ids) {
+		ids.forEach(this::deleteDataById);
+	}
+
+	/**
+	 * Delete the entities with the specified ids without loading them.
+	 * Should only be used for entities that have nothing that needs to be
+	 * removed along with them, like cascaded relations or lifecycle
+	 * callbacks. By default, they will be deleted like {@link #deleteAllDataById(List)}.
+	 *
+	 * @param ids The ids of the entities to delete.
+	 */
+	default void deleteAllDataByIdWithoutLoading(@NotNull List<ID> ids) {
+		this.deleteAllDataById(ids);
+	}
 }
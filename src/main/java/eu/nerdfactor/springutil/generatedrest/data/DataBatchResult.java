@@ -0,0 +1,48 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Result for a single item of a batch request. The index refers to the
+ * position of the item in the request, the status tells what happened
+ * to it.
+ *
+ * @param index   The position of the item in the request.
+ * @param status  The http status for the item.
+ * @param content The response for the item. May be null.
+ * @param error   The reason why the item failed. May be null.
+ * @param <T>     Type of the response.
+ * @author Daniel Klug
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DataBatchResult<T>(int index, int status, @Nullable T content, @Nullable String error) {
+
+	/**
+	 * Create a result for an item that succeeded.
+	 *
+	 * @param index   The position of the item in the request.
+	 * @param status  The http status for the item.
+	 * @param content The response for the item. May be null.
+	 * @param <T>     Type of the response.
+	 * @return A new DataBatchResult.
+	 */
+	public static <T> @NotNull DataBatchResult<T> of(int index, @NotNull HttpStatus status, @Nullable T content) {
+		return new DataBatchResult<>(index, status.value(), content, null);
+	}
+
+	/**
+	 * Create a result for an item that failed.
+	 *
+	 * @param index  The position of the item in the request.
+	 * @param status The http status for the item.
+	 * @param error  The reason why the item failed.
+	 * @param <T>    Type of the response.
+	 * @return A new DataBatchResult.
+	 */
+	public static <T> @NotNull DataBatchResult<T> failed(int index, @NotNull HttpStatus status, @NotNull String error) {
+		return new DataBatchResult<>(index, status.value(), null, error);
+	}
+}
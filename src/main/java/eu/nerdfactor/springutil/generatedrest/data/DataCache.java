@@ -0,0 +1,284 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded cache with expiring entries and a frequency based admission in
+ * the style of W-TinyLFU. New entries are put into a small window. When
+ * they are pushed out of the window, they are only admitted into the main
+ * area if they were requested more often than the entry that would have to
+ * be evicted for them. That way a burst of entries that are requested only
+ * once doesn't replace the entries that are requested all the time.
+ *
+ * @param <K> Type of the keys.
+ * @param <V> Type of the values.
+ * @author Daniel Klug
+ */
+public class DataCache<K, V> {
+
+	private final int windowSize;
+
+	private final int mainSize;
+
+	private final long ttl;
+
+	private final LinkedHashMap<K, Entry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final LinkedHashMap<K, Entry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final FrequencySketch sketch;
+
+	private long hits;
+
+	private long misses;
+
+	private long evictions;
+
+	/**
+	 * Counter that changes with every invalidation, in order to not cache
+	 * values that were loaded before the invalidation.
+	 */
+	private long generation;
+
+	/**
+	 * Create a new cache.
+	 *
+	 * @param maximumSize The maximum amount of entries.
+	 * @param ttl         The time until an entry expires. Zero or negative to never expire.
+	 */
+	public DataCache(int maximumSize, @NotNull Duration ttl) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("The maximum size of a cache has to be positive.");
+		}
+		this.windowSize = Math.max(1, maximumSize / 100);
+		this.mainSize = Math.max(1, maximumSize - this.windowSize);
+		this.ttl = ttl.isNegative() || ttl.isZero() ? 0 : ttl.toNanos();
+		this.sketch = new FrequencySketch(maximumSize);
+	}
+
+	/**
+	 * Get the cached value for the key.
+	 *
+	 * @param key The key.
+	 * @return The cached value or null if there is no value or it expired.
+	 */
+	public synchronized @Nullable V getIfPresent(@NotNull K key) {
+		this.sketch.increment(key);
+		Entry<V> entry = this.window.get(key);
+		if (entry == null) {
+			entry = this.main.get(key);
+		}
+		if (entry == null || entry.isExpired(System.nanoTime())) {
+			if (entry != null) {
+				this.window.remove(key);
+				this.main.remove(key);
+			}
+			this.misses++;
+			return null;
+		}
+		this.hits++;
+		return entry.value;
+	}
+
+	/**
+	 * Get the cached value for the key or load it. Loading happens outside
+	 * of the lock, the loaded value will not be cached if the cache was
+	 * invalidated in the meantime.
+	 *
+	 * @param key    The key.
+	 * @param loader The function that loads the value if it is not cached.
+	 * @return The cached or loaded value. May be null.
+	 */
+	public @Nullable V get(@NotNull K key, @NotNull Function<? super K, ? extends V> loader) {
+		long generation;
+		synchronized (this) {
+			V value = this.getIfPresent(key);
+			if (value != null) {
+				return value;
+			}
+			generation = this.generation;
+		}
+		V loaded = loader.apply(key);
+		if (loaded != null) {
+			synchronized (this) {
+				if (generation == this.generation) {
+					this.put(key, loaded);
+				}
+			}
+		}
+		return loaded;
+	}
+
+	/**
+	 * Put a value into the cache. New entries are added into the window and
+	 * may push out older entries from the window into the main area, if they
+	 * are requested more often than the entries in the main area.
+	 *
+	 * @param key   The key.
+	 * @param value The value.
+	 */
+	public synchronized void put(@NotNull K key, @NotNull V value) {
+		Entry<V> entry = new Entry<>(value, this.ttl > 0 ? System.nanoTime() + this.ttl : 0);
+		if (this.main.containsKey(key)) {
+			this.main.put(key, entry);
+			return;
+		}
+		this.window.put(key, entry);
+		if (this.window.size() <= this.windowSize) {
+			return;
+		}
+		Iterator<Map.Entry<K, Entry<V>>> windowIterator = this.window.entrySet().iterator();
+		Map.Entry<K, Entry<V>> candidate = windowIterator.next();
+		windowIterator.remove();
+		if (this.main.size() < this.mainSize) {
+			this.main.put(candidate.getKey(), candidate.getValue());
+			return;
+		}
+		Iterator<Map.Entry<K, Entry<V>>> mainIterator = this.main.entrySet().iterator();
+		Map.Entry<K, Entry<V>> victim = mainIterator.next();
+		if (this.sketch.frequency(candidate.getKey()) > this.sketch.frequency(victim.getKey())) {
+			mainIterator.remove();
+			this.main.put(candidate.getKey(), candidate.getValue());
+		}
+		this.evictions++;
+	}
+
+	/**
+	 * Remove the value of the key from the cache.
+	 *
+	 * @param key The key.
+	 */
+	public synchronized void invalidate(@NotNull K key) {
+		this.generation++;
+		this.window.remove(key);
+		this.main.remove(key);
+	}
+
+	/**
+	 * Remove all values from the cache.
+	 */
+	public synchronized void invalidateAll() {
+		this.generation++;
+		this.window.clear();
+		this.main.clear();
+	}
+
+	/**
+	 * Get the amount of cached entries, including expired entries that
+	 * were not removed yet.
+	 *
+	 * @return The amount of entries.
+	 */
+	public synchronized int size() {
+		return this.window.size() + this.main.size();
+	}
+
+	/**
+	 * Get the statistics of the cache.
+	 *
+	 * @return The counted hits, misses and evictions.
+	 */
+	public synchronized @NotNull Stats stats() {
+		return new Stats(this.hits, this.misses, this.evictions);
+	}
+
+	/**
+	 * Statistics of a cache.
+	 *
+	 * @param hits      The amount of requests that were answered from the cache.
+	 * @param misses    The amount of requests that were not answered from the cache.
+	 * @param evictions The amount of entries that were evicted or not admitted.
+	 */
+	public record Stats(long hits, long misses, long evictions) {
+
+		public double hitRate() {
+			long requests = this.hits + this.misses;
+			return requests == 0 ? 1.0 : (double) this.hits / requests;
+		}
+	}
+
+	private record Entry<V>(V value, long expiresAt) {
+
+		boolean isExpired(long now) {
+			return this.expiresAt != 0 && now - this.expiresAt > 0;
+		}
+	}
+
+	/**
+	 * Count-min sketch that estimates how often keys were requested. The
+	 * counters are halved after a number of increments, so the frequencies
+	 * adapt if the requested keys change over time.
+	 */
+	private static final class FrequencySketch {
+
+		private static final int MAXIMUM = 15;
+
+		private static final int[] SEEDS = {0x97cb3127, 0xc2b2ae35, 0x85ebca6b, 0x27d4eb2f};
+
+		private final byte[][] table;
+
+		private final int mask;
+
+		private final int sampleSize;
+
+		private int additions;
+
+		FrequencySketch(int maximumSize) {
+			// Four counters per entry keep the collisions between keys low.
+			int width = Integer.highestOneBit(Math.max(16, maximumSize - 1) << 1) * 4;
+			this.table = new byte[SEEDS.length][width];
+			this.mask = width - 1;
+			this.sampleSize = 10 * Math.max(16, maximumSize);
+		}
+
+		void increment(Object key) {
+			int hash = this.spread(key.hashCode());
+			boolean added = false;
+			for (int i = 0; i < SEEDS.length; i++) {
+				int index = this.index(hash, i);
+				if (this.table[i][index] < MAXIMUM) {
+					this.table[i][index]++;
+					added = true;
+				}
+			}
+			if (added && ++this.additions >= this.sampleSize) {
+				this.reset();
+			}
+		}
+
+		int frequency(Object key) {
+			int hash = this.spread(key.hashCode());
+			int frequency = MAXIMUM;
+			for (int i = 0; i < SEEDS.length; i++) {
+				frequency = Math.min(frequency, this.table[i][this.index(hash, i)]);
+			}
+			return frequency;
+		}
+
+		private void reset() {
+			for (byte[] row : this.table) {
+				for (int i = 0; i < row.length; i++) {
+					row[i] = (byte) (row[i] >>> 1);
+				}
+			}
+			this.additions /= 2;
+		}
+
+		private int index(int hash, int row) {
+			int h = (hash ^ SEEDS[row]) * SEEDS[row];
+			return (h ^ (h >>> 16)) & this.mask;
+		}
+
+		private int spread(int hash) {
+			hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+			return (hash >>> 16) ^ hash;
+		}
+	}
+}
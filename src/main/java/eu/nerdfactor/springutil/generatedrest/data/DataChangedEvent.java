@@ -0,0 +1,24 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Event that is published by generated controllers after entities were
+ * created, changed or deleted. Controllers that cache responses listen to
+ * it in order to clear their caches.
+ *
+ * @param entityClass The class of the changed entities.
+ * @author Daniel Klug
+ */
+public record DataChangedEvent(@NotNull Class<?> entityClass) {
+
+	/**
+	 * Check if the change affects entities of a class.
+	 *
+	 * @param type The class of the entities.
+	 * @return True if entities of the class or one of its subclasses were changed.
+	 */
+	public boolean affects(@NotNull Class<?> type) {
+		return type.isAssignableFrom(this.entityClass) || this.entityClass.isAssignableFrom(type);
+	}
+}
@@ -0,0 +1,258 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.Date;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Encodes keyset positions into opaque cursor strings and back. The cursor
+ * contains the names and values of the sort keys of the last item in a
+ * window, or the offset of the following window for DataAccessors that
+ * can't seek on keys. Only a fixed set of value types and enums are
+ * supported and the values are parsed from their string representation, so
+ * a manipulated cursor can't do more than point to another position.
+ *
+ * @author Daniel Klug
+ */
+public final class DataCursor {
+
+	private static final Map<Class<?>, String> TAGS = new LinkedHashMap<>();
+	private static final Map<String, Function<String, Object>> PARSERS = new HashMap<>();
+	private static final Map<String, Function<Object, String>> FORMATTERS = new HashMap<>();
+
+	/**
+	 * Tag of enum values. Their type is not part of the cursor and will be
+	 * looked up in the entity.
+	 */
+	private static final String ENUM = "e";
+
+	/**
+	 * Tag of dates. Subclasses without their own tag are stored as the
+	 * milliseconds since the epoch.
+	 */
+	private static final String DATE = "dt";
+
+	/**
+	 * Prefix of offset cursors. Keys of keyset cursors are url encoded and
+	 * can't start with it.
+	 */
+	private static final String OFFSET = "@";
+
+	static {
+		register(String.class, "s", value -> value);
+		register(Character.class, "c", value -> {
+			if (value.length() != 1) {
+				throw new IllegalArgumentException("Characters have a length of one.");
+			}
+			return value.charAt(0);
+		});
+		register(Byte.class, "y", Byte::valueOf);
+		register(Integer.class, "i", Integer::valueOf);
+		register(Long.class, "l", Long::valueOf);
+		register(Short.class, "h", Short::valueOf);
+		register(Double.class, "d", Double::valueOf);
+		register(Float.class, "f", Float::valueOf);
+		register(Boolean.class, "z", Boolean::valueOf);
+		register(BigDecimal.class, "n", BigDecimal::new);
+		register(BigInteger.class, "b", BigInteger::new);
+		register(UUID.class, "u", UUID::fromString);
+		register(LocalDate.class, "ld", LocalDate::parse);
+		register(LocalDateTime.class, "ldt", LocalDateTime::parse);
+		register(LocalTime.class, "lt", LocalTime::parse);
+		register(Instant.class, "in", Instant::parse);
+		register(OffsetDateTime.class, "odt", OffsetDateTime::parse);
+		register(ZonedDateTime.class, "zdt", ZonedDateTime::parse);
+		register(Date.class, DATE, value -> new Date(Long.parseLong(value)), value -> String.valueOf(((Date) value).getTime()));
+		register(Timestamp.class, "ts", Timestamp::valueOf);
+		register(java.sql.Date.class, "sd", java.sql.Date::valueOf);
+		register(java.sql.Time.class, "st", java.sql.Time::valueOf);
+	}
+
+	private DataCursor() {
+	}
+
+	private static void register(Class<?> type, String tag, Function<String, Object> parser) {
+		register(type, tag, parser, Object::toString);
+	}
+
+	private static void register(Class<?> type, String tag, Function<String, Object> parser, Function<Object, String> formatter) {
+		TAGS.put(type, tag);
+		PARSERS.put(tag, parser);
+		FORMATTERS.put(tag, formatter);
+	}
+
+	private static @Nullable String tag(@NotNull Class<?> type) {
+		if (type.isEnum() || (type.getSuperclass() != null && type.getSuperclass().isEnum())) {
+			// Constants with a body are subclasses of their enum.
+			return ENUM;
+		}
+		String tag = TAGS.get(ClassUtils.resolvePrimitiveIfNecessary(type));
+		if (tag == null && Date.class.isAssignableFrom(type)) {
+			return DATE;
+		}
+		return tag;
+	}
+
+	/**
+	 * Check if the values of a property can be encoded into a cursor.
+	 *
+	 * @param type The type of the property.
+	 * @return True if the values can be used in a cursor.
+	 */
+	public static boolean isSupported(@NotNull Class<?> type) {
+		return tag(type) != null;
+	}
+
+	/**
+	 * Encode the keys of a keyset position, or the offset of an offset
+	 * position, into a cursor.
+	 *
+	 * @param position The position, usually of the last item in a window.
+	 * @return The opaque cursor.
+	 */
+	public static @NotNull String encode(@NotNull ScrollPosition position) {
+		if (position instanceof OffsetScrollPosition offset) {
+			return encode(OFFSET + offset.getOffset());
+		}
+		if (!(position instanceof KeysetScrollPosition keyset)) {
+			throw new IllegalArgumentException("Only keyset and offset positions can be encoded into a cursor.");
+		}
+		StringJoiner joiner = new StringJoiner("&");
+		keyset.getKeys().forEach((key, value) -> {
+			String tag = value != null ? tag(value.getClass()) : null;
+			if (value != null && tag == null) {
+				throw new IllegalArgumentException("Values of type " + value.getClass().getName() + " can't be used in a cursor.");
+			}
+			joiner.add(URLEncoder.encode(key, StandardCharsets.UTF_8) + "=" + (value == null ? "~" : tag + ":" + URLEncoder.encode(format(tag, value), StandardCharsets.UTF_8)));
+		});
+		return encode(joiner.toString());
+	}
+
+	/**
+	 * Decode a cursor into a scroll position. A missing cursor will be
+	 * decoded to the initial keyset position.
+	 *
+	 * @param cursor The opaque cursor of a previous window.
+	 * @return The keyset position after the encoded keys or the encoded offset position.
+	 * @throws MalformedCursorException If the cursor can't be decoded.
+	 */
+	public static @NotNull ScrollPosition decode(@Nullable String cursor) {
+		return decode(cursor, null);
+	}
+
+	/**
+	 * Decode a cursor into a scroll position of an entity that is sorted by
+	 * the provided properties. The sort is checked before the cursor, so
+	 * sorting by properties that can't be encoded into the next cursor is
+	 * rejected before the window is read. Enum values in the cursor are
+	 * resolved by the type of their property in the entity.
+	 *
+	 * @param cursor      The opaque cursor of a previous window.
+	 * @param entityClass The class of the scrolled entity.
+	 * @param sort        The sort of the window.
+	 * @return The keyset position after the encoded keys or the encoded offset position.
+	 * @throws MalformedCursorException If the sort can't be used with a cursor or the cursor can't be decoded.
+	 */
+	public static @NotNull ScrollPosition decode(@Nullable String cursor, @NotNull Class<?> entityClass, @NotNull Sort sort) {
+		for (Sort.Order order : sort) {
+			if (!isSupported(type(entityClass, order.getProperty()))) {
+				throw new MalformedCursorException("Sorting by " + order.getProperty() + " can't be continued with a cursor.");
+			}
+		}
+		return decode(cursor, entityClass);
+	}
+
+	private static @NotNull ScrollPosition decode(@Nullable String cursor, @Nullable Class<?> entityClass) {
+		if (cursor == null || cursor.isBlank()) {
+			return ScrollPosition.keyset();
+		}
+		String decoded;
+		try {
+			decoded = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new MalformedCursorException("The cursor is malformed.", e);
+		}
+		if (decoded.startsWith(OFFSET)) {
+			return ScrollPosition.offset(parseOffset(decoded.substring(OFFSET.length())));
+		}
+		Map<String, Object> keys = new LinkedHashMap<>();
+		for (String pair : decoded.split("&")) {
+			int separator = pair.indexOf('=');
+			if (separator <= 0) {
+				throw new MalformedCursorException("The cursor is malformed.");
+			}
+			String key = URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8);
+			keys.put(key, parseValue(pair.substring(separator + 1), key, entityClass));
+		}
+		return ScrollPosition.forward(keys);
+	}
+
+	private static @NotNull String encode(@NotNull String decoded) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static long parseOffset(@NotNull String value) {
+		try {
+			long offset = Long.parseLong(value);
+			if (offset >= 0) {
+				return offset;
+			}
+		} catch (NumberFormatException e) {
+			throw new MalformedCursorException("The cursor is malformed.", e);
+		}
+		throw new MalformedCursorException("The cursor is malformed.");
+	}
+
+	private static @NotNull String format(@NotNull String tag, @NotNull Object value) {
+		return tag.equals(ENUM) ? ((Enum<?>) value).name() : FORMATTERS.get(tag).apply(value);
+	}
+
+	private static @NotNull Class<?> type(@NotNull Class<?> entityClass, @NotNull String property) {
+		try {
+			return EntityPropertyReader.type(entityClass, property);
+		} catch (IllegalArgumentException e) {
+			throw new MalformedCursorException("Sorting by " + property + " is not possible.", e);
+		}
+	}
+
+	private static @Nullable Object parseValue(@NotNull String value, @NotNull String key, @Nullable Class<?> entityClass) {
+		if (value.equals("~")) {
+			return null;
+		}
+		int separator = value.indexOf(':');
+		String tag = separator > 0 ? value.substring(0, separator) : "";
+		Function<String, Object> parser = tag.equals(ENUM) ? enumParser(entityClass, key) : PARSERS.get(tag);
+		if (parser == null) {
+			throw new MalformedCursorException("The cursor is malformed.");
+		}
+		try {
+			return parser.apply(URLDecoder.decode(value.substring(separator + 1), StandardCharsets.UTF_8));
+		} catch (RuntimeException e) {
+			throw new MalformedCursorException("The cursor is malformed.", e);
+		}
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static @Nullable Function<String, Object> enumParser(@Nullable Class<?> entityClass, @NotNull String key) {
+		Class<?> type = entityClass != null ? type(entityClass, key) : null;
+		if (type == null || !type.isEnum()) {
+			return null;
+		}
+		return name -> Enum.valueOf((Class<? extends Enum>) type, name);
+	}
+}
@@ -0,0 +1,123 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * An object read from a request document together with the names of the
+ * properties that were present in the document. Partial updates use the
+ * names to only write what was sent, because a missing property can't be
+ * told apart from a default value once the document was deserialized.
+ * Request bodies annotated with {@link PartialDocument} are recorded by the
+ * {@link DataDocumentAdvice} for the current request.
+ *
+ * @param value      The object read from the document.
+ * @param properties The names of the properties of the object that were present.
+ * @param <T>        The type of the object.
+ * @author Daniel Klug
+ */
+public record DataDocument<T>(T value, Set<String> properties) {
+
+	/**
+	 * Create the document of an object read from a request. The names of
+	 * the JSON properties are translated into the names of the properties
+	 * of the type, so renamed properties are found as well.
+	 *
+	 * @param objectMapper The ObjectMapper that read the object.
+	 * @param type         The type the document was read into.
+	 * @param value        The read object.
+	 * @param names        The names of the JSON properties present in the document.
+	 * @param <T>          The type of the object.
+	 * @return The read object with the names of the present properties.
+	 */
+	public static <T> @NotNull DataDocument<T> of(@NotNull ObjectMapper objectMapper, @NotNull JavaType type, @NotNull T value, @NotNull Collection<String> names) {
+		Map<String, String> internalNames = names(objectMapper, type);
+		Set<String> properties = new LinkedHashSet<>();
+		names.forEach(name -> properties.add(internalNames.getOrDefault(name, name)));
+		return new DataDocument<>(value, properties);
+	}
+
+	/**
+	 * Find the names of the properties of a type, by the names of the JSON
+	 * properties they are read from. The names of the JSON properties follow
+	 * the annotations of the type and the naming strategy of the ObjectMapper.
+	 *
+	 * @param objectMapper The ObjectMapper that reads the type.
+	 * @param type         The type that is read.
+	 * @return The names of the properties by the names of the JSON properties.
+	 */
+	public static @NotNull Map<String, String> names(@NotNull ObjectMapper objectMapper, @NotNull JavaType type) {
+		BeanDescription description = objectMapper.getDeserializationConfig().introspect(type);
+		Map<String, String> internalNames = new HashMap<>();
+		for (BeanPropertyDefinition property : description.findProperties()) {
+			internalNames.put(property.getName(), property.getInternalName());
+		}
+		return internalNames;
+	}
+
+	/**
+	 * Remember the document for the current request, so the properties of
+	 * its object can be looked up later.
+	 *
+	 * @param document The document of the current request.
+	 */
+	public static void record(@NotNull DataDocument<?> document) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes != null) {
+			attributes.setAttribute(DataDocument.class.getName(), document, RequestAttributes.SCOPE_REQUEST);
+		}
+	}
+
+	/**
+	 * Find the names of the properties that were present in the document of
+	 * the current request, that was read into the object.
+	 *
+	 * @param value The object read from the request body.
+	 * @return The names of the present properties or null if they are unknown.
+	 */
+	public static @Nullable Set<String> properties(@Nullable Object value) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		Object document = attributes != null ? attributes.getAttribute(DataDocument.class.getName(), RequestAttributes.SCOPE_REQUEST) : null;
+		if (document instanceof DataDocument<?> recorded && value != null && recorded.value() == value) {
+			return recorded.properties();
+		}
+		return null;
+	}
+
+	/**
+	 * Validate an object that was changed by a request document, like a
+	 * patched entity or the request object it is mapped into.
+	 *
+	 * @param validator The Validator of the application or null, if the object should not be validated.
+	 * @param value     The object to validate.
+	 * @param <T>       The type of the object.
+	 * @throws InvalidDataException If the object is not valid.
+	 */
+	public static <T> void validate(@Nullable Validator validator, @NotNull T value) {
+		if (validator == null) {
+			return;
+		}
+		Set<ConstraintViolation<T>> violations = validator.validate(value);
+		if (!violations.isEmpty()) {
+			throw new InvalidDataException(violations.stream()
+					.map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+					.sorted()
+					.collect(Collectors.joining(", ", "The document is not valid: ", "")));
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the names of the properties present in request bodies annotated
+ * with {@link PartialDocument}. The body is buffered and its top level
+ * property names are read, before it is converted into the parameter as
+ * usual, so the parameter can still be validated.
+ *
+ * @author Daniel Klug
+ */
+@ControllerAdvice
+public class DataDocumentAdvice extends RequestBodyAdviceAdapter {
+
+	private static final String NAMES = DataDocumentAdvice.class.getName() + ".names";
+
+	private final ObjectMapper objectMapper;
+
+	public DataDocumentAdvice(@NotNull ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public boolean supports(@NotNull MethodParameter methodParameter, @NotNull Type targetType, @NotNull Class<? extends HttpMessageConverter<?>> converterType) {
+		return methodParameter.hasParameterAnnotation(PartialDocument.class) && AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+	}
+
+	@Override
+	public @NotNull HttpInputMessage beforeBodyRead(@NotNull HttpInputMessage inputMessage, @NotNull MethodParameter parameter, @NotNull Type targetType, @NotNull Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+		byte[] body = inputMessage.getBody().readAllBytes();
+		List<String> names = this.readNames(body);
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (names != null && attributes != null) {
+			// Kept until the body was converted into its object.
+			attributes.setAttribute(NAMES, names, RequestAttributes.SCOPE_REQUEST);
+		}
+		return new HttpInputMessage() {
+			@Override
+			public @NotNull InputStream getBody() {
+				return new ByteArrayInputStream(body);
+			}
+
+			@Override
+			public @NotNull HttpHeaders getHeaders() {
+				return inputMessage.getHeaders();
+			}
+		};
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public @NotNull Object afterBodyRead(@NotNull Object body, @NotNull HttpInputMessage inputMessage, @NotNull MethodParameter parameter, @NotNull Type targetType, @NotNull Class<? extends HttpMessageConverter<?>> converterType) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		Object names = attributes != null ? attributes.getAttribute(NAMES, RequestAttributes.SCOPE_REQUEST) : null;
+		if (names != null) {
+			attributes.removeAttribute(NAMES, RequestAttributes.SCOPE_REQUEST);
+			DataDocument.record(DataDocument.of(this.objectMapper, this.objectMapper.constructType(targetType), body, (List<String>) names));
+		}
+		return body;
+	}
+
+	/**
+	 * Read the names of the top level properties of a JSON object.
+	 *
+	 * @param body The bytes of the document.
+	 * @return The names of the properties or null if the document is not an object.
+	 */
+	private @Nullable List<String> readNames(byte[] body) throws IOException {
+		try (JsonParser parser = this.objectMapper.getFactory().createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return null;
+			}
+			List<String> names = new ArrayList<>();
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				names.add(parser.currentName());
+				parser.nextToken();
+				parser.skipChildren();
+			}
+			return names;
+		} catch (JsonProcessingException e) {
+			// The converter will report the malformed document.
+			return null;
+		}
+	}
+}
@@ -1,5 +1,9 @@
 package eu.nerdfactor.springutil.generatedrest.data;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Generic way to convert between entity and dto.
  * ModelMapper, Orika and Dozer don't implement DataMapper
@@ -18,4 +22,21 @@ public interface DataMapper {
 	 * @return The converted object.
 	 */
 	public <T> T map(Object obj, Class<T> cls);
+
+	/**
+	 * Convert a collection of objects between entity and dto. Mappers
+	 * can override this in order to prepare the conversion once or to
+	 * look up related data for all objects at once.
+	 *
+	 * @param objects The original objects.
+	 * @param cls     The class of the converted objects.
+	 * @return The converted objects in the original order.
+	 */
+	default <T> List<T> mapAll(Collection<?> objects, Class<T> cls) {
+		List<T> mapped = new ArrayList<>(objects.size());
+		for (Object obj : objects) {
+			mapped.add(this.map(obj, cls));
+		}
+		return mapped;
+	}
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package eu.nerdfactor.springutil.generatedrest.data;
 
+import java.util.Collection;
+
 /**
  * Generic way to merge two entities of the same type
  * in order to get the updated values into the original
@@ -10,4 +12,19 @@ package eu.nerdfactor.springutil.generatedrest.data;
 public interface DataMerger {
 
 	public <T> T merge(T obj, T updated);
+
+	/**
+	 * Merge only the named properties of the updated entity, because
+	 * they were present in the request. Without known properties, or if the
+	 * merger can't merge single properties, the whole entity is merged.
+	 *
+	 * @param obj        The original entity.
+	 * @param updated    The entity with the updated values.
+	 * @param properties The names of the properties present in the request or null, if they are unknown.
+	 * @param <T>        Type of the merged entities.
+	 * @return The merged entity.
+	 */
+	public default <T> T merge(T obj, T updated, Collection<String> properties) {
+		return this.merge(obj, updated);
+	}
 }
@@ -0,0 +1,91 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * Cache for the responses of list and search requests. The responses are
+ * cached by a key built from the request parameters and are shared
+ * between all requests, so they should not depend on the current user.
+ *
+ * @author Daniel Klug
+ */
+public class DataResponseCache {
+
+	protected final DataCache<String, Object> cache;
+
+	/**
+	 * Create a new response cache.
+	 *
+	 * @param maximumSize The maximum amount of cached responses.
+	 * @param ttl         The time until a cached response expires.
+	 */
+	public DataResponseCache(int maximumSize, @NotNull Duration ttl) {
+		this.cache = new DataCache<>(maximumSize, ttl);
+	}
+
+	/**
+	 * Build a key from the parameters of a request. Pageables are represented
+	 * by their page number, page size and sort order.
+	 *
+	 * @param parts The parameters of the request. May contain nulls.
+	 * @return The key.
+	 */
+	public static @NotNull String key(@Nullable Object... parts) {
+		StringJoiner key = new StringJoiner("|");
+		for (Object part : parts) {
+			if (part instanceof Pageable pageable) {
+				key.add(pageable.isPaged() ? pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort() : "unpaged:" + pageable.getSort());
+			} else {
+				key.add(String.valueOf(part));
+			}
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Get the cached response for the key or load it.
+	 *
+	 * @param key    The key built from the request parameters.
+	 * @param loader The function that loads the response if it is not cached.
+	 * @param <T>    Type of the response.
+	 * @return The cached or loaded response.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(@NotNull String key, @NotNull Supplier<T> loader) {
+		return (T) this.cache.get(key, k -> loader.get());
+	}
+
+	/**
+	 * Clear the cache if the change affects entities of a class.
+	 *
+	 * @param event The published change.
+	 * @param type  The class of the cached entities.
+	 */
+	public void invalidate(@NotNull DataChangedEvent event, @NotNull Class<?> type) {
+		if (event.affects(type)) {
+			this.cache.invalidateAll();
+		}
+	}
+
+	/**
+	 * Remove all responses from the cache.
+	 */
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+	}
+
+	/**
+	 * Get the statistics of the cache.
+	 *
+	 * @return The counted hits, misses and evictions.
+	 */
+	public @NotNull DataCache.Stats getStats() {
+		return this.cache.stats();
+	}
+}
@@ -2,6 +2,8 @@ package eu.nerdfactor.springutil.generatedrest.data;
 
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Set;
+
 /**
  * Generic way to build a Specification from a filter string.
  *
@@ -10,4 +12,34 @@ import org.springframework.data.jpa.domain.Specification;
 public interface DataSpecificationBuilder {
 
 	<T> Specification<T> build(String filter, Class<T> cls);
+
+	/**
+	 * Build a Specification from a filter string that may only use the
+	 * provided properties. Implementations should reject filters on any
+	 * other property, so clients can't find out about values that the
+	 * responses don't contain. By default, the properties are not checked.
+	 *
+	 * @param filter     The filter string.
+	 * @param cls        The class of the filtered entity.
+	 * @param filterable The properties that can be filtered.
+	 * @param <T>        Type of the filtered entity.
+	 * @return The specification for the filter.
+	 */
+	default <T> Specification<T> build(String filter, Class<T> cls, Set<String> filterable) {
+		return this.build(filter, cls);
+	}
+
+	/**
+	 * Check if the Specification of a filter string can be used to delete
+	 * entities with a single delete statement. Such a statement can't join
+	 * related entities and a filter without conditions would delete every
+	 * entity. By default, no filter can be used, because its syntax is not
+	 * known.
+	 *
+	 * @param filter The filter string.
+	 * @return True if the entities matching the filter can be deleted at once.
+	 */
+	default boolean isDeletable(String filter) {
+		return false;
+	}
 }
@@ -0,0 +1,97 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+/**
+ * Version of an entity, that can be used for conditional requests.
+ * Numeric versions are sent as ETag, timestamps additionally as
+ * Last-Modified.
+ *
+ * @param value The value of the version attribute. May be null.
+ * @author Daniel Klug
+ */
+public record DataVersion(@Nullable Object value) {
+
+	/**
+	 * Read the version of a loaded entity.
+	 *
+	 * @param entity    The entity.
+	 * @param attribute The name of the version attribute.
+	 * @return The version of the entity.
+	 */
+	public static @NotNull DataVersion of(@NotNull Object entity, @NotNull String attribute) {
+		return new DataVersion(EntityPropertyReader.read(entity, attribute));
+	}
+
+	/**
+	 * Get the ETag for the version.
+	 *
+	 * @return The unquoted ETag or null if the entity has no version.
+	 */
+	public @Nullable String eTag() {
+		if (this.value == null) {
+			return null;
+		}
+		long lastModified = this.lastModified();
+		return lastModified >= 0 ? Long.toString(lastModified) : this.value.toString();
+	}
+
+	/**
+	 * Check if the version matches the value of an If-Match header. The header
+	 * may contain a list of ETags or "*", that matches every version. Weak
+	 * ETags never match.
+	 *
+	 * @param header The value of the If-Match header.
+	 * @return True if the version matches one of the ETags.
+	 */
+	public boolean matches(@NotNull String header) {
+		if (header.trim().equals("*")) {
+			return true;
+		}
+		String eTag = this.eTag();
+		if (eTag == null) {
+			return false;
+		}
+		for (String candidate : header.split(",")) {
+			candidate = candidate.trim();
+			if (candidate.startsWith("W/")) {
+				continue;
+			}
+			if (candidate.length() >= 2 && candidate.startsWith("\"") && candidate.endsWith("\"")) {
+				candidate = candidate.substring(1, candidate.length() - 1);
+			}
+			if (candidate.equals(eTag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the time of the last modification, if the version is a timestamp.
+	 *
+	 * @return The milliseconds since epoch or -1 if the version is no timestamp.
+	 */
+	public long lastModified() {
+		if (this.value instanceof Instant instant) {
+			return instant.toEpochMilli();
+		} else if (this.value instanceof Date date) {
+			return date.getTime();
+		} else if (this.value instanceof OffsetDateTime dateTime) {
+			return dateTime.toInstant().toEpochMilli();
+		} else if (this.value instanceof ZonedDateTime dateTime) {
+			return dateTime.toInstant().toEpochMilli();
+		} else if (this.value instanceof LocalDateTime dateTime) {
+			return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,36 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+/**
+ * Simple wrapper for Slice in order to provide a window of a slice or
+ * cursor based search to controller endpoints. The cursor can be used
+ * to request the following window.
+ *
+ * @author Daniel Klug
+ */
+@JsonIgnoreProperties(ignoreUnknown = true, value = {"pageable"})
+public class DataWindow<T> extends SliceImpl<T> {
+
+	private final String cursor;
+
+	public DataWindow(List<T> content, Pageable pageable, boolean hasNext, @Nullable String cursor) {
+		super(content, pageable, hasNext);
+		this.cursor = cursor;
+	}
+
+	/**
+	 * The opaque cursor that points behind the last item of this window.
+	 *
+	 * @return The cursor or null if there is no following window or the
+	 * window was not requested by a cursor.
+	 */
+	public @Nullable String getCursor() {
+		return cursor;
+	}
+}
@@ -2,6 +2,7 @@ package eu.nerdfactor.springutil.generatedrest.data;
 
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -32,4 +33,12 @@ public interface DataWrapper<T> {
 	 * Set the content to a page of items.
 	 */
 	void setContent(@NotNull Page<T> page);
+
+	/**
+	 * Set the content to a slice of items. By default, only the
+	 * items of the slice will be used.
+	 */
+	default void setContent(@NotNull Slice<T> slice) {
+		this.setContent(slice.getContent());
+	}
 }
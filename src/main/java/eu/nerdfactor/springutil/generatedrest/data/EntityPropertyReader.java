@@ -0,0 +1,121 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads properties of entities by their name. The getter or field of a
+ * property is looked up once per class and name and then kept as a
+ * MethodHandle, so repeated reads during in memory evaluation don't
+ * pay for reflection again. Nested properties can be read with a path
+ * like "author.name".
+ *
+ * @author Daniel Klug
+ */
+public final class EntityPropertyReader {
+
+	private static final Map<Class<?>, Map<String, Accessor>> READERS = new ConcurrentHashMap<>();
+
+	private EntityPropertyReader() {
+	}
+
+	/**
+	 * Read the value of a property from an object.
+	 *
+	 * @param obj  The object to read from.
+	 * @param path The name of the property or a path of names separated by dots.
+	 * @return The value or null if the value, or any object on the path, is null.
+	 */
+	public static @Nullable Object read(@Nullable Object obj, @NotNull String path) {
+		Object value = obj;
+		int start = 0;
+		while (value != null && start <= path.length()) {
+			int end = path.indexOf('.', start);
+			String name = end < 0 ? path.substring(start) : path.substring(start, end);
+			try {
+				value = (Object) reader(value.getClass(), name).handle().invokeExact(value);
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException("Property " + name + " of " + value.getClass().getSimpleName() + " can't be read.", e);
+			}
+			if (end < 0) {
+				break;
+			}
+			start = end + 1;
+		}
+		return value;
+	}
+
+	/**
+	 * Find the type of a property in a class.
+	 *
+	 * @param cls  The class that contains the property.
+	 * @param path The name of the property or a path of names separated by dots.
+	 * @return The type of the property.
+	 */
+	public static @NotNull Class<?> type(@NotNull Class<?> cls, @NotNull String path) {
+		Class<?> type = cls;
+		for (String name : path.split("\\.")) {
+			type = reader(type, name).type();
+		}
+		return type;
+	}
+
+	private static @NotNull Accessor reader(@NotNull Class<?> cls, @NotNull String name) {
+		return READERS
+				.computeIfAbsent(cls, c -> new ConcurrentHashMap<>())
+				.computeIfAbsent(name, n -> lookup(cls, n));
+	}
+
+	private static @NotNull Accessor lookup(@NotNull Class<?> cls, @NotNull String name) {
+		String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			for (String prefix : new String[]{"get", "is"}) {
+				try {
+					Method method = cls.getMethod(prefix + suffix);
+					if (method.getParameterCount() == 0 && method.getReturnType() != void.class) {
+						return new Accessor(lookup.unreflect(method), method.getReturnType());
+					}
+				} catch (NoSuchMethodException e) {
+					// try the next kind of accessor.
+				}
+			}
+			for (Class<?> c = cls; c != null && c != Object.class; c = c.getSuperclass()) {
+				try {
+					Field field = c.getDeclaredField(name);
+					if (!Modifier.isStatic(field.getModifiers())) {
+						field.setAccessible(true);
+						return new Accessor(lookup.unreflectGetter(field), field.getType());
+					}
+				} catch (NoSuchFieldException e) {
+					// the field may be declared in a superclass.
+				}
+			}
+		} catch (IllegalAccessException | RuntimeException e) {
+			throw new IllegalArgumentException("Property " + name + " of " + cls.getSimpleName() + " can't be accessed.", e);
+		}
+		throw new IllegalArgumentException("Property " + name + " does not exist in " + cls.getSimpleName() + ".");
+	}
+
+	/**
+	 * A MethodHandle that reads a property of an Object, together with
+	 * the declared type of the property.
+	 */
+	private record Accessor(MethodHandle handle, Class<?> type) {
+
+		private Accessor {
+			handle = handle.asType(MethodType.methodType(Object.class, Object.class));
+		}
+	}
+}
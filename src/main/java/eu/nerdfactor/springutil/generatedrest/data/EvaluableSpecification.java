@@ -0,0 +1,92 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.Serializable;
+
+/**
+ * A Specification that can not only be translated into a criteria predicate,
+ * but also be evaluated against entities in memory. This allows filtering of
+ * entities from repositories that can't execute specifications.
+ *
+ * @param <T> Type of the filtered entity.
+ * @author Daniel Klug
+ */
+public interface EvaluableSpecification<T> extends Specification<T> {
+
+	/**
+	 * Evaluate the specification against an entity.
+	 *
+	 * @param entity The entity to test.
+	 * @return True if the entity matches the specification.
+	 */
+	boolean test(@NotNull T entity);
+
+	/**
+	 * Combine this and another evaluable specification, so the result stays
+	 * evaluable.
+	 *
+	 * @param other The other specification.
+	 * @return A specification that matches if both specifications match.
+	 */
+	default @NotNull EvaluableSpecification<T> and(@NotNull EvaluableSpecification<T> other) {
+		EvaluableSpecification<T> self = this;
+		return of((root, query, cb) -> {
+			Predicate left = self.toPredicate(root, query, cb);
+			Predicate right = other.toPredicate(root, query, cb);
+			if (left == null || right == null) {
+				return left == null ? right : left;
+			}
+			return cb.and(left, right);
+		}, entity -> self.test(entity) && other.test(entity));
+	}
+
+	/**
+	 * Create an evaluable specification from a specification and a test that
+	 * evaluates the same condition.
+	 *
+	 * @param spec The specification used for queries.
+	 * @param test The test used for in memory evaluation.
+	 * @param <T>  Type of the filtered entity.
+	 * @return The evaluable specification.
+	 */
+	static <T> @NotNull EvaluableSpecification<T> of(@NotNull Specification<T> spec, @NotNull Evaluation<T> test) {
+		return new EvaluableSpecification<>() {
+			@Override
+			public boolean test(@NotNull T entity) {
+				return test.test(entity);
+			}
+
+			@Override
+			public Predicate toPredicate(@NotNull Root<T> root, CriteriaQuery<?> query, @NotNull CriteriaBuilder cb) {
+				return spec.toPredicate(root, query, cb);
+			}
+		};
+	}
+
+	/**
+	 * Create an evaluable specification that matches all entities.
+	 *
+	 * @param <T> Type of the filtered entity.
+	 * @return The evaluable specification.
+	 */
+	static <T> @NotNull EvaluableSpecification<T> all() {
+		return of((root, query, cb) -> null, entity -> true);
+	}
+
+	/**
+	 * Serializable test of an entity, like the specification itself.
+	 *
+	 * @param <T> Type of the tested entity.
+	 */
+	@FunctionalInterface
+	interface Evaluation<T> extends Serializable {
+
+		boolean test(T entity);
+	}
+}
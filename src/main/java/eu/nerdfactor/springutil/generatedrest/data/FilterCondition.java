@@ -0,0 +1,244 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * A single condition of a filter, like "age>=18". The condition can be
+ * compiled into an {@link EvaluableSpecification} for a specific entity
+ * class, which converts the values into the type of the property.
+ *
+ * @param property The name of the property or a path of names separated by dots.
+ * @param operator The operator of the condition.
+ * @param values   The raw values of the condition. Null for a missing value.
+ * @author Daniel Klug
+ */
+public record FilterCondition(@NotNull String property, @NotNull FilterOperator operator, @NotNull List<String> values) {
+
+	private static final Map<Class<?>, Function<String, Object>> CONVERTERS = new HashMap<>();
+
+	static {
+		CONVERTERS.put(String.class, value -> value);
+		CONVERTERS.put(Integer.class, Integer::valueOf);
+		CONVERTERS.put(Long.class, Long::valueOf);
+		CONVERTERS.put(Short.class, Short::valueOf);
+		CONVERTERS.put(Byte.class, Byte::valueOf);
+		CONVERTERS.put(Double.class, Double::valueOf);
+		CONVERTERS.put(Float.class, Float::valueOf);
+		CONVERTERS.put(BigDecimal.class, BigDecimal::new);
+		CONVERTERS.put(BigInteger.class, BigInteger::new);
+		CONVERTERS.put(Boolean.class, FilterCondition::toBoolean);
+		CONVERTERS.put(Character.class, FilterCondition::toCharacter);
+		CONVERTERS.put(UUID.class, UUID::fromString);
+		CONVERTERS.put(LocalDate.class, LocalDate::parse);
+		CONVERTERS.put(LocalDateTime.class, LocalDateTime::parse);
+		CONVERTERS.put(LocalTime.class, LocalTime::parse);
+		CONVERTERS.put(Instant.class, Instant::parse);
+		CONVERTERS.put(OffsetDateTime.class, OffsetDateTime::parse);
+		CONVERTERS.put(ZonedDateTime.class, ZonedDateTime::parse);
+	}
+
+	public FilterCondition {
+		values = Collections.unmodifiableList(new ArrayList<>(values));
+	}
+
+	/**
+	 * Check if the property is a path through related entities, like
+	 * "author.name", which requires a join.
+	 *
+	 * @return True if the property is a path of names.
+	 */
+	public boolean isNested() {
+		return this.property.indexOf('.') >= 0;
+	}
+
+	/**
+	 * Compile the condition into a specification for the entity class.
+	 *
+	 * @param cls The class of the filtered entity.
+	 * @param <T> Type of the filtered entity.
+	 * @return The compiled specification.
+	 * @throws MalformedFilterException If the property does not exist or a value can't be converted.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public <T> @NotNull EvaluableSpecification<T> toSpecification(@NotNull Class<T> cls) {
+		String property = this.property;
+		Class<?> type;
+		try {
+			type = EntityPropertyReader.type(cls, property);
+		} catch (IllegalArgumentException e) {
+			throw new MalformedFilterException(e.getMessage(), e);
+		}
+		List<Object> converted = new ArrayList<>();
+		for (String value : this.values) {
+			converted.add(this.operator == FilterOperator.LIKE ? value : convert(value, type));
+		}
+		Object value = converted.get(0);
+		if (value == null && this.operator != FilterOperator.EQUAL && this.operator != FilterOperator.NOT_EQUAL) {
+			throw new MalformedFilterException("Null can only be used with ':' or '!' for " + property + ".");
+		}
+		switch (this.operator) {
+			case EQUAL:
+				if (value == null) {
+					return EvaluableSpecification.of((root, query, cb) -> path(root, property).isNull(), entity -> EntityPropertyReader.read(entity, property) == null);
+				}
+				return EvaluableSpecification.of((root, query, cb) -> cb.equal(path(root, property), value), entity -> matches(EntityPropertyReader.read(entity, property), value));
+			case NOT_EQUAL:
+				if (value == null) {
+					return EvaluableSpecification.of((root, query, cb) -> path(root, property).isNotNull(), entity -> EntityPropertyReader.read(entity, property) != null);
+				}
+				return EvaluableSpecification.of((root, query, cb) -> cb.notEqual(path(root, property), value), entity -> {
+					Object actual = EntityPropertyReader.read(entity, property);
+					return actual != null && !matches(actual, value);
+				});
+			case GREATER_THAN:
+				Comparable greater = comparable(value);
+				return EvaluableSpecification.of((root, query, cb) -> cb.greaterThan((Expression<Comparable>) path(root, property), greater), entity -> compare(EntityPropertyReader.read(entity, property), greater, result -> result > 0));
+			case GREATER_THAN_OR_EQUAL:
+				Comparable greaterOrEqual = comparable(value);
+				return EvaluableSpecification.of((root, query, cb) -> cb.greaterThanOrEqualTo((Expression<Comparable>) path(root, property), greaterOrEqual), entity -> compare(EntityPropertyReader.read(entity, property), greaterOrEqual, result -> result >= 0));
+			case LESS_THAN:
+				Comparable less = comparable(value);
+				return EvaluableSpecification.of((root, query, cb) -> cb.lessThan((Expression<Comparable>) path(root, property), less), entity -> compare(EntityPropertyReader.read(entity, property), less, result -> result < 0));
+			case LESS_THAN_OR_EQUAL:
+				Comparable lessOrEqual = comparable(value);
+				return EvaluableSpecification.of((root, query, cb) -> cb.lessThanOrEqualTo((Expression<Comparable>) path(root, property), lessOrEqual), entity -> compare(EntityPropertyReader.read(entity, property), lessOrEqual, result -> result <= 0));
+			case BETWEEN:
+				Comparable from = comparable(value);
+				Comparable to = comparable(converted.get(1));
+				return EvaluableSpecification.of((root, query, cb) -> cb.between((Expression<Comparable>) path(root, property), from, to), entity -> {
+					Object actual = EntityPropertyReader.read(entity, property);
+					return compare(actual, from, result -> result >= 0) && compare(actual, to, result -> result <= 0);
+				});
+			case IN:
+			case NOT_IN:
+				if (converted.contains(null)) {
+					throw new MalformedFilterException("Null can't be part of a list of values for " + property + ".");
+				}
+				boolean in = this.operator == FilterOperator.IN;
+				return EvaluableSpecification.of((root, query, cb) -> {
+					Predicate predicate = path(root, property).in(converted);
+					return in ? predicate : predicate.not();
+				}, entity -> {
+					Object actual = EntityPropertyReader.read(entity, property);
+					return actual != null && converted.stream().anyMatch(v -> matches(actual, v)) == in;
+				});
+			case LIKE:
+				String pattern = like((String) value);
+				Pattern regex = Pattern.compile(Arrays.stream(((String) value).split("\\*", -1)).map(Pattern::quote).reduce((a, b) -> a + ".*" + b).orElse(""), Pattern.DOTALL);
+				return EvaluableSpecification.of((root, query, cb) -> cb.like(path(root, property).as(String.class), pattern, '\\'), entity -> {
+					Object actual = EntityPropertyReader.read(entity, property);
+					return actual != null && regex.matcher(actual.toString()).matches();
+				});
+			default:
+				throw new IllegalArgumentException("Unknown operator " + this.operator + ".");
+		}
+	}
+
+	/**
+	 * Convert a raw value into the type of the property.
+	 *
+	 * @param value The raw value.
+	 * @param type  The type of the property.
+	 * @return The converted value.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	static @Nullable Object convert(@Nullable String value, @NotNull Class<?> type) {
+		if (value == null) {
+			return null;
+		}
+		Class<?> boxed = box(type);
+		try {
+			if (boxed.isEnum()) {
+				return Enum.valueOf((Class<Enum>) boxed, value);
+			}
+			Function<String, Object> converter = CONVERTERS.get(boxed);
+			if (converter == null) {
+				throw new MalformedFilterException("Properties of type " + type.getSimpleName() + " can't be filtered.");
+			}
+			return converter.apply(value);
+		} catch (IllegalArgumentException | DateTimeException e) {
+			throw new MalformedFilterException("The value \"" + value + "\" can't be converted into " + type.getSimpleName() + ".", e);
+		}
+	}
+
+	private static @NotNull Class<?> box(@NotNull Class<?> type) {
+		if (!type.isPrimitive()) {
+			return type;
+		}
+		return switch (type.getName()) {
+			case "int" -> Integer.class;
+			case "long" -> Long.class;
+			case "short" -> Short.class;
+			case "byte" -> Byte.class;
+			case "double" -> Double.class;
+			case "float" -> Float.class;
+			case "boolean" -> Boolean.class;
+			case "char" -> Character.class;
+			default -> type;
+		};
+	}
+
+	private static @NotNull Boolean toBoolean(@NotNull String value) {
+		if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+			throw new IllegalArgumentException("Not a boolean.");
+		}
+		return Boolean.valueOf(value);
+	}
+
+	private static @NotNull Character toCharacter(@NotNull String value) {
+		if (value.length() != 1) {
+			throw new IllegalArgumentException("Not a single character.");
+		}
+		return value.charAt(0);
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static @NotNull Comparable comparable(@Nullable Object value) {
+		if (!(value instanceof Comparable)) {
+			throw new MalformedFilterException("Values of type " + (value != null ? value.getClass().getSimpleName() : "null") + " can't be compared.");
+		}
+		return (Comparable) value;
+	}
+
+	/**
+	 * Create a LIKE pattern where * is the wildcard and % or _ are escaped.
+	 */
+	private static @NotNull String like(@NotNull String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_").replace('*', '%');
+	}
+
+	private static @NotNull Path<?> path(@NotNull Root<?> root, @NotNull String property) {
+		Path<?> path = root;
+		for (String name : property.split("\\.")) {
+			path = path.get(name);
+		}
+		return path;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static boolean matches(@Nullable Object actual, @NotNull Object value) {
+		if (actual instanceof Comparable && actual.getClass() == value.getClass()) {
+			return ((Comparable) actual).compareTo(value) == 0;
+		}
+		return value.equals(actual);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static boolean compare(@Nullable Object actual, @NotNull Comparable value, @NotNull IntPredicate test) {
+		// Missing values never match a comparison, like in SQL.
+		return actual != null && test.test(((Comparable) actual).compareTo(value));
+	}
+}
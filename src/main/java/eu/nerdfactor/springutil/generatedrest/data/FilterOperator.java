@@ -0,0 +1,20 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+/**
+ * The operators of a filter condition.
+ *
+ * @author Daniel Klug
+ */
+public enum FilterOperator {
+
+	EQUAL,                  // name:value
+	NOT_EQUAL,              // name!value
+	GREATER_THAN,           // name>value
+	GREATER_THAN_OR_EQUAL,  // name>=value
+	LESS_THAN,              // name<value
+	LESS_THAN_OR_EQUAL,     // name<=value
+	BETWEEN,                // name:from..to
+	IN,                     // name:value1,value2
+	NOT_IN,                 // name!value1,value2
+	LIKE                    // name~val*
+}
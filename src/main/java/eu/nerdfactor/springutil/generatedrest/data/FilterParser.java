@@ -0,0 +1,179 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses a filter string into a list of conditions. All conditions have
+ * to match. Filter Strings look like:
+ * <pre>
+ * name:value;age>=18;created:2020-01-01..2020-12-31;status:OPEN,CLOSED;title~Spring*
+ * </pre>
+ * Values that contain any of ; , or .. can be quoted with double quotes.
+ * Inside quotes, double quotes and backslashes are escaped with a backslash.
+ * The unquoted value null matches missing values.
+ *
+ * @author Daniel Klug
+ */
+public final class FilterParser {
+
+	private final String filter;
+	private int position = 0;
+
+	private FilterParser(@NotNull String filter) {
+		this.filter = filter;
+	}
+
+	/**
+	 * Parse the filter string.
+	 *
+	 * @param filter The filter string.
+	 * @return The list of parsed conditions.
+	 * @throws MalformedFilterException If the filter string is malformed.
+	 */
+	public static @NotNull List<FilterCondition> parse(@NotNull String filter) {
+		return new FilterParser(filter).parseConditions();
+	}
+
+	private List<FilterCondition> parseConditions() {
+		List<FilterCondition> conditions = new ArrayList<>();
+		while (this.position < this.filter.length()) {
+			this.skipWhitespace();
+			if (this.position >= this.filter.length()) {
+				break;
+			}
+			if (this.filter.charAt(this.position) != ';') {
+				conditions.add(this.parseCondition());
+			}
+			this.skipWhitespace();
+			if (this.position < this.filter.length()) {
+				this.expect(';');
+			}
+		}
+		return conditions;
+	}
+
+	private FilterCondition parseCondition() {
+		int start = this.position;
+		while (this.position < this.filter.length() && this.isNameCharacter(this.filter.charAt(this.position))) {
+			this.position++;
+		}
+		if (start == this.position) {
+			throw this.error("Expected a property name");
+		}
+		String property = this.filter.substring(start, this.position);
+		this.skipWhitespace();
+		FilterOperator operator = this.parseOperator();
+		List<String> values = new ArrayList<>();
+		values.add(this.parseValue());
+		boolean range = false;
+		boolean list = false;
+		while (this.position < this.filter.length() && this.filter.charAt(this.position) != ';') {
+			if (this.filter.startsWith("..", this.position)) {
+				this.position += 2;
+				range = true;
+			} else {
+				this.expect(',');
+				list = true;
+			}
+			values.add(this.parseValue());
+		}
+		if (range) {
+			if (list || values.size() != 2 || operator != FilterOperator.EQUAL) {
+				throw this.error("A range needs exactly two values after ':'");
+			}
+			operator = FilterOperator.BETWEEN;
+		} else if (list) {
+			if (operator != FilterOperator.EQUAL && operator != FilterOperator.NOT_EQUAL) {
+				throw this.error("A list of values is only allowed after ':' or '!'");
+			}
+			operator = operator == FilterOperator.EQUAL ? FilterOperator.IN : FilterOperator.NOT_IN;
+		}
+		return new FilterCondition(property, operator, values);
+	}
+
+	private FilterOperator parseOperator() {
+		if (this.position >= this.filter.length()) {
+			throw this.error("Expected an operator");
+		}
+		char c = this.filter.charAt(this.position++);
+		boolean orEqual = this.position < this.filter.length() && this.filter.charAt(this.position) == '=';
+		switch (c) {
+			case ':':
+				return FilterOperator.EQUAL;
+			case '!':
+				return FilterOperator.NOT_EQUAL;
+			case '~':
+				return FilterOperator.LIKE;
+			case '>':
+				this.position += orEqual ? 1 : 0;
+				return orEqual ? FilterOperator.GREATER_THAN_OR_EQUAL : FilterOperator.GREATER_THAN;
+			case '<':
+				this.position += orEqual ? 1 : 0;
+				return orEqual ? FilterOperator.LESS_THAN_OR_EQUAL : FilterOperator.LESS_THAN;
+			default:
+				this.position--;
+				throw this.error("Expected an operator");
+		}
+	}
+
+	private String parseValue() {
+		this.skipWhitespace();
+		if (this.position < this.filter.length() && this.filter.charAt(this.position) == '"') {
+			return this.parseQuotedValue();
+		}
+		int start = this.position;
+		while (this.position < this.filter.length()) {
+			char c = this.filter.charAt(this.position);
+			if (c == ';' || c == ',' || c == '"' || this.filter.startsWith("..", this.position)) {
+				break;
+			}
+			this.position++;
+		}
+		String value = this.filter.substring(start, this.position).trim();
+		if (value.isEmpty()) {
+			throw this.error("Expected a value");
+		}
+		return value.equals("null") ? null : value;
+	}
+
+	private String parseQuotedValue() {
+		StringBuilder value = new StringBuilder();
+		this.position++;
+		while (this.position < this.filter.length()) {
+			char c = this.filter.charAt(this.position++);
+			if (c == '"') {
+				this.skipWhitespace();
+				return value.toString();
+			}
+			if (c == '\\' && this.position < this.filter.length()) {
+				c = this.filter.charAt(this.position++);
+			}
+			value.append(c);
+		}
+		throw this.error("Unterminated quoted value");
+	}
+
+	private void expect(char expected) {
+		if (this.position >= this.filter.length() || this.filter.charAt(this.position) != expected) {
+			throw this.error("Expected '" + expected + "'");
+		}
+		this.position++;
+	}
+
+	private void skipWhitespace() {
+		while (this.position < this.filter.length() && Character.isWhitespace(this.filter.charAt(this.position))) {
+			this.position++;
+		}
+	}
+
+	private boolean isNameCharacter(char c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.';
+	}
+
+	private MalformedFilterException error(String message) {
+		return new MalformedFilterException(message + " at position " + this.position + " of filter \"" + this.filter + "\".");
+	}
+}
@@ -1,12 +1,18 @@
 package eu.nerdfactor.springutil.generatedrest.data;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Factory containing beans for generated entity mapper and merger
- * and specification builder.
+ * and specification builder, as well as the advice that records partial
+ * request documents in servlet applications.
  *
  * @author Daniel Klug
  */
@@ -15,8 +21,8 @@ public class GeneratedEntityFactory {
 
 	@Bean
 	@ConditionalOnMissingBean(DataMapper.class)
-	public DataMapper getGeneratedEntityMapper() {
-		return new GeneratedEntityMapper();
+	public DataMapper getGeneratedEntityMapper(@Value("${generated-rest.mapper.parallel-threshold:0}") int parallelThreshold) {
+		return new GeneratedEntityMapper(parallelThreshold);
 	}
 
 	@Bean
@@ -30,4 +36,16 @@ public class GeneratedEntityFactory {
 	public DataSpecificationBuilder getGeneratedSpecificationBuilder() {
 		return new GeneratedSpecificationBuilder();
 	}
+
+	@Configuration
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+	@ConditionalOnClass(name = "org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdvice")
+	static class DataDocumentConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(DataDocumentAdvice.class)
+		public DataDocumentAdvice getDataDocumentAdvice(ObjectProvider<ObjectMapper> objectMapper) {
+			return new DataDocumentAdvice(objectMapper.getIfAvailable(ObjectMapper::new));
+		}
+	}
 }
@@ -1,13 +1,35 @@
 package eu.nerdfactor.springutil.generatedrest.data;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * A simplistic entity mapper that will try to map between PersistentEntity
  * and DataTransferObjects.
+ * <br>
+ * Collections above the parallel threshold will be mapped in parallel on the
+ * common ForkJoinPool. This only pays off for expensive conversions, and the
+ * conversions must not touch lazy relations, because the persistence context
+ * is bound to the request thread. A threshold of 0 disables parallel mapping.
  *
  * @author Daniel Klug
  */
 public class GeneratedEntityMapper implements DataMapper {
 
+	private final int parallelThreshold;
+
+	public GeneratedEntityMapper() {
+		this(0);
+	}
+
+	/**
+	 * @param parallelThreshold The size of collections above which they will be mapped in parallel.
+	 */
+	public GeneratedEntityMapper(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
 	@Override
 	public <T> T map(Object obj, Class<T> cls) {
 		if (obj instanceof PersistentEntity) {
@@ -22,5 +44,12 @@ public class GeneratedEntityMapper implements DataMapper {
 		return (T) obj;
 	}
 
+	@Override
+	public <T> List<T> mapAll(Collection<?> objects, Class<T> cls) {
+		if (this.parallelThreshold > 0 && objects.size() > this.parallelThreshold) {
+			return new ArrayList<>(objects.parallelStream().map(obj -> this.map(obj, cls)).toList());
+		}
+		return DataMapper.super.mapAll(objects, cls);
+	}
 
 }
@@ -1,64 +1,301 @@
 package eu.nerdfactor.springutil.generatedrest.data;
 
-import java.lang.reflect.InvocationTargetException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * A simplistic entity merger that will try to merge PersistentEntities
- * or use reflection of getter and setters.
+ * or use the public getters and setters of the entity.
+ * <br>
+ * The getters and setters of a class are looked up once and kept in a
+ * merge plan of MethodHandles. Only basic properties are part of the plan:
+ * the id, the version and relations to other entities, collections, maps
+ * and object arrays are never merged.
+ * <br>
+ * If the names of the properties that were sent in the request are known,
+ * exactly those properties are merged, including primitive default values.
+ * Otherwise values of the updated object are merged unless they are unset:
+ * null, empty strings, collections, maps, arrays or optionals. Primitive
+ * values are unset if they have their default value, because they can't
+ * be null.
  *
  * @author Daniel Klug
  */
 public class GeneratedEntityMerger implements DataMerger {
 
+	private static final ClassValue<MergePlan> PLANS = new ClassValue<>() {
+		@Override
+		protected MergePlan computeValue(Class<?> type) {
+			return MergePlan.of(type);
+		}
+	};
+
 	@Override
+	@SuppressWarnings("unchecked")
 	public <T> T merge(T obj, T updated) {
 		if (obj instanceof PersistentEntity) {
 			return (T) ((PersistentEntity<?>) obj).mergeWithEntity(updated);
 		}
-		return this.reflectMerge(obj, updated);
+		return this.reflectMerge(obj, updated, null);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T merge(T obj, T updated, Collection<String> properties) {
+		if (obj instanceof PersistentEntity) {
+			return (T) ((PersistentEntity<?>) obj).mergeWithEntity(updated);
+		}
+		return this.reflectMerge(obj, updated, properties);
 	}
 
 	/**
 	 * Merges two objects of the same type by accessing getters and setters.
 	 *
-	 * @param original The original object.
-	 * @param updated The object with updated values.
-	 * @param <T> Type of the merged objects.
+	 * @param original   The original object.
+	 * @param updated    The object with updated values.
+	 * @param properties The names of the properties to merge or null, if only set values should be merged.
+	 * @param <T>        Type of the merged objects.
 	 * @return The original object with the merged values.
 	 */
-	protected <T> T reflectMerge(T original, T updated) {
-		Method[] methods = original.getClass().getDeclaredMethods();
-		for (Method m : methods) {
-			String name = m.getName();
-			try {
-				String setter = name;
-				Class<?> type = m.getReturnType();
-				Object value = null;
-				if (name.startsWith("get") && m.getParameterCount() == 0) {
-					value = m.invoke(updated);
-					setter = name.replace("get", "set");
+	protected <T> T reflectMerge(T original, T updated, @Nullable Collection<String> properties) {
+		if (original == null || updated == null) {
+			return original;
+		}
+		PLANS.get(original.getClass()).merge(original, updated, properties);
+		return original;
+	}
+
+	/**
+	 * Check if a value is unset and should not be merged.
+	 *
+	 * @param value The value of the updated object.
+	 * @return True if the value should not be merged.
+	 */
+	protected static boolean isUnset(@Nullable Object value) {
+		if (value == null) {
+			return true;
+		}
+		if (value instanceof CharSequence chars) {
+			return chars.isEmpty();
+		}
+		if (value instanceof Collection<?> collection) {
+			return collection.isEmpty();
+		}
+		if (value instanceof Map<?, ?> map) {
+			return map.isEmpty();
+		}
+		if (value instanceof Optional<?> optional) {
+			return optional.isEmpty();
+		}
+		if (value.getClass().isArray()) {
+			return Array.getLength(value) == 0;
+		}
+		return false;
+	}
+
+	/**
+	 * The properties of a class that can be merged.
+	 */
+	private record MergePlan(List<Property> properties) {
+
+		/**
+		 * Annotations of properties that identify or version an entity or
+		 * relate it to other entities. They are looked up by name, so the
+		 * merger works without the persistence api on the classpath.
+		 */
+		private static final Set<String> EXCLUDING_ANNOTATIONS = Set.of(
+				"jakarta.persistence.Id",
+				"jakarta.persistence.EmbeddedId",
+				"jakarta.persistence.Version",
+				"jakarta.persistence.OneToOne",
+				"jakarta.persistence.OneToMany",
+				"jakarta.persistence.ManyToOne",
+				"jakarta.persistence.ManyToMany",
+				"jakarta.persistence.ElementCollection",
+				"org.springframework.data.annotation.Id",
+				"org.springframework.data.annotation.Version"
+		);
+
+		private static @NotNull MergePlan of(@NotNull Class<?> type) {
+			List<Property> properties = new ArrayList<>();
+			for (Method getter : type.getMethods()) {
+				String name = getter.getName();
+				String suffix = name.startsWith("get") ? name.substring(3) : name.startsWith("is") ? name.substring(2) : "";
+				if (suffix.isEmpty() || getter.getParameterCount() != 0 || Modifier.isStatic(getter.getModifiers()) || getter.getDeclaringClass() == Object.class) {
+					continue;
 				}
-				if (name.startsWith("is") && m.getParameterCount() == 0) {
-					// getters for booleans may start with "is", per java code conventions.
-					value = m.invoke(updated);
-					setter = name.replace("is", "set");
+				Class<?> propertyType = getter.getReturnType();
+				String propertyName = Character.toLowerCase(suffix.charAt(0)) + suffix.substring(1);
+				if (!isBasic(propertyType) || isExcluded(getter) || isExcluded(field(type, propertyName))) {
+					continue;
 				}
-				if (value != null && (type == String.class && !value.equals(""))) {
-					// only merge non empty values.
-					try {
-						Method method = original.getClass().getMethod(setter, type);
-						method.invoke(original, value);
-					} catch (NoSuchMethodException | SecurityException | IllegalAccessError | IllegalAccessException |
-					         InvocationTargetException e) {
-						// setter may not exist or can't be accessed.
+				try {
+					Method setter = type.getMethod("set" + suffix, propertyType);
+					if (Modifier.isStatic(setter.getModifiers())) {
+						continue;
 					}
+					properties.add(new Property(
+							propertyName,
+							accessor(type, getter, Function.class, "apply", MethodType.methodType(Object.class, Object.class)),
+							accessor(type, setter, BiConsumer.class, "accept", MethodType.methodType(void.class, Object.class, Object.class)),
+							propertyType.isPrimitive() ? Array.get(Array.newInstance(propertyType, 1), 0) : null
+					));
+				} catch (NoSuchMethodException | IllegalAccessException e) {
+					// properties without an accessible setter can't be merged.
 				}
-			} catch (Exception e) {
-				// merge may fail.
-				// todo: throw Exception to be handled upstream or fail silently?
 			}
+			return new MergePlan(List.copyOf(properties));
+		}
+
+		/**
+		 * Check if values of the type are merged as a whole. Relations to
+		 * other entities, collections, maps and object arrays are not.
+		 */
+		private static boolean isBasic(@NotNull Class<?> type) {
+			if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+				return false;
+			}
+			if (type.isArray()) {
+				return type.getComponentType().isPrimitive();
+			}
+			return !isAnnotatedWith(type, "jakarta.persistence.Entity");
+		}
+
+		private static boolean isExcluded(@Nullable AnnotatedElement element) {
+			if (element == null) {
+				return false;
+			}
+			for (Annotation annotation : element.getAnnotations()) {
+				if (EXCLUDING_ANNOTATIONS.contains(annotation.annotationType().getName())) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static boolean isAnnotatedWith(@NotNull AnnotatedElement element, @NotNull String annotationName) {
+			for (Annotation annotation : element.getAnnotations()) {
+				if (annotation.annotationType().getName().equals(annotationName)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Find the field of a property in the class or its superclasses,
+		 * because the mapping annotations are usually placed on fields.
+		 */
+		private static @Nullable Field field(@NotNull Class<?> type, @NotNull String name) {
+			for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+				try {
+					return current.getDeclaredField(name);
+				} catch (NoSuchFieldException e) {
+					// the field may be declared in a superclass.
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Create a functional interface that calls the method. The implementation
+		 * is spun by the LambdaMetafactory, so the JIT can inline the call like a
+		 * direct method call. If the class doesn't allow that, a MethodHandle will
+		 * be wrapped instead.
+		 */
+		@SuppressWarnings("unchecked")
+		private static <F> @NotNull F accessor(@NotNull Class<?> type, @NotNull Method method, @NotNull Class<F> functionalInterface, @NotNull String name, @NotNull MethodType erased) throws IllegalAccessException {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			try {
+				lookup = MethodHandles.privateLookupIn(type, lookup);
+				MethodHandle handle = lookup.unreflect(method);
+				MethodType instantiated = handle.type().wrap();
+				if (erased.returnType() == void.class) {
+					instantiated = instantiated.changeReturnType(void.class);
+				}
+				return (F) LambdaMetafactory.metafactory(lookup, name, MethodType.methodType(functionalInterface), erased, handle, instantiated)
+						.getTarget()
+						.invoke();
+			} catch (Throwable e) {
+				// Public accessors of classes that are not public need to be made accessible.
+				method.trySetAccessible();
+				MethodHandle handle = MethodHandles.lookup().unreflect(method).asType(erased);
+				if (functionalInterface == Function.class) {
+					return (F) (Function<Object, Object>) obj -> invoke(handle, obj);
+				}
+				return (F) (BiConsumer<Object, Object>) (obj, value) -> invoke(handle, obj, value);
+			}
+		}
+
+		private static Object invoke(@NotNull MethodHandle handle, Object... arguments) {
+			try {
+				return handle.invokeWithArguments(arguments);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		private void merge(@NotNull Object original, @NotNull Object updated, @Nullable Collection<String> names) {
+			for (Property property : this.properties) {
+				if (names == null) {
+					property.mergeSet(original, updated);
+				} else if (names.contains(property.name())) {
+					property.mergePresent(original, updated);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A property with its getter, setter and the default value of
+	 * primitive types.
+	 */
+	private record Property(String name, Function<Object, Object> getter, BiConsumer<Object, Object> setter, Object primitiveDefault) {
+
+		/**
+		 * Merge the value, unless it is unset or the default value of a
+		 * primitive type.
+		 */
+		private void mergeSet(@NotNull Object original, @NotNull Object updated) {
+			Object value = this.getter.apply(updated);
+			if (isUnset(value) || value.equals(this.primitiveDefault)) {
+				return;
+			}
+			this.setter.accept(original, value);
+		}
+
+		/**
+		 * Merge the value of a property that was sent in the request, even
+		 * if it is empty or the default value of a primitive type. Only null
+		 * values are skipped, as they mean that nothing changed.
+		 */
+		private void mergePresent(@NotNull Object original, @NotNull Object updated) {
+			Object value = this.getter.apply(updated);
+			if (value == null) {
+				return;
+			}
+			this.setter.accept(original, value);
 		}
-		return original;
 	}
 }
@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -19,6 +20,7 @@ public class GeneratedEntityWrapper<T> implements DataWrapper<T> {
 	private T item = null;
 	private List<T> items = null;
 	private Pageable page = null;
+	private String cursor = null;
 
 	@Override
 	public void noContent() {
@@ -40,6 +42,15 @@ public class GeneratedEntityWrapper<T> implements DataWrapper<T> {
 		this.page = page.getPageable();
 	}
 
+	@Override
+	public void setContent(@NotNull Slice<T> slice) {
+		this.items = slice.getContent();
+		this.page = slice.getPageable();
+		if (slice instanceof DataWindow<T> window) {
+			this.cursor = window.getCursor();
+		}
+	}
+
 	public @Nullable T getItem() {
 		return item;
 	}
@@ -51,4 +62,8 @@ public class GeneratedEntityWrapper<T> implements DataWrapper<T> {
 	public @Nullable Pageable getPage() {
 		return page;
 	}
+
+	public @Nullable String getCursor() {
+		return cursor;
+	}
 }
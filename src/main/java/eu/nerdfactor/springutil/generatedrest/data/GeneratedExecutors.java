@@ -0,0 +1,109 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors used by generated controllers that execute their endpoints
+ * asynchronously.
+ *
+ * @author Daniel Klug
+ */
+public final class GeneratedExecutors {
+
+	/**
+	 * System property with the amount of platform threads before Java 21.
+	 */
+	public static final String THREADS_PROPERTY = "generatedrest.async.threads";
+
+	private static final int DEFAULT_THREADS = 64;
+
+	private static final int QUEUE_SIZE = 1024;
+
+	private static final boolean SECURITY_PRESENT = ClassUtils.isPresent("org.springframework.security.concurrent.DelegatingSecurityContextExecutor", GeneratedExecutors.class.getClassLoader());
+
+	private GeneratedExecutors() {
+	}
+
+	/**
+	 * Get the shared executor that starts a new virtual thread for every
+	 * task. The concurrency is only limited by the resources the tasks wait
+	 * for, like the connection pool of the database. Before Java 21, tasks
+	 * will be executed on a bounded pool of platform threads instead. Its
+	 * size can be set with the system property "{@value #THREADS_PROPERTY}"
+	 * and defaults to {@value #DEFAULT_THREADS}. If all threads are busy and
+	 * {@value #QUEUE_SIZE} tasks are waiting, new tasks are executed by the
+	 * calling request thread, as if the endpoint was synchronous.
+	 *
+	 * @return The shared executor.
+	 */
+	public static @NotNull Executor virtualThreads() {
+		return VirtualThreads.EXECUTOR;
+	}
+
+	/**
+	 * Wrap the executor, so its tasks see the request attributes and, if
+	 * Spring Security is present, the SecurityContext of the thread that
+	 * executed them. Security checks and auditing in the DataAccessor work
+	 * the same way as in synchronous endpoints. The previous state of the
+	 * executing thread is restored afterwards, in case the task was run by
+	 * the calling thread itself.
+	 *
+	 * @param executor The executor to wrap.
+	 * @return The executor that propagates the context.
+	 */
+	public static @NotNull Executor propagating(@NotNull Executor executor) {
+		Executor propagating = task -> {
+			RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+			executor.execute(() -> {
+				RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+				RequestContextHolder.setRequestAttributes(attributes);
+				try {
+					task.run();
+				} finally {
+					RequestContextHolder.setRequestAttributes(previous);
+				}
+			});
+		};
+		return SECURITY_PRESENT ? SecurityContextPropagation.wrap(propagating) : propagating;
+	}
+
+	private static final class SecurityContextPropagation {
+
+		private static Executor wrap(Executor executor) {
+			return new DelegatingSecurityContextExecutor(executor);
+		}
+	}
+
+	private static final class VirtualThreads {
+
+		private static final ExecutorService EXECUTOR = create();
+
+		private static ExecutorService create() {
+			try {
+				return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			} catch (ReflectiveOperationException e) {
+				int threads = Math.max(1, Integer.getInteger(THREADS_PROPERTY, DEFAULT_THREADS));
+				AtomicInteger count = new AtomicInteger();
+				ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(QUEUE_SIZE), runnable -> {
+					Thread thread = new Thread(runnable, "generated-rest-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+				executor.allowCoreThreadTimeOut(true);
+				return executor;
+			}
+		}
+	}
+}
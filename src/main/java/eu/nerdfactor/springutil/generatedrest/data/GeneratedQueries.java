@@ -0,0 +1,589 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Criteria queries used by generated controllers, for cases where loading
+ * whole managed entities through a DataAccessor would do more work than
+ * the endpoint requires.
+ *
+ * @author Daniel Klug
+ */
+public final class GeneratedQueries {
+
+	private GeneratedQueries() {
+	}
+
+	/**
+	 * List DTOs that are constructed directly from the selected attributes
+	 * of the entity. No entity will be loaded into the persistence context.
+	 *
+	 * @param entityManager The {@link EntityManager} that executes the query.
+	 * @param entityClass   The class of the queried entity.
+	 * @param dtoClass      The class of the DTO with a constructor for the attributes.
+	 * @param spec          The {@link Specification} for filtering. May be null.
+	 * @param sort          The {@link Sort} of the result.
+	 * @param attributes    The entity attributes in the order of the DTO constructor.
+	 * @param <E>           Type of the entity.
+	 * @param <D>           Type of the DTO.
+	 * @return A list of DTOs.
+	 */
+	public static <E, D> @NotNull List<D> project(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Class<D> dtoClass, @Nullable Specification<E> spec, @NotNull Sort sort, @NotNull String... attributes) {
+		return projectionQuery(entityManager, entityClass, dtoClass, spec, sort, attributes).getResultList();
+	}
+
+	/**
+	 * Search a page of DTOs that are constructed directly from the selected
+	 * attributes of the entity. The total amount will only be counted if it
+	 * can't be determined from the page itself.
+	 *
+	 * @param entityManager The {@link EntityManager} that executes the query.
+	 * @param entityClass   The class of the queried entity.
+	 * @param dtoClass      The class of the DTO with a constructor for the attributes.
+	 * @param spec          The {@link Specification} for filtering. May be null.
+	 * @param page          The {@link Pageable} for paging and sorting.
+	 * @param attributes    The entity attributes in the order of the DTO constructor.
+	 * @param <E>           Type of the entity.
+	 * @param <D>           Type of the DTO.
+	 * @return A page of DTOs.
+	 */
+	public static <E, D> @NotNull Page<D> projectPage(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Class<D> dtoClass, @Nullable Specification<E> spec, @NotNull Pageable page, @NotNull String... attributes) {
+		TypedQuery<D> query = projectionQuery(entityManager, entityClass, dtoClass, spec, page.getSort(), attributes);
+		if (page.isUnpaged()) {
+			List<D> content = query.getResultList();
+			return new DataPage<>(content, page, content.size());
+		}
+		List<D> content = query.setFirstResult(Math.toIntExact(page.getOffset())).setMaxResults(page.getPageSize()).getResultList();
+		if (!content.isEmpty() && content.size() < page.getPageSize()) {
+			// The last page already tells the total amount.
+			return new DataPage<>(content, page, page.getOffset() + content.size());
+		}
+		return new DataPage<>(content, page, count(entityManager, entityClass, spec));
+	}
+
+	/**
+	 * Search a slice of DTOs that are constructed directly from the selected
+	 * attributes of the entity. One more row than the page size will be
+	 * fetched in order to know if there is a next slice. No count query will
+	 * be executed.
+	 *
+	 * @param entityManager The {@link EntityManager} that executes the query.
+	 * @param entityClass   The class of the queried entity.
+	 * @param dtoClass      The class of the DTO with a constructor for the attributes.
+	 * @param spec          The {@link Specification} for filtering. May be null.
+	 * @param page          The {@link Pageable} for paging and sorting.
+	 * @param attributes    The entity attributes in the order of the DTO constructor.
+	 * @param <E>           Type of the entity.
+	 * @param <D>           Type of the DTO.
+	 * @return A slice of DTOs.
+	 */
+	public static <E, D> @NotNull DataWindow<D> projectSlice(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Class<D> dtoClass, @Nullable Specification<E> spec, @NotNull Pageable page, @NotNull String... attributes) {
+		TypedQuery<D> query = projectionQuery(entityManager, entityClass, dtoClass, spec, page.getSort(), attributes);
+		if (page.isUnpaged()) {
+			return new DataWindow<>(query.getResultList(), page, false, null);
+		}
+		List<D> content = query.setFirstResult(Math.toIntExact(page.getOffset())).setMaxResults(page.getPageSize() + 1).getResultList();
+		boolean hasNext = content.size() > page.getPageSize();
+		return new DataWindow<>(hasNext ? content.subList(0, page.getPageSize()) : content, page, hasNext, null);
+	}
+
+	/**
+	 * Parse the comma separated fields that were requested by a client and
+	 * check them against the attributes that may be selected.
+	 *
+	 * @param requested  The requested fields, like "id,title".
+	 * @param selectable The attributes that may be selected.
+	 * @return The distinct requested fields or null if none or an unknown field was requested.
+	 */
+	public static @Nullable List<String> selectable(@Nullable String requested, @NotNull String... selectable) {
+		if (requested == null) {
+			return null;
+		}
+		Set<String> known = Set.of(selectable);
+		Set<String> fields = new LinkedHashSet<>();
+		for (String field : requested.split(",")) {
+			field = field.trim();
+			if (field.isEmpty()) {
+				continue;
+			}
+			if (!known.contains(field)) {
+				return null;
+			}
+			fields.add(field);
+		}
+		return fields.isEmpty() ? null : List.copyOf(fields);
+	}
+
+	/**
+	 * Select only the specified attributes of the entity with the id. The
+	 * values are returned by attribute name, no entity will be loaded into
+	 * the persistence context.
+	 *
+	 * @param entityManager The {@link EntityManager} that executes the query.
+	 * @param entityClass   The class of the queried entity.
+	 * @param id            The id of the entity.
+	 * @param fields        The selected attributes.
+	 * @param <E>           Type of the entity.
+	 * @return The selected values or null if the entity doesn't exist.
+	 */
+	public static <E> @Nullable Map<String, Object> selectOne(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Object id, @NotNull List<String> fields) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<E> root = query.from(entityClass);
+		query.multiselect(fields.stream().map(field -> root.get(field).alias(field)).toArray(Selection[]::new));
+		query.where(idEquals(entityManager, entityClass, root, cb, id));
+		List<Tuple> result = entityManager.createQuery(query).setMaxResults(1).getResultList();
+		return result.isEmpty() ? null : toMap(result.get(0), fields);
+	}
+
+	/**
+	 * List only the specified attributes of the entities. The values are
+	 * returned by attribute name, no entity will be loaded into the
+	 * persistence context.
+	 *
+	 * @param entityManager The {@link EntityManager} that executes the query.
+	 * @param entityClass   The class of the queried entity.
+	 * @param spec          The {@link Specification} for filtering. May be null.
+	 * @param sort          The {@link Sort} of the result.
+	 * @param fields        The selected attributes.
+	 * @param <E>           Type of the entity.
+	 * @return A list with the selected values of every entity.
+	 */
+	public static <E> @NotNull List<Map<String, Object>> select(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @Nullable Specification<E> spec, @NotNull Sort sort, @NotNull List<String> fields) {
+		return toMaps(selectionQuery(entityManager, entityClass, spec, sort, fields).getResultList(), fields);
+	}
+
+	/**
+	 * Search a page with only the specified attributes of the entities. The
+	 * total amount will only be counted if it can't be determined from the
+	 * page itself.
+	 *
+	 * @param entityManager The {@link EntityManager} that executes the query.
+	 * @param entityClass   The class of the queried entity.
+	 * @param spec          The {@link Specification} for filtering. May be null.
+	 * @param page          The {@link Pageable} for paging and sorting.
+	 * @param fields        The selected attributes.
+	 * @param <E>           Type of the entity.
+	 * @return A page with the selected values of every entity.
+	 */
+	public static <E> @NotNull Page<Map<String, Object>> selectPage(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @Nullable Specification<E> spec, @NotNull Pageable page, @NotNull List<String> fields) {
+		TypedQuery<Tuple> query = selectionQuery(entityManager, entityClass, spec, page.getSort(), fields);
+		if (page.isUnpaged()) {
+			List<Map<String, Object>> content = toMaps(query.getResultList(), fields);
+			return new DataPage<>(content, page, content.size());
+		}
+		List<Map<String, Object>> content = toMaps(query.setFirstResult(Math.toIntExact(page.getOffset())).setMaxResults(page.getPageSize()).getResultList(), fields);
+		if (!content.isEmpty() && content.size() < page.getPageSize()) {
+			// The last page already tells the total amount.
+			return new DataPage<>(content, page, page.getOffset() + content.size());
+		}
+		return new DataPage<>(content, page, count(entityManager, entityClass, spec));
+	}
+
+	/**
+	 * Search a slice with only the specified attributes of the entities. One
+	 * more row than the page size will be fetched in order to know if there
+	 * is a next slice. No count query will be executed.
+	 *
+	 * @param entityManager The {@link EntityManager} that executes the query.
+	 * @param entityClass   The class of the queried entity.
+	 * @param spec          The {@link Specification} for filtering. May be null.
+	 * @param page          The {@link Pageable} for paging and sorting.
+	 * @param fields        The selected attributes.
+	 * @param <E>           Type of the entity.
+	 * @return A slice with the selected values of every entity.
+	 */
+	public static <E> @NotNull DataWindow<Map<String, Object>> selectSlice(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @Nullable Specification<E> spec, @NotNull Pageable page, @NotNull List<String> fields) {
+		TypedQuery<Tuple> query = selectionQuery(entityManager, entityClass, spec, page.getSort(), fields);
+		if (page.isUnpaged()) {
+			return new DataWindow<>(toMaps(query.getResultList(), fields), page, false, null);
+		}
+		List<Map<String, Object>> content = toMaps(query.setFirstResult(Math.toIntExact(page.getOffset())).setMaxResults(page.getPageSize() + 1).getResultList(), fields);
+		boolean hasNext = content.size() > page.getPageSize();
+		return new DataWindow<>(hasNext ? content.subList(0, page.getPageSize()) : content, page, hasNext, null);
+	}
+
+	/**
+	 * Create a specification that matches the entity with the id and loads
+	 * the specified relations in the same query with fetch joins. Relations
+	 * that are not attributes known to the persistence provider will be
+	 * loaded as usual.
+	 *
+	 * @param id        The id of the entity.
+	 * @param relations The names of the relations that will be fetched.
+	 * @param <E>       Type of the entity.
+	 * @return The {@link Specification} of the entity.
+	 */
+	public static <E> @NotNull Specification<E> fetchById(@NotNull Object id, @NotNull String... relations) {
+		return (root, query, cb) -> {
+			if (query == null || !Long.class.equals(query.getResultType())) {
+				for (String relation : relations) {
+					if (root.getModel().getAttributes().stream().map(Attribute::getName).anyMatch(relation::equals)) {
+						root.fetch(relation, JoinType.LEFT);
+					}
+				}
+			}
+			return idEquals(root.getModel(), root, cb, id);
+		};
+	}
+
+	/**
+	 * Read the version of the entity specified by the id, without loading
+	 * the entity itself.
+	 *
+	 * @param entityManager The {@link EntityManager} that executes the query.
+	 * @param entityClass   The class of the entity.
+	 * @param id            The id of the entity.
+	 * @param attribute     The name of the version attribute.
+	 * @param <E>           Type of the entity.
+	 * @return The version of the entity or null if the entity doesn't exist.
+	 */
+	public static <E> @Nullable DataVersion version(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Object id, @NotNull String attribute) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Object> query = cb.createQuery(Object.class);
+		Root<E> root = query.from(entityClass);
+		query.select(root.get(attribute)).where(idEquals(entityManager, entityClass, root, cb, id));
+		List<Object> result = entityManager.createQuery(query).setMaxResults(1).getResultList();
+		return result.isEmpty() ? null : new DataVersion(result.get(0));
+	}
+
+	/**
+	 * Find which of the ids belong to existing entities with a single query,
+	 * that only selects the ids. Entities with an IdClass have no single id
+	 * that could be selected, so their ids are checked one by one.
+	 *
+	 * @param entityManager The {@link EntityManager} that executes the query.
+	 * @param entityClass   The class of the entity.
+	 * @param ids           The ids to check. May contain null.
+	 * @param <E>           Type of the entity.
+	 * @return The ids of existing entities.
+	 */
+	public static <E> @NotNull Set<Object> existingIds(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Collection<?> ids) {
+		List<?> values = ids.stream().filter(Objects::nonNull).distinct().toList();
+		if (values.isEmpty()) {
+			return Collections.emptySet();
+		}
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		EntityType<E> type = entityManager.getMetamodel().entity(entityClass);
+		if (!type.hasSingleIdAttribute()) {
+			Set<Object> existing = new HashSet<>();
+			for (Object id : values) {
+				CriteriaQuery<Long> query = cb.createQuery(Long.class);
+				Root<E> root = query.from(entityClass);
+				query.select(cb.count(root)).where(idEquals(entityManager, entityClass, root, cb, id));
+				if (entityManager.createQuery(query).getSingleResult() > 0) {
+					existing.add(id);
+				}
+			}
+			return existing;
+		}
+		CriteriaQuery<Object> query = cb.createQuery(Object.class);
+		Root<E> root = query.from(entityClass);
+		Path<Object> id = root.get(type.getId(type.getIdType().getJavaType()).getName());
+		query.select(id).where(id.in(values));
+		return new HashSet<>(entityManager.createQuery(query).getResultList());
+	}
+
+	/**
+	 * Update the entity specified by the id with a single update statement,
+	 * without loading it first. Only the basic and embedded attributes that
+	 * are contained in the properties and are not null in the changes are
+	 * written, like the DataMerger would merge them. Without properties, the
+	 * attributes that are set in the changes are written. A version attribute
+	 * is incremented, or set to the current time if it is a timestamp, and is
+	 * compared with the expected version if one is provided.
+	 *
+	 * @param entityManager    The {@link EntityManager} that executes the statement.
+	 * @param entityClass      The class of the entity.
+	 * @param id               The id of the entity.
+	 * @param changes          An entity with the changed values.
+	 * @param properties       The names of the properties that were sent. May be null.
+	 * @param versionAttribute The name of the version attribute. May be null.
+	 * @param expectedVersion  The version the entity has to have. May be null.
+	 * @param <E>              Type of the entity.
+	 * @return The amount of updated rows, zero if the entity doesn't exist or has another version.
+	 */
+	public static <E> int update(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Object id, @NotNull E changes, @Nullable Collection<String> properties, @Nullable String versionAttribute, @Nullable Object expectedVersion) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<E> update = cb.createCriteriaUpdate(entityClass);
+		Root<E> root = update.from(entityClass);
+		boolean hasChanges = false;
+		for (SingularAttribute<? super E, ?> attribute : entityManager.getMetamodel().entity(entityClass).getSingularAttributes()) {
+			if (attribute.isId() || attribute.isVersion() || attribute.getName().equals(versionAttribute)) {
+				continue;
+			}
+			if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC && attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.EMBEDDED) {
+				continue;
+			}
+			if (properties != null && !properties.contains(attribute.getName())) {
+				continue;
+			}
+			Object value = EntityPropertyReader.read(changes, attribute.getName());
+			if (properties != null ? value != null : !GeneratedEntityMerger.isUnset(value)) {
+				update.set(root.get(attribute.getName()), value);
+				hasChanges = true;
+			}
+		}
+		Predicate predicate = idEquals(entityManager, entityClass, root, cb, id);
+		if (versionAttribute != null && expectedVersion != null) {
+			predicate = cb.and(predicate, cb.equal(root.get(versionAttribute), expectedVersion));
+		}
+		if (!hasChanges) {
+			// There is nothing to write, but the caller still needs to know if the entity exists.
+			CriteriaQuery<Long> query = cb.createQuery(Long.class);
+			Root<E> countRoot = query.from(entityClass);
+			Predicate countPredicate = idEquals(entityManager, entityClass, countRoot, cb, id);
+			if (versionAttribute != null && expectedVersion != null) {
+				countPredicate = cb.and(countPredicate, cb.equal(countRoot.get(versionAttribute), expectedVersion));
+			}
+			query.select(cb.count(countRoot)).where(countPredicate);
+			return Math.toIntExact(entityManager.createQuery(query).getSingleResult());
+		}
+		if (versionAttribute != null) {
+			setNextVersion(update, root.get(versionAttribute), cb);
+		}
+		return entityManager.createQuery(update.where(predicate)).executeUpdate();
+	}
+
+	/**
+	 * Delete the entity specified by the id with a single delete statement,
+	 * without loading it first. Relations, callbacks and the persistence
+	 * context are not considered.
+	 *
+	 * @param entityManager The {@link EntityManager} that executes the statement.
+	 * @param entityClass   The class of the entity.
+	 * @param id            The id of the entity.
+	 * @param <E>           Type of the entity.
+	 * @return The amount of deleted rows, zero if the entity doesn't exist.
+	 */
+	public static <E> int delete(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Object id) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaDelete<E> delete = cb.createCriteriaDelete(entityClass);
+		Root<E> root = delete.from(entityClass);
+		delete.where(idEquals(entityManager, entityClass, root, cb, id));
+		return entityManager.createQuery(delete).executeUpdate();
+	}
+
+	/**
+	 * Delete all entities that match the specification with a single delete
+	 * statement. The specification is called with a query that is never
+	 * executed, like by Spring Data, because a delete statement has none.
+	 * It should only use the root and the criteria builder. Specifications without a condition are refused, so not every entity
+	 * is deleted by accident.
+	 *
+	 * @param entityManager The {@link EntityManager} that executes the statement.
+	 * @param entityClass   The class of the entity.
+	 * @param spec          The {@link Specification} for filtering.
+	 * @param <E>           Type of the entity.
+	 * @return The amount of deleted rows.
+	 * @throws MalformedFilterException If the specification has no condition.
+	 */
+	public static <E> int deleteAll(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Specification<E> spec) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaDelete<E> delete = cb.createCriteriaDelete(entityClass);
+		Root<E> root = delete.from(entityClass);
+		Predicate predicate = spec.toPredicate(root, cb.createQuery(entityClass), cb);
+		if (predicate == null) {
+			throw new MalformedFilterException("A filter without conditions can't be used to delete entities.");
+		}
+		return entityManager.createQuery(delete.where(predicate)).executeUpdate();
+	}
+
+	/**
+	 * Read a page of the entities in a relation of the entity specified by the
+	 * id. The related entities are selected by joining the relation, so the
+	 * collection of the entity will not be initialized. The total amount will
+	 * only be counted if it can't be determined from the page itself.
+	 * Relations that are not attributes known to the persistence provider
+	 * can't be joined, so they are read from the entity and paged in memory.
+	 *
+	 * @param entityManager The {@link EntityManager} that executes the query.
+	 * @param entityClass   The class of the entity.
+	 * @param id            The id of the entity.
+	 * @param relation      The name of the relation.
+	 * @param relationClass The class of the related entities.
+	 * @param page          The {@link Pageable} for paging and sorting.
+	 * @param <E>           Type of the entity.
+	 * @param <R>           Type of the related entities.
+	 * @return A page of related entities or null if the entity doesn't exist.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E, R> @Nullable Page<R> relationPage(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Object id, @NotNull String relation, @NotNull Class<R> relationClass, @NotNull Pageable page) {
+		EntityType<E> type = entityManager.getMetamodel().entity(entityClass);
+		if (type.getAttributes().stream().map(Attribute::getName).noneMatch(relation::equals)) {
+			E entity = entityManager.find(entityClass, id);
+			if (entity == null) {
+				return null;
+			}
+			Object related = EntityPropertyReader.read(entity, relation);
+			return InMemoryDataSearch.search(related instanceof Iterable<?> iterable ? (Iterable<R>) iterable : List.of(), null, page);
+		}
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<R> query = cb.createQuery(relationClass);
+		Root<E> root = query.from(entityClass);
+		Join<E, R> join = root.join(relation);
+		query.select(join).where(idEquals(type, root, cb, id));
+		if (page.getSort().isSorted()) {
+			query.orderBy(QueryUtils.toOrders(page.getSort(), join, cb));
+		}
+		TypedQuery<R> typedQuery = entityManager.createQuery(query);
+		if (page.isPaged()) {
+			typedQuery.setFirstResult(Math.toIntExact(page.getOffset())).setMaxResults(page.getPageSize());
+		}
+		List<R> content = typedQuery.getResultList();
+		if (content.isEmpty() && entityManager.find(entityClass, id) == null) {
+			return null;
+		}
+		if (page.isUnpaged()) {
+			return new DataPage<>(content, page, content.size());
+		}
+		if (!content.isEmpty() && content.size() < page.getPageSize()) {
+			// The last page already tells the total amount.
+			return new DataPage<>(content, page, page.getOffset() + content.size());
+		}
+		CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+		Root<E> countRoot = countQuery.from(entityClass);
+		countQuery.select(cb.count(countRoot.join(relation))).where(idEquals(type, countRoot, cb, id));
+		return new DataPage<>(content, page, entityManager.createQuery(countQuery).getSingleResult());
+	}
+
+	/**
+	 * Count the entities that match the specification.
+	 *
+	 * @param entityManager The {@link EntityManager} that executes the query.
+	 * @param entityClass   The class of the queried entity.
+	 * @param spec          The {@link Specification} for filtering. May be null.
+	 * @param <E>           Type of the entity.
+	 * @return The amount of matching entities.
+	 */
+	public static <E> long count(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @Nullable Specification<E> spec) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<E> root = query.from(entityClass);
+		where(spec, root, query, cb);
+		query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+		// Sorting doesn't matter for counting.
+		query.orderBy(List.of());
+		return entityManager.createQuery(query).getSingleResult();
+	}
+
+	private static <E, D> @NotNull TypedQuery<D> projectionQuery(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Class<D> dtoClass, @Nullable Specification<E> spec, @NotNull Sort sort, @NotNull String... attributes) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<D> query = cb.createQuery(dtoClass);
+		Root<E> root = query.from(entityClass);
+		query.select(cb.construct(dtoClass, Arrays.stream(attributes).map(root::get).toArray(Selection[]::new)));
+		where(spec, root, query, cb);
+		if (sort.isSorted()) {
+			query.orderBy(QueryUtils.toOrders(sort, root, cb));
+		}
+		return entityManager.createQuery(query);
+	}
+
+	private static <E> @NotNull TypedQuery<Tuple> selectionQuery(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @Nullable Specification<E> spec, @NotNull Sort sort, @NotNull List<String> fields) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<E> root = query.from(entityClass);
+		query.multiselect(fields.stream().map(field -> root.get(field).alias(field)).toArray(Selection[]::new));
+		where(spec, root, query, cb);
+		if (sort.isSorted()) {
+			query.orderBy(QueryUtils.toOrders(sort, root, cb));
+		}
+		return entityManager.createQuery(query);
+	}
+
+	private static @NotNull List<Map<String, Object>> toMaps(@NotNull List<Tuple> tuples, @NotNull List<String> fields) {
+		return tuples.stream().map(tuple -> toMap(tuple, fields)).toList();
+	}
+
+	private static @NotNull Map<String, Object> toMap(@NotNull Tuple tuple, @NotNull List<String> fields) {
+		// Keeps the requested order and allows null values.
+		Map<String, Object> values = new LinkedHashMap<>();
+		for (String field : fields) {
+			values.put(field, tuple.get(field));
+		}
+		return values;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> void setNextVersion(@NotNull CriteriaUpdate<E> update, @NotNull Path<Object> path, @NotNull CriteriaBuilder cb) {
+		Class<?> type = path.getJavaType();
+		if (type == Long.class || type == long.class) {
+			update.set((Path<Long>) (Path<?>) path, cb.sum((Path<Long>) (Path<?>) path, 1L));
+		} else if (type == Integer.class || type == int.class) {
+			update.set((Path<Integer>) (Path<?>) path, cb.sum((Path<Integer>) (Path<?>) path, 1));
+		} else if (type == Short.class || type == short.class) {
+			update.set((Path<Short>) (Path<?>) path, cb.sum((Path<Short>) (Path<?>) path, (short) 1));
+		} else if (type == Instant.class) {
+			update.set(path, Instant.now());
+		} else if (type == LocalDateTime.class) {
+			update.set(path, LocalDateTime.now());
+		} else if (type == OffsetDateTime.class) {
+			update.set(path, OffsetDateTime.now());
+		} else if (type == ZonedDateTime.class) {
+			update.set(path, ZonedDateTime.now());
+		} else if (Date.class.isAssignableFrom(type)) {
+			update.set(path, new Timestamp(System.currentTimeMillis()));
+		}
+	}
+
+	/**
+	 * Create a predicate that matches the entity with the id. Entities with
+	 * an IdClass have several id attributes, that are matched with the same
+	 * named properties of the id.
+	 */
+	static <E> @NotNull Predicate idEquals(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Root<E> root, @NotNull CriteriaBuilder cb, @NotNull Object id) {
+		return idEquals(entityManager.getMetamodel().entity(entityClass), root, cb, id);
+	}
+
+	private static <E> @NotNull Predicate idEquals(@NotNull EntityType<E> type, @NotNull Root<E> root, @NotNull CriteriaBuilder cb, @NotNull Object id) {
+		if (type.hasSingleIdAttribute()) {
+			return cb.equal(root.get(type.getId(type.getIdType().getJavaType()).getName()), id);
+		}
+		List<Predicate> predicates = new ArrayList<>();
+		for (SingularAttribute<? super E, ?> attribute : type.getIdClassAttributes()) {
+			predicates.add(cb.equal(root.get(attribute.getName()), EntityPropertyReader.read(id, attribute.getName())));
+		}
+		return cb.and(predicates.toArray(Predicate[]::new));
+	}
+
+	private static <E> void where(@Nullable Specification<E> spec, @NotNull Root<E> root, @NotNull CriteriaQuery<?> query, @NotNull CriteriaBuilder cb) {
+		if (spec != null) {
+			Predicate predicate = spec.toPredicate(root, query, cb);
+			if (predicate != null) {
+				query.where(predicate);
+			}
+		}
+	}
+}
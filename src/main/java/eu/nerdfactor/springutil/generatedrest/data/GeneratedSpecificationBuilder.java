@@ -2,32 +2,125 @@ package eu.nerdfactor.springutil.generatedrest.data;
 
 import org.springframework.data.jpa.domain.Specification;
 
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * A simplistic specification builder that will directly map a filter string
- * into a specification for query filtering.
+ * A specification builder that parses a filter string into conditions
+ * and compiles them into a specification for query filtering.
  * Filter String should look like:
- * name1:value1;name2:value2;name3:value3
+ * name1:value1;age>=18;created:2020-01-01..2020-12-31;status:OPEN,CLOSED;title~Spring*
+ * <br>
+ * See {@link FilterParser} for the supported operators. Compiled specifications
+ * are kept in a bounded least recently used cache, so repeated filters don't
+ * have to be parsed again. The created specifications can also be evaluated
+ * in memory.
  *
  * @author Daniel Klug
  */
 public class GeneratedSpecificationBuilder implements DataSpecificationBuilder {
 
+	private final Map<CacheKey, Specification<?>> cache;
+
+	public GeneratedSpecificationBuilder() {
+		this(256);
+	}
+
+	/**
+	 * @param cacheSize The maximum amount of compiled specifications in the cache.
+	 */
+	public GeneratedSpecificationBuilder(int cacheSize) {
+		this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, Specification<?>> eldest) {
+				return this.size() > cacheSize;
+			}
+		});
+	}
+
+	/**
+	 * Build a specification from the filter string.
+	 *
+	 * @param filter The filter string.
+	 * @param cls    The class of the filtered entity.
+	 * @param <T>    Type of the filtered entity.
+	 * @return The specification for the filter.
+	 * @throws MalformedFilterException If the filter is malformed or doesn't match the entity.
+	 */
 	@Override
 	public <T> Specification<T> build(String filter, Class<T> cls) {
-		Specification<T> spec = Specification.where(null);
-		if (filter != null && !filter.isBlank()) {
-			try {
-				Arrays.stream(filter.split(";")).forEach(pair -> {
-					String[] params = pair.split(":");
-					spec.and((root, query, cb) -> cb.equal(root.get(params[0]), params[1]));
-				});
-			} catch (Exception e) {
-				// ignore wrong formatted filters.
+		return this.build(filter, cls, null);
+	}
+
+	/**
+	 * Build a specification from the filter string, that may only contain
+	 * conditions on the filterable properties.
+	 *
+	 * @param filter     The filter string.
+	 * @param cls        The class of the filtered entity.
+	 * @param filterable The properties that can be filtered or null for all properties.
+	 * @param <T>        Type of the filtered entity.
+	 * @return The specification for the filter.
+	 * @throws MalformedFilterException If the filter is malformed, doesn't match the entity or uses other properties.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> Specification<T> build(String filter, Class<T> cls, Set<String> filterable) {
+		if (filter == null || filter.isBlank()) {
+			return EvaluableSpecification.all();
+		}
+		CacheKey key = new CacheKey(cls, filter, filterable);
+		Specification<T> spec = (Specification<T>) this.cache.get(key);
+		if (spec == null) {
+			if (filterable != null) {
+				for (FilterCondition condition : FilterParser.parse(filter)) {
+					if (!filterable.contains(condition.property())) {
+						throw new MalformedFilterException("Filtering by " + condition.property() + " is not possible.");
+					}
+				}
 			}
+			spec = this.compile(filter, cls);
+			this.cache.put(key, spec);
 		}
 		return spec;
 	}
 
+	/**
+	 * Check if the filter string can be used to delete entities at once. It
+	 * has to contain conditions and none of them may be on related entities.
+	 *
+	 * @param filter The filter string.
+	 * @return True if the entities matching the filter can be deleted at once.
+	 * @throws MalformedFilterException If the filter is malformed.
+	 */
+	@Override
+	public boolean isDeletable(String filter) {
+		if (filter == null || filter.isBlank()) {
+			return false;
+		}
+		List<FilterCondition> conditions = FilterParser.parse(filter);
+		return !conditions.isEmpty() && conditions.stream().noneMatch(FilterCondition::isNested);
+	}
+
+	/**
+	 * Parse and compile the filter string into a specification.
+	 *
+	 * @param filter The filter string.
+	 * @param cls    The class of the filtered entity.
+	 * @param <T>    Type of the filtered entity.
+	 * @return The compiled specification.
+	 */
+	protected <T> EvaluableSpecification<T> compile(String filter, Class<T> cls) {
+		EvaluableSpecification<T> spec = EvaluableSpecification.all();
+		for (FilterCondition condition : FilterParser.parse(filter)) {
+			spec = spec.and(condition.toSpecification(cls));
+		}
+		return spec;
+	}
+
+	private record CacheKey(Class<?> cls, String filter, Set<String> filterable) {
+	}
 }
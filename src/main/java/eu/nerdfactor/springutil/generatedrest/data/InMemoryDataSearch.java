@@ -0,0 +1,126 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Searches entities in memory for repositories that can neither execute
+ * specifications nor page their results. The entities are pulled one by
+ * one, filtered by the specification and only the requested page is kept.
+ * Sorted pages are collected in a bounded heap, so the memory depends on
+ * the offset and size of the page instead of the amount of entities.
+ *
+ * @author Daniel Klug
+ */
+public final class InMemoryDataSearch {
+
+	private InMemoryDataSearch() {
+	}
+
+	/**
+	 * Search the entities for a page. Specifications that can't be evaluated
+	 * in memory will be ignored and all entities will match.
+	 *
+	 * @param entities The entities to search.
+	 * @param spec     The {@link Specification} for filtering.
+	 * @param page     The {@link Pageable} for paging and sorting.
+	 * @param <E>      Type of the entity.
+	 * @return The requested page of matching entities.
+	 */
+	public static <E> @NotNull Page<E> search(@NotNull Iterable<E> entities, @Nullable Specification<E> spec, @NotNull Pageable page) {
+		Predicate<E> filter = spec instanceof EvaluableSpecification<E> evaluable ? evaluable::test : entity -> true;
+		Comparator<E> comparator = comparator(page.getSort());
+		if (page.isUnpaged()) {
+			List<E> content = new ArrayList<>();
+			entities.forEach(entity -> {
+				if (filter.test(entity)) {
+					content.add(entity);
+				}
+			});
+			if (comparator != null) {
+				content.sort(comparator);
+			}
+			return new DataPage<>(content, page, content.size());
+		}
+		long offset = page.getOffset();
+		int size = page.getPageSize();
+		if (comparator == null) {
+			// Without sorting the page is just a range of the matching entities.
+			List<E> content = new ArrayList<>(size);
+			long total = 0;
+			for (E entity : entities) {
+				if (filter.test(entity)) {
+					if (total >= offset && content.size() < size) {
+						content.add(entity);
+					}
+					total++;
+				}
+			}
+			return new DataPage<>(content, page, total);
+		}
+		// Keep the first offset + size entities in a heap with the largest on top.
+		int limit = Math.toIntExact(Math.min(offset + size, Integer.MAX_VALUE - 8));
+		PriorityQueue<E> heap = new PriorityQueue<>(Math.min(limit, 1024) + 1, comparator.reversed());
+		long total = 0;
+		for (E entity : entities) {
+			if (!filter.test(entity)) {
+				continue;
+			}
+			total++;
+			if (heap.size() < limit) {
+				heap.add(entity);
+			} else if (comparator.compare(entity, heap.peek()) < 0) {
+				heap.poll();
+				heap.add(entity);
+			}
+		}
+		List<E> sorted = new ArrayList<>(heap);
+		sorted.sort(comparator);
+		List<E> content = offset < sorted.size() ? new ArrayList<>(sorted.subList((int) offset, sorted.size())) : new ArrayList<>();
+		return new DataPage<>(content, page, total);
+	}
+
+	/**
+	 * Create a comparator for the properties of a Sort.
+	 *
+	 * @param sort The {@link Sort} of the page.
+	 * @param <E>  Type of the entity.
+	 * @return A comparator or null if the entities are not sorted.
+	 */
+	static <E> @Nullable Comparator<E> comparator(@NotNull Sort sort) {
+		Comparator<E> comparator = null;
+		for (Sort.Order order : sort) {
+			Comparator<E> next = (left, right) -> compare(order, EntityPropertyReader.read(left, order.getProperty()), EntityPropertyReader.read(right, order.getProperty()));
+			comparator = comparator == null ? next : comparator.thenComparing(next);
+		}
+		return comparator;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static int compare(@NotNull Sort.Order order, @Nullable Object left, @Nullable Object right) {
+		if (left == null || right == null) {
+			if (left == right) {
+				return 0;
+			}
+			// Nulls are last by default, like in most databases for ascending order.
+			boolean nullsFirst = order.getNullHandling() == Sort.NullHandling.NULLS_FIRST;
+			return (left == null) == nullsFirst ? -1 : 1;
+		}
+		int result;
+		if (order.isIgnoreCase() && left instanceof String && right instanceof String) {
+			result = ((String) left).compareToIgnoreCase((String) right);
+		} else if (left instanceof Comparable) {
+			result = ((Comparable) left).compareTo(right);
+		} else {
+			result = left.toString().compareTo(right.toString());
+		}
+		return order.isAscending() ? result : -result;
+	}
+}
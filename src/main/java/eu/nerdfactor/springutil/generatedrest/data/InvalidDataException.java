@@ -0,0 +1,23 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown if a document sent by a client can't be read into the requested
+ * type or the result violates its constraints. Requests with such a
+ * document are answered with "Bad Request".
+ *
+ * @author Daniel Klug
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidDataException extends IllegalArgumentException {
+
+	public InvalidDataException(String message) {
+		super(message);
+	}
+
+	public InvalidDataException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,23 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown if a cursor sent by a client can't be decoded or can't be used
+ * to continue scrolling. Requests with such a cursor are answered with
+ * "Bad Request".
+ *
+ * @author Daniel Klug
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "The cursor is malformed.")
+public class MalformedCursorException extends IllegalArgumentException {
+
+	public MalformedCursorException(String message) {
+		super(message);
+	}
+
+	public MalformedCursorException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
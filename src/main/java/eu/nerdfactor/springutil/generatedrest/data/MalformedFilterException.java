@@ -0,0 +1,23 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown if a filter sent by a client can't be parsed or doesn't match the
+ * filtered entity, like for unknown properties or values that can't be
+ * converted. Requests with such a filter are answered with "Bad Request".
+ *
+ * @author Daniel Klug
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class MalformedFilterException extends IllegalArgumentException {
+
+	public MalformedFilterException(String message) {
+		super(message);
+	}
+
+	public MalformedFilterException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
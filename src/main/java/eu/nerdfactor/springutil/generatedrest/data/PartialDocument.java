@@ -0,0 +1,19 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a request body that is applied partially, like the document of a
+ * PATCH request. The {@link DataDocumentAdvice} records the names of the
+ * properties present in the document, which can be looked up with
+ * {@link DataDocument#properties(Object)}.
+ *
+ * @author Daniel Klug
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface PartialDocument {
+}
@@ -0,0 +1,88 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+
+/**
+ * Generic way to access entity data from a service with a reactive
+ * repository.
+ *
+ * @param <E>  Type of the entity.
+ * @param <ID> Type of the entity's id.
+ * @author Daniel Klug
+ */
+public interface ReactiveDataAccessService<E, ID> extends ReactiveDataAccessor<E, ID> {
+
+	ReactiveCrudRepository<E, ID> getRepository();
+
+	default Flux<E> listData() {
+		return this.getRepository().findAll();
+	}
+
+	/**
+	 * Searches for data, filtered by the {@link Specification} and restricted
+	 * to a page. Reactive repositories can't execute specifications, so all
+	 * entities of the repository are read and filtered in memory with an
+	 * {@link EvaluableSpecification}. Other specifications, like the ones of
+	 * a custom {@link DataSpecificationBuilder}, can't be used and emit a
+	 * {@link MalformedFilterException}, so the request is answered with
+	 * "Bad Request". The repository sorts the entities if it implements
+	 * {@link ReactiveSortingRepository}, otherwise the matching entities will
+	 * be sorted in memory before the page is taken.
+	 * <br>
+	 * Entities are only read until the page is complete, unless they have to
+	 * be sorted in memory. Filtered searches still read every entity before
+	 * the page, which is only suitable for small amounts of entities.
+	 * Services with more entities should override this method with a query
+	 * of their repository, like a Criteria of the R2dbcEntityTemplate.
+	 *
+	 * @param spec The {@link Specification} for filtering.
+	 * @param page The {@link Pageable} for paging and sorting.
+	 * @return A Flux of the entities in the page.
+	 */
+	@SuppressWarnings("unchecked")
+	default Flux<E> searchData(Specification<E> spec, Pageable page) {
+		if (spec != null && !(spec instanceof EvaluableSpecification<E>)) {
+			return Flux.error(new MalformedFilterException("The filter can't be evaluated for reactive repositories."));
+		}
+		ReactiveCrudRepository<E, ID> repository = this.getRepository();
+		Sort sort = page.getSort();
+		boolean sortedByRepository = sort.isSorted() && repository instanceof ReactiveSortingRepository;
+		Flux<E> entities = sortedByRepository ? ((ReactiveSortingRepository<E, ID>) repository).findAll(sort) : repository.findAll();
+		if (spec instanceof EvaluableSpecification<E> evaluable) {
+			entities = entities.filter(evaluable::test);
+		}
+		Comparator<E> comparator = sortedByRepository ? null : InMemoryDataSearch.comparator(sort);
+		if (comparator != null) {
+			entities = entities.sort(comparator);
+		}
+		if (page.isPaged()) {
+			entities = entities.skip(page.getOffset()).take(page.getPageSize(), true);
+		}
+		return entities;
+	}
+
+	default Mono<E> createData(@NotNull E entity) {
+		return this.getRepository().save(entity);
+	}
+
+	default Mono<E> readData(ID id) {
+		return id == null ? Mono.empty() : this.getRepository().findById(id);
+	}
+
+	default Mono<E> updateData(@NotNull E entity) {
+		return this.getRepository().save(entity);
+	}
+
+	default Mono<Void> deleteDataById(@NotNull ID id) {
+		return this.getRepository().deleteById(id);
+	}
+}
@@ -0,0 +1,68 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Generic way to access entity data without blocking, for example from
+ * R2DBC repositories. Entities are emitted one by one, so the consumer
+ * controls how many of them are requested.
+ *
+ * @param <E>  Type of the entity.
+ * @param <ID> Type of the entity's id.
+ * @author Daniel Klug
+ */
+public interface ReactiveDataAccessor<E, ID> {
+
+	/**
+	 * List all entities.
+	 *
+	 * @return A Flux of entities.
+	 */
+	Flux<E> listData();
+
+	/**
+	 * Search all entities. Filter the result with a specification and emit
+	 * only the entities of the requested page.
+	 *
+	 * @param spec The {@link Specification} for filtering.
+	 * @param page The {@link Pageable} for paging and sorting.
+	 * @return A Flux of the entities in the page.
+	 */
+	Flux<E> searchData(Specification<E> spec, Pageable page);
+
+	/**
+	 * Create a new entity with the provided data.
+	 *
+	 * @param entity The entity to create.
+	 * @return A Mono of the created entity.
+	 */
+	Mono<E> createData(@NotNull E entity);
+
+	/**
+	 * Read the entity specified by the id.
+	 *
+	 * @param id The id of the entity.
+	 * @return A Mono of the entity, that is empty if the entity doesn't exist.
+	 */
+	Mono<E> readData(ID id);
+
+	/**
+	 * Update the provided entity.
+	 *
+	 * @param entity The entity to update.
+	 * @return A Mono of the updated entity.
+	 */
+	Mono<E> updateData(@NotNull E entity);
+
+	/**
+	 * Delete the entity with the specified id.
+	 *
+	 * @param id The id of the entity.
+	 * @return A Mono that completes after the entity was deleted.
+	 */
+	Mono<Void> deleteDataById(@NotNull ID id);
+}
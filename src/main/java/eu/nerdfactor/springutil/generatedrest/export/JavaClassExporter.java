@@ -2,6 +2,8 @@ package eu.nerdfactor.springutil.generatedrest.export;
 
 import com.squareup.javapoet.JavaFile;
 import eu.nerdfactor.springutil.generatedrest.code.GeneratedControllerBuilder;
+import eu.nerdfactor.springutil.generatedrest.code.GeneratedMapperBuilder;
+import eu.nerdfactor.springutil.generatedrest.code.GeneratedPatcherBuilder;
 import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
 import eu.nerdfactor.springutil.generatedrest.util.GeneratedRestUtil;
 
@@ -30,6 +32,22 @@ public class JavaClassExporter implements GeneratedRestExporter {
 						).indent(config.getOrDefault("indentation", "\t"))
 						.build()
 						.writeTo(filer);
+				if (controllerConfiguration.isUsingGeneratedMapper()) {
+					JavaFile.builder(
+									controllerConfiguration.getMapperClassName().packageName(),
+									new GeneratedMapperBuilder().withConfiguration(controllerConfiguration).build()
+							).indent(config.getOrDefault("indentation", "\t"))
+							.build()
+							.writeTo(filer);
+				}
+				if (controllerConfiguration.isUsingMergePatch()) {
+					JavaFile.builder(
+									controllerConfiguration.getPatcherClassName().packageName(),
+									new GeneratedPatcherBuilder().withConfiguration(controllerConfiguration).build()
+							).indent(config.getOrDefault("indentation", "\t"))
+							.build()
+							.writeTo(filer);
+				}
 			} catch (IOException e) {
 				GeneratedRestUtil.log("Could not generate " + controllerConfiguration.getClassName().canonicalName() + ".");
 				e.printStackTrace();
@@ -0,0 +1,80 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.entity.Example;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class AddToRelationsMethodBuilderTest {
+
+	@Test
+	void shouldCreateBatchMethod() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		new AddToRelationsMethodBuilder()
+				.withRelation(ExampleConfigurations.children())
+				.withConfiguration(ExampleConfigurations.configuration())
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				  @RequestMapping(
+				      value = "/api/example/{id}/children/batch",
+				      method = { RequestMethod.POST, RequestMethod.PUT, RequestMethod.PATCH }
+				  )
+				  @ResponseBody
+				  @Transactional
+				  public ResponseEntity<List<Example>> addAllChildren(@PathVariable final Integer id,
+				      @RequestBody List<Integer> relationIds) {
+				    Example entity = this.dataAccessor.readDataForUpdate(id);
+				    if(entity == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    for(Integer relationId : new LinkedHashSet<>(relationIds)) {
+				      entity.addChild(this.entityManager.getReference(Example.class, relationId));
+				    }
+				    this.entityManager.flush();
+				    return this.getChildren(id);
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldInvalidateCachedEntity() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+		ControllerConfiguration configuration = ExampleConfigurations.configuration();
+		configuration.setEntityCacheSize(100);
+
+		new AddToRelationsMethodBuilder()
+				.withRelation(ExampleConfigurations.children())
+				.withConfiguration(configuration)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expectedById = """
+				    Example rel = this.entityManager.getReference(Example.class, relationId);
+				    entity.addChild(rel);
+				    ((CachingDataAccessor<Example, Integer>) this.dataAccessor).invalidateById(id);
+				""";
+		String expectedBatch = """
+				    this.entityManager.flush();
+				    ((CachingDataAccessor<Example, Integer>) this.dataAccessor).invalidateById(id);
+				""";
+		Assertions.assertTrue(code.contains(expectedById));
+		Assertions.assertTrue(code.contains(expectedBatch));
+	}
+}
@@ -0,0 +1,147 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.ExecutionMode;
+import eu.nerdfactor.springutil.generatedrest.entity.Example;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.lang.model.element.Modifier;
+
+public class AsyncMethodBuilderTest {
+
+	@Test
+	void shouldSplitEndpointIntoAsyncAndSyncMethod() {
+		TypeSpec.Builder builder = controller();
+		ControllerConfiguration configuration = ExampleConfigurations.configuration();
+		configuration.setExecutionMode(ExecutionMode.ASYNC);
+
+		new AsyncMethodBuilder()
+				.withConfiguration(configuration)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expectedAsync = """
+				  @GetMapping("/api/example/{id}")
+				  public CompletableFuture<ResponseEntity<Example>> getAsync(@PathVariable final Integer id) {
+				    return CompletableFuture.supplyAsync(() -> this.transactionTemplate.execute(status -> this.get(id)), this.executor);
+				  }
+				""";
+		String expectedSync = """
+				  protected ResponseEntity<Example> get(final Integer id) {
+				    return ResponseEntity.ok(this.dataAccessor.readData(id));
+				  }
+				""";
+		String expectedStream = """
+				  @GetMapping("/api/example/stream")
+				  public ResponseEntity<StreamingResponseBody> stream() {
+				""";
+		Assertions.assertTrue(code.contains(expectedAsync));
+		Assertions.assertTrue(code.contains(expectedSync));
+		Assertions.assertTrue(code.contains(expectedStream));
+		Assertions.assertFalse(code.contains("@Transactional"));
+		Assertions.assertFalse(code.contains("streamAsync"));
+	}
+
+	@Test
+	void shouldKeepSyncEndpoints() {
+		TypeSpec.Builder builder = controller();
+
+		new AsyncMethodBuilder()
+				.withConfiguration(ExampleConfigurations.configuration())
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		Assertions.assertFalse(code.contains("CompletableFuture"));
+		Assertions.assertTrue(code.contains("public ResponseEntity<Example> get(@PathVariable final Integer id) {"));
+	}
+
+	@Test
+	void shouldCheckConditionalRequestsOnRequestThread() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+		ControllerConfiguration configuration = ExampleConfigurations.configuration();
+		configuration.setExecutionMode(ExecutionMode.ASYNC);
+		configuration.setVersion("version");
+		ReadEntityMethodBuilder.create().withConfiguration(configuration).build(builder);
+		ExistsEntityMethodBuilder.create().withConfiguration(configuration).build(builder);
+
+		new AsyncMethodBuilder()
+				.withConfiguration(configuration)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expectedAsync = """
+				  public CompletableFuture<ResponseEntity<Example>> getAsync(@PathVariable final Integer id,
+				      WebRequest request) {
+				    DataVersion version = null;
+				    if(request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+				      version = GeneratedQueries.version(this.entityManager, Example.class, id, "version");
+				      if(version == null) {
+				        throw new EntityNotFoundException();
+				      }
+				      if(request.checkNotModified(version.eTag(), version.lastModified())) {
+				        return null;
+				      }
+				    }
+				    return CompletableFuture.supplyAsync(() -> this.transactionTemplate.execute(status -> this.get(id, request)), this.executor);
+				  }
+				""";
+		String expectedSync = """
+				  protected ResponseEntity<Example> get(final Integer id, WebRequest request) {
+				    Example entity = this.dataAccessor.readData(id);
+				    if(entity == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    Example response = entity;
+				    if(request.getHeader(HttpHeaders.IF_NONE_MATCH) == null && request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) == null) {
+				      DataVersion version = DataVersion.of(entity, "version");
+				      request.checkNotModified(version.eTag(), version.lastModified());
+				    }
+				""";
+		Assertions.assertTrue(code.contains(expectedAsync));
+		Assertions.assertTrue(code.contains(expectedSync));
+		Assertions.assertTrue(code.contains("public ResponseEntity<Void> exists(@PathVariable final Integer id, WebRequest request) {"));
+		Assertions.assertFalse(code.contains("existsAsync"));
+	}
+
+	static TypeSpec.Builder controller() {
+		return TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC)
+				.addMethod(MethodSpec.methodBuilder("get")
+						.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", "/api/example/{id}").build())
+						.addAnnotation(Transactional.class)
+						.addModifiers(Modifier.PUBLIC)
+						.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ClassName.get(Example.class)))
+						.addParameter(ParameterSpec.builder(Integer.class, "id")
+								.addModifiers(Modifier.FINAL)
+								.addAnnotation(PathVariable.class)
+								.build()
+						)
+						.addStatement("return $T.ok(this.dataAccessor.readData(id))", ResponseEntity.class)
+						.build()
+				)
+				.addMethod(MethodSpec.methodBuilder("stream")
+						.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", "/api/example/stream").build())
+						.addModifiers(Modifier.PUBLIC)
+						.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ClassName.get(StreamingResponseBody.class)))
+						.addStatement("return $T.ok(out -> {})", ResponseEntity.class)
+						.build()
+				);
+	}
+}
@@ -0,0 +1,134 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.entity.Example;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchEntityMethodBuilderTest {
+
+	@Test
+	void shouldCreateBasicMethods() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		BatchEntityMethodBuilder.create()
+				.withHasExistingCreateRequest(false)
+				.withHasExistingUpdateRequest(true)
+				.withHasExistingDeleteRequest(false)
+				.withUsingDto(false)
+				.withRequestUrl("/api/example/batch")
+				.withEntityType(ClassName.get(Example.class))
+				.withRequestType(ClassName.get(Example.class))
+				.withResponseType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withIdentifyingAccessor("getId")
+				.withBatchSize(50)
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.withUsingBatch(true)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @PostMapping("/api/example/batch")
+				  @Transactional
+				  public ResponseEntity<List<DataBatchResult<Example>>> createAll(
+				      @RequestBody @Valid List<Example> dtos) {
+				    List<DataBatchResult<Example>> responseList = new ArrayList<>(dtos.size());
+				    for(int i = 0; i < dtos.size(); i += 50) {
+				      List<Example> created = new ArrayList<>();
+				      for(Example dto : dtos.subList(i, Math.min(i + 50, dtos.size()))) {
+				        created.add(dto);
+				      }
+				      created = this.dataAccessor.createAllData(created);
+				      for(Example entity : created) {
+				        responseList.add(DataBatchResult.of(responseList.size(), HttpStatus.CREATED, entity));
+				      }
+				      this.entityManager.flush();
+				      this.entityManager.clear();
+				    }
+				    return new ResponseEntity<>(responseList, HttpStatus.OK);
+				  }
+
+				  @DeleteMapping("/api/example/batch")
+				  @Transactional
+				  public ResponseEntity<List<DataBatchResult<Integer>>> deleteAll(
+				      @RequestBody @Valid List<Integer> ids) {
+				    List<DataBatchResult<Integer>> responseList = new ArrayList<>(ids.size());
+				    for(int i = 0; i < ids.size(); i += 50) {
+				      List<Integer> chunk = ids.subList(i, Math.min(i + 50, ids.size()));
+				      Set<Object> found = GeneratedQueries.existingIds(this.entityManager, Example.class, chunk);
+				      List<Integer> existing = new ArrayList<>();
+				      for(int j = 0; j < chunk.size(); j++) {
+				        if(!found.contains(chunk.get(j))) {
+				          responseList.add(DataBatchResult.failed(i + j, HttpStatus.NOT_FOUND, "Entity not found."));
+				        } else {
+				          existing.add(chunk.get(j));
+				          responseList.add(DataBatchResult.of(i + j, HttpStatus.NO_CONTENT, null));
+				        }
+				      }
+				      this.dataAccessor.deleteAllDataById(existing);
+				      this.entityManager.flush();
+				      this.entityManager.clear();
+				    }
+				    return new ResponseEntity<>(responseList, HttpStatus.OK);
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldDeleteWithoutLoadingIfDirectDeleteIsUsed() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		BatchEntityMethodBuilder.create()
+				.withHasExistingCreateRequest(true)
+				.withHasExistingUpdateRequest(true)
+				.withHasExistingDeleteRequest(false)
+				.withRequestUrl("/api/example/batch")
+				.withEntityType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withBatchSize(50)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.withUsingBatch(true)
+				.withUsingDirectDelete(true)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		Assertions.assertTrue(code.contains("this.dataAccessor.deleteAllDataByIdWithoutLoading(existing);"));
+		Assertions.assertFalse(code.contains("this.dataAccessor.deleteAllDataById(existing);"));
+	}
+
+	@Test
+	void shouldNotCreateMethodsWithoutBatch() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		BatchEntityMethodBuilder.create()
+				.withRequestUrl("/api/example/batch")
+				.withEntityType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withBatchSize(50)
+				.withUsingBatch(false)
+				.build(builder);
+
+		Assertions.assertTrue(builder.build().methodSpecs.isEmpty());
+	}
+}
@@ -0,0 +1,95 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.entity.Example;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+import java.util.List;
+
+public class CountMethodBuilderTest {
+
+	@Test
+	void shouldCreateCountMethod() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		new CountMethodBuilder()
+				.withConfiguration(ExampleConfigurations.configuration())
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				  @GetMapping("/api/example/count")
+				  public ResponseEntity<Long> count(@RequestParam(required = false) String filter) {
+				    Specification<Example> spec = this.specificationBuilder.build(filter, Example.class);
+				    Long response = this.dataAccessor.countData(spec);
+				    return ResponseEntity.ok(response);
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldCreateCountMethodWithCachedResponse() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+		ControllerConfiguration configuration = ExampleConfigurations.configuration();
+		configuration.setResponseCacheSize(10);
+
+		new CountMethodBuilder()
+				.withConfiguration(configuration)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				  @GetMapping("/api/example/count")
+				  public ResponseEntity<Long> count(@RequestParam(required = false) String filter) {
+				    Long cachedResponse = this.responseCache.get(DataResponseCache.key("count", filter), () -> {
+				      Specification<Example> spec = this.specificationBuilder.build(filter, Example.class);
+				      Long response = this.dataAccessor.countData(spec);
+				      return response;
+				    });
+				    return ResponseEntity.ok(cachedResponse);
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldCreateCountMethodWithFilterableProperties() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+		ControllerConfiguration configuration = ExampleConfigurations.configuration();
+		configuration.setFilterable(List.of("id", "name"));
+
+		new CountMethodBuilder()
+				.withConfiguration(configuration)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				    Specification<Example> spec = this.specificationBuilder.build(filter, Example.class, Set.of("id", "name"));
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldNotCreateExistingCountMethod() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController");
+		ControllerConfiguration configuration = ExampleConfigurations.configuration("GET/api/example/count");
+
+		new CountMethodBuilder()
+				.withConfiguration(configuration)
+				.build(builder);
+
+		Assertions.assertTrue(builder.methodSpecs.isEmpty());
+	}
+}
@@ -0,0 +1,55 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+
+public class DeleteByFilterMethodBuilderTest {
+
+	@Test
+	void shouldCreateMethodRefusingFiltersWithoutConditions() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+		ControllerConfiguration configuration = ExampleConfigurations.configuration();
+		configuration.setDirectDelete(true);
+
+		new DeleteByFilterMethodBuilder()
+				.withConfiguration(configuration)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				  @DeleteMapping(
+				      value = "/api/example",
+				      params = "filter"
+				  )
+				  @Transactional
+				  public ResponseEntity<Integer> deleteByFilter(@RequestParam String filter) {
+				    if(!this.specificationBuilder.isDeletable(filter)) {
+				      return ResponseEntity.badRequest().build();
+				    }
+				    Specification<Example> spec = this.specificationBuilder.build(filter, Example.class);
+				    Integer response = GeneratedQueries.deleteAll(this.entityManager, Example.class, spec);
+				    return new ResponseEntity<>(response, HttpStatus.OK);
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldNotCreateMethodWithoutDirectDelete() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController");
+
+		new DeleteByFilterMethodBuilder()
+				.withConfiguration(ExampleConfigurations.configuration())
+				.build(builder);
+
+		Assertions.assertTrue(builder.methodSpecs.isEmpty());
+	}
+}
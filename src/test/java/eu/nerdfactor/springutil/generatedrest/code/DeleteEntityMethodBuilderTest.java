@@ -44,4 +44,66 @@ public class DeleteEntityMethodBuilderTest {
 				""";
 		Assertions.assertTrue(code.contains(expected));
 	}
+
+	@Test
+	void shouldCreateMethodPublishingChanges() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		DeleteEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.withPublishingChanges(true)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @DeleteMapping("/api/example")
+				  public ResponseEntity delete(@PathVariable final Integer id) {
+				    this.dataAccessor.deleteDataById(id);
+				    this.eventPublisher.publishEvent(new DataChangedEvent(Example.class));
+				    return ResponseEntity.noContent().build();
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldCreateMethodUsingDirectDelete() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		DeleteEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.withUsingDirectDelete(true)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @DeleteMapping("/api/example")
+				  @Transactional
+				  public ResponseEntity delete(@PathVariable final Integer id) {
+				    GeneratedQueries.delete(this.entityManager, Example.class, id);
+				    return ResponseEntity.noContent().build();
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
 }
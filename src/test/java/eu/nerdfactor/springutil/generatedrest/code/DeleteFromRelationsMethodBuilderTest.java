@@ -0,0 +1,46 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+
+@ExtendWith(MockitoExtension.class)
+public class DeleteFromRelationsMethodBuilderTest {
+
+	@Test
+	void shouldCreateBatchMethod() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		new DeleteFromRelationsMethodBuilder()
+				.withRelation(ExampleConfigurations.children())
+				.withConfiguration(ExampleConfigurations.configuration())
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				  @DeleteMapping("/api/example/{id}/children/batch")
+				  @Transactional
+				  public ResponseEntity<List<Example>> removeAllChildren(@PathVariable final Integer id,
+				      @RequestBody List<Integer> relationIds) {
+				    Example entity = this.dataAccessor.readDataForUpdate(id);
+				    if(entity == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    for(Integer relationId : new LinkedHashSet<>(relationIds)) {
+				      entity.removeChild(this.entityManager.getReference(Example.class, relationId));
+				    }
+				    this.entityManager.flush();
+				    return ResponseEntity.noContent().build();
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+}
@@ -0,0 +1,105 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.ExecutionMode;
+import eu.nerdfactor.springutil.generatedrest.config.RelationConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.RelationType;
+import eu.nerdfactor.springutil.generatedrest.data.DataAccessor;
+import eu.nerdfactor.springutil.generatedrest.data.DataMapper;
+import eu.nerdfactor.springutil.generatedrest.data.DataMerger;
+import eu.nerdfactor.springutil.generatedrest.data.ReactiveDataAccessor;
+import eu.nerdfactor.springutil.generatedrest.entity.Example;
+import eu.nerdfactor.springutil.generatedrest.entity.ExampleDto;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configurations of a controller for the {@link Example} entity, that are
+ * shared by the tests of the method builders. Tests change the returned
+ * configuration with its setters, for the options they cover.
+ */
+final class ExampleConfigurations {
+
+	private ExampleConfigurations() {
+	}
+
+	/**
+	 * @param existingRequests The requests the controller already contains, like "GET/api/example/count".
+	 * @return A configuration without DTOs.
+	 */
+	static ControllerConfiguration configuration(String... existingRequests) {
+		return configuration(TypeName.OBJECT, DataAccessor.class, null, existingRequests);
+	}
+
+	/**
+	 * @return A configuration that uses {@link ExampleDto} for requests and responses.
+	 */
+	static ControllerConfiguration dtoConfiguration() {
+		return configuration(ClassName.get(ExampleDto.class), DataAccessor.class, null);
+	}
+
+	/**
+	 * @param relations The relations of the controller.
+	 * @return A configuration with DTOs for a reactive controller.
+	 */
+	static ControllerConfiguration reactiveConfiguration(RelationConfiguration... relations) {
+		Map<String, RelationConfiguration> relationsByName = new HashMap<>();
+		for (RelationConfiguration relation : relations) {
+			relationsByName.put(relation.getName(), relation);
+		}
+		ControllerConfiguration configuration = configuration(ClassName.get(ExampleDto.class), ReactiveDataAccessor.class, relationsByName);
+		configuration.setExecutionMode(ExecutionMode.REACTIVE);
+		return configuration;
+	}
+
+	/**
+	 * @param dto              The DTO used for requests and responses.
+	 * @param dataAccessor     The class of the data accessor.
+	 * @param relations        The relations of the controller or null.
+	 * @param existingRequests The requests the controller already contains.
+	 * @return A configuration for the Example entity.
+	 */
+	static ControllerConfiguration configuration(TypeName dto, Class<?> dataAccessor, Map<String, RelationConfiguration> relations, String... existingRequests) {
+		return new ControllerConfiguration(
+				ClassName.get("eu.nerdfactor.test", "ExampleController"), "/api/example",
+				ClassName.get(Example.class), ClassName.get(Integer.class), "getId",
+				dto, dto, dto,
+				ParameterizedTypeName.get(ClassName.get(dataAccessor), ClassName.get(Example.class), ClassName.get(Integer.class)),
+				ClassName.get(DataMapper.class), ClassName.get(DataMerger.class),
+				relations, List.of(existingRequests), TypeName.OBJECT
+		);
+	}
+
+	/**
+	 * @return The relation "children" to multiple examples.
+	 */
+	static RelationConfiguration children() {
+		RelationConfiguration relation = new RelationConfiguration();
+		relation.setName("children");
+		relation.setType(RelationType.MULTIPLE);
+		relation.setAccessors(new String[]{"getChildren", "setChildren", "addChild", "removeChild"});
+		relation.setEntityClass(ClassName.get(Example.class));
+		relation.setIdClass(ClassName.get(Integer.class));
+		relation.setIdAccessor("getId");
+		return relation;
+	}
+
+	/**
+	 * @return The relation "parent" to a single example.
+	 */
+	static RelationConfiguration parent() {
+		RelationConfiguration relation = new RelationConfiguration();
+		relation.setName("parent");
+		relation.setType(RelationType.SINGLE);
+		relation.setAccessors(new String[]{"getParent", "setParent", "", ""});
+		relation.setEntityClass(ClassName.get(Example.class));
+		relation.setIdClass(ClassName.get(Integer.class));
+		relation.setIdAccessor("getId");
+		return relation;
+	}
+}
@@ -0,0 +1,88 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.entity.Example;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+
+@ExtendWith(MockitoExtension.class)
+public class ExistsEntityMethodBuilderTest {
+
+	@Test
+	void shouldCreateBasicMethod() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		ExistsEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withSecurityConfiguration(null)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @RequestMapping(
+				      value = "/api/example",
+				      method = RequestMethod.HEAD
+				  )
+				  public ResponseEntity<Void> exists(@PathVariable final Integer id) {
+				    if(!this.dataAccessor.existsData(id)) {
+				      throw new EntityNotFoundException();
+				    }
+				    return ResponseEntity.ok().build();
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldCreateMethodUsingVersion() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		ExistsEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withSecurityConfiguration(null)
+				.withVersionAttribute("version")
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @RequestMapping(
+				      value = "/api/example",
+				      method = RequestMethod.HEAD
+				  )
+				  public ResponseEntity<Void> exists(@PathVariable final Integer id, WebRequest request) {
+				    DataVersion version = GeneratedQueries.version(this.entityManager, Example.class, id, "version");
+				    if(version == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    if(request.checkNotModified(version.eTag(), version.lastModified())) {
+				      return null;
+				    }
+				    return ResponseEntity.ok().build();
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+}
@@ -0,0 +1,70 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeName;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.MappingConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.PropertyConfiguration;
+import eu.nerdfactor.springutil.generatedrest.data.DataMapper;
+import eu.nerdfactor.springutil.generatedrest.entity.Example;
+import eu.nerdfactor.springutil.generatedrest.entity.ExampleDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class GeneratedMapperBuilderTest {
+
+	@Test
+	void shouldCreateMapper() {
+		MappingConfiguration mapping = new MappingConfiguration();
+		mapping.setSource(ClassName.get(Example.class));
+		mapping.setTarget(ClassName.get(ExampleDto.class));
+		mapping.getProperties().add(new PropertyConfiguration("id", TypeName.INT, "getId", null, true));
+		mapping.getProperties().add(new PropertyConfiguration("name", ClassName.get(String.class), null, "setName", false));
+		MappingConfiguration converted = new MappingConfiguration();
+		converted.setSource(ClassName.get(ExampleDto.class));
+		converted.setTarget(ClassName.get(Example.class));
+		converted.setConverter("convertToEntity");
+
+		ControllerConfiguration configuration = ExampleConfigurations.dtoConfiguration();
+		configuration.setMappings(List.of(mapping, converted));
+
+		String code = JavaFile.builder("eu.nerdfactor.test", new GeneratedMapperBuilder().withConfiguration(configuration).build()).build().toString();
+		String expected = """
+				public final class ExampleControllerMapper implements DataMapper {
+				  private final DataMapper fallback = new GeneratedEntityMapper();
+
+				  public static ExampleDto mapExampleToExampleDto(Example source) {
+				    ExampleDto target = new ExampleDto();
+				    if(source.getId() != null) {
+				      target.id = source.getId();
+				    }
+				    target.setName(source.name);
+				    return target;
+				  }
+
+				  public static Example mapExampleDtoToExample(ExampleDto source) {
+				    return source.convertToEntity();
+				  }
+
+				  @Override
+				  @SuppressWarnings("unchecked")
+				  public <T> T map(Object obj, Class<T> cls) {
+				    if(obj == null) {
+				      return null;
+				    }
+				    if(cls == ExampleDto.class && obj instanceof Example source) {
+				      return (T) mapExampleToExampleDto(source);
+				    }
+				    if(cls == Example.class && obj instanceof ExampleDto source) {
+				      return (T) mapExampleDtoToExample(source);
+				    }
+				    return this.fallback.map(obj, cls);
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected), code);
+	}
+}
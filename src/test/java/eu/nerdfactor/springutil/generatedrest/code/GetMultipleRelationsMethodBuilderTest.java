@@ -0,0 +1,80 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+
+@ExtendWith(MockitoExtension.class)
+public class GetMultipleRelationsMethodBuilderTest {
+
+	@Test
+	void shouldReadRelationsThroughDataAccessor() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		new GetMultipleRelationsMethodBuilder()
+				.withRelation(ExampleConfigurations.children())
+				.withConfiguration(ExampleConfigurations.configuration())
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				  @GetMapping("/api/example/{id}/children")
+				  public ResponseEntity<List<Example>> getChildren(@PathVariable final Integer id) {
+				    Example entity = this.dataAccessor.readDataWithRelations(id, "children");
+				    if(entity == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    List<Example> responseList = new ArrayList<>();
+				    for(Example rel : entity.getChildren()) {
+				      Example response = rel;
+				      responseList.add(response);
+				    }
+				    return new ResponseEntity<>(responseList, HttpStatus.OK);
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldReadPagedRelations() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+		ControllerConfiguration configuration = ExampleConfigurations.configuration();
+		configuration.setPagedRelations(true);
+
+		new GetMultipleRelationsMethodBuilder()
+				.withRelation(ExampleConfigurations.children())
+				.withConfiguration(configuration)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				  @GetMapping("/api/example/{id}/children")
+				  public ResponseEntity<Page<Example>> getChildren(@PathVariable final Integer id,
+				      @PageableDefault(size = 20) Pageable pageable) {
+				    Page<Example> page = GeneratedQueries.relationPage(this.entityManager, Example.class, id, "children", Example.class, pageable);
+				    if(page == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    List<Example> responseList = new ArrayList<>();
+				    for(Example rel : page.getContent()) {
+				      Example response = rel;
+				      responseList.add(response);
+				    }
+				    Page<Example> responsePage = new DataPage<>(responseList, page.getPageable(), page.getTotalElements());
+				    return new ResponseEntity<>(responsePage, HttpStatus.OK);
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+}
@@ -0,0 +1,42 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.entity.Example;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+
+@ExtendWith(MockitoExtension.class)
+public class GetSingleRelationMethodBuilderTest {
+
+	@Test
+	void shouldReadRelationThroughDataAccessor() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		new GetSingleRelationMethodBuilder()
+				.withRelation(ExampleConfigurations.parent())
+				.withConfiguration(ExampleConfigurations.configuration())
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				  @GetMapping("/api/example/{id}/parent")
+				  public ResponseEntity<Example> getParent(@PathVariable final Integer id) {
+				    Example entity = this.dataAccessor.readDataWithRelations(id, "parent");
+				    if(entity == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    Example response = entity.getParent();
+				    return new ResponseEntity<>(response, HttpStatus.OK);
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+}
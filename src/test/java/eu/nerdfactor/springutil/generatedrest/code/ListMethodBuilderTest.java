@@ -0,0 +1,55 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.entity.Example;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+
+@ExtendWith(MockitoExtension.class)
+public class ListMethodBuilderTest {
+
+	@Test
+	void shouldCreateStreamingMethod() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		ControllerConfiguration configuration = ExampleConfigurations.configuration();
+		configuration.setStreaming(true);
+		new ListMethodBuilder().withConfiguration(configuration).build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @GetMapping("/api/example")
+				  public ResponseEntity<StreamingResponseBody> all() {
+				    StreamingResponseBody responseBody = outputStream -> this.readOnlyTransactionTemplate.executeWithoutResult(status -> {
+				      try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream); Stream<Example> entities = this.dataAccessor.streamData()) {
+				        generator.writeStartArray();
+				        Iterator<Example> iterator = entities.iterator();
+				        while(iterator.hasNext()) {
+				          Example entity = iterator.next();
+				          Example response = entity;
+				          generator.writeObject(response);
+				          this.entityManager.detach(entity);
+				        }
+				        generator.writeEndArray();
+				      } catch (IOException e) {
+				        throw new UncheckedIOException(e);
+				      }
+				    });
+				    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(responseBody);
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+}
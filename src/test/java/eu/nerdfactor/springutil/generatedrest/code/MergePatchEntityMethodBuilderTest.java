@@ -0,0 +1,131 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.entity.Example;
+import eu.nerdfactor.springutil.generatedrest.entity.ExampleDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+
+@ExtendWith(MockitoExtension.class)
+public class MergePatchEntityMethodBuilderTest {
+
+	@Test
+	void shouldCreateMethodUsingDto() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		MergePatchEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withUsingMergePatch(true)
+				.withUsingDto(true)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withResponseType(ClassName.get(ExampleDto.class))
+				.withRequestType(ClassName.get(ExampleDto.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withPatcherType(ClassName.get("eu.nerdfactor.test", "ExampleControllerPatcher"))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @PatchMapping(
+				      value = "/api/example",
+				      consumes = "application/merge-patch+json"
+				  )
+				  public ResponseEntity<ExampleDto> mergePatch(@PathVariable final Integer id, InputStream body) {
+				    Example entity = this.dataAccessor.readDataForUpdate(id);
+				    if(entity == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    try (JsonParser parser = this.objectMapper.createParser(body)) {
+				      ExampleControllerPatcher.apply(this.objectMapper, parser, entity);
+				    } catch (IOException e) {
+				      return ResponseEntity.badRequest().build();
+				    }
+				    DataDocument.validate(this.validator.getIfAvailable(), this.dataMapper.map(entity, ExampleDto.class));
+				    Example updated = this.dataAccessor.updateData(entity);
+				    ExampleDto response = this.dataMapper.map(updated, ExampleDto.class);
+				    return new ResponseEntity<>(response, HttpStatus.OK);
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldCreateMethodUsingVersion() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		MergePatchEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withUsingMergePatch(true)
+				.withUsingDto(false)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withResponseType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withPatcherType(ClassName.get("eu.nerdfactor.test", "ExampleControllerPatcher"))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.withVersionAttribute("version")
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				  public ResponseEntity<Example> mergePatch(@PathVariable final Integer id, InputStream body,
+				      @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+				    Example entity = this.dataAccessor.readDataForUpdate(id);
+				    if(entity == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    if(ifMatch != null && !DataVersion.of(entity, "version").matches(ifMatch)) {
+				      return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+				    }
+				    try (JsonParser parser = this.objectMapper.createParser(body)) {
+				      ExampleControllerPatcher.apply(this.objectMapper, parser, entity);
+				    } catch (IOException e) {
+				      return ResponseEntity.badRequest().build();
+				    }
+				    DataDocument.validate(this.validator.getIfAvailable(), entity);
+				    Example updated = this.dataAccessor.updateData(entity);
+				    Example response = updated;
+				    return ResponseEntity.ok().eTag(DataVersion.of(updated, "version").eTag()).body(response);
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldNotCreateMethodWithoutMergePatch() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		MergePatchEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withUsingMergePatch(false)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withResponseType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		Assertions.assertFalse(code.contains("mergePatch"));
+	}
+}
@@ -0,0 +1,77 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.data.ReactiveDataAccessor;
+import eu.nerdfactor.springutil.generatedrest.entity.Example;
+import eu.nerdfactor.springutil.generatedrest.entity.ExampleDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+
+public class ReactiveCrudMethodBuilderTest {
+
+	@Test
+	void shouldCreateReactiveCrudMethods() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		new ReactiveCrudMethodBuilder()
+				.withConfiguration(ExampleConfigurations.reactiveConfiguration())
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expectedGet = """
+				  @GetMapping("/api/example/{id}")
+				  public Mono<ResponseEntity<ExampleDto>> get(@PathVariable final Integer id) {
+				    return this.dataAccessor.readData(id)
+				        .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)))
+				        .map(entity -> ResponseEntity.ok(this.dataMapper.map(entity, ExampleDto.class)));
+				  }
+				""";
+		String expectedUpdate = """
+				  @PatchMapping("/api/example/{id}")
+				  public Mono<ResponseEntity<ExampleDto>> update(@PathVariable final Integer id,
+				      @RequestBody @Valid ExampleDto dto) {
+				    Example changed = this.dataMapper.map(dto, Example.class);
+				    return this.dataAccessor.readData(id)
+				        .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)))
+				        .flatMap(entity -> this.dataAccessor.updateData(this.dataMerger.merge(entity, changed)))
+				        .map(updated -> ResponseEntity.ok(this.dataMapper.map(updated, ExampleDto.class)));
+				  }
+				""";
+		String expectedDelete = """
+				  @DeleteMapping("/api/example/{id}")
+				  public Mono<ResponseEntity<Void>> delete(@PathVariable final Integer id) {
+				    return this.dataAccessor.deleteDataById(id)
+				        .thenReturn(ResponseEntity.noContent().<Void>build());
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expectedGet));
+		Assertions.assertTrue(code.contains(expectedUpdate));
+		Assertions.assertTrue(code.contains(expectedDelete));
+		Assertions.assertTrue(code.contains("public Mono<ResponseEntity<ExampleDto>> create(@RequestBody @Valid ExampleDto dto) {"));
+		Assertions.assertTrue(code.contains(".flatMap(entity -> this.dataAccessor.updateData(changed))"));
+	}
+
+	@Test
+	void shouldSkipExistingRequests() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+		ControllerConfiguration configuration = ExampleConfigurations.configuration(TypeName.OBJECT, ReactiveDataAccessor.class, null, "DELETE/api/example/{id}");
+
+		new ReactiveCrudMethodBuilder()
+				.withConfiguration(configuration)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		Assertions.assertFalse(code.contains("delete("));
+		Assertions.assertTrue(code.contains(".map(entity -> ResponseEntity.ok(entity));"));
+	}
+}
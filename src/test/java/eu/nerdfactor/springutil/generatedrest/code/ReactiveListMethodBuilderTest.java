@@ -0,0 +1,43 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+
+public class ReactiveListMethodBuilderTest {
+
+	@Test
+	void shouldCreateReactiveListMethods() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		new ReactiveListMethodBuilder()
+				.withConfiguration(ExampleConfigurations.reactiveConfiguration())
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expectedAll = """
+				  @GetMapping("/api/example")
+				  public Flux<ExampleDto> all() {
+				    return this.dataAccessor.listData()
+				        .map(entity -> this.dataMapper.map(entity, ExampleDto.class));
+				  }
+				""";
+		String expectedSearch = """
+				  @GetMapping("/api/example/search")
+				  public Flux<ExampleDto> searchAll(@RequestParam(required = false) String filter,
+				      @PageableDefault(size = 20) Pageable pageable) {
+				    Specification<Example> spec = this.specificationBuilder.build(filter, Example.class);
+				    return this.dataAccessor.searchData(spec, pageable)
+				        .map(entity -> this.dataMapper.map(entity, ExampleDto.class));
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expectedAll));
+		Assertions.assertTrue(code.contains(expectedSearch));
+	}
+}
@@ -0,0 +1,55 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.entity.Example;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+
+public class ReactiveRelationMethodBuilderTest {
+
+	@Test
+	void shouldCreateReactiveRelationMethods() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+		new ReactiveRelationMethodBuilder()
+				.withConfiguration(ExampleConfigurations.reactiveConfiguration(ExampleConfigurations.children(), ExampleConfigurations.parent()))
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expectedMultiple = """
+				  @GetMapping("/api/example/{id}/children")
+				  public Flux<Example> getChildren(@PathVariable final Integer id) {
+				    return this.dataAccessor.readData(id)
+				        .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)))
+				        .flatMapIterable(entity -> entity.getChildren())
+				        .map(rel -> rel);
+				  }
+				""";
+		String expectedSingle = """
+				  @GetMapping("/api/example/{id}/parent")
+				  public Mono<ResponseEntity<Example>> getParent(@PathVariable final Integer id) {
+				    return this.dataAccessor.readData(id)
+				        .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)))
+				        .map(entity -> ResponseEntity.of(Optional.ofNullable(entity.getParent()).map(rel -> rel)));
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expectedMultiple));
+		Assertions.assertTrue(code.contains(expectedSingle));
+	}
+
+	@Test
+	void shouldSkipWithoutRelations() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController");
+
+		new ReactiveRelationMethodBuilder()
+				.withConfiguration(ExampleConfigurations.reactiveConfiguration())
+				.build(builder);
+
+		Assertions.assertTrue(builder.methodSpecs.isEmpty());
+	}
+}
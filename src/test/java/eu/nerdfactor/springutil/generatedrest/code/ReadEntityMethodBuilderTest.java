@@ -86,4 +86,54 @@ public class ReadEntityMethodBuilderTest {
 				""";
 		Assertions.assertTrue(code.contains(expected));
 	}
+
+	@Test
+	void shouldCreateMethodUsingVersion() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		ReadEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withUsingDto(false)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withResponseType(ClassName.get(Example.class))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.withVersionAttribute("version")
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @GetMapping("/api/example")
+				  public ResponseEntity<Example> get(@PathVariable final Integer id, WebRequest request) {
+				    DataVersion version = null;
+				    if(request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+				      version = GeneratedQueries.version(this.entityManager, Example.class, id, "version");
+				      if(version == null) {
+				        throw new EntityNotFoundException();
+				      }
+				      if(request.checkNotModified(version.eTag(), version.lastModified())) {
+				        return null;
+				      }
+				    }
+				    Example entity = this.dataAccessor.readData(id);
+				    if(entity == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    Example response = entity;
+				    if(version == null) {
+				      version = DataVersion.of(entity, "version");
+				      request.checkNotModified(version.eTag(), version.lastModified());
+				    }
+				    return new ResponseEntity<>(response, HttpStatus.OK);
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
 }
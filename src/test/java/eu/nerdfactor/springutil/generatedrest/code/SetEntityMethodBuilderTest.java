@@ -43,7 +43,7 @@ public class SetEntityMethodBuilderTest {
 				  @PutMapping("/api/example")
 				  public ResponseEntity<Example> set(@PathVariable final Integer id,
 				      @RequestBody @Valid Example dto) {
-				    Example entity = this.dataAccessor.readData(id);
+				    Example entity = this.dataAccessor.readDataForUpdate(id);
 				    if(entity == null) {
 				      throw new EntityNotFoundException();
 				    }
@@ -82,7 +82,7 @@ public class SetEntityMethodBuilderTest {
 				  @PutMapping("/api/example")
 				  public ResponseEntity<ExampleDto> set(@PathVariable final Integer id,
 				      @RequestBody @Valid ExampleForm dto) {
-				    Example entity = this.dataAccessor.readData(id);
+				    Example entity = this.dataAccessor.readDataForUpdate(id);
 				    if(entity == null) {
 				      throw new EntityNotFoundException();
 				    }
@@ -96,4 +96,48 @@ public class SetEntityMethodBuilderTest {
 		Assertions.assertTrue(code.contains(expected));
 	}
 
+
+	@Test
+	void shouldCreateMethodUsingVersion() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		SetEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withUsingDto(false)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withRequestType(ClassName.get(Example.class))
+				.withResponseType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.withVersionAttribute("version")
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @PutMapping("/api/example")
+				  public ResponseEntity<Example> set(@PathVariable final Integer id,
+				      @RequestBody @Valid Example dto,
+				      @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+				    Example entity = this.dataAccessor.readDataForUpdate(id);
+				    if(entity == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    if(ifMatch != null && !DataVersion.of(entity, "version").matches(ifMatch)) {
+				      return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+				    }
+				    Example changed = dto;
+				    changed = this.dataAccessor.updateData(changed);
+				    Example response = changed;
+				    return ResponseEntity.ok().eTag(DataVersion.of(changed, "version").eTag()).body(response);
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
 }
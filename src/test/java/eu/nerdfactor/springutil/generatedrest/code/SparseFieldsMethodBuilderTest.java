@@ -0,0 +1,96 @@
+package eu.nerdfactor.springutil.generatedrest.code;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import eu.nerdfactor.springutil.generatedrest.config.ControllerConfiguration;
+import eu.nerdfactor.springutil.generatedrest.config.PaginationType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.lang.model.element.Modifier;
+import java.util.List;
+
+public class SparseFieldsMethodBuilderTest {
+
+	@Test
+	void shouldCreateFieldsMethods() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+		ControllerConfiguration configuration = ExampleConfigurations.configuration();
+		configuration.setSparseFields(List.of("id", "name"));
+
+		new SparseFieldsMethodBuilder()
+				.withConfiguration(configuration)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expectedGet = """
+				  @GetMapping(
+				      value = "/api/example/{id}",
+				      params = "fields"
+				  )
+				  public ResponseEntity<Map<String, Object>> getFields(@PathVariable final Integer id,
+				      @RequestParam String fields) {
+				    List<String> selected = GeneratedQueries.selectable(fields, "id", "name");
+				    if(selected == null) {
+				      return ResponseEntity.badRequest().build();
+				    }
+				    Map<String, Object> response = GeneratedQueries.selectOne(this.entityManager, Example.class, id, selected);
+				    if(response == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    return new ResponseEntity<>(response, HttpStatus.OK);
+				  }
+				""";
+		String expectedSearch = """
+				    Specification<Example> spec = this.specificationBuilder.build(filter, Example.class);
+				    Page<Map<String, Object>> responsePage = GeneratedQueries.selectPage(this.entityManager, Example.class, spec, pageable, selected);
+				    return new ResponseEntity<>(responsePage, HttpStatus.OK);
+				""";
+		Assertions.assertTrue(code.contains(expectedGet));
+		Assertions.assertTrue(code.contains("List<Map<String, Object>> responseList = GeneratedQueries.select(this.entityManager, Example.class, null, Sort.unsorted(), selected);"));
+		Assertions.assertTrue(code.contains(expectedSearch));
+	}
+
+	@Test
+	void shouldSelectSlicesWithSlicePagination() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController");
+		ControllerConfiguration configuration = ExampleConfigurations.configuration();
+		configuration.setSparseFields(List.of("id"));
+		configuration.setPagination(PaginationType.SLICE);
+
+		new SparseFieldsMethodBuilder()
+				.withConfiguration(configuration)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		Assertions.assertTrue(code.contains("DataWindow<Map<String, Object>> responsePage = GeneratedQueries.selectSlice(this.entityManager, Example.class, spec, pageable, selected);"));
+	}
+
+	@Test
+	void shouldNotSearchFieldsWithCursorPagination() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController");
+		ControllerConfiguration configuration = ExampleConfigurations.configuration();
+		configuration.setSparseFields(List.of("id"));
+		configuration.setPagination(PaginationType.CURSOR);
+
+		new SparseFieldsMethodBuilder()
+				.withConfiguration(configuration)
+				.build(builder);
+
+		Assertions.assertEquals(List.of("getFields", "allFields"), builder.methodSpecs.stream().map(method -> method.name).toList());
+	}
+
+	@Test
+	void shouldNotCreateMethodsWithoutSparseFields() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController");
+
+		new SparseFieldsMethodBuilder()
+				.withConfiguration(ExampleConfigurations.configuration())
+				.build(builder);
+
+		Assertions.assertTrue(builder.methodSpecs.isEmpty());
+	}
+}
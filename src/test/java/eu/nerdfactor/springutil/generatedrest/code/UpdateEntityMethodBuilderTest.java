@@ -43,7 +43,7 @@ public class UpdateEntityMethodBuilderTest {
 				  @PatchMapping("/api/example")
 				  public ResponseEntity<Example> update(@PathVariable final Integer id,
 				      @RequestBody @Valid Example dto) {
-				    Example entity = this.dataAccessor.readData(id);
+				    Example entity = this.dataAccessor.readDataForUpdate(id);
 				    if(entity == null) {
 				      throw new EntityNotFoundException();
 				    }
@@ -83,7 +83,7 @@ public class UpdateEntityMethodBuilderTest {
 				  @PatchMapping("/api/example")
 				  public ResponseEntity<ExampleDto> update(@PathVariable final Integer id,
 				      @RequestBody @Valid ExampleForm dto) {
-				    Example entity = this.dataAccessor.readData(id);
+				    Example entity = this.dataAccessor.readDataForUpdate(id);
 				    if(entity == null) {
 				      throw new EntityNotFoundException();
 				    }
@@ -97,4 +97,160 @@ public class UpdateEntityMethodBuilderTest {
 				""";
 		Assertions.assertTrue(code.contains(expected));
 	}
+
+	@Test
+	void shouldCreateMethodUsingVersion() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		UpdateEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withUsingDto(false)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withRequestType(ClassName.get(Example.class))
+				.withResponseType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.withVersionAttribute("version")
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @PatchMapping("/api/example")
+				  public ResponseEntity<Example> update(@PathVariable final Integer id,
+				      @RequestBody @Valid Example dto,
+				      @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+				    Example entity = this.dataAccessor.readDataForUpdate(id);
+				    if(entity == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    if(ifMatch != null && !DataVersion.of(entity, "version").matches(ifMatch)) {
+				      return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+				    }
+				    Example changed = dto;
+				    Example updated = this.dataMerger.merge(entity, changed);
+				    updated = this.dataAccessor.updateData(updated);
+				    Example response = updated;
+				    return ResponseEntity.ok().eTag(DataVersion.of(updated, "version").eTag()).body(response);
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldCreateMethodUsingPartialUpdate() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		UpdateEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withUsingDto(true)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withRequestType(ClassName.get(ExampleForm.class))
+				.withResponseType(ClassName.get(ExampleDto.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.withUsingPartialUpdate(true)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				  public ResponseEntity<ExampleDto> update(@PathVariable final Integer id,
+				      @RequestBody @Valid @PartialDocument ExampleForm dto) {
+				    Example entity = this.dataAccessor.readDataForUpdate(id);
+				    if(entity == null) {
+				      throw new EntityNotFoundException();
+				    }
+				    Example changed = this.dataMapper.map(dto, Example.class);
+				    Example updated = this.dataMerger.merge(entity, changed, DataDocument.properties(dto));
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldCreateMethodUsingDirectUpdate() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		UpdateEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withUsingDto(true)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withRequestType(ClassName.get(ExampleForm.class))
+				.withResponseType(ClassName.get(ExampleDto.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.withUsingDirectUpdate(true)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @PatchMapping("/api/example")
+				  @Transactional
+				  public ResponseEntity<ExampleDto> update(@PathVariable final Integer id,
+				      @RequestBody @Valid ExampleForm dto,
+				      @RequestHeader(value = "Prefer", required = false) String prefer) {
+				    Example changed = this.dataMapper.map(dto, Example.class);
+				    int updatedRows = GeneratedQueries.update(this.entityManager, Example.class, id, changed, null, null, null);
+				    if(updatedRows == 0) {
+				      throw new EntityNotFoundException();
+				    }
+				    if(prefer == null || !prefer.contains("return=representation")) {
+				      return ResponseEntity.noContent().build();
+				    }
+				    Example updated = this.entityManager.find(Example.class, id);
+				    ExampleDto response = this.dataMapper.map(updated, ExampleDto.class);
+				    return new ResponseEntity<>(response, HttpStatus.OK);
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldCreateMethodUsingDirectUpdateAndVersion() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		UpdateEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withUsingDto(false)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withRequestType(ClassName.get(Example.class))
+				.withResponseType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.withVersionAttribute("version")
+				.withUsingDirectUpdate(true)
+				.build(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				    if(prefer == null || !prefer.contains("return=representation")) {
+				      return ResponseEntity.noContent().eTag(GeneratedQueries.version(this.entityManager, Example.class, id, "version").eTag()).build();
+				    }
+				    Example updated = this.entityManager.find(Example.class, id);
+				    Example response = updated;
+				    return ResponseEntity.ok().eTag(DataVersion.of(updated, "version").eTag()).body(response);
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
 }
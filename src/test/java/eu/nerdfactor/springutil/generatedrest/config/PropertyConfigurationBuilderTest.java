@@ -0,0 +1,168 @@
+package eu.nerdfactor.springutil.generatedrest.config;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+public class PropertyConfigurationBuilderTest {
+
+	private static final String ENTITY = """
+			package test;
+			public class Entity extends Base {
+				private Integer count;
+				private long total;
+				private Author author;
+				private String name;
+				public final String code = "x";
+				public Integer getCount() { return count; }
+				public void setCount(Integer count) { this.count = count; }
+				public long getTotal() { return total; }
+				public void setTotal(long total) { this.total = total; }
+				public Author getAuthor() { return author; }
+				public void setAuthor(Author author) { this.author = author; }
+				public String getName() { return name; }
+				public void setName(String name) { this.name = name; }
+				public String getComputed() { return name + count; }
+			}
+			""";
+
+	private static final String DTO = """
+			package test;
+			public class Dto {
+				public int count;
+				public Long total;
+				public AuthorDto author;
+				public String name;
+				public String code;
+				private String computed;
+				public String getComputed() { return computed; }
+				public long id;
+			}
+			""";
+
+	private static final String BASE = """
+			package test;
+			public class Base {
+				private long id;
+				public long getId() { return id; }
+				public void setId(long id) { this.id = id; }
+			}
+			""";
+
+	private static final String AUTHOR = """
+			package test;
+			public class Author {
+				public String name;
+			}
+			""";
+
+	private static final String AUTHOR_DTO = """
+			package test;
+			public class AuthorDto {
+				public String name;
+			}
+			""";
+
+	@Test
+	void shouldMarkBoxedPropertiesWrittenAsPrimitives() {
+		Map<String, PropertyConfiguration> properties = this.build("test.Entity", "test.Dto");
+
+		Assertions.assertTrue(properties.get("count").isUnboxed());
+		Assertions.assertEquals(TypeName.INT, properties.get("count").getType());
+		Assertions.assertEquals("getCount", properties.get("count").getGetter());
+		Assertions.assertNull(properties.get("count").getSetter());
+		// Primitives can always be boxed.
+		Assertions.assertFalse(properties.get("total").isUnboxed());
+		Assertions.assertEquals(ClassName.get(Long.class), properties.get("total").getType());
+	}
+
+	@Test
+	void shouldMatchInheritedProperties() {
+		Map<String, PropertyConfiguration> properties = this.build("test.Dto", "test.Entity");
+
+		Assertions.assertEquals("setId", properties.get("id").getSetter());
+		Assertions.assertNull(properties.get("id").getGetter());
+		Assertions.assertFalse(properties.get("id").isUnboxed());
+		Assertions.assertTrue(this.build("test.Entity", "test.Dto").containsKey("id"));
+	}
+
+	@Test
+	void shouldSkipNestedObjectsOfDifferentTypes() {
+		Assertions.assertFalse(this.build("test.Entity", "test.Dto").containsKey("author"));
+		Assertions.assertTrue(this.build("test.Entity", "test.Entity").containsKey("author"));
+	}
+
+	@Test
+	void shouldSkipPropertiesWithoutSetter() {
+		// "computed" has no setter in either class and "code" is a final field of the entity.
+		Assertions.assertFalse(this.build("test.Entity", "test.Dto").containsKey("computed"));
+		Assertions.assertFalse(this.build("test.Dto", "test.Entity").containsKey("computed"));
+		Assertions.assertFalse(this.build("test.Dto", "test.Entity").containsKey("code"));
+		Assertions.assertTrue(this.build("test.Entity", "test.Dto").containsKey("code"));
+	}
+
+	/**
+	 * Compile the test classes with a processor that builds the matching
+	 * properties between the source and target class.
+	 */
+	private Map<String, PropertyConfiguration> build(String source, String target) {
+		AtomicReference<MappingConfiguration> mapping = new AtomicReference<>();
+		AbstractProcessor processor = new AbstractProcessor() {
+			@Override
+			public Set<String> getSupportedAnnotationTypes() {
+				return Set.of("*");
+			}
+
+			@Override
+			public SourceVersion getSupportedSourceVersion() {
+				return SourceVersion.latestSupported();
+			}
+
+			@Override
+			public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+				if (mapping.get() == null) {
+					mapping.set(new PropertyConfigurationBuilder()
+							.withUtils(this.processingEnv.getElementUtils())
+							.buildMatching(ClassName.bestGuess(source), ClassName.bestGuess(target)));
+				}
+				return false;
+			}
+		};
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, null, List.of("-proc:only"), null, List.of(
+				this.source("test.Entity", ENTITY),
+				this.source("test.Dto", DTO),
+				this.source("test.Base", BASE),
+				this.source("test.Author", AUTHOR),
+				this.source("test.AuthorDto", AUTHOR_DTO)
+		));
+		task.setProcessors(List.of(processor));
+		Assertions.assertTrue(task.call());
+		return mapping.get().getProperties().stream().collect(Collectors.toMap(PropertyConfiguration::getName, property -> property));
+	}
+
+	private JavaFileObject source(String name, String code) {
+		return new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return code;
+			}
+		};
+	}
+}
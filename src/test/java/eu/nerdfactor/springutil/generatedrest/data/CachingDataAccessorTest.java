@@ -0,0 +1,64 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingDataAccessorTest {
+
+	@Mock
+	private DataAccessor<AtomicInteger, Integer> dataAccessor;
+
+	@Test
+	void shouldNotShareEntitiesReadForUpdate() {
+		CachingDataAccessor<AtomicInteger, Integer> accessor = new CachingDataAccessor<>(this.dataAccessor, AtomicInteger::get, 10, Duration.ZERO);
+		Mockito.when(this.dataAccessor.readData(1)).thenReturn(new AtomicInteger(1));
+		Mockito.when(this.dataAccessor.readDataForUpdate(1)).thenReturn(new AtomicInteger(1));
+		AtomicInteger cached = accessor.readData(1);
+
+		AtomicInteger changed = accessor.readDataForUpdate(1);
+
+		Assertions.assertNotSame(cached, changed);
+		Assertions.assertEquals(0, accessor.cache.size());
+	}
+
+	@Test
+	void shouldReadRelationsOfCachedEntity() {
+		CachingDataAccessor<AtomicInteger, Integer> accessor = new CachingDataAccessor<>(this.dataAccessor, AtomicInteger::get, 10, Duration.ZERO);
+		Mockito.when(this.dataAccessor.readDataWithRelations(1, "children")).thenReturn(new AtomicInteger(1));
+		AtomicInteger read = accessor.readDataWithRelations(1, "children");
+
+		AtomicInteger cached = accessor.readDataWithRelations(1, "children");
+
+		Assertions.assertSame(read, cached);
+		Assertions.assertSame(read, accessor.readData(1));
+		Mockito.verify(this.dataAccessor, Mockito.times(1)).readDataWithRelations(1, "children");
+	}
+
+	@Test
+	void shouldInvalidateChangedEntitiesAfterCommit() {
+		CachingDataAccessor<AtomicInteger, Integer> accessor = new CachingDataAccessor<>(this.dataAccessor, AtomicInteger::get, 10, Duration.ZERO);
+		Mockito.when(this.dataAccessor.readData(1)).thenReturn(new AtomicInteger(1));
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			accessor.deleteDataById(1);
+			accessor.readData(1);
+			Assertions.assertEquals(1, accessor.cache.size());
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+			Assertions.assertEquals(0, accessor.cache.size());
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+public class DataAccessorTest {
+
+	private final DataAccessor<Integer, Integer> accessor = new DataAccessor<>() {
+
+		private final List<Integer> data = IntStream.range(0, 25).boxed().toList();
+
+		@Override
+		public Iterable<Integer> listData() {
+			return this.data;
+		}
+
+		@Override
+		public Page<Integer> searchData(Specification<Integer> spec, Pageable page) {
+			return InMemoryDataSearch.search(this.data, spec, page);
+		}
+
+		@Override
+		public Integer createData(@NotNull Integer entity) {
+			return entity;
+		}
+
+		@Override
+		public Integer readData(Integer id) {
+			return id;
+		}
+
+		@Override
+		public Integer updateData(@NotNull Integer entity) {
+			return entity;
+		}
+
+		@Override
+		public void deleteData(@NotNull Integer entity) {
+		}
+
+		@Override
+		public void deleteDataById(@NotNull Integer id) {
+		}
+	};
+
+	@Test
+	void shouldScrollWithOffsetsByDefault() {
+		Window<Integer> first = this.accessor.scrollData(null, ScrollPosition.keyset(), PageRequest.ofSize(10));
+		Assertions.assertEquals(IntStream.range(0, 10).boxed().toList(), first.getContent());
+		Assertions.assertTrue(first.hasNext());
+
+		ScrollPosition next = DataCursor.decode(DataCursor.encode(first.positionAt(first.size() - 1)));
+		Window<Integer> second = this.accessor.scrollData(null, next, PageRequest.ofSize(10));
+		Assertions.assertEquals(IntStream.range(10, 20).boxed().toList(), second.getContent());
+
+		Window<Integer> last = this.accessor.scrollData(null, second.positionAt(second.size() - 1), PageRequest.ofSize(10));
+		Assertions.assertEquals(IntStream.range(20, 25).boxed().toList(), last.getContent());
+		Assertions.assertFalse(last.hasNext());
+	}
+
+	@Test
+	void shouldRejectPositionsThatCantBeContinued() {
+		Assertions.assertThrows(MalformedCursorException.class, () -> this.accessor.scrollData(null, ScrollPosition.forward(Map.of("id", 1)), PageRequest.ofSize(10)));
+		Assertions.assertThrows(MalformedCursorException.class, () -> this.accessor.scrollData(null, ScrollPosition.offset(5), PageRequest.ofSize(10)));
+	}
+}
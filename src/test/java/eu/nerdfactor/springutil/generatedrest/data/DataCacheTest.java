@@ -0,0 +1,103 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DataCacheTest {
+
+	@Test
+	void shouldLoadOnceAndCountHits() {
+		DataCache<Integer, String> cache = new DataCache<>(10, Duration.ZERO);
+		AtomicInteger loads = new AtomicInteger();
+
+		Assertions.assertEquals("1", cache.get(1, key -> String.valueOf(loads.incrementAndGet())));
+		Assertions.assertEquals("1", cache.get(1, key -> String.valueOf(loads.incrementAndGet())));
+
+		Assertions.assertEquals(1, loads.get());
+		Assertions.assertEquals(new DataCache.Stats(1, 1, 0), cache.stats());
+		Assertions.assertEquals(0.5, cache.stats().hitRate());
+	}
+
+	@Test
+	void shouldNotCacheNullValues() {
+		DataCache<Integer, String> cache = new DataCache<>(10, Duration.ZERO);
+
+		Assertions.assertNull(cache.get(1, key -> null));
+
+		Assertions.assertEquals(0, cache.size());
+	}
+
+	@Test
+	void shouldExpireEntries() throws InterruptedException {
+		DataCache<Integer, String> cache = new DataCache<>(10, Duration.ofMillis(1));
+		cache.put(1, "1");
+
+		Thread.sleep(5);
+
+		Assertions.assertNull(cache.getIfPresent(1));
+		Assertions.assertEquals(0, cache.size());
+	}
+
+	@Test
+	void shouldNotCacheValuesLoadedBeforeInvalidation() {
+		DataCache<Integer, String> cache = new DataCache<>(10, Duration.ZERO);
+
+		String loaded = cache.get(1, key -> {
+			// The entity is changed while the old state is still loading.
+			cache.invalidate(key);
+			return "old";
+		});
+
+		Assertions.assertEquals("old", loaded);
+		Assertions.assertNull(cache.getIfPresent(1));
+	}
+
+	@Test
+	void shouldKeepFrequentEntriesOverOneTimeEntries() {
+		DataCache<Integer, String> cache = new DataCache<>(100, Duration.ZERO);
+		for (int i = 0; i < 100; i++) {
+			cache.put(i, String.valueOf(i));
+		}
+		for (int round = 0; round < 5; round++) {
+			for (int i = 0; i < 100; i++) {
+				cache.getIfPresent(i);
+			}
+		}
+
+		for (int i = 1000; i < 2000; i++) {
+			cache.put(i, String.valueOf(i));
+		}
+
+		int kept = 0;
+		for (int i = 0; i < 100; i++) {
+			if (cache.getIfPresent(i) != null) {
+				kept++;
+			}
+		}
+		Assertions.assertTrue(kept >= 90, "Only " + kept + " frequent entries were kept.");
+		Assertions.assertTrue(cache.size() <= 100);
+		Assertions.assertTrue(cache.stats().evictions() > 0);
+	}
+
+	@Test
+	void shouldRemoveInvalidatedEntries() {
+		DataCache<Integer, String> cache = new DataCache<>(10, Duration.ZERO);
+		cache.put(1, "1");
+		cache.put(2, "2");
+
+		cache.invalidate(1);
+		Assertions.assertNull(cache.getIfPresent(1));
+		Assertions.assertEquals("2", cache.getIfPresent(2));
+
+		cache.invalidateAll();
+		Assertions.assertEquals(0, cache.size());
+	}
+
+	@Test
+	void shouldRejectInvalidSize() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new DataCache<>(0, Duration.ZERO));
+	}
+}
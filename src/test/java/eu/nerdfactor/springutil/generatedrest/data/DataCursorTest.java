@@ -0,0 +1,120 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class DataCursorTest {
+
+	@Test
+	void shouldDecodeEncodedKeys() {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("title", "A & B = C");
+		keys.put("id", 42);
+		keys.put("price", new BigDecimal("9.99"));
+		keys.put("published", LocalDate.of(2024, 1, 31));
+		keys.put("uuid", UUID.fromString("3f1b4b5e-4a6c-4c3e-9d1a-0c2d2e6f7a8b"));
+
+		ScrollPosition position = DataCursor.decode(DataCursor.encode(ScrollPosition.forward(keys)));
+
+		Assertions.assertInstanceOf(KeysetScrollPosition.class, position);
+		Assertions.assertEquals(keys, ((KeysetScrollPosition) position).getKeys());
+	}
+
+	@Test
+	void shouldDecodeEncodedDatesAndEnums() {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("created", new Date(1706659200123L));
+		keys.put("status", Status.ARCHIVED);
+		keys.put("id", 7L);
+
+		ScrollPosition position = DataCursor.decode(DataCursor.encode(ScrollPosition.forward(keys)), Document.class, Sort.by("created", "status"));
+
+		Assertions.assertEquals(keys, ((KeysetScrollPosition) position).getKeys());
+	}
+
+	@Test
+	void shouldNotDecodeEnumsWithoutEntity() {
+		String cursor = DataCursor.encode(ScrollPosition.forward(Map.of("status", Status.ACTIVE)));
+
+		Assertions.assertThrows(MalformedCursorException.class, () -> DataCursor.decode(cursor));
+		Assertions.assertThrows(MalformedCursorException.class, () -> DataCursor.decode(encode("status=e:UNKNOWN"), Document.class, Sort.unsorted()));
+		Assertions.assertThrows(MalformedCursorException.class, () -> DataCursor.decode(encode("id=e:ACTIVE"), Document.class, Sort.unsorted()));
+	}
+
+	@Test
+	void shouldRejectSortsThatCantBeEncoded() {
+		Assertions.assertThrows(MalformedCursorException.class, () -> DataCursor.decode(null, Document.class, Sort.by("payload")));
+		Assertions.assertThrows(MalformedCursorException.class, () -> DataCursor.decode(null, Document.class, Sort.by("missing")));
+		Assertions.assertTrue(DataCursor.decode(null, Document.class, Sort.by("id", "created", "status")).isInitial());
+	}
+
+	@Test
+	void shouldDecodeEncodedNullKeys() {
+		Map<String, Object> keys = new HashMap<>();
+		keys.put("title", null);
+
+		ScrollPosition position = DataCursor.decode(DataCursor.encode(ScrollPosition.forward(keys)));
+
+		Assertions.assertEquals(keys, ((KeysetScrollPosition) position).getKeys());
+	}
+
+	@Test
+	void shouldDecodeEncodedOffset() {
+		ScrollPosition position = DataCursor.decode(DataCursor.encode(ScrollPosition.offset(40)));
+
+		Assertions.assertInstanceOf(OffsetScrollPosition.class, position);
+		Assertions.assertEquals(40, ((OffsetScrollPosition) position).getOffset());
+	}
+
+	@Test
+	void shouldDecodeMissingCursorToInitialPosition() {
+		Assertions.assertTrue(DataCursor.decode(null).isInitial());
+		Assertions.assertTrue(DataCursor.decode(" ").isInitial());
+	}
+
+	@Test
+	void shouldRejectMalformedCursors() {
+		Assertions.assertThrows(MalformedCursorException.class, () -> DataCursor.decode("not base64!"));
+		Assertions.assertThrows(MalformedCursorException.class, () -> DataCursor.decode(encode("id")));
+		Assertions.assertThrows(MalformedCursorException.class, () -> DataCursor.decode(encode("=i:1")));
+		Assertions.assertThrows(MalformedCursorException.class, () -> DataCursor.decode(encode("id=x:1")));
+		Assertions.assertThrows(MalformedCursorException.class, () -> DataCursor.decode(encode("id=i:one")));
+		Assertions.assertThrows(MalformedCursorException.class, () -> DataCursor.decode(encode("@-1")));
+		Assertions.assertThrows(MalformedCursorException.class, () -> DataCursor.decode(encode("@ten")));
+	}
+
+	@Test
+	void shouldNotEncodeUnsupportedValues() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> DataCursor.encode(ScrollPosition.forward(Map.of("id", new Object()))));
+	}
+
+	enum Status {
+		ACTIVE, ARCHIVED
+	}
+
+	static class Document {
+
+		long id;
+		Date created;
+		Status status;
+		Object payload;
+	}
+
+	private static String encode(String decoded) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,68 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class DataDocumentTest {
+
+	@AfterEach
+	void resetRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void shouldTranslateJsonNamesIntoPropertyNames() {
+		ObjectMapper objectMapper = new ObjectMapper();
+		Form form = new Form();
+
+		DataDocument<Form> document = DataDocument.of(objectMapper, objectMapper.constructType(Form.class), form, List.of("book_title", "pages"));
+
+		Assertions.assertEquals(Set.of("title", "pages"), document.properties());
+	}
+
+	@Test
+	void shouldFindPropertyNamesOfNamingStrategy() {
+		ObjectMapper objectMapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.UPPER_CAMEL_CASE);
+
+		Map<String, String> names = DataDocument.names(objectMapper, objectMapper.constructType(Form.class));
+
+		Assertions.assertEquals(Map.of("book_title", "title", "Pages", "pages"), names);
+	}
+
+	@Test
+	void shouldOnlyFindPropertiesOfRecordedValue() {
+		RequestAttributes attributes = Mockito.mock(RequestAttributes.class);
+		RequestContextHolder.setRequestAttributes(attributes);
+		ObjectMapper objectMapper = new ObjectMapper();
+		Form form = new Form();
+
+		DataDocument.record(DataDocument.of(objectMapper, objectMapper.constructType(Form.class), form, List.of("pages")));
+		ArgumentCaptor<Object> document = ArgumentCaptor.forClass(Object.class);
+		Mockito.verify(attributes).setAttribute(Mockito.eq(DataDocument.class.getName()), document.capture(), Mockito.eq(RequestAttributes.SCOPE_REQUEST));
+		Mockito.when(attributes.getAttribute(DataDocument.class.getName(), RequestAttributes.SCOPE_REQUEST)).thenReturn(document.getValue());
+
+		Assertions.assertEquals(Set.of("pages"), DataDocument.properties(form));
+		Assertions.assertNull(DataDocument.properties(new Form()));
+		Assertions.assertNull(DataDocument.properties(null));
+	}
+
+	public static class Form {
+
+		@JsonProperty("book_title")
+		public String title;
+
+		public int pages;
+	}
+}
@@ -0,0 +1,128 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class FilterConditionTest {
+
+	public enum Status {OPEN, CLOSED, DRAFT}
+
+	public static class Article {
+
+		public String name;
+		public int views;
+		public boolean published;
+		public LocalDate created;
+		public Status status;
+		public Article author;
+
+		public Article(String name, int views, LocalDate created, Status status) {
+			this.name = name;
+			this.views = views;
+			this.created = created;
+			this.status = status;
+		}
+	}
+
+	@Mock
+	Root<Article> root;
+
+	@Mock
+	Path<Object> path;
+
+	@Mock
+	Expression<String> expression;
+
+	@Mock
+	CriteriaBuilder cb;
+
+	private final Article article = new Article("Spring 50% off", 18, LocalDate.of(2020, 6, 1), Status.OPEN);
+
+	@Test
+	void shouldConvertValuesIntoPropertyTypes() {
+		Assertions.assertTrue(this.matches("views:18"));
+		Assertions.assertFalse(this.matches("views:19"));
+		Assertions.assertTrue(this.matches("views>=18"));
+		Assertions.assertFalse(this.matches("views>18"));
+		Assertions.assertTrue(this.matches("views<19"));
+		Assertions.assertTrue(this.matches("published:FALSE"));
+		Assertions.assertTrue(this.matches("status:OPEN"));
+	}
+
+	@Test
+	void shouldDetectNestedProperties() {
+		Assertions.assertFalse(new FilterCondition("title", FilterOperator.EQUAL, List.of("a")).isNested());
+		Assertions.assertTrue(new FilterCondition("author.name", FilterOperator.EQUAL, List.of("a")).isNested());
+	}
+
+	@Test
+	void shouldMatchRanges() {
+		Assertions.assertTrue(this.matches("created:2020-01-01..2020-12-31"));
+		Assertions.assertTrue(this.matches("created:2020-06-01..2020-06-01"));
+		Assertions.assertFalse(this.matches("created:2021-01-01..2021-12-31"));
+	}
+
+	@Test
+	void shouldMatchLists() {
+		Assertions.assertTrue(this.matches("status:OPEN,CLOSED"));
+		Assertions.assertFalse(this.matches("status:DRAFT,CLOSED"));
+		Assertions.assertTrue(this.matches("status!DRAFT,CLOSED"));
+		Assertions.assertFalse(this.matches("status!OPEN,CLOSED"));
+	}
+
+	@Test
+	void shouldMatchNullValues() {
+		Assertions.assertTrue(this.matches("author:null"));
+		Assertions.assertFalse(this.matches("author!null"));
+		// Missing values on the path never match a comparison.
+		Assertions.assertFalse(this.matches("author.views>0"));
+		Assertions.assertTrue(this.matches("author.name:null"));
+	}
+
+	@Test
+	void shouldMatchLikeWithWildcardsOnly() {
+		Assertions.assertTrue(this.matches("name~Spring*"));
+		Assertions.assertTrue(this.matches("name~*50% off"));
+		Assertions.assertFalse(this.matches("name~Spring_50*"));
+		Assertions.assertFalse(this.matches("name~spring*"));
+	}
+
+	@Test
+	void shouldEscapeLikePatterns() {
+		Mockito.when(this.root.get("name")).thenReturn(this.path);
+		Mockito.when(this.path.as(String.class)).thenReturn(this.expression);
+
+		this.condition("name~50%_*\\").toSpecification(Article.class).toPredicate(this.root, null, this.cb);
+
+		Mockito.verify(this.cb).like(this.expression, "50\\%\\_%\\\\", '\\');
+	}
+
+	@Test
+	void shouldRejectConditionsThatDontMatchTheEntity() {
+		for (String filter : List.of("unknown:1", "author.unknown:1", "views:many", "views:1.5", "published:yes", "created:June", "status:DELETED", "views>null", "status:OPEN,null", "author>1")) {
+			Assertions.assertThrows(MalformedFilterException.class, () -> this.condition(filter).toSpecification(Article.class), filter);
+		}
+	}
+
+	private boolean matches(String filter) {
+		return this.condition(filter).toSpecification(Article.class).test(this.article);
+	}
+
+	private FilterCondition condition(String filter) {
+		List<FilterCondition> conditions = FilterParser.parse(filter);
+		Assertions.assertEquals(1, conditions.size());
+		return conditions.get(0);
+	}
+}
@@ -0,0 +1,71 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FilterParserTest {
+
+	@Test
+	void shouldParseOperators() {
+		List<FilterCondition> conditions = FilterParser.parse("a:1;b!2;c>3;d>=4;e<5;f<=6;g~7*");
+
+		Assertions.assertEquals(List.of(
+				new FilterCondition("a", FilterOperator.EQUAL, List.of("1")),
+				new FilterCondition("b", FilterOperator.NOT_EQUAL, List.of("2")),
+				new FilterCondition("c", FilterOperator.GREATER_THAN, List.of("3")),
+				new FilterCondition("d", FilterOperator.GREATER_THAN_OR_EQUAL, List.of("4")),
+				new FilterCondition("e", FilterOperator.LESS_THAN, List.of("5")),
+				new FilterCondition("f", FilterOperator.LESS_THAN_OR_EQUAL, List.of("6")),
+				new FilterCondition("g", FilterOperator.LIKE, List.of("7*"))
+		), conditions);
+	}
+
+	@Test
+	void shouldParseRangesAndLists() {
+		List<FilterCondition> conditions = FilterParser.parse("created:2020-01-01..2020-12-31;status:OPEN,CLOSED;status!DRAFT,DELETED");
+
+		Assertions.assertEquals(List.of(
+				new FilterCondition("created", FilterOperator.BETWEEN, List.of("2020-01-01", "2020-12-31")),
+				new FilterCondition("status", FilterOperator.IN, List.of("OPEN", "CLOSED")),
+				new FilterCondition("status", FilterOperator.NOT_IN, List.of("DRAFT", "DELETED"))
+		), conditions);
+	}
+
+	@Test
+	void shouldParseQuotedValues() {
+		List<FilterCondition> conditions = FilterParser.parse("title:\"a;b,c..d\";quote:\"say \\\"hi\\\" \\\\\";name:\"null\"");
+
+		Assertions.assertEquals(List.of(
+				new FilterCondition("title", FilterOperator.EQUAL, List.of("a;b,c..d")),
+				new FilterCondition("quote", FilterOperator.EQUAL, List.of("say \"hi\" \\")),
+				new FilterCondition("name", FilterOperator.EQUAL, List.of("null"))
+		), conditions);
+	}
+
+	@Test
+	void shouldParseNullAndWhitespace() {
+		List<FilterCondition> conditions = FilterParser.parse("  name : null ;  author.name ~ Jo* ");
+
+		Assertions.assertEquals(List.of(
+				new FilterCondition("name", FilterOperator.EQUAL, Arrays.asList((String) null)),
+				new FilterCondition("author.name", FilterOperator.LIKE, List.of("Jo*"))
+		), conditions);
+	}
+
+	@Test
+	void shouldParseSeparatorsWithoutConditions() {
+		Assertions.assertTrue(FilterParser.parse("").isEmpty());
+		Assertions.assertTrue(FilterParser.parse(";").isEmpty());
+		Assertions.assertTrue(FilterParser.parse(" ; ; ").isEmpty());
+	}
+
+	@Test
+	void shouldRejectMalformedFilters() {
+		for (String filter : List.of("name", ":value", "name:", "name=value", "a:1;;b", "a>1..2", "a:1..2..3", "a:1..2,3", "a>1,2", "a~x,y", "title:\"open", "a:1,")) {
+			Assertions.assertThrows(MalformedFilterException.class, () -> FilterParser.parse(filter), filter);
+		}
+	}
+}
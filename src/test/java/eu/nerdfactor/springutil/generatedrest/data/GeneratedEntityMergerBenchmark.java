@@ -0,0 +1,168 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the merge plans of GeneratedEntityMerger with the former
+ * implementation, that looked up the methods on every merge.
+ * <br>
+ * Run with: mvn -Pbenchmark test-compile exec:java
+ *
+ * @author Daniel Klug
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratedEntityMergerBenchmark {
+
+	private final GeneratedEntityMerger merger = new GeneratedEntityMerger();
+	private final LegacyEntityMerger legacyMerger = new LegacyEntityMerger();
+
+	private BenchmarkEntity original;
+	private BenchmarkEntity updated;
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(GeneratedEntityMergerBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.original = new BenchmarkEntity();
+		this.original.setId(1);
+		this.original.setName("original");
+		this.updated = new BenchmarkEntity();
+		this.updated.setName("updated");
+		this.updated.setDescription("description");
+		this.updated.setAmount(42);
+		this.updated.setCreated(LocalDate.of(2020, 1, 1));
+		this.updated.setTags(List.of("a", "b"));
+	}
+
+	@Benchmark
+	public BenchmarkEntity mergePlan() {
+		return this.merger.merge(this.original, this.updated);
+	}
+
+	@Benchmark
+	public BenchmarkEntity legacyReflection() {
+		return this.legacyMerger.merge(this.original, this.updated);
+	}
+
+	public static class BenchmarkEntity {
+
+		private Integer id;
+		private String name;
+		private String description;
+		private int amount;
+		private boolean active;
+		private LocalDate created;
+		private List<String> tags;
+
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getDescription() {
+			return description;
+		}
+
+		public void setDescription(String description) {
+			this.description = description;
+		}
+
+		public int getAmount() {
+			return amount;
+		}
+
+		public void setAmount(int amount) {
+			this.amount = amount;
+		}
+
+		public boolean isActive() {
+			return active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+
+		public LocalDate getCreated() {
+			return created;
+		}
+
+		public void setCreated(LocalDate created) {
+			this.created = created;
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+	}
+
+	/**
+	 * The former implementation of GeneratedEntityMerger as baseline.
+	 */
+	public static class LegacyEntityMerger implements DataMerger {
+
+		@Override
+		public <T> T merge(T original, T updated) {
+			Method[] methods = original.getClass().getDeclaredMethods();
+			for (Method m : methods) {
+				String name = m.getName();
+				try {
+					String setter = name;
+					Class<?> type = m.getReturnType();
+					Object value = null;
+					if (name.startsWith("get") && m.getParameterCount() == 0) {
+						value = m.invoke(updated);
+						setter = name.replace("get", "set");
+					}
+					if (name.startsWith("is") && m.getParameterCount() == 0) {
+						value = m.invoke(updated);
+						setter = name.replace("is", "set");
+					}
+					if (value != null && (type == String.class && !value.equals(""))) {
+						try {
+							Method method = original.getClass().getMethod(setter, type);
+							method.invoke(original, value);
+						} catch (NoSuchMethodException | SecurityException | IllegalAccessError | IllegalAccessException |
+						         InvocationTargetException e) {
+							// setter may not exist or can't be accessed.
+						}
+					}
+				} catch (Exception e) {
+					// merge may fail.
+				}
+			}
+			return original;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Version;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class GeneratedEntityMergerTest {
+
+	private final GeneratedEntityMerger merger = new GeneratedEntityMerger();
+
+	@Test
+	void shouldMergeSetValues() {
+		MergedEntity original = MergedEntity.of(1, "original", 5, true);
+		MergedEntity updated = MergedEntity.of(0, "updated", 0, false);
+
+		this.merger.merge(original, updated);
+
+		Assertions.assertEquals("updated", original.getName());
+		Assertions.assertEquals(5, original.getAmount());
+		Assertions.assertTrue(original.isActive());
+	}
+
+	@Test
+	void shouldNotMergeIdVersionOrRelations() {
+		MergedEntity original = MergedEntity.of(1, "original", 5, true);
+		original.setVersion(3L);
+		original.getChildren().add(new MergedChild());
+		MergedEntity updated = MergedEntity.of(2, "updated", 6, true);
+		updated.setVersion(7L);
+		updated.setChildren(new ArrayList<>(List.of(new MergedChild(), new MergedChild())));
+		updated.setParent(new MergedChild());
+
+		this.merger.merge(original, updated, Set.of("id", "version", "children", "parent", "name"));
+
+		Assertions.assertEquals(1, original.getId());
+		Assertions.assertEquals(3L, original.getVersion());
+		Assertions.assertEquals(1, original.getChildren().size());
+		Assertions.assertNull(original.getParent());
+		Assertions.assertEquals("updated", original.getName());
+	}
+
+	@Test
+	void shouldMergePresentDefaultValues() {
+		MergedEntity original = MergedEntity.of(1, "original", 5, true);
+		MergedEntity updated = MergedEntity.of(0, "", 0, false);
+
+		this.merger.merge(original, updated, Set.of("amount", "active"));
+
+		Assertions.assertEquals(0, original.getAmount());
+		Assertions.assertFalse(original.isActive());
+		Assertions.assertEquals("original", original.getName());
+	}
+
+	@Test
+	void shouldNotMergePresentNullValues() {
+		MergedEntity original = MergedEntity.of(1, "original", 5, true);
+		MergedEntity updated = MergedEntity.of(0, null, 5, true);
+
+		this.merger.merge(original, updated, Set.of("name"));
+
+		Assertions.assertEquals("original", original.getName());
+	}
+
+	@Entity
+	public static class MergedEntity {
+
+		@Id
+		private int id;
+		@Version
+		private Long version;
+		private String name;
+		private int amount;
+		private boolean active;
+		@OneToMany
+		private List<MergedChild> children = new ArrayList<>();
+		private MergedChild parent;
+
+		static MergedEntity of(int id, String name, int amount, boolean active) {
+			MergedEntity entity = new MergedEntity();
+			entity.setId(id);
+			entity.setName(name);
+			entity.setAmount(amount);
+			entity.setActive(active);
+			return entity;
+		}
+
+		public int getId() {
+			return this.id;
+		}
+
+		public void setId(int id) {
+			this.id = id;
+		}
+
+		public Long getVersion() {
+			return this.version;
+		}
+
+		public void setVersion(Long version) {
+			this.version = version;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAmount() {
+			return this.amount;
+		}
+
+		public void setAmount(int amount) {
+			this.amount = amount;
+		}
+
+		public boolean isActive() {
+			return this.active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+
+		public List<MergedChild> getChildren() {
+			return this.children;
+		}
+
+		public void setChildren(List<MergedChild> children) {
+			this.children = children;
+		}
+
+		public MergedChild getParent() {
+			return this.parent;
+		}
+
+		public void setParent(MergedChild parent) {
+			this.parent = parent;
+		}
+	}
+
+	@Entity
+	public static class MergedChild {
+	}
+}
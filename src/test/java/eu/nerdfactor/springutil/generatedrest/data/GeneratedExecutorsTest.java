@@ -0,0 +1,51 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class GeneratedExecutorsTest {
+
+	@AfterEach
+	void resetContext() {
+		SecurityContextHolder.clearContext();
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void shouldPropagateSecurityContextAndRequestAttributes() {
+		Authentication authentication = new TestingAuthenticationToken("user", null);
+		RequestAttributes attributes = Mockito.mock(RequestAttributes.class);
+		SecurityContextHolder.getContext().setAuthentication(authentication);
+		RequestContextHolder.setRequestAttributes(attributes);
+		Executor executor = GeneratedExecutors.propagating(GeneratedExecutors.virtualThreads());
+
+		Object[] seen = CompletableFuture.supplyAsync(() -> new Object[]{
+				SecurityContextHolder.getContext().getAuthentication(),
+				RequestContextHolder.getRequestAttributes()
+		}, executor).join();
+
+		Assertions.assertSame(authentication, seen[0]);
+		Assertions.assertSame(attributes, seen[1]);
+	}
+
+	@Test
+	void shouldRestoreContextOfCallingThread() {
+		RequestAttributes attributes = Mockito.mock(RequestAttributes.class);
+		RequestContextHolder.setRequestAttributes(attributes);
+		Executor executor = GeneratedExecutors.propagating(Runnable::run);
+
+		executor.execute(RequestContextHolder::resetRequestAttributes);
+
+		Assertions.assertSame(attributes, RequestContextHolder.getRequestAttributes());
+	}
+}
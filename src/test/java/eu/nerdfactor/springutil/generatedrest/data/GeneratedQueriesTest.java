@@ -0,0 +1,272 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.persistence.metamodel.Type;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@ExtendWith(MockitoExtension.class)
+public class GeneratedQueriesTest {
+
+	public static class Membership {
+	}
+
+	public static class MembershipId {
+
+		public int userId;
+		public int groupId;
+
+		public MembershipId(int userId, int groupId) {
+			this.userId = userId;
+			this.groupId = groupId;
+		}
+	}
+
+	public static class Team {
+
+		public List<String> getMembers() {
+			return List.of("c", "a", "b");
+		}
+	}
+
+	public static class Counter {
+
+		public int count;
+		public String name;
+	}
+
+	@Mock
+	EntityManager entityManager;
+
+	@Mock
+	Metamodel metamodel;
+
+	@Mock
+	EntityType<Membership> entityType;
+
+	@Mock
+	Root<Membership> root;
+
+	@Mock
+	Path<Object> userPath;
+
+	@Mock
+	Path<Object> groupPath;
+
+	@Mock
+	CriteriaBuilder cb;
+
+	@Test
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	void shouldMatchSingleIdAttribute() {
+		SingularAttribute<Membership, Integer> idAttribute = Mockito.mock(SingularAttribute.class);
+		Type idType = Mockito.mock(Type.class);
+		Predicate predicate = Mockito.mock(Predicate.class);
+		Mockito.when(this.entityManager.getMetamodel()).thenReturn(this.metamodel);
+		Mockito.when(this.metamodel.entity(Membership.class)).thenReturn(this.entityType);
+		Mockito.when(this.entityType.hasSingleIdAttribute()).thenReturn(true);
+		Mockito.when(this.entityType.getIdType()).thenReturn(idType);
+		Mockito.when(idType.getJavaType()).thenReturn(Integer.class);
+		Mockito.when(this.entityType.getId(Integer.class)).thenReturn((SingularAttribute) idAttribute);
+		Mockito.when(idAttribute.getName()).thenReturn("id");
+		Mockito.when(this.root.get("id")).thenReturn(this.userPath);
+		Mockito.when(this.cb.equal(this.userPath, 7)).thenReturn(predicate);
+
+		Assertions.assertSame(predicate, GeneratedQueries.idEquals(this.entityManager, Membership.class, this.root, this.cb, 7));
+	}
+
+	@Test
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	void shouldMatchEveryAttributeOfIdClass() {
+		SingularAttribute<Membership, Integer> userAttribute = Mockito.mock(SingularAttribute.class);
+		SingularAttribute<Membership, Integer> groupAttribute = Mockito.mock(SingularAttribute.class);
+		Predicate userPredicate = Mockito.mock(Predicate.class);
+		Predicate groupPredicate = Mockito.mock(Predicate.class);
+		Predicate predicate = Mockito.mock(Predicate.class);
+		Mockito.when(this.entityManager.getMetamodel()).thenReturn(this.metamodel);
+		Mockito.when(this.metamodel.entity(Membership.class)).thenReturn(this.entityType);
+		Mockito.when(this.entityType.hasSingleIdAttribute()).thenReturn(false);
+		Mockito.when(this.entityType.getIdClassAttributes()).thenReturn((Set) Set.of(userAttribute, groupAttribute));
+		Mockito.when(userAttribute.getName()).thenReturn("userId");
+		Mockito.when(groupAttribute.getName()).thenReturn("groupId");
+		Mockito.when(this.root.get("userId")).thenReturn(this.userPath);
+		Mockito.when(this.root.get("groupId")).thenReturn(this.groupPath);
+		Mockito.when(this.cb.equal(this.userPath, 3)).thenReturn(userPredicate);
+		Mockito.when(this.cb.equal(this.groupPath, 4)).thenReturn(groupPredicate);
+		Mockito.when(this.cb.and(Mockito.any(Predicate[].class))).thenReturn(predicate);
+
+		Assertions.assertSame(predicate, GeneratedQueries.idEquals(this.entityManager, Membership.class, this.root, this.cb, new MembershipId(3, 4)));
+		Mockito.verify(this.cb).equal(this.userPath, 3);
+		Mockito.verify(this.cb).equal(this.groupPath, 4);
+	}
+
+	@Test
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	void shouldUpdateOnlySentProperties() {
+		CriteriaUpdate<Counter> update = Mockito.mock(CriteriaUpdate.class);
+		Root<Counter> counterRoot = Mockito.mock(Root.class);
+		EntityType<Counter> counterType = Mockito.mock(EntityType.class);
+		SingularAttribute<Counter, Integer> idAttribute = Mockito.mock(SingularAttribute.class);
+		SingularAttribute<Counter, Integer> countAttribute = Mockito.mock(SingularAttribute.class);
+		SingularAttribute<Counter, String> nameAttribute = Mockito.mock(SingularAttribute.class);
+		Type idType = Mockito.mock(Type.class);
+		Predicate predicate = Mockito.mock(Predicate.class);
+		Query query = Mockito.mock(Query.class);
+		Mockito.when(this.entityManager.getCriteriaBuilder()).thenReturn(this.cb);
+		Mockito.when(this.entityManager.getMetamodel()).thenReturn(this.metamodel);
+		Mockito.when(this.cb.createCriteriaUpdate(Counter.class)).thenReturn(update);
+		Mockito.when(update.from(Counter.class)).thenReturn(counterRoot);
+		Mockito.when(this.metamodel.entity(Counter.class)).thenReturn(counterType);
+		Mockito.when(counterType.getSingularAttributes()).thenReturn((Set) new LinkedHashSet<>(List.of(countAttribute, nameAttribute)));
+		for (SingularAttribute<Counter, ?> attribute : List.of(countAttribute, nameAttribute)) {
+			Mockito.when(attribute.getPersistentAttributeType()).thenReturn(Attribute.PersistentAttributeType.BASIC);
+		}
+		Mockito.when(countAttribute.getName()).thenReturn("count");
+		Mockito.when(nameAttribute.getName()).thenReturn("name");
+		Mockito.when(counterRoot.get("count")).thenReturn(this.userPath);
+		Mockito.when(counterType.hasSingleIdAttribute()).thenReturn(true);
+		Mockito.when(counterType.getIdType()).thenReturn(idType);
+		Mockito.when(idType.getJavaType()).thenReturn(Integer.class);
+		Mockito.when(counterType.getId(Integer.class)).thenReturn((SingularAttribute) idAttribute);
+		Mockito.when(idAttribute.getName()).thenReturn("id");
+		Mockito.when(counterRoot.get("id")).thenReturn(this.groupPath);
+		Mockito.when(this.cb.equal(this.groupPath, 7)).thenReturn(predicate);
+		Mockito.when(update.where(predicate)).thenReturn(update);
+		Mockito.when(this.entityManager.createQuery(update)).thenReturn(query);
+		Mockito.when(query.executeUpdate()).thenReturn(1);
+		Counter changes = new Counter();
+		changes.name = "not sent";
+
+		Assertions.assertEquals(1, GeneratedQueries.update(this.entityManager, Counter.class, 7, changes, Set.of("count"), null, null));
+		Mockito.verify(update).set(this.userPath, 0);
+		Mockito.verify(counterRoot, Mockito.never()).get("name");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldNotDeleteWithoutConditions() {
+		CriteriaDelete<Membership> delete = Mockito.mock(CriteriaDelete.class);
+		Mockito.when(this.entityManager.getCriteriaBuilder()).thenReturn(this.cb);
+		Mockito.when(this.cb.createCriteriaDelete(Membership.class)).thenReturn(delete);
+		Mockito.when(delete.from(Membership.class)).thenReturn(this.root);
+
+		Assertions.assertThrows(MalformedFilterException.class, () -> GeneratedQueries.deleteAll(this.entityManager, Membership.class, EvaluableSpecification.all()));
+		Mockito.verify(this.entityManager, Mockito.never()).createQuery(Mockito.any(CriteriaDelete.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldDeleteWithQueryForSpecification() {
+		CriteriaDelete<Membership> delete = Mockito.mock(CriteriaDelete.class);
+		CriteriaQuery<Membership> criteria = Mockito.mock(CriteriaQuery.class);
+		Predicate predicate = Mockito.mock(Predicate.class);
+		Query query = Mockito.mock(Query.class);
+		Mockito.when(this.entityManager.getCriteriaBuilder()).thenReturn(this.cb);
+		Mockito.when(this.cb.createCriteriaDelete(Membership.class)).thenReturn(delete);
+		Mockito.when(this.cb.createQuery(Membership.class)).thenReturn(criteria);
+		Mockito.when(delete.from(Membership.class)).thenReturn(this.root);
+		Mockito.when(delete.where(predicate)).thenReturn(delete);
+		Mockito.when(this.entityManager.createQuery(delete)).thenReturn(query);
+		Mockito.when(query.executeUpdate()).thenReturn(2);
+
+		Assertions.assertEquals(2, GeneratedQueries.deleteAll(this.entityManager, Membership.class, (root, q, cb) -> q != null ? predicate : null));
+	}
+
+	@Test
+	void shouldSelectRequestedFields() {
+		Assertions.assertEquals(List.of("name", "id"), GeneratedQueries.selectable("name,id", "id", "name", "count"));
+	}
+
+	@Test
+	void shouldNotSelectUnknownFields() {
+		Assertions.assertNull(GeneratedQueries.selectable("id,password", "id", "name"));
+	}
+
+	@Test
+	void shouldSelectDuplicateFieldsOnce() {
+		Assertions.assertEquals(List.of("id", "name"), GeneratedQueries.selectable("id,name,id", "id", "name"));
+	}
+
+	@Test
+	void shouldNotSelectWithoutFields() {
+		Assertions.assertNull(GeneratedQueries.selectable(null, "id", "name"));
+		Assertions.assertNull(GeneratedQueries.selectable("", "id", "name"));
+		Assertions.assertNull(GeneratedQueries.selectable(" , ,", "id", "name"));
+	}
+
+	@Test
+	void shouldIgnoreWhitespaceAroundFields() {
+		Assertions.assertEquals(List.of("id", "name"), GeneratedQueries.selectable(" id , name,", "id", "name"));
+	}
+
+	@Test
+	void shouldNotQueryExistingIdsWithoutIds() {
+		Set<Object> existing = GeneratedQueries.existingIds(this.entityManager, Membership.class, Arrays.asList(null, null));
+
+		Assertions.assertTrue(existing.isEmpty());
+		Assertions.assertFalse(existing.contains(null));
+		Mockito.verifyNoInteractions(this.entityManager);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldPageRelationsThatAreNotAttributesInMemory() {
+		EntityType<Team> teamType = Mockito.mock(EntityType.class);
+		Mockito.when(this.entityManager.getMetamodel()).thenReturn(this.metamodel);
+		Mockito.when(this.metamodel.entity(Team.class)).thenReturn(teamType);
+		Mockito.when(this.entityManager.find(Team.class, 1)).thenReturn(new Team());
+
+		Page<String> page = GeneratedQueries.relationPage(this.entityManager, Team.class, 1, "members", String.class, PageRequest.of(0, 2));
+
+		Assertions.assertNotNull(page);
+		Assertions.assertEquals(List.of("c", "a"), page.getContent());
+		Assertions.assertEquals(3, page.getTotalElements());
+		Mockito.verify(this.entityManager, Mockito.never()).getCriteriaBuilder();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldNotPageRelationsOfMissingEntity() {
+		Attribute<Membership, ?> attribute = Mockito.mock(Attribute.class);
+		CriteriaQuery<Object> query = Mockito.mock(CriteriaQuery.class, Mockito.RETURNS_SELF);
+		Join<Membership, Object> join = Mockito.mock(Join.class);
+		TypedQuery<Object> typedQuery = Mockito.mock(TypedQuery.class, Mockito.RETURNS_SELF);
+		Mockito.when(this.entityManager.getMetamodel()).thenReturn(this.metamodel);
+		Mockito.when(this.metamodel.entity(Membership.class)).thenReturn(this.entityType);
+		Mockito.when(attribute.getName()).thenReturn("members");
+		Mockito.when(this.entityType.getAttributes()).thenReturn(Set.of(attribute));
+		Mockito.when(this.entityManager.getCriteriaBuilder()).thenReturn(this.cb);
+		Mockito.when(this.cb.createQuery(Object.class)).thenReturn(query);
+		Mockito.when(query.from(Membership.class)).thenReturn(this.root);
+		Mockito.when(this.root.join("members")).thenReturn((Join) join);
+		Mockito.when(this.entityManager.createQuery(query)).thenReturn(typedQuery);
+		Mockito.when(typedQuery.getResultList()).thenReturn(List.of());
+
+		Assertions.assertNull(GeneratedQueries.relationPage(this.entityManager, Membership.class, 1, "members", Object.class, PageRequest.of(2, 10)));
+	}
+}
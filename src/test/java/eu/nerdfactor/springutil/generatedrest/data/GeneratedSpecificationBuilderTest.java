@@ -0,0 +1,45 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import eu.nerdfactor.springutil.generatedrest.entity.Example;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
+
+public class GeneratedSpecificationBuilderTest {
+
+	@Test
+	void shouldBuildFilterOnFilterableProperties() {
+		Example example = new Example();
+		example.name = "test";
+
+		Specification<Example> spec = new GeneratedSpecificationBuilder().build("name:test", Example.class, Set.of("id", "name"));
+
+		Assertions.assertTrue(((EvaluableSpecification<Example>) spec).test(example));
+	}
+
+	@Test
+	void shouldRejectFilterOnOtherProperties() {
+		GeneratedSpecificationBuilder specificationBuilder = new GeneratedSpecificationBuilder();
+
+		Assertions.assertThrows(MalformedFilterException.class, () -> specificationBuilder.build("name:test", Example.class, Set.of("id")));
+		Assertions.assertThrows(MalformedFilterException.class, () -> specificationBuilder.build("id:1;name:test", Example.class, Set.of("id")));
+		Assertions.assertNotNull(specificationBuilder.build("name:test", Example.class));
+	}
+
+	@Test
+	void shouldOnlyDeleteByFiltersWithDirectConditions() {
+		GeneratedSpecificationBuilder specificationBuilder = new GeneratedSpecificationBuilder();
+
+		Assertions.assertTrue(specificationBuilder.isDeletable("name:test"));
+		Assertions.assertFalse(specificationBuilder.isDeletable(""));
+		Assertions.assertFalse(specificationBuilder.isDeletable("name:test;author.name:test"));
+		Assertions.assertFalse(new DataSpecificationBuilder() {
+			@Override
+			public <T> Specification<T> build(String filter, Class<T> cls) {
+				return null;
+			}
+		}.isDeletable("name:test"));
+	}
+}
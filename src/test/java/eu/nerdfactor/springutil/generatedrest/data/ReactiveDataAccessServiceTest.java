@@ -0,0 +1,55 @@
+package eu.nerdfactor.springutil.generatedrest.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveDataAccessServiceTest {
+
+	@Mock
+	private ReactiveCrudRepository<Integer, Integer> repository;
+
+	private final ReactiveDataAccessService<Integer, Integer> service = () -> this.repository;
+
+	@Test
+	void shouldFilterAndPageInMemory() {
+		Mockito.when(this.repository.findAll()).thenReturn(Flux.range(0, 10));
+		EvaluableSpecification<Integer> even = EvaluableSpecification.of((root, query, cb) -> null, value -> value % 2 == 0);
+
+		List<Integer> result = this.service.searchData(even, PageRequest.of(1, 2)).collectList().block();
+
+		Assertions.assertEquals(List.of(4, 6), result);
+	}
+
+	@Test
+	void shouldStopReadingAfterPage() {
+		AtomicInteger read = new AtomicInteger();
+		Mockito.when(this.repository.findAll()).thenReturn(Flux.range(0, 1000).doOnNext(value -> read.incrementAndGet()));
+
+		List<Integer> result = this.service.searchData(null, PageRequest.of(1, 2)).collectList().block();
+
+		Assertions.assertEquals(List.of(2, 3), result);
+		Assertions.assertEquals(4, read.get());
+	}
+
+	@Test
+	void shouldRejectSpecificationsThatCantBeEvaluated() {
+		Specification<Integer> spec = (root, query, cb) -> null;
+
+		Flux<Integer> result = this.service.searchData(spec, PageRequest.of(0, 20));
+
+		Assertions.assertThrows(MalformedFilterException.class, result::blockFirst);
+		Mockito.verifyNoInteractions(this.repository);
+	}
+}